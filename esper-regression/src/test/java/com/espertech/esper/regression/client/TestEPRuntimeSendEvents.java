@@ -0,0 +1,159 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestEPRuntimeSendEvents extends TestCase
+{
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        listener = new SupportUpdateListener();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    public void tearDown() {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testSendEventsBean()
+    {
+        epService.getEPAdministrator().createEPL("insert into MyStream select theString, intPrimitive from SupportBean(intPrimitive > 0)");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select theString, sum(intPrimitive) as total from MyStream");
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 10), new SupportBean("E2", -1), new SupportBean("E3", 20)});
+
+        // results of the batch are delivered in one invocation and in the order of sending one-by-one
+        assertEquals(1, listener.getNewDataList().size());
+        EPAssertionUtil.assertPropsPerRow(listener.getLastNewData(), "theString,total".split(","), new Object[][] {{"E1", 10}, {"E3", 30}});
+        listener.reset();
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E4", 5));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "theString,total".split(","), new Object[] {"E4", 35});
+
+        epService.getEPRuntime().sendEvents(new Object[0]);
+        assertFalse(listener.isInvoked());
+
+        // a null element fails the batch before any event is processed
+        try {
+            epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E5", 1), null});
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event object", ex.getMessage());
+        }
+        epService.getEPRuntime().sendEvent(new SupportBean("E6", 2));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "theString,total".split(","), new Object[] {"E6", 37});
+    }
+
+    public void testSendEventsTime()
+    {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select irstream theString from SupportBean#time(10 sec)");
+        stmt.addListener(listener);
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 1), new CurrentTimeEvent(5000), new SupportBean("E2", 2), new CurrentTimeEvent(10000)});
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString".split(","), new Object[][] {{"E1"}, {"E2"}});
+        EPAssertionUtil.assertPropsPerRow(listener.getOldDataListFlattened(), "theString".split(","), new Object[][] {{"E1"}});
+    }
+
+    public void testSendEventsMapAndObjectArray()
+    {
+        Map<String, Object> mapType = new HashMap<String, Object>();
+        mapType.put("id", String.class);
+        epService.getEPAdministrator().getConfiguration().addEventType("MyMapEvent", mapType);
+        epService.getEPAdministrator().getConfiguration().addEventType("MyOAEvent", new String[] {"id"}, new Object[] {String.class});
+
+        epService.getEPAdministrator().createEPL("select id from MyMapEvent").addListener(listener);
+        epService.getEPRuntime().sendEvents(new Map[] {makeMap("M1"), makeMap("M2")}, "MyMapEvent");
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "id".split(","), new Object[][] {{"M1"}, {"M2"}});
+        listener.reset();
+
+        epService.getEPAdministrator().destroyAllStatements();
+        epService.getEPAdministrator().createEPL("select id from MyOAEvent").addListener(listener);
+        epService.getEPRuntime().sendEvents(new Object[][] {{"A1"}, {"A2"}, {"A3"}}, "MyOAEvent");
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "id".split(","), new Object[][] {{"A1"}, {"A2"}, {"A3"}});
+
+        try {
+            epService.getEPRuntime().sendEvents(new Map[] {null}, "MyMapEvent");
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event object", ex.getMessage());
+        }
+
+        // a null element fails the batch before any event is processed
+        listener.reset();
+        try {
+            epService.getEPRuntime().sendEvents(new Object[][] {{"A4"}, null}, "MyOAEvent");
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("Invalid null event object", ex.getMessage());
+        }
+        epService.getEPRuntime().sendEvent(new Object[] {"A5"}, "MyOAEvent");
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "id".split(","), new Object[][] {{"A5"}});
+    }
+
+    public void testSendEventsDispatchOnException()
+    {
+        epService.getEPAdministrator().getConfiguration().addPlugInSingleRowFunction("failIfNegative", this.getClass().getName(), "failIfNegative",
+                ConfigurationPlugInSingleRowFunction.ValueCache.DISABLED, ConfigurationPlugInSingleRowFunction.FilterOptimizable.DISABLED, true);
+        epService.getEPAdministrator().createEPL("select theString, failIfNegative(intPrimitive) as checked from SupportBean").addListener(listener);
+
+        // results of the events processed before the failing event are dispatched to listeners as part of the batch
+        try {
+            epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 1), new SupportBean("E2", -1), new SupportBean("E3", 1)});
+            fail();
+        }
+        catch (EPException ex) {
+            // expected
+        }
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString".split(","), new Object[][] {{"E1"}});
+        listener.reset();
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E4", 1));
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "theString".split(","), new Object[][] {{"E4"}});
+    }
+
+    public static boolean failIfNegative(int value) {
+        if (value < 0) {
+            throw new IllegalStateException("Negative value " + value);
+        }
+        return true;
+    }
+
+    private Map<String, Object> makeMap(String id) {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("id", id);
+        return map;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPRuntimeEventSender;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class TestEventSenderReuse extends TestCase
+{
+    private EPServiceProvider epService;
+    private EPRuntimeEventSender runtime;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getExceptionHandling().getHandlerFactories().clear();
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        runtime = (EPRuntimeEventSender) epService.getEPRuntime();
+
+        Map<String, Object> mapType = new HashMap<String, Object>();
+        mapType.put("id", String.class);
+        mapType.put("value", int.class);
+        epService.getEPAdministrator().getConfiguration().addEventType("MyMapEvent", mapType);
+        epService.getEPAdministrator().getConfiguration().addEventType("MyOAEvent", new String[] {"id", "value"}, new Object[] {String.class, int.class});
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testRetainAnalysis()
+    {
+        EventType type = epService.getEPAdministrator().getConfiguration().getEventType("MyMapEvent");
+        assertFalse(runtime.isEventRetained(type));
+
+        EPStatement stmtFilter = epService.getEPAdministrator().createEPL("select id, value * 2 as dbl from MyMapEvent(value > 0)");
+        EPStatement stmtAgg = epService.getEPAdministrator().createEPL("select id, sum(value) as total from MyMapEvent group by id");
+        assertFalse(runtime.isEventRetained(type));
+
+        assertRetainedBy(type, "select * from MyMapEvent");
+        assertRetainedBy(type, "select id from MyMapEvent#length(2)");
+        assertRetainedBy(type, "select lastever(*) from MyMapEvent");
+        assertRetainedBy(type, "select first(id) from MyMapEvent");
+        assertRetainedBy(type, "select id from MyMapEvent output every 10 seconds");
+        assertRetainedBy(type, "insert into OtherStream select id from MyMapEvent");
+        assertRetainedBy(type, "select a.id from pattern [every a=MyMapEvent -> b=MyMapEvent]");
+        assertRetainedBy(type, "create window MyWindow#keepall as MyMapEvent");
+        assertRetainedBy(type, "create context MyContext initiated by MyMapEvent as me terminated after 10 seconds");
+        assertRetainedBy(type, "@IterableUnbound select id from MyMapEvent");
+
+        epService.getEPRuntime().setUnmatchedListener(new UnmatchedListener() {
+            public void update(EventBean theEvent) {
+            }
+        });
+        assertTrue(runtime.isEventRetained(type));
+        epService.getEPRuntime().setUnmatchedListener(null);
+        assertFalse(runtime.isEventRetained(type));
+
+        stmtFilter.destroy();
+        stmtAgg.destroy();
+    }
+
+    public void testRetainExceptionHandler()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        EPServiceProvider epServiceHandler = EPServiceProviderManager.getProvider(this.getClass().getName() + "_handler", config);
+        epServiceHandler.getEPAdministrator().getConfiguration().addEventType("MyOAEvent", new String[] {"id"}, new Object[] {String.class});
+        EventType type = epServiceHandler.getEPAdministrator().getConfiguration().getEventType("MyOAEvent");
+
+        // exception handlers receive the current event
+        assertTrue(((EPRuntimeEventSender) epServiceHandler.getEPRuntime()).isEventRetained(type));
+        epServiceHandler.destroy();
+    }
+
+    public void testSendReuseMap()
+    {
+        EventSender sender = epService.getEPRuntime().getEventSender("MyMapEvent");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select id, value * 2 as dbl from MyMapEvent(value > 0)");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+        EPStatement stmtAgg = epService.getEPAdministrator().createEPL("select sum(value) as total from MyMapEvent");
+        SupportUpdateListener listenerAgg = new SupportUpdateListener();
+        stmtAgg.addListener(listenerAgg);
+
+        sender.sendEvent(makeMap("E1", 10));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "id,dbl".split(","), new Object[] {"E1", 20});
+        sender.sendEvent(makeMap("E2", -1));
+        assertFalse(listener.isInvoked());
+        sender.sendEvent(makeMap("E3", 5));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "id,dbl".split(","), new Object[] {"E3", 10});
+        assertEquals(14, listenerAgg.getLastNewData()[0].get("total"));
+
+        // a statement with a data window retains events, the sender must no longer reuse
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL("select * from MyMapEvent#length(3)");
+        sender.sendEvent(makeMap("E4", 1));
+        sender.sendEvent(makeMap("E5", 2));
+        Iterator<EventBean> it = stmtWindow.iterator();
+        EventBean first = it.next();
+        EventBean second = it.next();
+        assertNotSame(first, second);
+        EPAssertionUtil.assertProps(first, "id,value".split(","), new Object[] {"E4", 1});
+        EPAssertionUtil.assertProps(second, "id,value".split(","), new Object[] {"E5", 2});
+
+        listener.reset();
+
+        stmtWindow.destroy();
+        sender.sendEvent(makeMap("E6", 3));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "id,dbl".split(","), new Object[] {"E6", 6});
+    }
+
+    public void testSendReuseObjectArrayNested()
+    {
+        final EventSender sender = epService.getEPRuntime().getEventSender("MyOAEvent");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select id, value from MyOAEvent");
+        final SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+
+        // a listener that sends an event of the same type while the outer event is being processed
+        EPStatement stmtNested = epService.getEPAdministrator().createEPL("select id from MyOAEvent(value = 1)");
+        stmtNested.addListener(new UpdateListener() {
+            public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                sender.sendEvent(new Object[] {newEvents[0].get("id") + "-nested", 2});
+            }
+        });
+
+        sender.sendEvent(new Object[] {"E1", 1});
+        EPAssertionUtil.assertPropsPerRow(listener.getNewDataListFlattened(), "id,value".split(","), new Object[][] {{"E1", 1}, {"E1-nested", 2}});
+        listener.reset();
+
+        sender.sendEvent(new Object[] {"E2", 3});
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "id,value".split(","), new Object[] {"E2", 3});
+    }
+
+    private void assertRetainedBy(EventType type, String epl) {
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        assertTrue(epl, runtime.isEventRetained(type));
+        stmt.destroy();
+        assertFalse(epl, runtime.isEventRetained(type));
+    }
+
+    private static Map<String, Object> makeMap(String id, int value) {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("id", id);
+        map.put("value", value);
+        return map;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.filter.FilterServiceBase;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class TestFilterIndexReorderConfig extends TestCase
+{
+    private EPServiceProvider epServiceReorder;
+    private EPServiceProvider epServiceDefault;
+
+    public void tearDown()
+    {
+        if (epServiceReorder != null) {
+            epServiceReorder.destroy();
+        }
+        if (epServiceDefault != null) {
+            epServiceDefault.destroy();
+        }
+    }
+
+    public void testStatisticsPerEngine()
+    {
+        // the engine initialized last does not disable statistics of the engine that reorders filter indexes
+        epServiceReorder = EPServiceProviderManager.getProvider("TestFilterIndexReorderConfig_Reorder", getConfig(60000));
+        epServiceReorder.initialize();
+        epServiceDefault = EPServiceProviderManager.getProvider("TestFilterIndexReorderConfig_Default", getConfig(0));
+        epServiceDefault.initialize();
+
+        SupportUpdateListener listenerReorder = new SupportUpdateListener();
+        SupportUpdateListener listenerDefault = new SupportUpdateListener();
+        String epl = "select * from SupportBean(boolPrimitive = true, intPrimitive = 1)";
+        epServiceReorder.getEPAdministrator().createEPL(epl).addListener(listenerReorder);
+        epServiceDefault.getEPAdministrator().createEPL(epl).addListener(listenerDefault);
+
+        for (int i = 0; i < 10; i++) {
+            SupportBean bean = new SupportBean("E" + i, i % 2);
+            bean.setBoolPrimitive(true);
+            epServiceReorder.getEPRuntime().sendEvent(bean);
+            epServiceDefault.getEPRuntime().sendEvent(bean);
+        }
+        assertEquals(5, listenerReorder.getNewDataListFlattened().length);
+        assertEquals(5, listenerDefault.getNewDataListFlattened().length);
+
+        List<String> statistics = Arrays.asList(getFilterService(epServiceReorder).getIndexStatistics());
+        assertEquals(2, statistics.size());
+        assertTrue(statistics.contains("SupportBean boolPrimitive EQUAL evaluated=10 hits=10 misses=0"));
+        assertTrue(statistics.contains("SupportBean intPrimitive EQUAL evaluated=10 hits=5 misses=5"));
+
+        assertEquals(0, getFilterService(epServiceDefault).getIndexStatistics().length);
+        assertEquals(0, getFilterService(epServiceDefault).reorderIndexes());
+    }
+
+    private static Configuration getConfig(long filterIndexReorderInterval)
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        config.getEngineDefaults().getExecution().setFilterIndexReorderInterval(filterIndexReorderInterval);
+        return config;
+    }
+
+    private static FilterServiceBase getFilterService(EPServiceProvider epService)
+    {
+        return (FilterServiceBase) ((EPServiceProviderSPI) epService).getFilterService();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPStatementSPI;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestParallelStatementExecution extends TestCase
+{
+    private EPServiceProvider epService;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.addEventType(SupportBean_S0.class);
+        config.getEngineDefaults().getExecution().setParallelStatementExecution(true);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testEligibility()
+    {
+        epService.getEPAdministrator().createEPL("create variable int myvar = 0");
+        assertParallel(true, "select theString, sum(intPrimitive) from SupportBean group by theString");
+        assertParallel(true, "select * from SupportBean#length(10) as a, SupportBean_S0#keepall as b where a.intPrimitive = b.id");
+        assertParallel(false, "insert into MyStream select theString from SupportBean");
+        assertParallel(false, "select * from SupportBean(intPrimitive = myvar)");
+        assertParallel(false, "select (select count(*) from SupportBean#keepall) from SupportBean");
+        assertParallel(false, "select a.theString from pattern [every a=SupportBean]");
+        assertParallel(false, "select * from SupportBean as a, SupportBean as b");
+    }
+
+    public void testParallel()
+    {
+        int numStatements = 20;
+        List<SupportUpdateListener> listeners = new ArrayList<SupportUpdateListener>();
+        final List<Thread> deliveryThreads = new ArrayList<Thread>();
+        for (int i = 0; i < numStatements; i++) {
+            EPStatement stmt = epService.getEPAdministrator().createEPL("select theString, sum(intPrimitive) as total from SupportBean(intPrimitive >= " + i + ")");
+            SupportUpdateListener listener = new SupportUpdateListener();
+            stmt.addListener(listener);
+            stmt.addListener(new UpdateListener() {
+                public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                    synchronized (deliveryThreads) {
+                        deliveryThreads.add(Thread.currentThread());
+                    }
+                }
+            });
+            listeners.add(listener);
+        }
+
+        // insert-into chains execute on the sending thread and route in order
+        epService.getEPAdministrator().createEPL("insert into FirstStream select theString, intPrimitive from SupportBean");
+        epService.getEPAdministrator().createEPL("insert into SecondStream select theString, intPrimitive * 10 as value from FirstStream");
+        SupportUpdateListener listenerChain = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select theString, value from SecondStream").addListener(listenerChain);
+
+        int numEvents = 50;
+        for (int event = 0; event < numEvents; event++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + event, event));
+        }
+
+        for (int i = 0; i < numStatements; i++) {
+            SupportUpdateListener listener = listeners.get(i);
+            assertEquals(numEvents - i, listener.getNewDataList().size());
+            int total = 0;
+            for (int event = i; event < numEvents; event++) {
+                total += event;
+            }
+            EPAssertionUtil.assertProps(listener.getLastNewData()[0], "theString,total".split(","), new Object[] {"E" + (numEvents - 1), total});
+        }
+
+        Object[][] expected = new Object[numEvents][];
+        for (int event = 0; event < numEvents; event++) {
+            expected[event] = new Object[] {"E" + event, event * 10};
+        }
+        EPAssertionUtil.assertPropsPerRow(listenerChain.getNewDataListFlattened(), "theString,value".split(","), expected);
+
+        for (Thread thread : deliveryThreads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    public void testDispatchOrder()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        EPServiceProvider epServiceSequential = EPServiceProviderManager.getProvider(this.getClass().getName() + "_sequential", config);
+        epServiceSequential.initialize();
+
+        // eligible statements interleaved with statements that use a variable and therefore execute on the sending thread
+        List<String> namesParallel = new ArrayList<String>();
+        List<String> namesSequential = new ArrayList<String>();
+        List<EPStatement> ineligible = new ArrayList<EPStatement>();
+        for (EPServiceProvider provider : new EPServiceProvider[] {epService, epServiceSequential}) {
+            provider.getEPAdministrator().createEPL("create variable int myvar = 0");
+            StatementAwareUpdateListener listener = new NameCollectingListener(provider == epService ? namesParallel : namesSequential);
+            for (int i = 0; i < 10; i++) {
+                provider.getEPAdministrator().createEPL("@Name('s" + i + "') select * from SupportBean(intPrimitive >= " + i + ")").addListener(listener);
+                EPStatement stmt = provider.getEPAdministrator().createEPL("@Name('v" + i + "') select * from SupportBean(intPrimitive >= myvar + " + i + ")");
+                stmt.addListener(listener);
+                ineligible.add(stmt);
+            }
+        }
+
+        sendEvents(epService, epServiceSequential, 10);
+        assertEquals(10 * 11, namesParallel.size());
+        assertEquals(namesSequential, namesParallel);
+
+        // only eligible statements remain
+        for (EPStatement stmt : ineligible) {
+            stmt.destroy();
+        }
+        namesParallel.clear();
+        namesSequential.clear();
+        sendEvents(epService, epServiceSequential, 10);
+        assertEquals(10 * 11 / 2, namesParallel.size());
+        assertEquals(namesSequential, namesParallel);
+
+        epServiceSequential.destroy();
+    }
+
+    private void sendEvents(EPServiceProvider epService, EPServiceProvider epServiceSequential, int numEvents) {
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+            epServiceSequential.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+    }
+
+    private void assertParallel(boolean expected, String epl) {
+        EPStatementSPI stmt = (EPStatementSPI) epService.getEPAdministrator().createEPL(epl);
+        assertEquals(epl, expected, stmt.getStatementContext().getEpStatementHandle().isParallelExecution());
+        stmt.destroy();
+    }
+
+    private static class NameCollectingListener implements StatementAwareUpdateListener {
+        private final List<String> names;
+
+        private NameCollectingListener(List<String> names) {
+            this.names = names;
+        }
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPServiceProvider epServiceProvider) {
+            names.add(statement.getName());
+        }
+    }
+}
@@ -22,6 +22,11 @@ import com.espertech.esper.supportregression.subscriber.*;
 import com.espertech.esper.util.EventRepresentationChoice;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class TestSubscriberBind extends TestCase
 {
     private EPServiceProvider epService;
@@ -191,6 +196,51 @@ public class TestSubscriberBind extends TestCase
         }
     }
 
+    public void testReuseSubscriberRow()
+    {
+        String hint = "@Hint('reuse_subscriber_row') ";
+
+        // single-row map, reusing the map for each row
+        EPStatement stmt = epService.getEPAdministrator().createEPL(hint + "select theString, intPrimitive from SupportBean#length_batch(2)");
+        SubscriberReuseMap subscriberMap = new SubscriberReuseMap();
+        stmt.setSubscriber(subscriberMap);
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        EPAssertionUtil.assertPropsPerRow(subscriberMap.copies.toArray(new Map[2]), fields, new Object[][] {{"E1", 1}, {"E2", 2}});
+        assertSame(subscriberMap.delivered.get(0), subscriberMap.delivered.get(1));
+        assertTrue(subscriberMap.delivered.get(0).isEmpty());
+        stmt.destroy();
+
+        // multi-row maps
+        stmt = epService.getEPAdministrator().createEPL(hint + "select irstream theString, intPrimitive from SupportBean#length_batch(2)");
+        SubscriberReuseMultirowMap subscriberMultirow = new SubscriberReuseMultirowMap();
+        stmt.setSubscriber(subscriberMultirow);
+        for (int i = 1; i <= 4; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+        EPAssertionUtil.assertPropsPerRow(subscriberMultirow.copiesNew.toArray(new Map[4]), fields, new Object[][] {{"E1", 1}, {"E2", 2}, {"E3", 3}, {"E4", 4}});
+        EPAssertionUtil.assertPropsPerRow(subscriberMultirow.copiesOld.toArray(new Map[2]), fields, new Object[][] {{"E1", 1}, {"E2", 2}});
+        stmt.destroy();
+
+        // column values with statement and widening
+        stmt = epService.getEPAdministrator().createEPL(hint + "select theString, intPrimitive from SupportBean");
+        SubscriberReuseColumnsWStmt subscriberColumns = new SubscriberReuseColumnsWStmt();
+        stmt.setSubscriber(subscriberColumns);
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[] {stmt, "E1", 1L, stmt, "E2", 2L}, subscriberColumns.received.toArray());
+        stmt.destroy();
+
+        // object-array row with statement
+        stmt = epService.getEPAdministrator().createEPL(hint + "select theString, intPrimitive from SupportBean");
+        SubscriberReuseObjectArrWStmt subscriberObjectArr = new SubscriberReuseObjectArrWStmt();
+        stmt.setSubscriber(subscriberObjectArr);
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[][] {{"E1", 1}, {"E2", 2}}, subscriberObjectArr.received.toArray(new Object[2][]));
+        stmt.destroy();
+    }
+
     private void runAssertionBindUpdateIRStream(SupportSubscriberRowByRowFullBase subscriber)
     {
         String stmtText = "select irstream theString, intPrimitive from " + SupportBean.class.getName() + "#length_batch(2)";
@@ -494,4 +544,50 @@ public class TestSubscriberBind extends TestCase
 
         stmt.destroy();
     }
+
+    public static class SubscriberReuseMap {
+        private final List<Map> delivered = new ArrayList<Map>();
+        private final List<Map> copies = new ArrayList<Map>();
+
+        public void update(Map row) {
+            delivered.add(row);
+            copies.add(new HashMap(row));
+        }
+    }
+
+    public static class SubscriberReuseMultirowMap {
+        private final List<Map> copiesNew = new ArrayList<Map>();
+        private final List<Map> copiesOld = new ArrayList<Map>();
+
+        public void update(Map[] newData, Map[] oldData) {
+            copy(newData, copiesNew);
+            copy(oldData, copiesOld);
+        }
+
+        private static void copy(Map[] rows, List<Map> copies) {
+            if (rows != null) {
+                for (Map row : rows) {
+                    copies.add(new HashMap(row));
+                }
+            }
+        }
+    }
+
+    public static class SubscriberReuseColumnsWStmt {
+        private final List<Object> received = new ArrayList<Object>();
+
+        public void update(EPStatement statement, String theString, long intPrimitive) {
+            received.add(statement);
+            received.add(theString);
+            received.add(intPrimitive);
+        }
+    }
+
+    public static class SubscriberReuseObjectArrWStmt {
+        private final List<Object[]> received = new ArrayList<Object[]>();
+
+        public void update(EPStatement statement, Object[] row) {
+            received.add(row.clone());
+        }
+    }
 }
@@ -14,11 +14,15 @@ package com.espertech.esper.regression.client;
 import com.espertech.esper.client.*;
 import com.espertech.esper.supportregression.event.SupportXML;
 import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
 import com.espertech.esper.supportregression.epl.SupportStaticMethodLib;
 import com.espertech.esper.core.service.EPServiceProviderSPI;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 public class TestThreadedConfigInbound extends TestCase
 {
@@ -101,6 +105,87 @@ public class TestThreadedConfigInbound extends TestCase
         epService.destroy();
     }
 
+    public void testPartitionedByEventType() throws Exception
+    {
+        Configuration config = new Configuration();
+        config.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        config.getEngineDefaults().getThreading().setThreadPoolInbound(true);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundNumThreads(3);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundCapacity(100);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundPartitioning(ConfigurationEngineDefaults.Threading.InboundPartitioning.EVENTTYPE);
+        config.addEventType("SupportBean", SupportBean.class);
+        config.addEventType("SupportBean_S0", SupportBean_S0.class);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getName(), config);
+        epService.initialize();
+
+        MyOrderSubscriber subscriberOne = new MyOrderSubscriber();
+        MyOrderSubscriber subscriberTwo = new MyOrderSubscriber();
+        epService.getEPAdministrator().createEPL("select intPrimitive from SupportBean").setSubscriber(subscriberOne);
+        epService.getEPAdministrator().createEPL("select id from SupportBean_S0").setSubscriber(subscriberTwo);
+
+        // events of the same type keep their order, also when sent through an event sender
+        EventSender sender = epService.getEPRuntime().getEventSender("SupportBean");
+        int numEvents = 2000;
+        for (int i = 0; i < numEvents; i++) {
+            if (i % 2 == 0) {
+                epService.getEPRuntime().sendEvent(new SupportBean("E", i));
+            }
+            else {
+                sender.sendEvent(new SupportBean("E", i));
+            }
+            epService.getEPRuntime().sendEvent(new SupportBean_S0(i));
+        }
+
+        EPServiceProviderSPI spi = (EPServiceProviderSPI) epService;
+        for (int i = 0; i < 100 && (subscriberOne.size() < numEvents || subscriberTwo.size() < numEvents); i++) {
+            Thread.sleep(100);
+        }
+        subscriberOne.assertOrdered(numEvents);
+        subscriberTwo.assertOrdered(numEvents);
+
+        assertNull(spi.getThreadingService().getInboundQueue());
+        assertNull(spi.getThreadingService().getInboundThreadPool());
+        assertEquals(3, spi.getThreadingService().getInboundPartitionQueues().length);
+        assertEquals(3, spi.getThreadingService().getInboundPartitionQueueDepths().length);
+        assertEquals(0, spi.getThreadingService().getInboundQueueDepth());
+        assertEquals(0, spi.getThreadingService().getInboundNumRejected());
+
+        epService.destroy();
+    }
+
+    public void testRejectWhenFull() throws Exception
+    {
+        Configuration config = new Configuration();
+        config.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        config.getEngineDefaults().getThreading().setThreadPoolInbound(true);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundNumThreads(1);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundCapacity(1);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundFullPolicy(ConfigurationEngineDefaults.Threading.QueueFullPolicy.REJECT);
+        config.addEventType(MyEvent.class);
+        config.addPlugInSingleRowFunction("sleepaLittle", this.getClass().getName(), "sleepaLittle");
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getName(), config);
+        epService.initialize();
+
+        epService.getEPAdministrator().createEPL("select sleepaLittle(100) from MyEvent").setSubscriber(new MySubscriber());
+        int numRejected = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                epService.getEPRuntime().sendEvent(new MyEvent());
+            }
+            catch (EPException ex) {
+                assertTrue(ex.getMessage().startsWith("Inbound queue is full"));
+                numRejected++;
+            }
+        }
+
+        EPServiceProviderSPI spi = (EPServiceProviderSPI) epService;
+        assertTrue(numRejected > 0);
+        assertEquals(numRejected, spi.getThreadingService().getInboundNumRejected());
+        assertEquals(0, spi.getThreadingService().getInboundNumBlocked());
+
+        epService.destroy();
+    }
+
     public static void sleepaLittle(long time) {
         try {
             Thread.sleep(time);
@@ -116,4 +201,25 @@ public class TestThreadedConfigInbound extends TestCase
 
     public static class MyEvent {
     }
+
+    public static class MyOrderSubscriber {
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+
+        public void update(int value) {
+            received.add(value);
+        }
+
+        public int size() {
+            return received.size();
+        }
+
+        public void assertOrdered(int numEvents) {
+            synchronized (received) {
+                assertEquals(numEvents, received.size());
+                for (int i = 0; i < numEvents; i++) {
+                    assertEquals(i, (int) received.get(i));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TestThreadedConfigNamedWindowConsumer extends TestCase
+{
+    public void testOrderPerConsumer() throws Exception
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumer(true);
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerNumThreads(4);
+        config.addEventType("SupportBean", SupportBean.class);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestThreadedConfigNamedWindowConsumer.class.getName(), config);
+        epService.initialize();
+
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+
+        int numConsumers = 20;
+        int numEvents = 1000;
+        MyThreadRecordingListener[] listeners = new MyThreadRecordingListener[numConsumers];
+        for (int i = 0; i < numConsumers; i++) {
+            listeners[i] = new MyThreadRecordingListener();
+            epService.getEPAdministrator().createEPL("select intPrimitive from MyWindow").addListener(listeners[i]);
+        }
+
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+
+        Set<String> threads = new HashSet<String>();
+        for (MyThreadRecordingListener listener : listeners) {
+            List<Integer> values = listener.awaitValues(numEvents);
+            for (int i = 0; i < numEvents; i++) {
+                assertEquals(i, (int) values.get(i));
+            }
+            threads.addAll(listener.getThreadNames());
+        }
+        assertTrue(threads.size() > 1);
+        for (String thread : threads) {
+            assertTrue(thread, thread.contains("NamedWindowConsumer"));
+        }
+
+        epService.destroy();
+    }
+
+    public void testHint() throws Exception
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestThreadedConfigNamedWindowConsumer.class.getName(), config);
+        epService.initialize();
+
+        // window without the hint delivers to consumers by the sending thread
+        epService.getEPAdministrator().createEPL("create window MyWindowSeq#lastevent as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindowSeq select * from SupportBean");
+        MyThreadRecordingListener listenerSeq = new MyThreadRecordingListener();
+        epService.getEPAdministrator().createEPL("select intPrimitive from MyWindowSeq").addListener(listenerSeq);
+
+        epService.getEPAdministrator().createEPL("@Hint('ENABLE_PARALLEL_CONSUMER_DISPATCH') create window MyWindowPar#lastevent as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindowPar select * from SupportBean");
+        MyThreadRecordingListener listenerPar = new MyThreadRecordingListener();
+        epService.getEPAdministrator().createEPL("select intPrimitive from MyWindowPar").addListener(listenerPar);
+
+        // events routed by a consumer are processed by the consumer thread
+        epService.getEPAdministrator().createEPL("insert into MyStream select intPrimitive from MyWindowPar");
+        MyThreadRecordingListener listenerRouted = new MyThreadRecordingListener();
+        epService.getEPAdministrator().createEPL("select intPrimitive from MyStream").addListener(listenerRouted);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 20));
+
+        assertEquals("[10, 20]", listenerSeq.awaitValues(2).toString());
+        assertEquals("[" + Thread.currentThread().getName() + "]", listenerSeq.getThreadNames().toString());
+        assertEquals("[10, 20]", listenerPar.awaitValues(2).toString());
+        assertEquals("[10, 20]", listenerRouted.awaitValues(2).toString());
+        for (String thread : listenerPar.getThreadNames()) {
+            assertTrue(thread, thread.contains("NamedWindowConsumer"));
+        }
+
+        epService.destroy();
+    }
+
+    private static class MyThreadRecordingListener implements UpdateListener
+    {
+        private final List<Integer> values = new ArrayList<Integer>();
+        private final Set<String> threadNames = new HashSet<String>();
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents)
+        {
+            for (EventBean event : newEvents) {
+                values.add((Integer) event.get("intPrimitive"));
+            }
+            threadNames.add(Thread.currentThread().getName());
+            notifyAll();
+        }
+
+        public synchronized List<Integer> awaitValues(int count) throws InterruptedException
+        {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (values.size() < count && System.currentTimeMillis() < deadline) {
+                wait(100);
+            }
+            assertEquals(count, values.size());
+            return new ArrayList<Integer>(values);
+        }
+
+        public synchronized Set<String> getThreadNames()
+        {
+            return new HashSet<String>(threadNames);
+        }
+    }
+}
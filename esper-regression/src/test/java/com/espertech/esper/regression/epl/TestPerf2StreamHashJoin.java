@@ -0,0 +1,148 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.epl;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_ST0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestPerf2StreamHashJoin extends TestCase
+{
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration configuration = SupportConfigFactory.getConfiguration();
+        configuration.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        configuration.getEngineDefaults().getLogging().setEnableQueryPlan(true);
+        epService = EPServiceProviderManager.getDefaultProvider(configuration);
+        epService.initialize();
+        listener = new SupportUpdateListener();
+
+        epService.getEPAdministrator().getConfiguration().addEventType("SupportBean", SupportBean.class);
+        epService.getEPAdministrator().getConfiguration().addEventType("SupportBean_ST0", SupportBean_ST0.class);
+    }
+
+    protected void tearDown() throws Exception {
+        listener = null;
+    }
+
+    public void testLengthBatchComputedKeys()
+    {
+        String epl = "select sb.intPrimitive as val from SupportBean#keepall sb, SupportBean_ST0#length_batch(1000) s0 " +
+                "where (sb.theString || '-') = (s0.id || '-')";
+        runAssertionBatch(epl, false);
+
+        epl = "select sb.intPrimitive as val from SupportBean_ST0#length_batch(1000) s0, SupportBean#keepall sb " +
+                "where sb.intPrimitive * 2 = s0.p00 * 2L and (sb.theString || '-') = (s0.id || '-')";
+        runAssertionBatch(epl, false);
+    }
+
+    public void testTimeBatchComputedKeys()
+    {
+        String epl = "select sb.intPrimitive as val from SupportBean#keepall sb, SupportBean_ST0#time_batch(1 sec) s0 " +
+                "where sb.intPrimitive + 1 = s0.p00 + 1";
+        runAssertionBatch(epl, true);
+    }
+
+    public void testBothBatched()
+    {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        String epl = "select sb.intPrimitive as val from SupportBean#length_batch(2000) sb, SupportBean_ST0#length_batch(2000) s0 " +
+                "where sb.intPrimitive % 1000 = s0.p00 % 1000";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        for (int i = 0; i < 2000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean_ST0("E" + i, i));
+        }
+        assertFalse(listener.isInvoked());
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 2000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+        long delta = System.currentTimeMillis() - startTime;
+        assertEquals(4000, listener.getAndResetLastNewData().length);
+        assertTrue("delta=" + delta, delta < 1000);
+        log.info("delta=" + delta);
+    }
+
+    public void testCorrectness()
+    {
+        String epl = "select sb.theString as c0, s0.id as c1 from SupportBean#keepall sb, SupportBean_ST0#length_batch(3) s0 " +
+                "where sb.intBoxed * 10 = s0.p00 * 10";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        for (int i = 0; i < 100; i++) {
+            SupportBean bean = new SupportBean("E" + i, i);
+            bean.setIntBoxed(i % 20 == 0 ? null : i % 50);
+            epService.getEPRuntime().sendEvent(bean);
+        }
+
+        epService.getEPRuntime().sendEvent(new SupportBean_ST0("A", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean_ST0("B", 0));
+        epService.getEPRuntime().sendEvent(new SupportBean_ST0("C", 49));
+        EPAssertionUtil.assertPropsPerRowAnyOrder(listener.getAndResetLastNewData(), "c0,c1".split(","),
+                new Object[][] {{"E1", "A"}, {"E51", "A"}, {"E50", "B"}, {"E49", "C"}, {"E99", "C"}});
+
+        SupportBean bean = new SupportBean("X", 0);
+        bean.setIntBoxed(0);
+        epService.getEPRuntime().sendEvent(bean);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(listener.getAndResetLastNewData(), "c0,c1".split(","), new Object[][] {{"X", "B"}});
+    }
+
+    private void runAssertionBatch(String epl, boolean timeBatch) {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        // preload
+        for (int i = 0; i < 10000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+
+        long startTime = System.currentTimeMillis();
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 1000; i++) {
+                int value = batch * 1000 + i;
+                epService.getEPRuntime().sendEvent(new SupportBean_ST0("E" + value, value));
+            }
+            if (timeBatch) {
+                epService.getEPRuntime().sendEvent(new CurrentTimeEvent((batch + 1) * 1000));
+            }
+            EventBean[] result = listener.getAndResetLastNewData();
+            assertEquals(1000, result.length);
+            assertEquals(batch * 1000, result[0].get("val"));
+        }
+        long delta = System.currentTimeMillis() - startTime;
+        assertTrue("delta=" + delta, delta < 1500);
+        log.info("delta=" + delta);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestPerf2StreamHashJoin.class);
+}
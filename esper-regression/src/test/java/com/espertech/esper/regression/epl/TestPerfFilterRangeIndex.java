@@ -0,0 +1,86 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.epl;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestPerfFilterRangeIndex extends TestCase
+{
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        listener = new SupportUpdateListener();
+
+        epService.getEPAdministrator().getConfiguration().addEventType("SupportBean", SupportBean.class);
+    }
+
+    protected void tearDown() throws Exception {
+        listener = null;
+    }
+
+    public void testPerfOverlappingRanges() {
+        // 10k narrow price bands plus one band spanning all of them: a lookup by start value would visit all bands
+        log.info("Creating statements");
+        for (int i = 0; i < 10000; i++) {
+            epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive between " + i + " and " + (i + 10) + ")").addListener(listener);
+        }
+        epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive between 0 and 100000)").addListener(listener);
+        log.info("Done creating statements");
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E", 9000 + (i % 1000)));
+            assertEquals(12, listener.getNewDataList().size());
+            listener.reset();
+        }
+        long endTime = System.currentTimeMillis();
+        log.info("delta=" + (endTime - startTime));
+
+        assertTrue("Delta=" + (endTime - startTime), (endTime - startTime) < 1500);
+    }
+
+    public void testPerfOverlappingInvertedRanges() {
+        // 10k nested bands that all contain the values sent, so that only the bands starting after a value match
+        log.info("Creating statements");
+        for (int i = 0; i < 10000; i++) {
+            epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive not between " + i + " and " + (30000 - i) + ")").addListener(listener);
+        }
+        log.info("Done creating statements");
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            int value = 9990 + (i % 20);
+            epService.getEPRuntime().sendEvent(new SupportBean("E", value));
+            assertEquals(Math.max(0, 9999 - value), listener.getNewDataList().size());
+            listener.reset();
+        }
+        long endTime = System.currentTimeMillis();
+        log.info("delta=" + (endTime - startTime));
+
+        assertTrue("Delta=" + (endTime - startTime), (endTime - startTime) < 1500);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestPerfFilterRangeIndex.class);
+}
@@ -11,16 +11,20 @@
 
 package com.espertech.esper.regression.epl;
 
-import com.espertech.esper.client.EPServiceProvider;
-import com.espertech.esper.client.EPStatement;
-import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.*;
 import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.event.bean.CGLibPropertyGetter;
+import com.espertech.esper.event.bean.LambdaPropertyGetter;
+import com.espertech.esper.event.bean.ReflectionPropMethodGetter;
+import com.espertech.esper.supportregression.bean.SupportBean;
 import com.espertech.esper.supportregression.bean.SupportBeanCombinedProps;
 import com.espertech.esper.supportregression.client.SupportConfigFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import junit.framework.TestCase;
 
+import java.util.Arrays;
+
 public class TestPerfPropertyAccess extends TestCase
 {
     private EPServiceProvider epService;
@@ -66,6 +70,59 @@ public class TestPerfPropertyAccess extends TestCase
         assertTrue((endTime - startTime) < 1000);
     }
 
+    public void testPerfGetterCodeGeneration()
+    {
+        EPServiceProvider[] providers = new EPServiceProvider[] {
+                makeProvider(ConfigurationEventTypeLegacy.CodeGeneration.ENABLED),
+                makeProvider(ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA),
+                makeProvider(ConfigurationEventTypeLegacy.CodeGeneration.DISABLED)};
+        Class[] getterClasses = new Class[] {CGLibPropertyGetter.class, LambdaPropertyGetter.class, ReflectionPropMethodGetter.class};
+
+        String epl = "select sum(intPrimitive) as sumInt, sum(longPrimitive) as sumLong, sum(doublePrimitive) as sumDouble, count(theString) as cnt " +
+                "from SupportBean(intPrimitive >= 0, longPrimitive != -1)";
+        SupportBean[] events = new SupportBean[1000];
+        for (int i = 0; i < events.length; i++) {
+            SupportBean bean = new SupportBean("E" + i, i % 100);
+            bean.setLongPrimitive(i % 17);
+            bean.setDoublePrimitive(i / 10d);
+            events[i] = bean;
+        }
+
+        Object[] results = new Object[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            EventType eventType = providers[i].getEPAdministrator().getConfiguration().getEventType("SupportBean");
+            assertEquals(getterClasses[i], eventType.getGetter("intPrimitive").getClass());
+
+            EPStatement stmt = providers[i].getEPAdministrator().createEPL(epl);
+            long start = System.currentTimeMillis();
+            for (int j = 0; j < 200000; j++) {
+                providers[i].getEPRuntime().sendEvent(events[j % events.length]);
+            }
+            long delta = System.currentTimeMillis() - start;
+            log.info(".testPerfGetterCodeGeneration code generation " + getterClasses[i].getSimpleName() + " delta=" + delta);
+
+            EventBean result = stmt.iterator().next();
+            results[i] = new Object[] {result.get("sumInt"), result.get("sumLong"), result.get("sumDouble"), result.get("cnt")};
+            assertEquals(200000L, result.get("cnt"));
+            providers[i].destroy();
+        }
+
+        for (int i = 1; i < results.length; i++) {
+            assertTrue(Arrays.equals((Object[]) results[0], (Object[]) results[i]));
+        }
+    }
+
+    private EPServiceProvider makeProvider(ConfigurationEventTypeLegacy.CodeGeneration codeGeneration)
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        ConfigurationEventTypeLegacy legacyDef = new ConfigurationEventTypeLegacy();
+        legacyDef.setCodeGeneration(codeGeneration);
+        config.addEventType("SupportBean", SupportBean.class.getName(), legacyDef);
+        EPServiceProvider provider = EPServiceProviderManager.getProvider(TestPerfPropertyAccess.class.getSimpleName() + "_" + codeGeneration, config);
+        provider.initialize();
+        return provider;
+    }
+
     private void sendEvent(Object theEvent)
     {
         epService.getEPRuntime().sendEvent(theEvent);
@@ -127,6 +127,11 @@ public class TestBeanLegacyEvent extends TestCase
         tryPublicAccessors(ConfigurationEventTypeLegacy.CodeGeneration.DISABLED);
     }
 
+    public void testPublicAccessorsLambda()
+    {
+        tryPublicAccessors(ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA);
+    }
+
     public void testExplicitOnly()
     {
         tryExplicitOnlyAccessors(ConfigurationEventTypeLegacy.CodeGeneration.ENABLED);
@@ -137,6 +142,11 @@ public class TestBeanLegacyEvent extends TestCase
         tryExplicitOnlyAccessors(ConfigurationEventTypeLegacy.CodeGeneration.DISABLED);
     }
 
+    public void testExplicitOnlyLambda()
+    {
+        tryExplicitOnlyAccessors(ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA);
+    }
+
     public void testJavaBeanAccessor()
     {
         tryJavaBeanAccessor(ConfigurationEventTypeLegacy.CodeGeneration.ENABLED);
@@ -147,6 +157,11 @@ public class TestBeanLegacyEvent extends TestCase
         tryJavaBeanAccessor(ConfigurationEventTypeLegacy.CodeGeneration.DISABLED);
     }
 
+    public void testJavaBeanAccessorLambda()
+    {
+        tryJavaBeanAccessor(ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA);
+    }
+
     public void testFinalClass()
     {
         tryFinalClass(ConfigurationEventTypeLegacy.CodeGeneration.ENABLED);
@@ -157,6 +172,11 @@ public class TestBeanLegacyEvent extends TestCase
         tryFinalClass(ConfigurationEventTypeLegacy.CodeGeneration.DISABLED);
     }
 
+    public void testFinalClassLambda()
+    {
+        tryFinalClass(ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA);
+    }
+
     private void tryPublicAccessors(ConfigurationEventTypeLegacy.CodeGeneration codeGeneration)
     {
         Configuration config = SupportConfigFactory.getConfiguration();
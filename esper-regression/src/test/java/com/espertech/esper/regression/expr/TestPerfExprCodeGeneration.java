@@ -0,0 +1,167 @@
+
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.expr;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares interpreted and compiled evaluation of typical where-clause, filter and select-clause expressions.
+ */
+public class TestPerfExprCodeGeneration extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestPerfExprCodeGeneration.class);
+
+    private static final int NUM_EVENTS = 200000;
+
+    private EPServiceProvider epServiceInterpreted;
+    private EPServiceProvider epServiceCompiled;
+    private SupportBean[] events;
+
+    public void setUp()
+    {
+        epServiceInterpreted = makeProvider(false);
+        epServiceCompiled = makeProvider(true);
+
+        events = new SupportBean[1000];
+        for (int i = 0; i < events.length; i++) {
+            SupportBean bean = new SupportBean("E" + i, i % 100);
+            bean.setLongPrimitive(i % 17);
+            bean.setDoublePrimitive(i / 10d);
+            bean.setBoolPrimitive(i % 3 == 0);
+            bean.setIntBoxed(i % 5 == 0 ? null : i % 50);
+            bean.setDoubleBoxed(i % 7 == 0 ? null : i / 4d);
+            events[i] = bean;
+        }
+    }
+
+    protected void tearDown() throws Exception {
+        epServiceInterpreted.destroy();
+        epServiceCompiled.destroy();
+        events = null;
+    }
+
+    public void testWhereClause()
+    {
+        runAssertion("select intPrimitive as value from SupportBean where intPrimitive > 10 and doublePrimitive < 80.5 and longPrimitive != 3");
+        runAssertion("select intPrimitive as value from SupportBean where intPrimitive * 2 + longPrimitive > 50 or boolPrimitive");
+        runAssertion("select intPrimitive as value from SupportBean where not (intBoxed >= 25 and doubleBoxed / 2 < 40)");
+    }
+
+    public void testFilter()
+    {
+        runAssertion("select intPrimitive as value from SupportBean(intPrimitive * 2 + longPrimitive > 50)");
+        runAssertion("select intPrimitive as value from SupportBean(intBoxed + longPrimitive > doublePrimitive and doubleBoxed > 20)");
+    }
+
+    public void testSelectClause()
+    {
+        runAssertion("select intPrimitive * longPrimitive + doublePrimitive / 2 as value from SupportBean");
+        runAssertion("select intBoxed > 10 and doubleBoxed <= 100 as value from SupportBean");
+    }
+
+    private void runAssertion(String epl)
+    {
+        SupportValueListener listenerInterpreted = new SupportValueListener();
+        EPStatement stmtInterpreted = epServiceInterpreted.getEPAdministrator().createEPL(epl);
+        stmtInterpreted.addListener(listenerInterpreted);
+
+        SupportValueListener listenerCompiled = new SupportValueListener();
+        EPStatement stmtCompiled = epServiceCompiled.getEPAdministrator().createEPL(epl);
+        stmtCompiled.addListener(listenerCompiled);
+
+        // warm up both engines
+        sendEvents(epServiceInterpreted, NUM_EVENTS / 10);
+        sendEvents(epServiceCompiled, NUM_EVENTS / 10);
+        listenerInterpreted.reset();
+        listenerCompiled.reset();
+
+        long deltaInterpreted = sendEvents(epServiceInterpreted, NUM_EVENTS);
+        long deltaCompiled = sendEvents(epServiceCompiled, NUM_EVENTS);
+        log.info("Interpreted " + deltaInterpreted + " msec, compiled " + deltaCompiled + " msec for '" + epl + "'");
+
+        assertTrue(listenerInterpreted.getCount() > 0);
+        assertEquals(listenerInterpreted.getCount(), listenerCompiled.getCount());
+        assertEquals(listenerInterpreted.getNullCount(), listenerCompiled.getNullCount());
+        assertEquals(listenerInterpreted.getSum(), listenerCompiled.getSum(), 0.0001);
+        assertTrue("Compiled delta=" + deltaCompiled, deltaCompiled < 5000);
+
+        stmtInterpreted.destroy();
+        stmtCompiled.destroy();
+    }
+
+    private long sendEvents(EPServiceProvider epService, int numEvents)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(events[i % events.length]);
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private EPServiceProvider makeProvider(boolean codeGeneration)
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.getEngineDefaults().getExpression().setCodeGeneration(codeGeneration);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getName() + "_" + codeGeneration, config);
+        epService.initialize();
+        return epService;
+    }
+
+    private static class SupportValueListener implements UpdateListener
+    {
+        private long count;
+        private long nullCount;
+        private double sum;
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents)
+        {
+            for (EventBean event : newEvents) {
+                count++;
+                Object value = event.get("value");
+                if (value == null) {
+                    nullCount++;
+                }
+                else if (value instanceof Boolean) {
+                    sum += (Boolean) value ? 1 : 0;
+                }
+                else {
+                    sum += ((Number) value).doubleValue();
+                }
+            }
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNullCount() {
+            return nullCount;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public void reset() {
+            count = 0;
+            nullCount = 0;
+            sum = 0;
+        }
+    }
+}
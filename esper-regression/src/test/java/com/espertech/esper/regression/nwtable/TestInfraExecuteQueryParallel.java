@@ -0,0 +1,112 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+public class TestInfraExecuteQueryParallel extends TestCase
+{
+    private EPServiceProvider epService;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        epService = null;
+    }
+
+    public void testContextPartitioned() {
+        runAssertionContextPartitioned(true);
+        runAssertionContextPartitioned(false);
+    }
+
+    public void testLargeScan() {
+        runAssertionLargeScan(true);
+        runAssertionLargeScan(false);
+    }
+
+    private void runAssertionContextPartitioned(boolean namedWindow) {
+        epService.getEPAdministrator().createEPL("create context HashCtx coalesce hash_code(theString) from SupportBean granularity 16 preallocate");
+        String eplCreate = namedWindow ?
+                "context HashCtx create window MyInfra#keepall as SupportBean" :
+                "context HashCtx create table MyInfra as (theString string primary key, intPrimitive int)";
+        epService.getEPAdministrator().createEPL(eplCreate);
+        epService.getEPAdministrator().createEPL("context HashCtx insert into MyInfra select theString, intPrimitive from SupportBean");
+
+        for (int i = 0; i < 1000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+
+        assertSameResult("context HashCtx select * from MyInfra");
+        assertSameResult("context HashCtx select * from MyInfra where intPrimitive % 3 = 0 order by intPrimitive desc limit 10");
+        assertSameResult("context HashCtx select count(*) as cnt, sum(intPrimitive) as total from MyInfra where intPrimitive < 500");
+        assertSameResult("context HashCtx select theString from MyInfra where theString = 'E10'");
+        assertSameResult("select * from MyInfra where intPrimitive between 100 and 200 order by theString");
+        assertSameResult("select theString, intPrimitive from MyInfra");
+
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("@Hint('ENABLE_PARALLEL_FAF') select * from MyInfra where intPrimitive % 3 = 0 order by intPrimitive desc limit 3");
+        EPAssertionUtil.assertPropsPerRow(result.getArray(), "theString,intPrimitive".split(","), new Object[][] {{"E999", 999}, {"E996", 996}, {"E993", 993}});
+
+        result = epService.getEPRuntime().executeQuery("@Hint('ENABLE_PARALLEL_FAF') select count(*) as cnt from MyInfra");
+        assertEquals(1000L, result.getArray()[0].get("cnt"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+        epService.getEPAdministrator().getConfiguration().removeEventType("MyInfra", false);
+    }
+
+    private void runAssertionLargeScan(boolean namedWindow) {
+        String eplCreate = namedWindow ?
+                "create window MyInfra#keepall as SupportBean" :
+                "create table MyInfra as (theString string primary key, intPrimitive int)";
+        epService.getEPAdministrator().createEPL(eplCreate);
+        epService.getEPAdministrator().createEPL("insert into MyInfra select theString, intPrimitive from SupportBean");
+
+        for (int i = 0; i < 50000; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+
+        assertSameResult("select * from MyInfra where intPrimitive % 7 = 0");
+        assertSameResult("select * from MyInfra where intPrimitive % 7 = 0 order by intPrimitive desc limit 5 offset 2");
+        assertSameResult("select count(*) as cnt from MyInfra where intPrimitive >= 1000");
+        assertSameResult("select distinct intPrimitive % 10 as rem from MyInfra where intPrimitive > 10");
+
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("@Hint('ENABLE_PARALLEL_FAF') select count(*) as cnt from MyInfra where intPrimitive >= 1000");
+        assertEquals(49000L, result.getArray()[0].get("cnt"));
+
+        epService.getEPAdministrator().destroyAllStatements();
+        epService.getEPAdministrator().getConfiguration().removeEventType("MyInfra", false);
+    }
+
+    private void assertSameResult(String epl) {
+        EventBean[] expected = epService.getEPRuntime().executeQuery(epl).getArray();
+        EventBean[] actual = epService.getEPRuntime().executeQuery("@Hint('ENABLE_PARALLEL_FAF') " + epl).getArray();
+        String[] fields = expected.length == 0 ? new String[0] : expected[0].getEventType().getPropertyNames();
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            for (String field : fields) {
+                assertEquals(epl, expected[i].get(field), actual[i].get(field));
+            }
+        }
+    }
+}
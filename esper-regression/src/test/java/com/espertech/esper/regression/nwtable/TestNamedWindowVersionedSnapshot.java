@@ -0,0 +1,109 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestNamedWindowVersionedSnapshot extends TestCase
+{
+    private static CountDownLatch mergeEntered;
+    private static CountDownLatch mergeRelease;
+
+    private EPServiceProvider epService;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        config.addEventType("SupportBean_S0", SupportBean_S0.class);
+        config.addImport(TestNamedWindowVersionedSnapshot.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+    }
+
+    protected void tearDown() throws Exception {
+        epService = null;
+    }
+
+    public void testSnapshot()
+    {
+        epService.getEPAdministrator().createEPL("@Hint('ENABLE_VERSIONED_SNAPSHOT') create window MyWindow#length(2) as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 as s0 delete from MyWindow as w where w.theString = s0.p00");
+        epService.getEPAdministrator().createEPL("create index MyIndex on MyWindow(intPrimitive)");
+        String[] fields = "theString".split(",");
+
+        assertEquals(0, epService.getEPRuntime().executeQuery("select * from MyWindow").getArray().length);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        epService.getEPRuntime().sendEvent(new SupportBean("E3", 3));
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from MyWindow").getArray(), fields, new Object[][] {{"E2"}, {"E3"}});
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E2"));
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from MyWindow").getArray(), fields, new Object[][] {{"E3"}});
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from MyWindow where theString like 'E%'").getArray(), fields, new Object[][] {{"E3"}});
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive = 3").getArray(), fields, new Object[][] {{"E3"}});
+        assertEquals(0, epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive = 2").getArray().length);
+
+        epService.getEPRuntime().executeQuery("delete from MyWindow");
+        assertEquals(0, epService.getEPRuntime().executeQuery("select * from MyWindow").getArray().length);
+    }
+
+    public void testScanNotBlockedByWriter() throws Exception
+    {
+        epService.getEPAdministrator().createEPL("@Hint('ENABLE_VERSIONED_SNAPSHOT') create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 as s0 merge MyWindow as w where w.theString = s0.p00 " +
+                "when matched and TestNamedWindowVersionedSnapshot.awaitRelease() then delete");
+        String[] fields = "theString".split(",");
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+
+        // the merge holds the named window lock until released
+        mergeEntered = new CountDownLatch(1);
+        mergeRelease = new CountDownLatch(1);
+        Thread writer = new Thread(new Runnable() {
+            public void run() {
+                epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E1"));
+            }
+        });
+        writer.start();
+        assertTrue(mergeEntered.await(5, TimeUnit.SECONDS));
+
+        long start = System.currentTimeMillis();
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select * from MyWindow");
+        long delta = System.currentTimeMillis() - start;
+        mergeRelease.countDown();
+        writer.join();
+
+        assertTrue("Delta is " + delta, delta < 1000);
+        EPAssertionUtil.assertPropsPerRow(result.getArray(), fields, new Object[][] {{"E1"}, {"E2"}});
+        EPAssertionUtil.assertPropsPerRow(epService.getEPRuntime().executeQuery("select * from MyWindow").getArray(), fields, new Object[][] {{"E2"}});
+    }
+
+    public static boolean awaitRelease() throws InterruptedException
+    {
+        mergeEntered.countDown();
+        mergeRelease.await(5, TimeUnit.SECONDS);
+        return true;
+    }
+}
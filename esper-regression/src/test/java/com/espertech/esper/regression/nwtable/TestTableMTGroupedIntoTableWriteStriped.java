@@ -0,0 +1,256 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestTableMTGroupedIntoTableWriteStriped extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestTableMTGroupedIntoTableWriteStriped.class);
+
+    private static final int NUM_KEYS = 100;
+
+    private EPServiceProvider epService;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        config.addEventType("SupportBean_S0", SupportBean_S0.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+    }
+
+    /**
+     * Table:
+     *   create table varAgg (key string primary key, total sum(int), cnt count(*), batchTotal sum(int))
+     *   with lock stripes.
+     *
+     * For a given number of events
+     * - Multiple writers aggregate into rows, each event updating one row, and batches updating multiple rows in any order.
+     * - Single reader reads rows by key and sees totals.
+     * - Single fire-and-forget reader sees a total over all rows that never decreases, and never sees a batch partially applied.
+     */
+    public void testMT() throws Exception
+    {
+        tryMT(4, 20000);
+    }
+
+    public void testInvalid()
+    {
+        tryInvalid("@Hint('table_lock_stripes=abc') create table varAgg (key string primary key, total sum(int))",
+                "Error starting statement: Hint 'TABLE_LOCK_STRIPES' requires a number of stripes but received 'abc' [@Hint('table_lock_stripes=abc') create table varAgg (key string primary key, total sum(int))]");
+        tryInvalid("@Hint('table_lock_stripes=0') create table varAgg (key string primary key, total sum(int))",
+                "Error starting statement: Hint 'TABLE_LOCK_STRIPES' requires a positive number of stripes but received '0' [@Hint('table_lock_stripes=0') create table varAgg (key string primary key, total sum(int))]");
+    }
+
+    private void tryInvalid(String epl, String message)
+    {
+        try {
+            epService.getEPAdministrator().createEPL(epl);
+            fail();
+        }
+        catch (EPStatementException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private void tryMT(int numWriters, int numEvents) throws Exception
+    {
+        String epl =
+                "@Hint('table_lock_stripes=16') create table varAgg (key string primary key, total sum(int), cnt count(*), batchTotal sum(int));\n" +
+                "into table varAgg select sum(intPrimitive) as total, count(*) as cnt from SupportBean group by theString;\n" +
+                "into table varAgg select sum(intPrimitive) as batchTotal from SupportBean#length_batch(10) group by theString;\n" +
+                "@Name('listen') select varAgg[p00].total as c0 from SupportBean_S0;\n";
+        epService.getEPAdministrator().getDeploymentAdmin().parseDeploy(epl);
+
+        WriteRunnable[] writeRunnables = new WriteRunnable[numWriters];
+        Thread[] writeThreads = new Thread[numWriters];
+        for (int i = 0; i < numWriters; i++) {
+            writeRunnables[i] = new WriteRunnable(epService, numEvents, i);
+            writeThreads[i] = new Thread(writeRunnables[i]);
+        }
+        ReadRunnable readRunnable = new ReadRunnable(epService, numEvents);
+        Thread readThread = new Thread(readRunnable);
+        FAFRunnable fafRunnable = new FAFRunnable(epService);
+        Thread fafThread = new Thread(fafRunnable);
+
+        // start
+        for (Thread t : writeThreads) {
+            t.start();
+        }
+        readThread.start();
+        fafThread.start();
+
+        // join
+        log.info("Waiting for completion");
+        for (Thread t : writeThreads) {
+            t.join(60000);
+            assertFalse(t.isAlive());
+        }
+        readThread.join(60000);
+        assertFalse(readThread.isAlive());
+        fafRunnable.setShutdown(true);
+        fafThread.join(60000);
+        assertFalse(fafThread.isAlive());
+
+        for (WriteRunnable writeRunnable : writeRunnables) {
+            assertNull(writeRunnable.getException());
+        }
+        assertNull(readRunnable.getException());
+        assertNull(fafRunnable.getException());
+        assertTrue(fafRunnable.getNumQueries() > 0);
+
+        // assert totals
+        int expected = numWriters * numEvents / NUM_KEYS;
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select key, total, cnt from varAgg");
+        assertEquals(NUM_KEYS, result.getArray().length);
+        for (EventBean row : result.getArray()) {
+            assertEquals(expected, row.get("total"));
+            assertEquals((long) expected, row.get("cnt"));
+        }
+    }
+
+    public static class WriteRunnable implements Runnable {
+
+        private final EPServiceProvider epService;
+        private final int numEvents;
+        private final int threadNum;
+        private RuntimeException exception;
+
+        public WriteRunnable(EPServiceProvider epService, int numEvents, int threadNum) {
+            this.epService = epService;
+            this.numEvents = numEvents;
+            this.threadNum = threadNum;
+        }
+
+        public void run() {
+            log.info("Started event send for write");
+
+            try {
+                for (int i = 0; i < numEvents; i++) {
+                    // each thread visits the keys in a different order
+                    String key = "E" + ((i * 7 + threadNum * 13) % NUM_KEYS);
+                    epService.getEPRuntime().sendEvent(new SupportBean(key, 1));
+                }
+            }
+            catch (RuntimeException ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed event send for write");
+        }
+
+        public RuntimeException getException() {
+            return exception;
+        }
+    }
+
+    public static class ReadRunnable implements Runnable {
+
+        private final EPServiceProvider epService;
+        private final int numEvents;
+        private RuntimeException exception;
+
+        public ReadRunnable(EPServiceProvider epService, int numEvents) {
+            this.epService = epService;
+            this.numEvents = numEvents;
+        }
+
+        public void run() {
+            log.info("Started event send for read");
+            SupportUpdateListener listener = new SupportUpdateListener();
+            epService.getEPAdministrator().getStatement("listen").addListener(listener);
+
+            try {
+                int[] last = new int[NUM_KEYS];
+                for (int i = 0; i < numEvents; i++) {
+                    int key = i % NUM_KEYS;
+                    epService.getEPRuntime().sendEvent(new SupportBean_S0(0, "E" + key));
+                    Integer value = (Integer) listener.assertOneGetNewAndReset().get("c0");
+                    int current = value == null ? 0 : value;
+                    assertTrue(current >= last[key]);
+                    last[key] = current;
+                }
+            }
+            catch (RuntimeException ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed event send for read");
+        }
+
+        public RuntimeException getException() {
+            return exception;
+        }
+    }
+
+    public static class FAFRunnable implements Runnable {
+
+        private final EPServiceProvider epService;
+        private volatile boolean shutdown;
+        private int numQueries;
+        private RuntimeException exception;
+
+        public FAFRunnable(EPServiceProvider epService) {
+            this.epService = epService;
+        }
+
+        public void run() {
+            log.info("Started fire-and-forget query for read");
+
+            try {
+                int last = 0;
+                while (!shutdown) {
+                    EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select sum(total) as c0, sum(cnt) as c1, sum(batchTotal) as c2 from varAgg");
+                    Integer total = (Integer) result.getArray()[0].get("c0");
+                    Long count = (Long) result.getArray()[0].get("c1");
+                    Integer batchTotal = (Integer) result.getArray()[0].get("c2");
+                    int current = total == null ? 0 : total;
+                    assertTrue(current >= last);
+                    assertEquals(current, count == null ? 0 : count.intValue());
+                    // each batch enters the new batch of 10 and leaves the prior batch of 10 across several rows
+                    assertTrue(batchTotal == null || batchTotal == 10);
+                    last = current;
+                    numQueries++;
+                }
+            }
+            catch (RuntimeException ex) {
+                log.error("Exception encountered: " + ex.getMessage(), ex);
+                exception = ex;
+            }
+
+            log.info("Completed fire-and-forget query for read");
+        }
+
+        public void setShutdown(boolean shutdown) {
+            this.shutdown = shutdown;
+        }
+
+        public int getNumQueries() {
+            return numQueries;
+        }
+
+        public RuntimeException getException() {
+            return exception;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.pattern;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPRuntimeSPI;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.filter.FilterServiceSPI;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.bean.SupportBean_S1;
+import com.espertech.esper.supportregression.bean.SupportBean_S2;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestCorrelatedFilterIndex extends TestCase
+{
+    private EPServiceProvider epService;
+    private EPServiceProvider epServiceCorrelated;
+
+    public void setUp()
+    {
+        epService = makeProvider(false);
+        epServiceCorrelated = makeProvider(true);
+    }
+
+    protected void tearDown() throws Exception {
+        epService.destroy();
+        epServiceCorrelated.destroy();
+    }
+
+    public void testFilterCount()
+    {
+        String epl = "select * from pattern[every a=SupportBean_S0 -> b=SupportBean_S1(id=a.id, p10='x')]";
+        SupportUpdateListener listener = new SupportUpdateListener();
+        EPStatement stmt = epServiceCorrelated.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+        FilterServiceSPI filterService = (FilterServiceSPI) ((EPServiceProviderSPI) epServiceCorrelated).getFilterService();
+        assertEquals(1, filterService.getFilterCountApprox());
+
+        for (int i = 0; i < 100; i++) {
+            epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean_S0(i));
+        }
+        assertEquals(2, filterService.getFilterCountApprox());
+
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean_S1(5, "y"));
+        assertFalse(listener.isInvoked());
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean_S1(5, "x"));
+        assertEquals(5, listener.assertOneGetNewAndReset().get("b.id"));
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean_S1(5, "x"));
+        assertFalse(listener.isInvoked());
+
+        for (int i = 0; i < 100; i++) {
+            epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean_S1(i, "x"));
+        }
+        assertEquals(99, listener.getNewDataListFlattened().length);
+        assertEquals(1, filterService.getFilterCountApprox());
+
+        stmt.destroy();
+        assertEquals(0, filterService.getFilterCountApprox());
+    }
+
+    public void testSameEventNotMatched()
+    {
+        String epl = "select * from pattern[every a=SupportBean -> b=SupportBean(intPrimitive=a.intPrimitive)]";
+        SupportUpdateListener listener = new SupportUpdateListener();
+        epServiceCorrelated.getEPAdministrator().createEPL(epl).addListener(listener);
+
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        assertFalse(listener.isInvoked());
+
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean("E2", 1));
+        EventBean theEvent = listener.assertOneGetNewAndReset();
+        assertEquals("E1", ((SupportBean) theEvent.get("a")).getTheString());
+        assertEquals("E2", ((SupportBean) theEvent.get("b")).getTheString());
+
+        epServiceCorrelated.getEPRuntime().sendEvent(new SupportBean("E3", 1));
+        theEvent = listener.assertOneGetNewAndReset();
+        assertEquals("E2", ((SupportBean) theEvent.get("a")).getTheString());
+        assertEquals("E3", ((SupportBean) theEvent.get("b")).getTheString());
+    }
+
+    public void testSameEventRedelivered()
+    {
+        // the same event object processed again, such as by insert-into of the same type, is a new event for the pattern
+        String epl = "select * from pattern[every a=SupportBean -> b=SupportBean(intPrimitive=a.intPrimitive)]";
+        for (EPServiceProvider provider : new EPServiceProvider[] {epService, epServiceCorrelated}) {
+            SupportUpdateListener listener = new SupportUpdateListener();
+            EPStatement stmt = provider.getEPAdministrator().createEPL(epl);
+            stmt.addListener(listener);
+            EPServiceProviderSPI spi = (EPServiceProviderSPI) provider;
+            EventBean theEvent = spi.getEventAdapterService().adapterForBean(new SupportBean("E1", 1));
+
+            ((EPRuntimeSPI) provider.getEPRuntime()).processWrappedEvent(theEvent);
+            assertFalse(listener.isInvoked());
+
+            ((EPRuntimeSPI) provider.getEPRuntime()).processWrappedEvent(theEvent);
+            EventBean received = listener.assertOneGetNewAndReset();
+            assertSame(theEvent.getUnderlying(), received.get("a"));
+            assertSame(theEvent.getUnderlying(), received.get("b"));
+            stmt.destroy();
+        }
+    }
+
+    public void testCompareNonCorrelated()
+    {
+        runAssertionCompare("every a=SupportBean_S0 -> b=SupportBean_S1(id=a.id)");
+        runAssertionCompare("every a=SupportBean_S0 -> every b=SupportBean_S1(id=a.id, p10='x')");
+        runAssertionCompare("every a=SupportBean_S0 -> (b=SupportBean_S1(id=a.id) and not SupportBean_S2(id=a.id))");
+        runAssertionCompare("every a=SupportBean -> b=SupportBean(intPrimitive=a.intPrimitive)");
+        runAssertionCompare("every a=SupportBean -> b=SupportBean(intPrimitive=a.intPrimitive) -> c=SupportBean(intPrimitive=b.intPrimitive)");
+        runAssertionCompare("a=SupportBean_S0 -> every (b=SupportBean(intPrimitive=a.id) or c=SupportBean_S1(p10='x'))");
+        runAssertionCompare("every a=SupportBean_S0 -> every (b=SupportBean(intPrimitive=a.id) and c=SupportBean(theString='x'))");
+        runAssertionCompare("every a=SupportBean_S0 -> (b=SupportBean(longPrimitive=a.id) or c=SupportBean_S1(id=a.id))");
+    }
+
+    public void testPerfManyOpen()
+    {
+        for (EPServiceProvider provider : new EPServiceProvider[] {epService, epServiceCorrelated}) {
+            SupportUpdateListener listener = new SupportUpdateListener();
+            EPStatement stmt = provider.getEPAdministrator().createEPL("select * from pattern[every a=SupportBean_S0 -> b=SupportBean_S1(id=a.id)]");
+            stmt.addListener(listener);
+
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 50000; i++) {
+                provider.getEPRuntime().sendEvent(new SupportBean_S0(i));
+            }
+            for (int i = 0; i < 50000; i++) {
+                provider.getEPRuntime().sendEvent(new SupportBean_S1(i));
+            }
+            long delta = System.currentTimeMillis() - start;
+            log.info(".testPerfManyOpen correlated filter index " + (provider == epServiceCorrelated) + " delta=" + delta);
+            assertEquals(50000, listener.getNewDataList().size());
+            stmt.destroy();
+        }
+    }
+
+    private void runAssertionCompare(String pattern)
+    {
+        String epl = "select * from pattern[" + pattern + "]";
+        SupportUpdateListener listener = new SupportUpdateListener();
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+        SupportUpdateListener listenerCorrelated = new SupportUpdateListener();
+        EPStatement stmtCorrelated = epServiceCorrelated.getEPAdministrator().createEPL(epl);
+        stmtCorrelated.addListener(listenerCorrelated);
+        String[] tags = stmt.getEventType().getPropertyNames();
+
+        Random random = new Random(pattern.hashCode());
+        int numMatches = 0;
+        for (int i = 0; i < 2000; i++) {
+            Object theEvent = makeEvent(random, i);
+            epService.getEPRuntime().sendEvent(theEvent);
+            epServiceCorrelated.getEPRuntime().sendEvent(theEvent);
+
+            List<Object[]> expected = getMatches(listener, tags);
+            List<Object[]> received = getMatches(listenerCorrelated, tags);
+            // the order of multiple matches for the same event depends on the order of filter callbacks
+            assertEquals("Failed for " + pattern + " at event " + i, expected.size(), received.size());
+            for (Object[] match : expected) {
+                assertTrue("Failed for " + pattern + " at event " + i, removeSame(received, match));
+            }
+            numMatches += expected.size();
+        }
+        assertTrue(numMatches > 0);
+
+        stmt.destroy();
+        stmtCorrelated.destroy();
+    }
+
+    private static Object makeEvent(Random random, int num)
+    {
+        int id = random.nextInt(5);
+        switch (random.nextInt(4)) {
+            case 0:
+                return new SupportBean_S0(id);
+            case 1:
+                return new SupportBean_S1(id, random.nextBoolean() ? "x" : "y");
+            case 2:
+                return new SupportBean_S2(id);
+            default:
+                SupportBean bean = new SupportBean(random.nextBoolean() ? "x" : "E" + num, id);
+                bean.setLongPrimitive(id);
+                return bean;
+        }
+    }
+
+    private static boolean removeSame(List<Object[]> matches, Object[] match)
+    {
+        for (int i = 0; i < matches.size(); i++) {
+            boolean same = true;
+            for (int j = 0; j < match.length; j++) {
+                same = same && matches.get(i)[j] == match[j];
+            }
+            if (same) {
+                matches.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Object[]> getMatches(SupportUpdateListener listener, String[] tags)
+    {
+        List<Object[]> matches = new ArrayList<Object[]>();
+        for (EventBean[] events : listener.getNewDataList()) {
+            if (events == null) {
+                continue;
+            }
+            for (EventBean theEvent : events) {
+                Object[] values = new Object[tags.length];
+                for (int i = 0; i < tags.length; i++) {
+                    values[i] = theEvent.get(tags[i]);
+                }
+                matches.add(values);
+            }
+        }
+        listener.reset();
+        return matches;
+    }
+
+    private static EPServiceProvider makeProvider(boolean correlatedFilterIndex)
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getPatterns().setCorrelatedFilterIndex(correlatedFilterIndex);
+        for (Class clazz : new Class[] {SupportBean.class, SupportBean_S0.class, SupportBean_S1.class, SupportBean_S2.class}) {
+            config.addEventType(clazz);
+        }
+        EPServiceProvider provider = EPServiceProviderManager.getProvider(TestCorrelatedFilterIndex.class.getSimpleName() + "_" + correlatedFilterIndex, config);
+        provider.initialize();
+        return provider;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestCorrelatedFilterIndex.class);
+}
@@ -16,8 +16,11 @@ import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.client.soda.*;
 import com.espertech.esper.client.time.CurrentTimeEvent;
 import com.espertech.esper.client.util.DateTime;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.schedule.SchedulingService;
 import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
 import com.espertech.esper.supportregression.bean.SupportBeanConstants;
 import com.espertech.esper.supportregression.bean.SupportMarketDataBean;
 import com.espertech.esper.supportregression.client.SupportConfigFactory;
@@ -359,6 +362,58 @@ public class TestTimerWithinGuard extends TestCase implements SupportBeanConstan
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
     }
 
+    public void testEveryFollowedByManyInstances()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("SupportBean", SupportBean.class);
+        config.addEventType("S0", SupportBean_S0.class);
+        EPServiceProvider epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+
+        sendTimer(0, epService);
+        String stmtText = "select a.theString as id from pattern [every a=SupportBean -> (S0(id=a.intPrimitive) where timer:within(1 sec))]";
+        EPStatement statement = epService.getEPAdministrator().createEPL(stmtText);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        statement.addListener(listener);
+        SchedulingService schedulingService = ((EPServiceProviderSPI) epService).getSchedulingService();
+
+        // guards of the sub-expression expire in the order they start
+        for (int i = 0; i < 10; i++) {
+            sendTimer(i * 100, epService);
+            epService.getEPRuntime().sendEvent(new SupportBean("A" + i, i));
+        }
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(3));
+        assertEquals("A3", listener.assertOneGetNewAndReset().get("id"));
+
+        sendTimer(1000, epService);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0));
+        assertFalse(listener.isInvoked());
+
+        sendTimer(1099, epService);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1));
+        assertEquals("A1", listener.assertOneGetNewAndReset().get("id"));
+
+        sendTimer(1200, epService);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(2));
+        assertFalse(listener.isInvoked());
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(9));
+        assertEquals("A9", listener.assertOneGetNewAndReset().get("id"));
+
+        sendTimer(1799, epService);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(8));
+        assertEquals("A8", listener.assertOneGetNewAndReset().get("id"));
+
+        sendTimer(1900, epService);
+        assertEquals(0, schedulingService.getScheduleHandleCount());
+        for (int i = 0; i < 10; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean_S0(i));
+        }
+        assertFalse(listener.isInvoked());
+
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
     public void testWithinMayMaxMonthScoped() {
         runAssertionWithinMayMaxMonthScoped(false);
         runAssertionWithinMayMaxMonthScoped(true);
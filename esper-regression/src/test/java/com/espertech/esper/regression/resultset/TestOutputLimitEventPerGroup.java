@@ -1033,6 +1033,42 @@ public class TestOutputLimitEventPerGroup extends TestCase
         runAssertionNoJoinAll(true);
     }
 
+    public void testAllHintedUnchangedGroups() {
+        runAssertionAllUnchangedGroups("");
+        runAssertionAllUnchangedGroups(", current_timestamp() as ts");
+    }
+
+    private void runAssertionAllUnchangedGroups(String additionalSelect)
+    {
+        sendTimer(0);
+        String epl = "@Hint('enable_outputlimit_opt') select theString, sum(intPrimitive) as mySum" + additionalSelect + " " +
+                "from SupportBean group by theString output all every 1 seconds";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+        boolean timestamped = !additionalSelect.isEmpty();
+
+        sendBeanEvent("A", 10);
+        sendBeanEvent("B", 20);
+        sendTimer(1000);
+        EPAssertionUtil.assertPropsPerRow(listener.getAndResetLastNewData(), "theString,mySum".split(","), new Object[][] {{"A", 10}, {"B", 20}});
+
+        // group "B" is unchanged and output as before, unless the select clause depends on more than group state
+        sendBeanEvent("A", 5);
+        sendTimer(2000);
+        EventBean[] events = listener.getAndResetLastNewData();
+        EPAssertionUtil.assertPropsPerRow(events, "theString,mySum".split(","), new Object[][] {{"A", 15}, {"B", 20}});
+        if (timestamped) {
+            assertEquals(2000L, events[0].get("ts"));
+            assertEquals(2000L, events[1].get("ts"));
+        }
+
+        sendBeanEvent("C", 1);
+        sendTimer(3000);
+        EPAssertionUtil.assertPropsPerRow(listener.getAndResetLastNewData(), "theString,mySum".split(","), new Object[][] {{"A", 15}, {"B", 20}, {"C", 1}});
+
+        stmt.destroy();
+    }
+
 	private void runAssertionNoJoinAll(boolean hinted)
     {
         String hint = hinted ? "@Hint('enable_outputlimit_opt') " : "";
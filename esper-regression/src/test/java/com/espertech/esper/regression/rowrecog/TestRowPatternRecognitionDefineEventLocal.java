@@ -0,0 +1,101 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.regression.rowrecog;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class TestRowPatternRecognitionDefineEventLocal extends TestCase {
+
+    private static final String[] FIELDS = "a,bfirst,bcount,c".split(",");
+
+    private EPServiceProvider epService;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("MyEvent", SupportRecogBean.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testCompareCrossVariable()
+    {
+        // conditions that only refer to the current event are evaluated once per event for all partial matches,
+        // compare with the same conditions made to also refer to another variable
+        String local = "A as A.value > 0, " +
+                "B as B.value >= 3 and prev(B.value, 1) != B.value, " +
+                "C as C.value < 0";
+        String cross = "A as A.value > 0, " +
+                "B as B.value >= 3 and prev(B.value, 1) != B.value and A.value > 0, " +
+                "C as C.value < 0 and A.value > 0";
+
+        runAssertionCompare("all matches pattern (A B+ C)", local, cross);
+        runAssertionCompare("pattern (A B*? C)", local, cross);
+        runAssertionCompare("after match skip to next row pattern (A B+ C?)", local, cross);
+        runAssertionCompare("pattern (A B? B?? B C)", local, cross);
+    }
+
+    private void runAssertionCompare(String pattern, String defineLocal, String defineCross)
+    {
+        SupportUpdateListener listenerLocal = new SupportUpdateListener();
+        SupportUpdateListener listenerCross = new SupportUpdateListener();
+        EPStatement stmtLocal = epService.getEPAdministrator().createEPL(getEPL(pattern, defineLocal));
+        stmtLocal.addListener(listenerLocal);
+        EPStatement stmtCross = epService.getEPAdministrator().createEPL(getEPL(pattern, defineCross));
+        stmtCross.addListener(listenerCross);
+
+        Random random = new Random(1);
+        int numMatches = 0;
+        for (int i = 0; i < 500; i++) {
+            epService.getEPRuntime().sendEvent(new SupportRecogBean("E" + i, "P" + random.nextInt(3), random.nextInt(13) - 3));
+            EventBean[] expected = listenerCross.getAndResetLastNewData();
+            EventBean[] received = listenerLocal.getAndResetLastNewData();
+            if (expected == null) {
+                assertNull("Failed for " + pattern + " at event " + i, received);
+                continue;
+            }
+            assertEquals("Failed for " + pattern + " at event " + i, expected.length, received.length);
+            for (int j = 0; j < expected.length; j++) {
+                for (String field : FIELDS) {
+                    assertEquals("Failed for " + pattern + " at event " + i, expected[j].get(field), received[j].get(field));
+                }
+            }
+            numMatches += expected.length;
+        }
+        assertTrue(numMatches > 0);
+
+        stmtLocal.destroy();
+        stmtCross.destroy();
+    }
+
+    private String getEPL(String pattern, String define)
+    {
+        return "select * from MyEvent " +
+                "match_recognize (" +
+                "  partition by cat" +
+                "  measures A.theString as a, B[0].theString as bfirst, count(B.theString) as bcount, C.theString as c" +
+                "  " + pattern +
+                "  define " + define +
+                ")";
+    }
+}
@@ -102,5 +102,8 @@ public abstract class BaseSubscription implements Subscription, FilterHandleCall
         EPStatementAgentInstanceHandle agentHandle = new EPStatementAgentInstanceHandle(statementHandle, new StatementAgentInstanceRWLockImpl(false), -1, new StatementAgentInstanceFilterVersion(), null);
         EPStatementHandleCallback registerHandle = new EPStatementHandleCallback(agentHandle, this);
         spi.getFilterService().add(fvs, registerHandle);
+
+        // events are handed to the adapter and may be retained
+        spi.getStatementEventTypeRef().addReferences(name, new String[] {eventTypeName});
     }
 }
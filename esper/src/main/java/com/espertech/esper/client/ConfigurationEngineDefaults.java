@@ -316,6 +316,11 @@ public class ConfigurationEngineDefaults implements Serializable
         private Integer threadPoolInboundCapacity;
         private Integer threadPoolRouteExecCapacity;
         private Integer threadPoolOutboundCapacity;
+        private InboundPartitioning threadPoolInboundPartitioning;
+        private QueueFullPolicy threadPoolInboundFullPolicy;
+        private boolean isThreadPoolNamedWindowConsumer;
+        private int threadPoolNamedWindowConsumerNumThreads;
+        private Integer threadPoolNamedWindowConsumerCapacity;
 
         private boolean engineFairlock;
 
@@ -348,6 +353,10 @@ public class ConfigurationEngineDefaults implements Serializable
             threadPoolInboundNumThreads = 2;
             threadPoolRouteExecNumThreads = 2;
             threadPoolOutboundNumThreads = 2;
+            threadPoolInboundPartitioning = InboundPartitioning.NONE;
+            threadPoolInboundFullPolicy = QueueFullPolicy.BLOCK;
+            isThreadPoolNamedWindowConsumer = false;
+            threadPoolNamedWindowConsumerNumThreads = 2;
         }
 
         /**
@@ -697,6 +706,44 @@ public class ConfigurationEngineDefaults implements Serializable
             this.threadPoolInboundCapacity = capacity;
         }
 
+        /**
+         * Returns the partitioning of inbound work, by default inbound work is not partitioned and
+         * all inbound threads take work from a single queue.
+         * @return partitioning
+         */
+        public InboundPartitioning getThreadPoolInboundPartitioning()
+        {
+            return threadPoolInboundPartitioning;
+        }
+
+        /**
+         * Sets the partitioning of inbound work, by default inbound work is not partitioned and
+         * all inbound threads take work from a single queue.
+         * @param partitioning partitioning
+         */
+        public void setThreadPoolInboundPartitioning(InboundPartitioning partitioning)
+        {
+            this.threadPoolInboundPartitioning = partitioning;
+        }
+
+        /**
+         * Returns the policy applied when a capacity-bound inbound queue is full, by default the sender waits.
+         * @return policy
+         */
+        public QueueFullPolicy getThreadPoolInboundFullPolicy()
+        {
+            return threadPoolInboundFullPolicy;
+        }
+
+        /**
+         * Sets the policy applied when a capacity-bound inbound queue is full, by default the sender waits.
+         * @param policy policy
+         */
+        public void setThreadPoolInboundFullPolicy(QueueFullPolicy policy)
+        {
+            this.threadPoolInboundFullPolicy = policy;
+        }
+
         /**
          * Returns the capacity of the route execution queue, or null if none defined (the unbounded case, default).
          * @return capacity or null if none defined
@@ -733,6 +780,66 @@ public class ConfigurationEngineDefaults implements Serializable
             this.threadPoolOutboundCapacity = capacity;
         }
 
+        /**
+         * Returns true for named window consumer dispatch threading enabled, the default is false.
+         * <p>
+         * When enabled, the engine delivers named window insert and remove stream events to consuming statements
+         * using the named window consumer thread pool, instead of the thread that changed the named window.
+         * @return indicator whether named window consumer dispatch threading is enabled
+         */
+        public boolean isThreadPoolNamedWindowConsumer()
+        {
+            return isThreadPoolNamedWindowConsumer;
+        }
+
+        /**
+         * Set to true for named window consumer dispatch threading enabled, the default is false.
+         * <p>
+         * Named windows created with the ENABLE_PARALLEL_CONSUMER_DISPATCH hint use the named window consumer
+         * thread pool regardless of this setting.
+         * @param threadPoolNamedWindowConsumer indicator whether named window consumer dispatch threading is enabled
+         */
+        public void setThreadPoolNamedWindowConsumer(boolean threadPoolNamedWindowConsumer)
+        {
+            isThreadPoolNamedWindowConsumer = threadPoolNamedWindowConsumer;
+        }
+
+        /**
+         * Returns the number of threads in the named window consumer dispatch thread pool.
+         * @return number of threads
+         */
+        public int getThreadPoolNamedWindowConsumerNumThreads()
+        {
+            return threadPoolNamedWindowConsumerNumThreads;
+        }
+
+        /**
+         * Sets the number of threads in the named window consumer dispatch thread pool.
+         * @param num number of threads
+         */
+        public void setThreadPoolNamedWindowConsumerNumThreads(int num)
+        {
+            this.threadPoolNamedWindowConsumerNumThreads = num;
+        }
+
+        /**
+         * Returns the capacity of each of the named window consumer dispatch queues, or null if none defined (the unbounded case, default).
+         * @return capacity or null if none defined
+         */
+        public Integer getThreadPoolNamedWindowConsumerCapacity()
+        {
+            return threadPoolNamedWindowConsumerCapacity;
+        }
+
+        /**
+         * Sets the capacity of each of the named window consumer dispatch queues, or null if none defined (the unbounded case, default).
+         * @param capacity capacity or null if none defined
+         */
+        public void setThreadPoolNamedWindowConsumerCapacity(Integer capacity)
+        {
+            this.threadPoolNamedWindowConsumerCapacity = capacity;
+        }
+
         /**
          * Returns true if the engine-level lock is configured as a fair lock (default is false).
          * <p>
@@ -809,6 +916,40 @@ public class ConfigurationEngineDefaults implements Serializable
             this.namedWindowConsumerDispatchLocking = namedWindowConsumerDispatchLocking;
         }
 
+        /**
+         * Enumeration of partitioning strategies for inbound work.
+         */
+        public enum InboundPartitioning
+        {
+            /**
+             * Inbound work is not partitioned, all inbound threads take work from a single queue in arrival order.
+             */
+            NONE,
+
+            /**
+             * Inbound work is partitioned by event type, each inbound thread takes work from its own queue
+             * and processes events of the same type in the order sent, so that a high-volume event type
+             * cannot hold up the processing of events of other types assigned to other threads.
+             */
+            EVENTTYPE
+        }
+
+        /**
+         * Enumeration of policies for sending work to a full capacity-bound queue.
+         */
+        public enum QueueFullPolicy
+        {
+            /**
+             * The sending thread waits until the queue has room.
+             */
+            BLOCK,
+
+            /**
+             * The work is rejected and the sending thread receives an exception.
+             */
+            REJECT
+        }
+
         /**
          * Enumeration of blocking techniques.
          */
@@ -1267,6 +1408,7 @@ public class ConfigurationEngineDefaults implements Serializable
         private static final long serialVersionUID = -7596853289989573800L;
         private Long maxSubexpressions;
         private boolean maxSubexpressionPreventStart = true;
+        private boolean correlatedFilterIndex;
 
         /**
          * Returns the maximum number of subexpressions
@@ -1301,6 +1443,28 @@ public class ConfigurationEngineDefaults implements Serializable
         public void setMaxSubexpressionPreventStart(boolean maxSubexpressionPreventStart) {
             this.maxSubexpressionPreventStart = maxSubexpressionPreventStart;
         }
+
+        /**
+         * Returns true to indicate that pattern filters that compare an event property for equality to a property of a
+         * prior tagged event share a single filter registration per pattern, with a hash index from property value to the waiting
+         * pattern sub-expressions, instead of each sub-expression registering its own filter.
+         * <p>
+         * Default is false.
+         * @return indicator whether correlated filters share a filter registration
+         */
+        public boolean isCorrelatedFilterIndex() {
+            return correlatedFilterIndex;
+        }
+
+        /**
+         * Set to true to indicate that pattern filters that compare an event property for equality to a property of a
+         * prior tagged event share a single filter registration per pattern, with a hash index from property value to the waiting
+         * pattern sub-expressions, instead of each sub-expression registering its own filter.
+         * @param correlatedFilterIndex indicator whether correlated filters share a filter registration
+         */
+        public void setCorrelatedFilterIndex(boolean correlatedFilterIndex) {
+            this.correlatedFilterIndex = correlatedFilterIndex;
+        }
     }
 
     /**
@@ -1488,6 +1652,7 @@ public class ConfigurationEngineDefaults implements Serializable
         private boolean duckTyping;
         private MathContext mathContext;
         private TimeZone timeZone;
+        private boolean codeGeneration;
 
         /**
          * Ctor.
@@ -1660,6 +1825,26 @@ public class ConfigurationEngineDefaults implements Serializable
         public void setTimeZone(TimeZone timeZone) {
             this.timeZone = timeZone;
         }
+
+        /**
+         * Returns true to indicate that where-clause, select-clause and filter expressions are compiled
+         * into generated classes when a statement starts, or false (the default) for interpreted evaluation.
+         * @return indicator
+         */
+        public boolean isCodeGeneration() {
+            return codeGeneration;
+        }
+
+        /**
+         * Set to true to indicate that where-clause, select-clause and filter expressions are compiled
+         * into generated classes when a statement starts, or false (the default) for interpreted evaluation.
+         * <p>
+         * Expressions or parts of expressions that cannot be compiled are evaluated by the interpreter.
+         * @param codeGeneration indicator
+         */
+        public void setCodeGeneration(boolean codeGeneration) {
+            this.codeGeneration = codeGeneration;
+        }
     }
 
     /**
@@ -1674,7 +1859,10 @@ public class ConfigurationEngineDefaults implements Serializable
         private ThreadingProfile threadingProfile = ThreadingProfile.NORMAL;
         private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
         private int filterServiceMaxFilterWidth = 16;
+        private long filterIndexReorderInterval = 0;
+        private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTEDMAP;
         private int declaredExprValueCacheSize = 1;
+        private boolean parallelStatementExecution;
 
         private static final long serialVersionUID = 0L;
 
@@ -1808,6 +1996,40 @@ public class ConfigurationEngineDefaults implements Serializable
             this.filterServiceMaxFilterWidth = filterServiceMaxFilterWidth;
         }
 
+        /**
+         * Returns the interval in milliseconds at which the engine reorders filter indexes by their observed selectivity,
+         * or zero (the default) if filter indexes are not reordered.
+         * @return reorder interval in milliseconds
+         */
+        public long getFilterIndexReorderInterval() {
+            return filterIndexReorderInterval;
+        }
+
+        /**
+         * Sets the interval in milliseconds at which the engine reorders filter indexes by their observed selectivity,
+         * or zero to not reorder filter indexes.
+         * @param filterIndexReorderInterval reorder interval in milliseconds
+         */
+        public void setFilterIndexReorderInterval(long filterIndexReorderInterval) {
+            this.filterIndexReorderInterval = filterIndexReorderInterval;
+        }
+
+        /**
+         * Returns the scheduling service profile that determines how the engine keeps schedules.
+         * @return scheduling service profile
+         */
+        public SchedulingServiceProfile getSchedulingServiceProfile() {
+            return schedulingServiceProfile;
+        }
+
+        /**
+         * Sets the scheduling service profile that determines how the engine keeps schedules.
+         * @param schedulingServiceProfile scheduling service profile
+         */
+        public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+            this.schedulingServiceProfile = schedulingServiceProfile;
+        }
+
         /**
          * Returns the cache size for declared expression values
          * @return value
@@ -1823,6 +2045,24 @@ public class ConfigurationEngineDefaults implements Serializable
         public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
             this.declaredExprValueCacheSize = declaredExprValueCacheSize;
         }
+
+        /**
+         * Returns indicator whether the engine processes an event for independent statements in parallel,
+         * the default is false.
+         * @return parallel statement execution indicator
+         */
+        public boolean isParallelStatementExecution() {
+            return parallelStatementExecution;
+        }
+
+        /**
+         * Set to true to have the engine process an event for independent statements in parallel
+         * using the fork-join common pool, with results delivered by the sending thread.
+         * @param parallelStatementExecution parallel statement execution indicator
+         */
+        public void setParallelStatementExecution(boolean parallelStatementExecution) {
+            this.parallelStatementExecution = parallelStatementExecution;
+        }
     }
 
     /**
@@ -1854,7 +2094,30 @@ public class ConfigurationEngineDefaults implements Serializable
         /**
          * For very dynamic filters that come and go in a highly threaded environment.
          */
-        READWRITE
+        READWRITE,
+
+        /**
+         * For many threads sending events with mostly static filters: filter evaluation takes no locks
+         * and filter changes publish copy-on-write snapshots, making filter changes more expensive.
+         */
+        LOCKFREE
+    }
+
+    /**
+     * Scheduling service profile.
+     */
+    public enum SchedulingServiceProfile
+    {
+        /**
+         * Schedules are kept sorted by time, the default.
+         */
+        SORTEDMAP,
+
+        /**
+         * For many schedules or many threads adding and removing schedules: schedules are kept in a hierarchical
+         * timing wheel and adding and removing schedules takes no locks.
+         */
+        TIMINGWHEEL
     }
 
     /**
@@ -72,7 +72,13 @@ public class ConfigurationEventTypeLegacy implements Serializable
         /**
          * Dispables code generation.
          */
-        DISABLED
+        DISABLED,
+
+        /**
+         * Enables code generation and uses functional getters generated by LambdaMetafactory for read access to properties,
+         * including getters for primitive numeric values that do not box.
+         */
+        LAMBDA
     }
 
     /**
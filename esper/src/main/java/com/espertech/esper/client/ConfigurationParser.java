@@ -1183,6 +1183,26 @@ class ConfigurationParser {
                 configuration.getEngineDefaults().getThreading().setThreadPoolInbound(result.isEnabled());
                 configuration.getEngineDefaults().getThreading().setThreadPoolInboundNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolInboundCapacity(result.getCapacity());
+
+                String partitioning = getOptionalAttribute(subElement, "partitioning");
+                if (partitioning != null)
+                {
+                    configuration.getEngineDefaults().getThreading().setThreadPoolInboundPartitioning(
+                            ConfigurationEngineDefaults.Threading.InboundPartitioning.valueOf(partitioning.toUpperCase()));
+                }
+                String fullPolicy = getOptionalAttribute(subElement, "full-policy");
+                if (fullPolicy != null)
+                {
+                    configuration.getEngineDefaults().getThreading().setThreadPoolInboundFullPolicy(
+                            ConfigurationEngineDefaults.Threading.QueueFullPolicy.valueOf(fullPolicy.toUpperCase()));
+                }
+            }
+            if (subElement.getNodeName().equals("threadpool-namedwindowconsumer"))
+            {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumer(result.isEnabled());
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerNumThreads(result.getNumThreads());
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerCapacity(result.getCapacity());
             }
             if (subElement.getNodeName().equals("threadpool-outbound"))
             {
@@ -1322,6 +1342,11 @@ class ConfigurationParser {
                     configuration.getEngineDefaults().getPatterns().setMaxSubexpressionPreventStart(Boolean.parseBoolean(preventText));
                 }
             }
+            if (subElement.getNodeName().equals("correlated-filter-index"))
+            {
+                String valueText = getRequiredAttribute(subElement, "enabled");
+                configuration.getEngineDefaults().getPatterns().setCorrelatedFilterIndex(Boolean.parseBoolean(valueText));
+            }
         }
     }
 
@@ -1545,6 +1570,13 @@ class ConfigurationParser {
             TimeZone timeZone = TimeZone.getTimeZone(timeZoneStr);
             configuration.getEngineDefaults().getExpression().setTimeZone(timeZone);
         }
+
+        String codeGenerationStr = getOptionalAttribute(parentElement, "code-generation");
+        if (codeGenerationStr != null)
+        {
+            boolean codeGeneration = Boolean.parseBoolean(codeGenerationStr);
+            configuration.getEngineDefaults().getExpression().setCodeGeneration(codeGeneration);
+        }
     }
 
     private static void handleExecution(Configuration configuration, Element parentElement)
@@ -1584,6 +1616,17 @@ class ConfigurationParser {
         {
             configuration.getEngineDefaults().getExecution().setFilterServiceMaxFilterWidth(Integer.parseInt(filterServiceMaxFilterWidthStr));
         }
+        String filterIndexReorderIntervalStr = getOptionalAttribute(parentElement, "filter-index-reorder-interval");
+        if (filterIndexReorderIntervalStr != null)
+        {
+            configuration.getEngineDefaults().getExecution().setFilterIndexReorderInterval(Long.parseLong(filterIndexReorderIntervalStr));
+        }
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null)
+        {
+            ConfigurationEngineDefaults.SchedulingServiceProfile profile = ConfigurationEngineDefaults.SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase());
+            configuration.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        }
         String allowIsolatedServiceStr = getOptionalAttribute(parentElement, "allow-isolated-service");
         if (allowIsolatedServiceStr != null)
         {
@@ -1595,6 +1638,11 @@ class ConfigurationParser {
         {
             configuration.getEngineDefaults().getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+        String parallelStatementExecutionStr = getOptionalAttribute(parentElement, "parallel-statement-execution");
+        if (parallelStatementExecutionStr != null)
+        {
+            configuration.getEngineDefaults().getExecution().setParallelStatementExecution(Boolean.parseBoolean(parallelStatementExecutionStr));
+        }
     }
 
     private static void handleDefaultScriptConfig(Configuration configuration, Element parentElement)
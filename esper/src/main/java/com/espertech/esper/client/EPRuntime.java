@@ -76,6 +76,47 @@ public interface EPRuntime
      */
     public void sendEvent(org.w3c.dom.Node node) throws EPException;
 
+    /**
+     * Send a batch of events represented by plain Java objects to the event stream processing runtime.
+     * <p>
+     * Events are processed in array order and each event, including any events it causes to be inserted or routed,
+     * is fully processed before the next event. Listener and subscriber results are dispatched once after the last event
+     * of the batch, such that a listener may receive the results of multiple events of the batch in one invocation,
+     * in the same order as when sending the events one by one. Events routed by listeners are therefore processed after the batch.
+     * When processing an event throws an exception, the remaining events are not processed and the results of the events
+     * processed before are still dispatched. A batch containing a null element is rejected before any event is processed.
+     * <p>
+     * Use the route method for sending events into the runtime from within UpdateListener code.
+     *
+     * @param objects is the events to send to the runtime
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    public void sendEvents(Object[] objects) throws EPException;
+
+    /**
+     * Send a batch of maps containing event property values to the event stream processing runtime.
+     * <p>
+     * See {@link #sendEvents(Object[])} for the processing and dispatch of batches.
+     * A batch containing a null element is rejected before any event is processed.
+     *
+     * @param maps - maps that contain event property values
+     * @param mapEventTypeName - the name for the Map event type that was previously configured
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    public void sendEvents(Map[] maps, String mapEventTypeName) throws EPException;
+
+    /**
+     * Send a batch of object arrays containing event property values to the event stream processing runtime.
+     * <p>
+     * See {@link #sendEvents(Object[])} for the processing and dispatch of batches.
+     * A batch containing a null element is rejected before any event is processed.
+     *
+     * @param objectarrays - arrays that contain event property values
+     * @param objectArrayEventTypeName - the name for the Object-array event type that was previously configured
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    public void sendEvents(Object[][] objectarrays, String objectArrayEventTypeName) throws EPException;
+
     /**
      * Number of events evaluated over the lifetime of the event stream processing runtime,
      * or since the last resetStats() call.
@@ -427,4 +468,16 @@ public interface EPRuntime
     public boolean isExternalClockingEnabled();
 
     void sendEventAvro(Object avroGenericDataDotRecord, String avroEventTypeName);
+
+    /**
+     * Send a batch of Avro GenericData.Record events to the event stream processing runtime.
+     * <p>
+     * See {@link #sendEvents(Object[])} for the processing and dispatch of batches.
+     * A batch containing a null element is rejected before any event is processed.
+     *
+     * @param avroGenericDataDotRecords - the Avro records
+     * @param avroEventTypeName - the name for the Avro event type that was previously configured
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    void sendEventsAvro(Object[] avroGenericDataDotRecords, String avroEventTypeName) throws EPException;
 }
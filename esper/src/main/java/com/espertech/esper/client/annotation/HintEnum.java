@@ -54,6 +54,31 @@ public enum HintEnum
      */
     ENABLE_WINDOW_SUBQUERY_INDEXSHARE("ENABLE_WINDOW_SUBQUERY_INDEXSHARE", false, false, false),
 
+    /**
+     * For use with create-named-window statements only, to indicate that the named window delivers its insert
+     * and remove stream to consuming statements using the named window consumer thread pool, with the consuming statements
+     * processed in parallel, instead of using the thread that changed the named window.
+     */
+    ENABLE_PARALLEL_CONSUMER_DISPATCH("ENABLE_PARALLEL_CONSUMER_DISPATCH", false, false, false),
+
+    /**
+     * For use with create-window to have fire-and-forget queries that scan the named window read a consistent version
+     * of the named window without locking, instead of blocking event processing that changes the named window.
+     */
+    ENABLE_VERSIONED_SNAPSHOT("ENABLE_VERSIONED_SNAPSHOT", false, false, false),
+
+    /**
+     * For use with fire-and-forget queries to have the engine take the snapshot of each context partition and
+     * filter large snapshots using the fork-join common pool, instead of using the thread that executes the query.
+     */
+    ENABLE_PARALLEL_FAF("ENABLE_PARALLEL_FAF", false, false, false),
+
+    /**
+     * For use with create-table for grouped tables, the number of lock stripes that the rows are partitioned into
+     * by group key hash, so that accessing and aggregating into a row locks the stripe that owns the row instead of the table.
+     */
+    TABLE_LOCK_STRIPES("TABLE_LOCK_STRIPES", true, true, false),
+
     /**
      * If ENABLE_WINDOW_SUBQUERY_INDEXSHARE is not specified for a named window (the default) then this instruction is ignored.
      * <p>
@@ -107,7 +132,14 @@ public enum HintEnum
     /**
      * For use with output rate limiting to enable certain optimization that may however change output.
      */
-    ENABLE_OUTPUTLIMIT_OPT("ENABLE_OUTPUTLIMIT_OPT", false, false, false);
+    ENABLE_OUTPUTLIMIT_OPT("ENABLE_OUTPUTLIMIT_OPT", false, false, false),
+
+    /**
+     * For use with subscribers that take a single-row map or object array, or the statement and column values,
+     * to have the engine deliver each row reusing the same map or parameters for the next row,
+     * so the subscriber must not retain them beyond the method invocation.
+     */
+    REUSE_SUBSCRIBER_ROW("REUSE_SUBSCRIBER_ROW", false, false, false);
 
     private final String value;
     private final boolean acceptsParameters;
@@ -17,7 +17,7 @@ import java.util.NoSuchElementException;
  * - this must be used with care as old elements could be in the array and the array is only valid until
  *  the number of elements indicated by size.
  * <p>
- * Implements only the add, size and clear methods of the collection interface.
+ * Implements only the add, size and clear methods of the collection interface, and allows truncating to a size.
  * <p>
  * When running out of space for the underlying array, allocates a new array of double the size of the
  * current array.
@@ -66,6 +66,18 @@ public class ArrayBackedCollection<T> implements Collection<T>
         currentIndex = 0;
     }
 
+    /**
+     * Removes the elements at and after the given size.
+     * @param size number of elements to keep
+     */
+    public void truncate(int size)
+    {
+        if (size < currentIndex)
+        {
+            currentIndex = size;
+        }
+    }
+
     public int size()
     {
         return currentIndex;
@@ -0,0 +1,417 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.collection;
+
+import java.util.*;
+
+/**
+ * Hash map using open addressing that allocates no entry objects, for use where maps hold many keys
+ * such as the per-group aggregation state.
+ * <p>
+ * Keys, values and key hash codes are kept in dense arrays in insertion order, and a separate table of
+ * positions into these arrays is probed linearly. Removal uses backward-shift deletion in the table of positions
+ * and leaves a hole in the dense arrays that is compacted when the arrays are full. Iteration therefore
+ * follows insertion order and costs no more than the number of keys added since the last compaction.
+ * <p>
+ * Null keys and null values are allowed. Entries are only allocated when iterating the entry set.
+ * The implementation is not synchronized.
+ */
+public class CompactHashMap<K, V> extends AbstractMap<K, V>
+{
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final Object NULL_KEY = new Object();
+    private static final Object FREE = new Object();
+
+    private int[] table;
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int used;
+    private int size;
+    private int modCount;
+
+    private transient Set<K> keySet;
+    private transient Collection<V> valuesCollection;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Ctor.
+     */
+    public CompactHashMap()
+    {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public V get(Object key)
+    {
+        int position = find(maskNull(key));
+        return position == -1 ? null : (V) values[position];
+    }
+
+    public boolean containsKey(Object key)
+    {
+        return find(maskNull(key)) != -1;
+    }
+
+    public V put(K key, V value)
+    {
+        Object masked = maskNull(key);
+        int hash = hash(masked);
+        int mask = table.length - 1;
+        int index = hash & mask;
+        while (table[index] != 0) {
+            int position = table[index] - 1;
+            if (hashes[position] == hash && equalsKey(masked, keys[position])) {
+                V previous = (V) values[position];
+                values[position] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (used == keys.length) {
+            resize();
+            return put(key, value);
+        }
+        int position = used++;
+        keys[position] = masked;
+        values[position] = value;
+        hashes[position] = hash;
+        table[index] = position + 1;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    public V remove(Object key)
+    {
+        Object masked = maskNull(key);
+        int hash = hash(masked);
+        int mask = table.length - 1;
+        int index = hash & mask;
+        while (table[index] != 0) {
+            int position = table[index] - 1;
+            if (hashes[position] == hash && equalsKey(masked, keys[position])) {
+                V previous = (V) values[position];
+                removeAt(index, position);
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(table, 0);
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    public Set<K> keySet()
+    {
+        if (keySet == null) {
+            keySet = new AbstractSet<K>() {
+                public Iterator<K> iterator() {
+                    return new CompactHashMapIterator<K>() {
+                        protected K make(int position) {
+                            return (K) unmaskNull(keys[position]);
+                        }
+                    };
+                }
+
+                public int size() {
+                    return size;
+                }
+
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+
+                public boolean remove(Object o) {
+                    int sizeBefore = size;
+                    CompactHashMap.this.remove(o);
+                    return size != sizeBefore;
+                }
+
+                public void clear() {
+                    CompactHashMap.this.clear();
+                }
+            };
+        }
+        return keySet;
+    }
+
+    public Collection<V> values()
+    {
+        if (valuesCollection == null) {
+            valuesCollection = new AbstractCollection<V>() {
+                public Iterator<V> iterator() {
+                    return new CompactHashMapIterator<V>() {
+                        protected V make(int position) {
+                            return (V) values[position];
+                        }
+                    };
+                }
+
+                public int size() {
+                    return size;
+                }
+
+                public void clear() {
+                    CompactHashMap.this.clear();
+                }
+            };
+        }
+        return valuesCollection;
+    }
+
+    public Set<Map.Entry<K, V>> entrySet()
+    {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new CompactHashMapIterator<Map.Entry<K, V>>() {
+                        protected Map.Entry<K, V> make(int position) {
+                            return new CompactHashMapEntry(position);
+                        }
+                    };
+                }
+
+                public int size() {
+                    return size;
+                }
+
+                public void clear() {
+                    CompactHashMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int find(Object masked)
+    {
+        int hash = hash(masked);
+        int mask = table.length - 1;
+        int index = hash & mask;
+        while (true) {
+            int entry = table[index];
+            if (entry == 0) {
+                return -1;
+            }
+            int position = entry - 1;
+            if (hashes[position] == hash && equalsKey(masked, keys[position])) {
+                return position;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void removeAt(int index, int position)
+    {
+        keys[position] = FREE;
+        values[position] = null;
+        size--;
+        modCount++;
+
+        // shift back entries of the probe sequence so that lookups do not stop at the freed table slot
+        int mask = table.length - 1;
+        int free = index;
+        table[free] = 0;
+        int next = (free + 1) & mask;
+        while (table[next] != 0) {
+            int ideal = hashes[table[next] - 1] & mask;
+            boolean stays = (free <= next) ? (free < ideal && ideal <= next) : (free < ideal || ideal <= next);
+            if (!stays) {
+                table[free] = table[next];
+                table[next] = 0;
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        // the last-added key can be discarded, the common case when a group is added and removed right away
+        while (used > 0 && keys[used - 1] == FREE) {
+            keys[--used] = null;
+        }
+    }
+
+    private void resize()
+    {
+        // compact holes instead of growing when at least a quarter of the positions are holes
+        int capacity = size > keys.length - (keys.length >> 2) ? keys.length << 1 : keys.length;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+        allocate(capacity);
+
+        int mask = table.length - 1;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] == FREE) {
+                continue;
+            }
+            int position = used++;
+            keys[position] = oldKeys[i];
+            values[position] = oldValues[i];
+            hashes[position] = oldHashes[i];
+            int index = oldHashes[i] & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = position + 1;
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity)
+    {
+        table = new int[capacity << 1];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        used = 0;
+    }
+
+    private static int hash(Object masked)
+    {
+        int hash = masked.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsKey(Object masked, Object existing)
+    {
+        return masked == existing || masked.equals(existing);
+    }
+
+    private static Object maskNull(Object key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key)
+    {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private abstract class CompactHashMapIterator<T> implements Iterator<T>
+    {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private CompactHashMapIterator()
+        {
+            skipFree();
+        }
+
+        protected abstract T make(int position);
+
+        public boolean hasNext()
+        {
+            return next < used;
+        }
+
+        public T next()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            skipFree();
+            return make(last);
+        }
+
+        public void remove()
+        {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            CompactHashMap.this.remove(unmaskNull(keys[last]));
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void skipFree()
+        {
+            while (next < used && keys[next] == FREE) {
+                next++;
+            }
+        }
+    }
+
+    private class CompactHashMapEntry implements Map.Entry<K, V>
+    {
+        private final int position;
+        private final K key;
+
+        private CompactHashMapEntry(int position)
+        {
+            this.position = position;
+            this.key = (K) unmaskNull(keys[position]);
+        }
+
+        public K getKey()
+        {
+            return key;
+        }
+
+        public V getValue()
+        {
+            return (V) values[position];
+        }
+
+        public V setValue(V value)
+        {
+            V previous = (V) values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry other = (Map.Entry) o;
+            return (key == null ? other.getKey() == null : key.equals(other.getKey())) &&
+                   (getValue() == null ? other.getValue() == null : getValue().equals(other.getValue()));
+        }
+
+        public int hashCode()
+        {
+            return (key == null ? 0 : key.hashCode()) ^ (getValue() == null ? 0 : getValue().hashCode());
+        }
+
+        public String toString()
+        {
+            return key + "=" + getValue();
+        }
+    }
+}
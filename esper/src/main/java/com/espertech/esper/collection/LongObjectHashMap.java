@@ -0,0 +1,243 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.collection;
+
+/**
+ * Hash map keyed by primitive long values using open addressing with linear probing,
+ * so that lookups neither box the key nor allocate entry objects.
+ * <p>
+ * Null values are not allowed as a null value marks a free slot.
+ * Removal uses backward-shift deletion and therefore leaves no tombstones behind.
+ * Occupied slots can be visited, without allocating an iterator, by looping from zero to {@link #getCapacity()}
+ * and skipping slots for which {@link #getValueAt(int)} returns null.
+ * <p>
+ * The implementation is not synchronized.
+ */
+public class LongObjectHashMap<V>
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    /**
+     * Ctor.
+     */
+    public LongObjectHashMap()
+    {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Copy-ctor, the new map shares values but not slots with the map provided.
+     * @param other to copy
+     */
+    public LongObjectHashMap(LongObjectHashMap<V> other)
+    {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        size = other.size;
+        mask = other.mask;
+        resizeThreshold = other.resizeThreshold;
+    }
+
+    /**
+     * Returns the value for the key or null if the key was not found.
+     * @param key to look up
+     * @return value or null
+     */
+    public V get(long key)
+    {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int index = slot(key, keys.length - 1);
+        while (true) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+    }
+
+    /**
+     * Returns indicator whether the key exists.
+     * @param key to look up
+     * @return true for found
+     */
+    public boolean containsKey(long key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Put a key and value, replacing any existing value for the key.
+     * @param key key
+     * @param value value, cannot be null
+     * @return previous value or null if the key did not exist
+     */
+    public V put(long key, V value)
+    {
+        if (value == null) {
+            throw new IllegalArgumentException("Collection does not allow null values");
+        }
+        int index = slot(key, mask);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     * @param key to remove
+     * @return removed value or null if the key was not found
+     */
+    public V remove(long key)
+    {
+        int index = slot(key, mask);
+        while (true) {
+            Object value = values[index];
+            if (value == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                values[index] = null;
+                size--;
+                shiftBack(index);
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the number of keys.
+     * @return size
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns true if empty.
+     * @return indicator
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Remove all keys.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots.
+     * @return slot count
+     */
+    public int getCapacity()
+    {
+        return values.length;
+    }
+
+    /**
+     * Returns the key at the slot, only meaningful for a slot that holds a value.
+     * @param slot slot number
+     * @return key
+     */
+    public long getKeyAt(int slot)
+    {
+        return keys[slot];
+    }
+
+    /**
+     * Returns the value at the slot or null if the slot is free.
+     * @param slot slot number
+     * @return value or null
+     */
+    public V getValueAt(int slot)
+    {
+        return (V) values[slot];
+    }
+
+    private void shiftBack(int free)
+    {
+        int index = (free + 1) & mask;
+        while (values[index] != null) {
+            int ideal = slot(keys[index], mask);
+            // move the entry into the free slot unless its ideal slot lies cyclically within (free, index]
+            boolean stays = (free <= index) ? (free < ideal && ideal <= index) : (free < ideal || ideal <= index);
+            if (!stays) {
+                keys[free] = keys[index];
+                values[free] = values[index];
+                values[index] = null;
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int index = slot(oldKeys[i], mask);
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (capacity >> 1) + (capacity >> 2);
+    }
+
+    private static int slot(long key, int mask)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
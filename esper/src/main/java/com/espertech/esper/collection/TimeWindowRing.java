@@ -0,0 +1,358 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.view.DataWindowViewFactory;
+import com.espertech.esper.view.ViewDataVisitor;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Time window container that, unlike {@link TimeWindow}, allocates no objects per event:
+ * timestamps are kept in a growable ring of primitive long and events in a parallel ring of events.
+ * <p>
+ * It is assumed that the timestamp passed to the add method is ascending.
+ * Events can be expired from the window via the expireEvents method when their timestamp is before
+ * (or less then) an expiry timestamp passed in.
+ * <p>
+ * Removal of an event, if remove stream handling is enabled, looks up the event by identity starting
+ * from the newest event and leaves a tombstone in its place, which is discarded when it reaches either end of the ring
+ * or when the ring grows. Removal therefore does not require a reverse index but takes time linear in the distance
+ * of the event from the newest event.
+ * <p>
+ * The implementation is not synchronized.
+ */
+public final class TimeWindowRing implements Iterable<EventBean>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean isSupportRemoveStream;
+    private long[] timestamps;
+    private EventBean[] events;
+    private int mask;
+    private int head;
+    private int count;
+    private int size;
+
+    /**
+     * Ctor.
+     * @param isSupportRemoveStream true to indicate the time window should support removal of events
+     * in the window based on the remove stream events received, or false to not accomodate removal at all
+     */
+    public TimeWindowRing(boolean isSupportRemoveStream)
+    {
+        this.isSupportRemoveStream = isSupportRemoveStream;
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.events = new EventBean[INITIAL_CAPACITY];
+        this.mask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Adjust expiry dates.
+     * @param delta delta to adjust for
+     */
+    public void adjust(long delta)
+    {
+        for (int i = 0; i < count; i++) {
+            timestamps[(head + i) & mask] += delta;
+        }
+    }
+
+    /**
+     * Adds event to the time window for the specified timestamp.
+     * @param timestamp - the time slot for the event
+     * @param bean - event to add
+     */
+    public final void add(long timestamp, EventBean bean)
+    {
+        if (count == events.length) {
+            grow();
+        }
+        int index = (head + count) & mask;
+        timestamps[index] = timestamp;
+        events[index] = bean;
+        count++;
+        size++;
+    }
+
+    /**
+     * Removes the event from the window, if remove stream handling is enabled.
+     * @param theEvent to remove
+     * @return true if removed, false if the event was not found
+     */
+    public final boolean remove(EventBean theEvent)
+    {
+        if (!isSupportRemoveStream)
+        {
+            throw new UnsupportedOperationException("Time window does not accept event removal");
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            int index = (head + i) & mask;
+            if (events[index] == theEvent) {
+                events[index] = null;
+                size--;
+                trim();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return and remove events in time-slots earlier (less) then the timestamp passed in,
+     * returning the events expired.
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return events expired and removed from the window, or null if none expired
+     */
+    public final EventBean[] expireEvents(long expireBefore)
+    {
+        int numExpired = 0;
+        int numLive = 0;
+        while (numExpired < count) {
+            int index = (head + numExpired) & mask;
+            if (timestamps[index] >= expireBefore) {
+                break;
+            }
+            if (events[index] != null) {
+                numLive++;
+            }
+            numExpired++;
+        }
+        if (numLive == 0) {
+            discardFirst(numExpired);
+            return null;
+        }
+
+        EventBean[] result = new EventBean[numLive];
+        int resultIndex = 0;
+        for (int i = 0; i < numExpired; i++) {
+            EventBean theEvent = events[(head + i) & mask];
+            if (theEvent != null) {
+                result[resultIndex++] = theEvent;
+            }
+        }
+        discardFirst(numExpired);
+        size -= numLive;
+        return result;
+    }
+
+    /**
+     * Returns the events currently in window, oldest first.
+     * @return events or null if the window is empty
+     */
+    public final EventBean[] toArray()
+    {
+        if (size == 0) {
+            return null;
+        }
+        EventBean[] result = new EventBean[size];
+        int resultIndex = 0;
+        for (int i = 0; i < count; i++) {
+            EventBean theEvent = events[(head + i) & mask];
+            if (theEvent != null) {
+                result[resultIndex++] = theEvent;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all events.
+     */
+    public final void clear()
+    {
+        discardFirst(count);
+        size = 0;
+    }
+
+    /**
+     * Returns event iterator.
+     * @return iterator over events currently in window
+     */
+    public final Iterator<EventBean> iterator()
+    {
+        return new TimeWindowRingIterator();
+    }
+
+    /**
+     * Returns the oldest timestamp in the collection if there is at least one entry,
+     * else it returns null if the window is empty.
+     * @return null if empty, oldest timestamp if not empty
+     */
+    public final Long getOldestTimestamp()
+    {
+        if (size == 0) {
+            return null;
+        }
+        return timestamps[head];
+    }
+
+    /**
+     * Returns the newest timestamp in the collection if there is at least one entry,
+     * else it returns null if the window is empty.
+     * @return null if empty, newest timestamp if not empty
+     */
+    public final Long getNewestTimestamp()
+    {
+        if (size == 0) {
+            return null;
+        }
+        return timestamps[(head + count - 1) & mask];
+    }
+
+    /**
+     * Returns the newest event in the collection, or null if the window is empty.
+     * @return newest event
+     */
+    public final EventBean getNewestEvent()
+    {
+        if (size == 0) {
+            return null;
+        }
+        return events[(head + count - 1) & mask];
+    }
+
+    /**
+     * Returns true if the window is currently empty.
+     * @return true if empty, false if not
+     */
+    public final boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of events.
+     * @return size
+     */
+    public final int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots taken by events and tombstones, for testing purposes.
+     * @return slot count
+     */
+    public int getNumSlots() {
+        return count;
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        viewDataVisitor.visitPrimary(asCollection(), true, viewFactory.getViewName(), size);
+    }
+
+    /**
+     * Returns a read-only collection view of the events currently in window.
+     * @return collection
+     */
+    public Collection<EventBean> asCollection() {
+        return new AbstractCollection<EventBean>() {
+            public Iterator<EventBean> iterator() {
+                return TimeWindowRing.this.iterator();
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void discardFirst(int num)
+    {
+        for (int i = 0; i < num; i++) {
+            events[(head + i) & mask] = null;
+        }
+        head = (head + num) & mask;
+        count -= num;
+        trim();
+    }
+
+    // Discard tombstones at either end so that the first and last slot hold events
+    private void trim()
+    {
+        while (count > 0 && events[head] == null) {
+            head = (head + 1) & mask;
+            count--;
+        }
+        while (count > 0 && events[(head + count - 1) & mask] == null) {
+            count--;
+        }
+    }
+
+    private void grow()
+    {
+        // compact tombstones instead when they take at least a quarter of the slots
+        int capacity = size > events.length - (events.length >> 2) ? events.length << 1 : events.length;
+        long[] newTimestamps = new long[capacity];
+        EventBean[] newEvents = new EventBean[capacity];
+        int newCount = 0;
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & mask;
+            if (events[index] != null) {
+                newTimestamps[newCount] = timestamps[index];
+                newEvents[newCount] = events[index];
+                newCount++;
+            }
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        mask = capacity - 1;
+        head = 0;
+        count = newCount;
+    }
+
+    private class TimeWindowRingIterator implements Iterator<EventBean>
+    {
+        private int position;
+        private EventBean next;
+
+        private TimeWindowRingIterator()
+        {
+            advance();
+        }
+
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        public EventBean next()
+        {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            EventBean result = next;
+            advance();
+            return result;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance()
+        {
+            next = null;
+            while (position < count) {
+                EventBean theEvent = events[(head + position) & mask];
+                position++;
+                if (theEvent != null) {
+                    next = theEvent;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.espertech.esper.core.service.StatementAgentInstanceLock;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.epl.spec.FilterStreamSpecCompiled;
 import com.espertech.esper.epl.spec.StatementSpecCompiled;
+import com.espertech.esper.epl.table.mgmt.TableServiceUtil;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.EventStream;
 
@@ -33,6 +34,7 @@ public class ViewableActivatorStreamReuseView implements ViewableActivator, Stop
     private final boolean filterSubselectSameStream;
     private final int streamNum;
     private final boolean isCanIterateUnbound;
+    private final boolean unshared;
 
     protected ViewableActivatorStreamReuseView(EPServicesContext services, StatementContext statementContext, StatementSpecCompiled statementSpec, FilterStreamSpecCompiled filterStreamSpec, boolean join, ExprEvaluatorContextStatement evaluatorContextStmt, boolean filterSubselectSameStream, int streamNum, boolean isCanIterateUnbound) {
         this.services = services;
@@ -44,6 +46,8 @@ public class ViewableActivatorStreamReuseView implements ViewableActivator, Stop
         this.filterSubselectSameStream = filterSubselectSameStream;
         this.streamNum = streamNum;
         this.isCanIterateUnbound = isCanIterateUnbound;
+        // statements that lock table rows hold the row locks until the end of processing the event, and therefore do not share their stream
+        this.unshared = statementContext.isStatelessSelect() || TableServiceUtil.isRowLockingAnyTable(statementSpec, services.getTableService());
     }
 
     public ViewableActivationResult activate(AgentInstanceContext agentInstanceContext, boolean isSubselect, boolean isRecoveringResilient) {
@@ -55,14 +59,14 @@ public class ViewableActivatorStreamReuseView implements ViewableActivator, Stop
                 statementSpec.getOrderByList().length > 0,
                 filterSubselectSameStream,
                 statementContext.getAnnotations(),
-                statementContext.isStatelessSelect(),
+                unshared,
                 streamNum,
                 isCanIterateUnbound);
         return new ViewableActivationResult(pair.getFirst(), this, pair.getSecond(), null, null, false, false, null);
     }
 
     public void stop() {
-        services.getStreamService().dropStream(filterStreamSpec.getFilterSpec(), statementContext.getFilterService(), join, statementSpec.getOrderByList().length > 0, filterSubselectSameStream, statementContext.isStatelessSelect());
+        services.getStreamService().dropStream(filterStreamSpec.getFilterSpec(), statementContext.getFilterService(), join, statementSpec.getOrderByList().length > 0, filterSubselectSameStream, unshared);
     }
 
     public FilterStreamSpecCompiled getFilterStreamSpec() {
@@ -70,6 +70,10 @@ public class EPStatementAgentInstanceHandle {
         return statementHandle.isCanSelfJoin();
     }
 
+    public boolean isParallelExecution() {
+        return statementHandle.isParallelExecution();
+    }
+
     public void setStatementAgentInstanceLock(StatementAgentInstanceLock statementAgentInstanceLock) {
         this.statementAgentInstanceLock = statementAgentInstanceLock;
     }
@@ -0,0 +1,43 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EPStatement;
+
+/**
+ * Converts column results into a reused map view of key-value pairs, for subscribers accepting a single-row map.
+ */
+public class DeliveryConvertorMapReuse extends DeliveryConvertorReuseBase
+{
+    private final String[] columnNames;
+    private final EPStatement statement;
+
+    /**
+     * Ctor.
+     * @param columnNames the names for columns
+     * @param statement statement for delivery as the first parameter or null if the subscriber method does not take the statement
+     */
+    public DeliveryConvertorMapReuse(String[] columnNames, EPStatement statement) {
+        this.columnNames = columnNames;
+        this.statement = statement;
+    }
+
+    protected Object[] allocate() {
+        DeliveryRowMapView view = new DeliveryRowMapView(columnNames);
+        return statement == null ? new Object[] {view} : new Object[] {statement, view};
+    }
+
+    protected void populate(Object[] converted, Object[] columns) {
+        ((DeliveryRowMapView) converted[converted.length - 1]).setRow(columns);
+    }
+
+    protected void clear(Object[] converted) {
+        ((DeliveryRowMapView) converted[converted.length - 1]).setRow(null);
+    }
+}
@@ -0,0 +1,39 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EPStatement;
+
+/**
+ * Convertor for column results that renders the result as an object array itself, reusing the parameters.
+ */
+public class DeliveryConvertorObjectArrReuse extends DeliveryConvertorReuseBase
+{
+    private final EPStatement statement;
+
+    /**
+     * Ctor.
+     * @param statement statement for delivery as the first parameter or null if the subscriber method does not take the statement
+     */
+    public DeliveryConvertorObjectArrReuse(EPStatement statement) {
+        this.statement = statement;
+    }
+
+    protected Object[] allocate() {
+        return statement == null ? new Object[1] : new Object[] {statement, null};
+    }
+
+    protected void populate(Object[] converted, Object[] columns) {
+        converted[converted.length - 1] = columns;
+    }
+
+    protected void clear(Object[] converted) {
+        converted[converted.length - 1] = null;
+    }
+}
@@ -0,0 +1,22 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+/**
+ * Convertor that reuses the converted row for successive rows, for delivery to subscribers
+ * that only access the converted row during the subscriber method invocation.
+ */
+public interface DeliveryConvertorReusable extends DeliveryConvertor
+{
+    /**
+     * Indicates that the converted row was delivered and may be reused for the next row.
+     * @param converted the converted row as returned by convert
+     */
+    public void release(Object[] converted);
+}
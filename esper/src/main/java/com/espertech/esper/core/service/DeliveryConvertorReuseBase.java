@@ -0,0 +1,74 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+/**
+ * Base convertor that keeps a converted row per thread and reuses it for successive rows.
+ * <p>
+ * When a subscriber method causes a nested delivery for the same statement on the same thread,
+ * the nested delivery converts into a new row since the thread's row is still in use.
+ */
+public abstract class DeliveryConvertorReuseBase implements DeliveryConvertorReusable
+{
+    private final ThreadLocal<ReuseRow> rows = new ThreadLocal<ReuseRow>() {
+        protected synchronized ReuseRow initialValue() {
+            return new ReuseRow(allocate());
+        }
+    };
+
+    /**
+     * Allocates a converted row.
+     * @return converted row
+     */
+    protected abstract Object[] allocate();
+
+    /**
+     * Populates a converted row from column results.
+     * @param converted row to populate
+     * @param columns column results
+     */
+    protected abstract void populate(Object[] converted, Object[] columns);
+
+    /**
+     * Releases references to column results held by a converted row.
+     * @param converted row to clear
+     */
+    protected abstract void clear(Object[] converted);
+
+    public Object[] convertRow(Object[] columns) {
+        ReuseRow reuse = rows.get();
+        Object[] converted;
+        if (reuse.inUse) {
+            converted = allocate();
+        }
+        else {
+            reuse.inUse = true;
+            converted = reuse.converted;
+        }
+        populate(converted, columns);
+        return converted;
+    }
+
+    public void release(Object[] converted) {
+        ReuseRow reuse = rows.get();
+        if (reuse.converted == converted) {
+            clear(converted);
+            reuse.inUse = false;
+        }
+    }
+
+    private static class ReuseRow {
+        private final Object[] converted;
+        private boolean inUse;
+
+        private ReuseRow(Object[] converted) {
+            this.converted = converted;
+        }
+    }
+}
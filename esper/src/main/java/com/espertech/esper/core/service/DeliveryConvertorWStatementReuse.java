@@ -0,0 +1,57 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.util.TypeWidener;
+
+import java.util.Arrays;
+
+/**
+ * Convertor for column results that prefixes the columns with the statement, widening columns if required,
+ * reusing the parameters.
+ */
+public class DeliveryConvertorWStatementReuse extends DeliveryConvertorReuseBase
+{
+    private final EPStatement statement;
+    private final TypeWidener[] wideners;
+    private final int numColumns;
+
+    /**
+     * Ctor.
+     * @param statement statement
+     * @param wideners wideners per column, or null when no column requires widening
+     * @param numColumns number of columns
+     */
+    public DeliveryConvertorWStatementReuse(EPStatement statement, TypeWidener[] wideners, int numColumns) {
+        this.statement = statement;
+        this.wideners = wideners;
+        this.numColumns = numColumns;
+    }
+
+    protected Object[] allocate() {
+        Object[] converted = new Object[numColumns + 1];
+        converted[0] = statement;
+        return converted;
+    }
+
+    protected void populate(Object[] converted, Object[] columns) {
+        if (wideners == null) {
+            System.arraycopy(columns, 0, converted, 1, columns.length);
+            return;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            converted[i + 1] = wideners[i] == null ? columns[i] : wideners[i].widen(columns[i]);
+        }
+    }
+
+    protected void clear(Object[] converted) {
+        Arrays.fill(converted, 1, converted.length, null);
+    }
+}
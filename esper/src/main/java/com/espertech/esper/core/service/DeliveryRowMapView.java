@@ -0,0 +1,101 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+import java.util.*;
+
+/**
+ * Read-only map view of a row of column results keyed by column name, for delivery to subscribers that
+ * accept a map. The view is reused for successive rows and is only valid during the subscriber method invocation.
+ */
+public class DeliveryRowMapView extends AbstractMap<String, Object>
+{
+    private final String[] columnNames;
+    private Object[] row;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    /**
+     * Ctor.
+     * @param columnNames the names for columns
+     */
+    public DeliveryRowMapView(String[] columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    /**
+     * Sets the row to view.
+     * @param row column results or null to release the row
+     */
+    public void setRow(Object[] row) {
+        this.row = row;
+    }
+
+    public int size() {
+        return row == null ? 0 : row.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index == -1 ? null : row[index];
+    }
+
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<String, Object>>() {
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                public int size() {
+                    return DeliveryRowMapView.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private int indexOf(Object key) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            if (columnNames[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int index;
+
+        public boolean hasNext() {
+            return index < size();
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<String, Object>(columnNames[index], row[index]);
+            index++;
+            return entry;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -9,6 +9,7 @@
 package com.espertech.esper.core.service;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
 
 /**
  * For use by {@link com.espertech.esper.client.EventSender} for direct feed of wrapped events for processing.
@@ -26,4 +27,12 @@ public interface EPRuntimeEventSender
      * @param theEvent routed event
      */
     public void routeEventBean(EventBean theEvent);
+
+    /**
+     * Returns true if an event of the given type, when processed, may be retained by the engine beyond
+     * its processing, such as by a data window, an unmatched listener or an exception handler.
+     * @param eventType event type
+     * @return indicator whether the event may be retained
+     */
+    public boolean isEventRetained(EventType eventType);
 }
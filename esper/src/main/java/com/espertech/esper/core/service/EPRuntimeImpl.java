@@ -72,6 +72,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
     protected boolean isLatchStatementInsertStream;
     protected boolean isUsingExternalClocking;
     protected boolean isPrioritized;
+    private StatementParallelExecutor parallelExecutor;
     protected volatile UnmatchedListener unmatchedListener;
     protected AtomicLong routedInternal;
     protected AtomicLong routedExternal;
@@ -95,6 +96,9 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         isLatchStatementInsertStream = this.services.getEngineSettingsService().getEngineSettings().getThreading().isInsertIntoDispatchPreserveOrder();
         isUsingExternalClocking = !this.services.getEngineSettingsService().getEngineSettings().getThreading().isInternalTimerEnabled();
         isPrioritized = services.getEngineSettingsService().getEngineSettings().getExecution().isPrioritized();
+        if (services.getEngineSettingsService().getEngineSettings().getExecution().isParallelStatementExecution() && !isPrioritized) {
+            parallelExecutor = new StatementParallelExecutor(this);
+        }
         routedInternal = new AtomicLong();
         routedExternal = new AtomicLong();
         engineFilterAndDispatchTimeContext = new ExprEvaluatorContext()
@@ -239,6 +243,168 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
     }
 
+    public void sendEvents(Object[] objects) throws EPException
+    {
+        if (objects == null)
+        {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+        checkNoNullEvent(objects);
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading()))
+        {
+            for (Object theEvent : objects)
+            {
+                sendEvent(theEvent);
+            }
+            return;
+        }
+
+        try
+        {
+            for (Object theEvent : objects)
+            {
+                if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled()))
+                {
+                    log.debug(".sendEvents Processing event " + theEvent);
+                }
+
+                if (theEvent instanceof TimerEvent)
+                {
+                    processTimeEvent((TimerEvent) theEvent);
+                    continue;
+                }
+                EventBean eventBean = theEvent instanceof EventBean ? (EventBean) theEvent : wrapEvent(theEvent);
+                processWrappedEvent(eventBean, false);
+            }
+        }
+        finally
+        {
+            // Dispatch results of the batch to listeners, also when the batch did not complete
+            dispatch();
+        }
+    }
+
+    public void sendEvents(Map[] maps, String mapEventTypeName) throws EPException
+    {
+        if (maps == null)
+        {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+        checkNoNullEvent(maps);
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading()))
+        {
+            for (Map map : maps)
+            {
+                sendEvent(map, mapEventTypeName);
+            }
+            return;
+        }
+
+        try
+        {
+            for (Map map : maps)
+            {
+                if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled()))
+                {
+                    log.debug(".sendEvents Processing event " + map);
+                }
+
+                processWrappedEvent(wrapEvent(map, mapEventTypeName), false);
+            }
+        }
+        finally
+        {
+            // Dispatch results of the batch to listeners, also when the batch did not complete
+            dispatch();
+        }
+    }
+
+    public void sendEvents(Object[][] propertyValuesArray, String objectArrayEventTypeName) throws EPException
+    {
+        if (propertyValuesArray == null)
+        {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+        checkNoNullEvent(propertyValuesArray);
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading()))
+        {
+            for (Object[] propertyValues : propertyValuesArray)
+            {
+                sendEvent(propertyValues, objectArrayEventTypeName);
+            }
+            return;
+        }
+
+        try
+        {
+            for (Object[] propertyValues : propertyValuesArray)
+            {
+                if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled()))
+                {
+                    log.debug(".sendEvents Processing event " + Arrays.toString(propertyValues));
+                }
+
+                processWrappedEvent(wrapEvent(propertyValues, objectArrayEventTypeName), false);
+            }
+        }
+        finally
+        {
+            // Dispatch results of the batch to listeners, also when the batch did not complete
+            dispatch();
+        }
+    }
+
+    public void sendEventsAvro(Object[] avroGenericDataDotRecords, String avroEventTypeName) throws EPException
+    {
+        if (avroGenericDataDotRecords == null)
+        {
+            throw new IllegalArgumentException("Invalid null event array");
+        }
+        checkNoNullEvent(avroGenericDataDotRecords);
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading()))
+        {
+            for (Object avroGenericDataDotRecord : avroGenericDataDotRecords)
+            {
+                sendEventAvro(avroGenericDataDotRecord, avroEventTypeName);
+            }
+            return;
+        }
+
+        try
+        {
+            for (Object avroGenericDataDotRecord : avroGenericDataDotRecords)
+            {
+                if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled()))
+                {
+                    log.debug(".sendEvents Processing event " + avroGenericDataDotRecord.toString());
+                }
+
+                processWrappedEvent(wrapEventAvro(avroGenericDataDotRecord, avroEventTypeName), false);
+            }
+        }
+        finally
+        {
+            // Dispatch results of the batch to listeners, also when the batch did not complete
+            dispatch();
+        }
+    }
+
+    private static void checkNoNullEvent(Object[] events)
+    {
+        // validate the batch up front so that a null element does not leave part of the batch processed
+        for (Object theEvent : events)
+        {
+            if (theEvent == null)
+            {
+                throw new IllegalArgumentException("Invalid null event object");
+            }
+        }
+    }
+
     public void sendEvent(org.w3c.dom.Node document) throws EPException
     {
         if (document == null)
@@ -413,6 +579,14 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         threadWorkQueue.addBack(theEvent);
     }
 
+    public boolean isEventRetained(EventType eventType)
+    {
+        // unmatched listeners and exception handlers receive the event itself
+        return unmatchedListener != null ||
+               services.getExceptionHandlingService().isHasExceptionHandlers() ||
+               services.getStatementEventTypeRefService().isRetained(eventType);
+    }
+
     public void route(Object theEvent)
     {
         routedExternal.incrementAndGet();
@@ -490,6 +664,11 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
     }
 
     public void processWrappedEvent(EventBean eventBean)
+    {
+        processWrappedEvent(eventBean, true);
+    }
+
+    private void processWrappedEvent(EventBean eventBean, boolean dispatchAfterEvent)
     {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qStimulantEvent(eventBean, services.getEngineURI());}
 
@@ -520,12 +699,14 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aEvent();}
         }
 
-        // Dispatch results to listeners
+        // Dispatch results to listeners, unless batched
         // Done outside of the read-lock to prevent lockups when listeners create statements
-        dispatch();
+        if (dispatchAfterEvent) {
+            dispatch();
+        }
 
         // Work off the event queue if any events accumulated in there via a route() or insert-into
-        processThreadWorkQueue();
+        processThreadWorkQueue(dispatchAfterEvent);
 
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aStimulantEvent();}
     }
@@ -819,6 +1000,11 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
      * Works off the thread's work queue.
      */
     public void processThreadWorkQueue()
+    {
+        processThreadWorkQueue(true);
+    }
+
+    private void processThreadWorkQueue(boolean dispatchAfterEvent)
     {
         DualWorkQueue queues = threadWorkQueue.getThreadQueue();
 
@@ -827,15 +1013,17 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             if (haveDispatched)
             {
                 // Dispatch results to listeners
-                dispatch();
+                if (dispatchAfterEvent) {
+                    dispatch();
+                }
 
                 if (!queues.getFrontQueue().isEmpty()) {
-                    processThreadWorkQueueFront(queues);
+                    processThreadWorkQueueFront(queues, dispatchAfterEvent);
                 }
             }
         }
         else {
-            processThreadWorkQueueFront(queues);
+            processThreadWorkQueueFront(queues, dispatchAfterEvent);
         }
 
         Object item;
@@ -843,55 +1031,55 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         {
             if (item instanceof InsertIntoLatchSpin)
             {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, dispatchAfterEvent);
             }
             else if (item instanceof InsertIntoLatchWait)
             {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, dispatchAfterEvent);
             }
             else
             {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, dispatchAfterEvent);
             }
 
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
-            if (haveDispatched)
+            if (haveDispatched && dispatchAfterEvent)
             {
                 dispatch();
             }
 
             if (!queues.getFrontQueue().isEmpty()) {
-                processThreadWorkQueueFront(queues);
+                processThreadWorkQueueFront(queues, dispatchAfterEvent);
             }
         }
     }
 
-    private void processThreadWorkQueueFront(DualWorkQueue queues) {
+    private void processThreadWorkQueueFront(DualWorkQueue queues, boolean dispatchAfterEvent) {
         Object item;
         while ( (item = queues.getFrontQueue().poll()) != null)
         {
             if (item instanceof InsertIntoLatchSpin)
             {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, dispatchAfterEvent);
             }
             else if (item instanceof InsertIntoLatchWait)
             {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, dispatchAfterEvent);
             }
             else
             {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, dispatchAfterEvent);
             }
 
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
-            if (haveDispatched)
+            if (haveDispatched && dispatchAfterEvent)
             {
                 dispatch();
             }
         }
     }
 
-    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch)
+    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch, boolean dispatchAfterEvent)
     {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
@@ -914,10 +1102,12 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aEvent();}
         }
 
-        dispatch();
+        if (dispatchAfterEvent) {
+            dispatch();
+        }
     }
 
-    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch)
+    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch, boolean dispatchAfterEvent)
     {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
@@ -940,10 +1130,12 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aEvent();}
         }
 
-        dispatch();
+        if (dispatchAfterEvent) {
+            dispatch();
+        }
     }
 
-    private void processThreadWorkQueueUnlatched(Object item)
+    private void processThreadWorkQueueUnlatched(Object item, boolean dispatchAfterEvent)
     {
         EventBean eventBean;
         if (item instanceof EventBean)
@@ -972,7 +1164,9 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aEvent();}
         }
 
-        dispatch();
+        if (dispatchAfterEvent) {
+            dispatch();
+        }
     }
 
     protected void processMatches(EventBean theEvent)
@@ -1005,10 +1199,19 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             return;
         }
 
-        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
         Object[] matchArray = matches.getArray();
         int entryCount = matches.size();
 
+        // independent statements process in parallel, only when all matching statements are independent so that dispatch order is preserved
+        if (parallelExecutor != null && isParallelExecution(matchArray, entryCount))
+        {
+            parallelExecutor.execute(matchArray, entryCount, theEvent, version);
+            matches.clear();
+            return;
+        }
+
+        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
+
         for (int i = 0; i < entryCount; i++)
         {
             EPStatementHandleCallback handleCallback = (EPStatementHandleCallback) matchArray[i];
@@ -1108,6 +1311,24 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         stmtCallbacks.clear();
     }
 
+    private boolean isParallelExecution(Object[] matchArray, int entryCount)
+    {
+        if (entryCount < 2 || ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isRouteThreading())))
+        {
+            return false;
+        }
+        for (int i = 0; i < entryCount; i++)
+        {
+            EPStatementAgentInstanceHandle handle = ((EPStatementHandleCallback) matchArray[i]).getAgentInstanceHandle();
+            if (!handle.isParallelExecution() ||
+                ((MetricReportingPath.isMetricsEnabled) && (handle.getStatementHandle().getMetricsHandle().isEnabled())))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Processing multiple schedule matches for a statement.
      * @param handle statement handle
@@ -14,6 +14,7 @@ package com.espertech.esper.core.service;
 import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventSender;
+import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.EventTypeException;
 import com.espertech.esper.client.hook.ExceptionHandlerExceptionType;
 import com.espertech.esper.client.time.CurrentTimeEvent;
@@ -863,5 +864,10 @@ public class EPRuntimeIsolatedImpl implements EPRuntimeIsolatedSPI, InternalEven
         threadWorkQueue.addBack(theEvent);
     }
 
+    public boolean isEventRetained(EventType eventType)
+    {
+        return true;
+    }
+
     private static final Logger log = LoggerFactory.getLogger(EPRuntimeImpl.class);
 }
@@ -684,12 +684,15 @@ public class EPServiceProviderImpl implements EPServiceProviderSPI
         CommonJMXUtil.registerMbean(services.getSchedulingService(), scheduleName);
         MetricName runtimeName = MetricNameFactory.name(services.getEngineURI(), "runtime");
         CommonJMXUtil.registerMbean(runtime, runtimeName);
+        MetricName threadingName = MetricNameFactory.name(services.getEngineURI(), "threading");
+        CommonJMXUtil.registerMbean(services.getThreadingService(), threadingName);
     }
 
     private synchronized void destroyEngineMetrics(String engineURI) {
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(engineURI, "filter"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(engineURI, "schedule"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(engineURI, "runtime"));
+        CommonJMXUtil.unregisterMbean(MetricNameFactory.name(engineURI, "threading"));
     }
 
     /**
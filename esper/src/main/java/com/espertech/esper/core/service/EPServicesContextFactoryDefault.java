@@ -121,7 +121,7 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         ManagedReadWriteLock eventProcessingRWLock = new ManagedReadWriteLock("EventProcLock", false);
 
         TimeSourceService timeSourceService = makeTimeSource(configSnapshot);
-        SchedulingServiceSPI schedulingService = SchedulingServiceProvider.newService(timeSourceService);
+        SchedulingServiceSPI schedulingService = SchedulingServiceProvider.newService(configSnapshot.getEngineDefaults().getExecution().getSchedulingServiceProfile(), timeSourceService);
         SchedulingMgmtService schedulingMgmtService = new SchedulingMgmtServiceImpl();
         EngineSettingsService engineSettingsService = new EngineSettingsService(configSnapshot.getEngineDefaults(), configSnapshot.getPlugInEventTypeResolutionURIs());
         DatabaseConfigService databaseConfigService = makeDatabaseRefService(configSnapshot, schedulingService, schedulingMgmtService, engineImportService);
@@ -163,10 +163,11 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
 
         StatementLockFactory statementLockFactory = new StatementLockFactoryImpl(configSnapshot.getEngineDefaults().getExecution().isFairlock(), configSnapshot.getEngineDefaults().getExecution().isDisableLocking());
         StreamFactoryService streamFactoryService = StreamFactoryServiceProvider.newService(epServiceProvider.getURI(), configSnapshot.getEngineDefaults().getViewResources().isShareViews());
-        FilterServiceSPI filterService = FilterServiceProvider.newService(configSnapshot.getEngineDefaults().getExecution().getFilterServiceProfile(), configSnapshot.getEngineDefaults().getExecution().isAllowIsolatedService());
+        FilterServiceSPI filterService = FilterServiceProvider.newService(configSnapshot.getEngineDefaults().getExecution().getFilterServiceProfile(), configSnapshot.getEngineDefaults().getExecution().isAllowIsolatedService(), configSnapshot.getEngineDefaults().getExecution().getFilterIndexReorderInterval());
         MetricReportingServiceImpl metricsReporting = new MetricReportingServiceImpl(configSnapshot.getEngineDefaults().getMetricsReporting(), epServiceProvider.getURI());
         NamedWindowMgmtService namedWindowMgmtService = new NamedWindowMgmtServiceImpl(configSnapshot.getEngineDefaults().getLogging().isEnableQueryPlan(), metricsReporting);
-        NamedWindowDispatchService namedWindowDispatchService = new NamedWindowDispatchServiceImpl(schedulingService, variableService, tableService, engineSettingsService.getEngineSettings().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricsReporting);
+        ThreadingService threadingService = new ThreadingServiceImpl(configSnapshot.getEngineDefaults().getThreading());
+        NamedWindowDispatchService namedWindowDispatchService = new NamedWindowDispatchServiceImpl(schedulingService, variableService, tableService, engineSettingsService.getEngineSettings().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricsReporting, threadingService);
 
         ValueAddEventService valueAddEventService = new ValueAddEventServiceImpl();
         valueAddEventService.init(configSnapshot.getRevisionEventTypes(), configSnapshot.getVariantStreams(), eventAdapterService, eventTypeIdGenerator);
@@ -174,8 +175,6 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         StatementEventTypeRef statementEventTypeRef = new StatementEventTypeRefImpl();
         StatementVariableRef statementVariableRef = new StatementVariableRefImpl(variableService, tableService, namedWindowMgmtService);
 
-        ThreadingService threadingService = new ThreadingServiceImpl(configSnapshot.getEngineDefaults().getThreading());
-
         InternalEventRouterImpl internalEventRouterImpl = new InternalEventRouterImpl(epServiceProvider.getURI());
 
         StatementIsolationServiceImpl statementIsolationService = new StatementIsolationServiceImpl();
@@ -572,6 +571,7 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         EngineImportServiceImpl engineImportService = new EngineImportServiceImpl(expression.isExtendedAggregation(),
                 expression.isUdfCache(), expression.isDuckTyping(),
                 configSnapshot.getEngineDefaults().getLanguage().isSortUsingCollator(),
+                expression.isCodeGeneration(),
                 configSnapshot.getEngineDefaults().getExpression().getMathContext(),
                 configSnapshot.getEngineDefaults().getExpression().getTimeZone(),
                 configSnapshot.getEngineDefaults().getExecution().getThreadingProfile(),
@@ -40,6 +40,7 @@ public class EPStatementHandle implements MetaDefItem, Serializable
     private transient InsertIntoLatchFactory insertIntoBackLatchFactory;
     private transient StatementMetricHandle metricsHandle = null;
     private boolean hasTableAccess;
+    private boolean parallelExecution;
 
     /**
      * Ctor.
@@ -168,6 +169,23 @@ public class EPStatementHandle implements MetaDefItem, Serializable
         return canSelfJoin;
     }
 
+    /**
+     * Returns true if the statement may process an event in parallel with other statements.
+     * @return indicator for parallel statement execution
+     */
+    public boolean isParallelExecution() {
+        return parallelExecution;
+    }
+
+    /**
+     * Set the indicator whether the statement may process an event in parallel with other statements,
+     * for statements that do not route events and that do not access tables, variables or named windows.
+     * @param parallelExecution indicator for parallel statement execution
+     */
+    public void setParallelExecution(boolean parallelExecution) {
+        this.parallelExecution = parallelExecution;
+    }
+
     /**
      * Returns handle for metrics reporting.
      * @return handle for metrics reporting
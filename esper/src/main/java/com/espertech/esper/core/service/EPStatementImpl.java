@@ -100,6 +100,7 @@ public class EPStatementImpl implements EPStatementSPI
         {
             this.dispatchChildView = new UpdateDispatchViewNonBlocking(statementContext.getStatementResultService(), dispatchService);
         }
+        this.dispatchChildView.setParallelCapture(statementContext.getEpStatementHandle().isParallelExecution());
         if (!isFailed) {
             this.currentState = EPStatementState.STOPPED;
         }
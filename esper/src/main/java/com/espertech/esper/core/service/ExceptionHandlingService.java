@@ -54,6 +54,10 @@ public class ExceptionHandlingService {
         return engineURI;
     }
 
+    public boolean isHasExceptionHandlers() {
+        return !exceptionHandlers.isEmpty();
+    }
+
     public void handleException(RuntimeException ex, String statementName, String epl, ExceptionHandlerExceptionType type, EventBean optionalCurrentEvent) {
         if (exceptionHandlers.isEmpty()) {
             StringWriter writer = new StringWriter();
@@ -11,6 +11,7 @@ package com.espertech.esper.core.service;
 import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EPStatement;
 import com.espertech.esper.client.EPSubscriberException;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.epl.core.EngineImportService;
 import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.util.JavaClassHelper;
@@ -255,11 +256,12 @@ public class ResultDeliveryStrategyFactory
 
         // Invalid if there is a another footprint for the subscription method that does not include EPStatement if present
         boolean firstParameterIsEPStatement = isFirstParameterEPStatement(subscriptionMethod);
+        boolean reuseRows = statement.getAnnotations() != null && HintEnum.REUSE_SUBSCRIBER_ROW.getHint(statement.getAnnotations()) != null;
         if (isMapArrayDelivery)
         {
             return firstParameterIsEPStatement ?
-                    new ResultDeliveryStrategyMapWStmt(statement, subscriber, subscriptionMethod, selectClauseColumns, engineImportService) :
-                    new ResultDeliveryStrategyMap(statement, subscriber, subscriptionMethod, selectClauseColumns, engineImportService);
+                    new ResultDeliveryStrategyMapWStmt(statement, subscriber, subscriptionMethod, selectClauseColumns, engineImportService, reuseRows) :
+                    new ResultDeliveryStrategyMap(statement, subscriber, subscriptionMethod, selectClauseColumns, engineImportService, reuseRows);
         }
         else if (isObjectArrayDelivery)
         {
@@ -321,7 +323,20 @@ public class ResultDeliveryStrategyFactory
         }
 
         DeliveryConvertor convertor;
-        if (isSingleRowMap)
+        if (reuseRows && isSingleRowMap)
+        {
+            convertor = new DeliveryConvertorMapReuse(selectClauseColumns, firstParameterIsEPStatement ? statement : null);
+        }
+        else if (reuseRows && isSingleRowObjectArr)
+        {
+            convertor = new DeliveryConvertorObjectArrReuse(firstParameterIsEPStatement ? statement : null);
+        }
+        else if (reuseRows && firstParameterIsEPStatement && updateMethods.get(subscriptionMethod).length == selectClauseTypes.length)
+        {
+            TypeWidener[] wideners = checkWidening ? getWideners(statement, selectClauseTypes, updateMethods.get(subscriptionMethod), subscriptionMethod, engineURI) : null;
+            convertor = new DeliveryConvertorWStatementReuse(statement, wideners, selectClauseTypes.length);
+        }
+        else if (isSingleRowMap)
         {
             convertor = firstParameterIsEPStatement ?
                     new DeliveryConvertorMapWStatement(selectClauseColumns, statement) :
@@ -350,6 +365,18 @@ public class ResultDeliveryStrategyFactory
     }
 
     private static DeliveryConvertor determineWideningDeliveryConvertor(boolean firstParameterIsEPStatement, EPStatement statement, Class[] selectClauseTypes, Class[] parameterTypes, Method method, String engineURI) {
+        TypeWidener[] wideners = getWideners(statement, selectClauseTypes, parameterTypes, method, engineURI);
+        if (wideners == null) {
+            return firstParameterIsEPStatement ?
+                    new DeliveryConvertorNullWStatement(statement) :
+                    DeliveryConvertorNull.INSTANCE;
+        }
+        return firstParameterIsEPStatement ?
+                new DeliveryConvertorWidenerWStatement(wideners, statement) :
+                new DeliveryConvertorWidener(wideners);
+    }
+
+    private static TypeWidener[] getWideners(EPStatement statement, Class[] selectClauseTypes, Class[] parameterTypes, Method method, String engineURI) {
         boolean needWidener = false;
         for (int i = 0; i < selectClauseTypes.length; i++) {
             TypeWidener optionalWidener = getWidener(i, selectClauseTypes[i], parameterTypes[i], method, statement.getName(), engineURI);
@@ -359,17 +386,13 @@ public class ResultDeliveryStrategyFactory
             }
         }
         if (!needWidener) {
-            return firstParameterIsEPStatement ?
-                    new DeliveryConvertorNullWStatement(statement) :
-                    DeliveryConvertorNull.INSTANCE;
+            return null;
         }
         TypeWidener[] wideners = new TypeWidener[selectClauseTypes.length];
         for (int i = 0; i < selectClauseTypes.length; i++) {
             wideners[i] = getWidener(i, selectClauseTypes[i], parameterTypes[i], method, statement.getName(), engineURI);
         }
-        return firstParameterIsEPStatement ?
-                new DeliveryConvertorWidenerWStatement(wideners, statement) :
-                new DeliveryConvertorWidener(wideners);
+        return wideners;
     }
 
     private static TypeWidener getWidener(int columnNum, Class selectClauseType, Class parameterType, Method method, String statementName, String engineURI) {
@@ -41,6 +41,7 @@ public class ResultDeliveryStrategyImpl implements ResultDeliveryStrategy
     private final boolean endMethodHasEPStatement;
     private final FastMethod updateRStreamMethodFast;
     private final DeliveryConvertor deliveryConvertor;
+    private final DeliveryConvertorReusable deliveryConvertorReusable;
 
     /**
      * Ctor.
@@ -57,6 +58,7 @@ public class ResultDeliveryStrategyImpl implements ResultDeliveryStrategy
         this.statement = statement;
         this.subscriber = subscriber;
         this.deliveryConvertor = deliveryConvertor;
+        this.deliveryConvertorReusable = deliveryConvertor instanceof DeliveryConvertorReusable ? (DeliveryConvertorReusable) deliveryConvertor : null;
         FastClass fastClass = FastClass.create(engineImportService.getFastClassClassLoader(subscriber.getClass()), subscriber.getClass());
         this.updateMethodFast = fastClass.getMethod(method);
 
@@ -138,6 +140,9 @@ public class ResultDeliveryStrategyImpl implements ResultDeliveryStrategy
                     catch (Throwable t) {
                         handleThrowable(log, t, parameters, subscriber, updateMethodFast);
                     }
+                    if (deliveryConvertorReusable != null) {
+                        deliveryConvertorReusable.release(parameters);
+                    }
                 }
             }
         }
@@ -157,6 +162,9 @@ public class ResultDeliveryStrategyImpl implements ResultDeliveryStrategy
                     catch (Throwable t) {
                         handleThrowable(log, t, parameters, subscriber, updateRStreamMethodFast);
                     }
+                    if (deliveryConvertorReusable != null) {
+                        deliveryConvertorReusable.release(parameters);
+                    }
                 }
             }
         }
@@ -33,6 +33,7 @@ public class ResultDeliveryStrategyMap implements ResultDeliveryStrategy
     protected final Object subscriber;
     protected final FastMethod fastMethod;
     protected final String[] columnNames;
+    private final ThreadLocal<RowViews> rowViews;
 
     /**
      * Ctor.
@@ -40,28 +41,36 @@ public class ResultDeliveryStrategyMap implements ResultDeliveryStrategy
      * @param method the delivery method
      * @param columnNames the column names for the map
      * @param statement statement
+     * @param engineImportService engine imports
+     * @param reuseRows indicator whether to deliver rows as map views reused for the next delivery
      */
-    public ResultDeliveryStrategyMap(EPStatement statement, Object subscriber, Method method, String[] columnNames, EngineImportService engineImportService)
+    public ResultDeliveryStrategyMap(EPStatement statement, Object subscriber, Method method, String[] columnNames, EngineImportService engineImportService, boolean reuseRows)
     {
         this.statement = statement;
         this.subscriber = subscriber;
         FastClass fastClass = FastClass.create(engineImportService.getFastClassClassLoader(subscriber.getClass()), subscriber.getClass());
         this.fastMethod = fastClass.getMethod(method);
         this.columnNames = columnNames;
+        this.rowViews = !reuseRows ? null : new ThreadLocal<RowViews>() {
+            protected synchronized RowViews initialValue() {
+                return new RowViews();
+            }
+        };
     }
 
     public void execute(UniformPair<EventBean[]> result)
     {
         Map[] newData;
         Map[] oldData;
+        RowViews views = acquireViews();
 
         if (result == null) {
             newData = null;
             oldData = null;
         }
         else {
-            newData = convert(result.getFirst());
-            oldData = convert(result.getSecond());
+            newData = convert(result.getFirst(), views);
+            oldData = convert(result.getSecond(), views);
         }
 
         Object[] parameters = new Object[] {newData, oldData};
@@ -71,9 +80,50 @@ public class ResultDeliveryStrategyMap implements ResultDeliveryStrategy
         catch (InvocationTargetException e) {
             ResultDeliveryStrategyImpl.handle(statement.getName(), log, e, parameters, subscriber, fastMethod);
         }
+        finally {
+            releaseViews(views);
+        }
     }
 
-    protected Map[] convert(EventBean[] events)
+    /**
+     * Returns the thread's reusable row views, or null if rows are not reused or if the thread's views are in use
+     * by a delivery that is in progress.
+     * @return views or null
+     */
+    protected RowViews acquireViews() {
+        if (rowViews == null) {
+            return null;
+        }
+        RowViews views = rowViews.get();
+        if (views.inUse) {
+            return null;
+        }
+        views.inUse = true;
+        return views;
+    }
+
+    /**
+     * Releases the row views after delivery.
+     * @param views views or null
+     */
+    protected void releaseViews(RowViews views) {
+        if (views == null) {
+            return;
+        }
+        for (int i = 0; i < views.count; i++) {
+            views.views[i].setRow(null);
+        }
+        views.count = 0;
+        views.inUse = false;
+    }
+
+    /**
+     * Converts events to maps.
+     * @param events events
+     * @param views reusable row views or null to allocate maps
+     * @return maps
+     */
+    protected Map[] convert(EventBean[] events, RowViews views)
     {
         if ((events == null) || (events.length == 0))
         {
@@ -87,7 +137,7 @@ public class ResultDeliveryStrategyMap implements ResultDeliveryStrategy
             if (events[i] instanceof NaturalEventBean)
             {
                 NaturalEventBean natural = (NaturalEventBean) events[i];
-                result[length] = convert(natural);
+                result[length] = views == null ? convert(natural) : views.next(columnNames, natural.getNatural());
                 length++;
             }
         }
@@ -115,4 +165,27 @@ public class ResultDeliveryStrategyMap implements ResultDeliveryStrategy
         }
         return map;
     }
+
+    /**
+     * Map views of rows reused by a thread.
+     */
+    protected static class RowViews {
+        private DeliveryRowMapView[] views = new DeliveryRowMapView[0];
+        private int count;
+        private boolean inUse;
+
+        private DeliveryRowMapView next(String[] columnNames, Object[] row) {
+            if (count == views.length) {
+                DeliveryRowMapView[] grown = new DeliveryRowMapView[Math.max(4, count * 2)];
+                System.arraycopy(views, 0, grown, 0, count);
+                for (int i = count; i < grown.length; i++) {
+                    grown[i] = new DeliveryRowMapView(columnNames);
+                }
+                views = grown;
+            }
+            DeliveryRowMapView view = views[count++];
+            view.setRow(row);
+            return view;
+        }
+    }
 }
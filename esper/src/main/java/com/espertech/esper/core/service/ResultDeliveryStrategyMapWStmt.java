@@ -26,22 +26,23 @@ public class ResultDeliveryStrategyMapWStmt extends ResultDeliveryStrategyMap {
 
     private static Logger log = LoggerFactory.getLogger(ResultDeliveryStrategyMapWStmt.class);
 
-    public ResultDeliveryStrategyMapWStmt(EPStatement statement, Object subscriber, Method method, String[] columnNames, EngineImportService engineImportService) {
-        super(statement, subscriber, method, columnNames, engineImportService);
+    public ResultDeliveryStrategyMapWStmt(EPStatement statement, Object subscriber, Method method, String[] columnNames, EngineImportService engineImportService, boolean reuseRows) {
+        super(statement, subscriber, method, columnNames, engineImportService, reuseRows);
     }
 
     @Override
     public void execute(UniformPair<EventBean[]> result) {
         Map[] newData;
         Map[] oldData;
+        RowViews views = acquireViews();
 
         if (result == null) {
             newData = null;
             oldData = null;
         }
         else {
-            newData = convert(result.getFirst());
-            oldData = convert(result.getSecond());
+            newData = convert(result.getFirst(), views);
+            oldData = convert(result.getSecond(), views);
         }
 
         Object[] parameters = new Object[] {statement, newData, oldData};
@@ -51,5 +52,8 @@ public class ResultDeliveryStrategyMapWStmt extends ResultDeliveryStrategyMap {
         catch (InvocationTargetException e) {
             ResultDeliveryStrategyImpl.handle(statement.getName(), log, e, parameters, subscriber, fastMethod);
         }
+        finally {
+            releaseViews(views);
+        }
     }
 }
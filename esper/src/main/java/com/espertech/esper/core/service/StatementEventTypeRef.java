@@ -11,6 +11,8 @@
 
 package com.espertech.esper.core.service;
 
+import com.espertech.esper.client.EventType;
+
 import java.util.Set;
 
 /**
@@ -57,4 +59,19 @@ public interface StatementEventTypeRef
      * @param eventTypeName event type name
      */
     public void removeReferencesType(String eventTypeName);
+
+    /**
+     * Indicates that a statement does not retain the events it consumes beyond the processing of each event.
+     * Statements not indicated are considered to possibly retain events.
+     * @param statementName statement name
+     */
+    public void addNonRetaining(String statementName);
+
+    /**
+     * Returns true if any statement that references the event type or any of its super types may retain
+     * an event of the type beyond the processing of the event.
+     * @param eventType event type
+     * @return indicator whether events of the type may be retained
+     */
+    public boolean isRetained(EventType eventType);
 }
@@ -11,6 +11,7 @@
 
 package com.espertech.esper.core.service;
 
+import com.espertech.esper.client.EventType;
 import com.espertech.esper.util.CollectionUtil;
 import com.espertech.esper.util.ManagedReadWriteLock;
 import org.slf4j.Logger;
@@ -19,7 +20,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for holding references between statements and their event type use.
@@ -31,6 +34,8 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
     private final ManagedReadWriteLock mapLock;
     private final HashMap<String, Set<String>> typeToStmt;
     private final HashMap<String, String[]> stmtToType;
+    private final Set<String> nonRetainingStmts;
+    private final ConcurrentHashMap<String, Boolean> retainedByType;
 
     /**
      * Ctor.
@@ -39,6 +44,8 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
     {
         typeToStmt = new HashMap<String, Set<String>>();
         stmtToType = new HashMap<String, String[]>();
+        nonRetainingStmts = new HashSet<String>();
+        retainedByType = new ConcurrentHashMap<String, Boolean>();
         mapLock = new ManagedReadWriteLock("StatementEventTypeRefImpl", false);
     }
 
@@ -56,6 +63,7 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
             {
                 addReference(statementName, reference);
             }
+            retainedByType.clear();
         }
         finally
         {
@@ -76,6 +84,8 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
                     removeReference(statementName, type);
                 }
             }
+            nonRetainingStmts.remove(statementName);
+            retainedByType.clear();
         }
         finally
         {
@@ -96,6 +106,7 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
                     removeReference(statementName, name);
                 }
             }
+            retainedByType.clear();
         }
         finally
         {
@@ -103,6 +114,47 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
         }
     }
 
+    public void addNonRetaining(String statementName)
+    {
+        mapLock.acquireWriteLock();
+        try
+        {
+            nonRetainingStmts.add(statementName);
+            retainedByType.clear();
+        }
+        finally
+        {
+            mapLock.releaseWriteLock();
+        }
+    }
+
+    public boolean isRetained(EventType eventType)
+    {
+        String name = eventType.getName();
+        if (name == null) {
+            return true;
+        }
+        Boolean retained = retainedByType.get(name);
+        if (retained != null) {
+            return retained;
+        }
+
+        mapLock.acquireReadLock();
+        try {
+            retained = isRetainedByStatement(name);
+            Iterator<EventType> superTypes = eventType.getDeepSuperTypes();
+            while (!retained && superTypes != null && superTypes.hasNext()) {
+                EventType superType = superTypes.next();
+                retained = superType.getName() == null || isRetainedByStatement(superType.getName());
+            }
+            retainedByType.put(name, retained);
+            return retained;
+        }
+        finally {
+            mapLock.releaseReadLock();
+        }
+    }
+
     public boolean isInUse(String eventTypeName)
     {
         mapLock.acquireReadLock();
@@ -146,6 +198,20 @@ public class StatementEventTypeRefImpl implements StatementEventTypeRef
         }
     }
 
+    private boolean isRetainedByStatement(String eventTypeName)
+    {
+        Set<String> statements = typeToStmt.get(eventTypeName);
+        if (statements == null) {
+            return false;
+        }
+        for (String statementName : statements) {
+            if (!nonRetainingStmts.contains(statementName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void addReference(String statementName, String eventTypeName)
     {
         // add to types
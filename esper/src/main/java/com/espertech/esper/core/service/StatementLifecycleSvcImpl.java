@@ -379,8 +379,19 @@ public class StatementLifecycleSvcImpl implements StatementLifecycleSvc
         boolean canSelfJoin = isPotentialSelfJoin(compiledSpec) || needDedup;
         statementContext.getEpStatementHandle().setCanSelfJoin(canSelfJoin);
 
+        // statements that do not depend on other statements may process an event in parallel to other statements, if so configured
+        if (services.getEngineSettingsService().getEngineSettings().getExecution().isParallelStatementExecution()) {
+            EPStatementHandle handle = statementContext.getEpStatementHandle();
+            handle.setParallelExecution(!canSelfJoin && !handle.isHasVariables() && !handle.isHasTableAccess() &&
+                    StatementSpecCompiledAnalyzer.isParallelExecutable(compiledSpec));
+        }
+
         // add statically typed event type references: those in the from clause; Dynamic (created) types collected by statement context and added on start
         services.getStatementEventTypeRefService().addReferences(statementName, compiledSpec.getEventTypeReferences());
+        boolean iterableUnbound = services.getConfigSnapshot().getEngineDefaults().getViewResources().isIterableUnbound();
+        if (!StatementSpecCompiledAnalyzer.isRetainsEvents(compiledSpec, iterableUnbound)) {
+            services.getStatementEventTypeRefService().addNonRetaining(statementName);
+        }
 
         // add variable references
         services.getStatementVariableRefService().addReferences(statementName, compiledSpec.getVariableReferences(), compiledSpec.getTableNodes());
@@ -0,0 +1,209 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.UniformPair;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Processes an event for independent statements in parallel using the fork-join common pool.
+ * <p>
+ * Matches are grouped by statement lock and each group is processed by one task, in match order.
+ * Statement results produced by a task are captured per match and delivered by the sending thread after all tasks completed,
+ * in the order of the matches, so that dispatch to listeners and subscribers remains on the sending thread and
+ * in the same order as when processing the matches one after the other.
+ */
+public class StatementParallelExecutor
+{
+    private static final ThreadLocal<ArrayDeque<Object>> CAPTURE = new ThreadLocal<ArrayDeque<Object>>();
+
+    private final EPRuntimeImpl runtime;
+
+    private final ThreadLocal<PendingGroups> pendingThreadLocal = new ThreadLocal<PendingGroups>()
+    {
+        protected synchronized PendingGroups initialValue()
+        {
+            return new PendingGroups();
+        }
+    };
+
+    /**
+     * Ctor.
+     * @param runtime runtime for statement processing
+     */
+    public StatementParallelExecutor(EPRuntimeImpl runtime)
+    {
+        this.runtime = runtime;
+    }
+
+    /**
+     * Captures a statement result for delivery by the sending thread, if the current thread executes statements in parallel.
+     * @param view dispatch view receiving the result
+     * @param results result
+     * @return true if captured, false if the current thread does not execute statements in parallel
+     */
+    public static boolean capture(UpdateDispatchView view, UniformPair<EventBean[]> results)
+    {
+        ArrayDeque<Object> captured = CAPTURE.get();
+        if (captured == null) {
+            return false;
+        }
+        captured.add(view);
+        captured.add(results);
+        return true;
+    }
+
+    /**
+     * Process the matches, returning after all matches have been processed and
+     * the results of statements have been indicated for dispatch by the current thread in match order.
+     * All matches must be eligible for parallel execution.
+     * @param matches matches, each an {@link EPStatementHandleCallback}
+     * @param numMatches number of matches
+     * @param theEvent event
+     * @param version filter version
+     */
+    public void execute(Object[] matches, int numMatches, EventBean theEvent, long version)
+    {
+        PendingGroups pending = pendingThreadLocal.get();
+        for (int i = 0; i < numMatches; i++) {
+            pending.add(((EPStatementHandleCallback) matches[i]).getAgentInstanceHandle().getStatementAgentInstanceLock(), i);
+        }
+
+        // a single group executes on the sending thread as usual
+        if (pending.numGroups == 1) {
+            pending.clear();
+            for (int i = 0; i < numMatches; i++) {
+                EPStatementHandleCallback handleCallback = (EPStatementHandleCallback) matches[i];
+                runtime.processStatementFilterSingle(handleCallback.getAgentInstanceHandle(), handleCallback, theEvent, version);
+            }
+            return;
+        }
+
+        ArrayDeque<Object>[] captured = new ArrayDeque[numMatches];
+        StatementGroupTask[] tasks = new StatementGroupTask[pending.numGroups];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new StatementGroupTask(runtime, matches, pending.take(i), captured, theEvent, version);
+        }
+        pending.clear();
+
+        // join barrier: all groups complete before any result is indicated for dispatch
+        for (int i = 1; i < tasks.length; i++) {
+            tasks[i].fork();
+        }
+        tasks[0].invoke();
+        for (int i = 1; i < tasks.length; i++) {
+            tasks[i].join();
+        }
+
+        // indicate results in match order
+        for (ArrayDeque<Object> capturedMatch : captured) {
+            if (capturedMatch == null) {
+                continue;
+            }
+            while (!capturedMatch.isEmpty()) {
+                UpdateDispatchView view = (UpdateDispatchView) capturedMatch.poll();
+                UniformPair<EventBean[]> results = (UniformPair<EventBean[]>) capturedMatch.poll();
+                view.newResult(results);
+            }
+        }
+        for (StatementGroupTask task : tasks) {
+            if (task.exception != null) {
+                throw task.exception;
+            }
+        }
+    }
+
+    private static class PendingGroups
+    {
+        private final IdentityHashMap<StatementAgentInstanceLock, ArrayDeque<Integer>> groupsPerLock = new IdentityHashMap<StatementAgentInstanceLock, ArrayDeque<Integer>>();
+        private final List<ArrayDeque<Integer>> groups = new ArrayList<ArrayDeque<Integer>>();
+        private int numGroups;
+
+        private void add(StatementAgentInstanceLock lock, int matchNum)
+        {
+            ArrayDeque<Integer> group = groupsPerLock.get(lock);
+            if (group == null) {
+                if (numGroups == groups.size()) {
+                    groups.add(new ArrayDeque<Integer>(2));
+                }
+                group = groups.get(numGroups++);
+                groupsPerLock.put(lock, group);
+            }
+            group.add(matchNum);
+        }
+
+        private int[] take(int index)
+        {
+            ArrayDeque<Integer> group = groups.get(index);
+            int[] matchNums = new int[group.size()];
+            int count = 0;
+            for (Integer matchNum : group) {
+                matchNums[count++] = matchNum;
+            }
+            group.clear();
+            return matchNums;
+        }
+
+        private void clear()
+        {
+            for (int i = 0; i < numGroups; i++) {
+                groups.get(i).clear();
+            }
+            groupsPerLock.clear();
+            numGroups = 0;
+        }
+    }
+
+    private static class StatementGroupTask extends RecursiveAction
+    {
+        private final EPRuntimeImpl runtime;
+        private final Object[] matches;
+        private final int[] matchNums;
+        private final ArrayDeque<Object>[] captured;
+        private final EventBean theEvent;
+        private final long version;
+        private RuntimeException exception;
+
+        private StatementGroupTask(EPRuntimeImpl runtime, Object[] matches, int[] matchNums, ArrayDeque<Object>[] captured, EventBean theEvent, long version)
+        {
+            this.runtime = runtime;
+            this.matches = matches;
+            this.matchNums = matchNums;
+            this.captured = captured;
+            this.theEvent = theEvent;
+            this.version = version;
+        }
+
+        protected void compute()
+        {
+            ArrayDeque<Object> prior = CAPTURE.get();
+            try {
+                for (int matchNum : matchNums) {
+                    ArrayDeque<Object> capturedMatch = new ArrayDeque<Object>(2);
+                    captured[matchNum] = capturedMatch;
+                    CAPTURE.set(capturedMatch);
+                    EPStatementHandleCallback handleCallback = (EPStatementHandleCallback) matches[matchNum];
+                    runtime.processStatementFilterSingle(handleCallback.getAgentInstanceHandle(), handleCallback, theEvent, version);
+                }
+            }
+            catch (RuntimeException ex) {
+                exception = ex;
+            }
+            finally {
+                CAPTURE.set(prior);
+            }
+        }
+    }
+}
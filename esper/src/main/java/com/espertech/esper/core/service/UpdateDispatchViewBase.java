@@ -12,6 +12,7 @@ import com.espertech.esper.dispatch.DispatchService;
 import com.espertech.esper.dispatch.Dispatchable;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.UniformPair;
 import com.espertech.esper.view.ViewSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +40,11 @@ public abstract class UpdateDispatchViewBase extends ViewSupport implements Disp
      */
     protected EventBean lastIterableEvent;
 
+    /**
+     * Flag to indicate results are captured when produced by a parallel statement execution thread.
+     */
+    private boolean parallelCapture;
+
     /**
      * Flag to indicate we have registered a dispatch.
      */
@@ -75,6 +81,23 @@ public abstract class UpdateDispatchViewBase extends ViewSupport implements Disp
         statementResultService.execute();
     }
 
+    /**
+     * Sets the indicator whether results produced by a parallel statement execution thread are captured for delivery by the sending thread.
+     * @param parallelCapture indicator
+     */
+    public void setParallelCapture(boolean parallelCapture) {
+        this.parallelCapture = parallelCapture;
+    }
+
+    /**
+     * Captures the result for delivery by the sending thread if the current thread executes statements in parallel.
+     * @param results result to capture
+     * @return true if captured, false if the result is for delivery by the current thread
+     */
+    protected boolean captureParallel(UniformPair<EventBean[]> results) {
+        return parallelCapture && StatementParallelExecutor.capture(this, results);
+    }
+
     /**
      * Remove event reference to last event.
      */
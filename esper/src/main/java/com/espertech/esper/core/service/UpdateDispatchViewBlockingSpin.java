@@ -46,6 +46,9 @@ public class UpdateDispatchViewBlockingSpin extends UpdateDispatchViewBase
 
     public void newResult(UniformPair<EventBean[]> result)
     {
+        if (captureParallel(result)) {
+            return;
+        }
         statementResultService.indicate(result);
 
         if (!isDispatchWaiting.get())
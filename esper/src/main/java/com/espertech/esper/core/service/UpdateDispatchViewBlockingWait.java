@@ -42,6 +42,9 @@ public class UpdateDispatchViewBlockingWait extends UpdateDispatchViewBase
 
     public void newResult(UniformPair<EventBean[]> results)
     {
+        if (captureParallel(results)) {
+            return;
+        }
         statementResultService.indicate(results);
 
         if (!isDispatchWaiting.get())
@@ -36,6 +36,9 @@ public class UpdateDispatchViewNonBlocking extends UpdateDispatchViewBase
 
     public void newResult(UniformPair<EventBean[]> results)
     {
+        if (captureParallel(results)) {
+            return;
+        }
         statementResultService.indicate(results);
         if (!isDispatchWaiting.get())
         {
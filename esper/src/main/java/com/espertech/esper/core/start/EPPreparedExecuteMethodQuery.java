@@ -9,7 +9,9 @@
 package com.espertech.esper.core.start;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.client.context.ContextPartitionSelector;
 import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.Pair;
@@ -44,6 +46,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Starts and provides the stop method for EPL statements.
@@ -52,6 +58,7 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
 {
     private static final Logger queryPlanLog = LoggerFactory.getLogger(AuditPath.QUERYPLAN_LOG);
     private static final Logger log = LoggerFactory.getLogger(EPPreparedExecuteMethodQuery.class);
+    private static final int PARALLEL_FILTER_MIN_SEGMENT_SIZE = 10000;
 
     private final StatementSpecCompiled statementSpec;
     private final ResultSetProcessor resultSetProcessor;
@@ -62,6 +69,7 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
     private JoinSetComposerPrototype joinSetComposerPrototype;
     private final FilterSpecCompiled[] filters;
     private boolean hasTableAccess;
+    private final boolean isParallel;
 
     /**
      * Ctor.
@@ -89,6 +97,11 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
         this.statementSpec = statementSpec;
         this.services = services;
 
+        // table access expressions acquire table locks for the thread evaluating them and are therefore evaluated by the executing thread only
+        boolean hasTableExpressions = statementSpec.getTableNodes() != null && statementSpec.getTableNodes().length > 0;
+        this.isParallel = HintEnum.ENABLE_PARALLEL_FAF.getHint(statementSpec.getAnnotations()) != null &&
+                statementSpec.getStreamSpecs().length == 1 && !hasTableExpressions;
+
         EPPreparedExecuteMethodHelper.validateFAFQuery(statementSpec);
 
         int numStreams = statementSpec.getStreamSpecs().length;
@@ -222,12 +235,17 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
             Collection<Integer> agentInstanceIds = EPPreparedExecuteMethodHelper.getAgentInstanceIds(processors[0], singleSelector, services.getContextManagementService(), statementSpec.getOptionalContextName());
 
             // collect events and agent instances
-            for (int agentInstanceId : agentInstanceIds) {
-                FireAndForgetInstance processorInstance = processors[0].getProcessorInstanceContextById(agentInstanceId);
-                if (processorInstance != null) {
-                    EPPreparedExecuteTableHelper.assignTableAccessStrategies(services, statementSpec.getTableNodes(), processorInstance.getAgentInstanceContext());
-                    Collection<EventBean> coll = processorInstance.snapshotBestEffort(this, filters[0], statementSpec.getAnnotations());
-                    contextPartitionResults.add(new ContextPartitionResult(coll, processorInstance.getAgentInstanceContext()));
+            if (isParallel) {
+                contextPartitionResults = snapshotParallel(processors[0], agentInstanceIds, filters[0], statementSpec.getFilterRootNode());
+            }
+            else {
+                for (int agentInstanceId : agentInstanceIds) {
+                    FireAndForgetInstance processorInstance = processors[0].getProcessorInstanceContextById(agentInstanceId);
+                    if (processorInstance != null) {
+                        EPPreparedExecuteTableHelper.assignTableAccessStrategies(services, statementSpec.getTableNodes(), processorInstance.getAgentInstanceContext());
+                        Collection<EventBean> coll = processorInstance.snapshotBestEffort(this, filters[0], statementSpec.getAnnotations());
+                        contextPartitionResults.add(new ContextPartitionResult(coll, processorInstance.getAgentInstanceContext()));
+                    }
                 }
             }
 
@@ -235,7 +253,7 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
             ArrayDeque<EventBean[]> events = new ArrayDeque<EventBean[]>();
             for (ContextPartitionResult contextPartitionResult : contextPartitionResults) {
                 Collection<EventBean> snapshot = contextPartitionResult.getEvents();
-                if (statementSpec.getFilterRootNode() != null) {
+                if (statementSpec.getFilterRootNode() != null && !isParallel) {
                     snapshot = getFiltered(snapshot, Collections.singletonList(statementSpec.getFilterRootNode()));
                 }
                 EventBean[] rows = snapshot.toArray(new EventBean[snapshot.size()]);
@@ -280,6 +298,12 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
 
         // collect events
         ArrayDeque<EventBean> events = new ArrayDeque<EventBean>();
+        if (isParallel) {
+            for (ContextPartitionResult result : snapshotParallel(fireAndForgetProcessor, contextPartitions, filters[streamNum], null)) {
+                events.addAll(result.getEvents());
+            }
+            return events;
+        }
         for (int agentInstanceId : contextPartitions) {
             processorInstance = fireAndForgetProcessor.getProcessorInstanceContextById(agentInstanceId);
             if (processorInstance != null) {
@@ -356,11 +380,100 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod
 
     private Collection<EventBean> getFiltered(Collection<EventBean> snapshot, List<ExprNode> filterExpressions)
     {
+        if (isParallel && snapshot.size() >= 2 * PARALLEL_FILTER_MIN_SEGMENT_SIZE) {
+            return getFilteredParallel(snapshot, filterExpressions);
+        }
         ArrayDeque<EventBean> deque = new ArrayDeque<EventBean>(Math.min(snapshot.size(), 16));
         ExprNodeUtility.applyFilterExpressionsIterable(snapshot, filterExpressions, agentInstanceContext, deque);
         return deque;
     }
 
+    /**
+     * Takes the snapshot of each context partition, and filters it if a filter is provided, in the fork-join common pool.
+     * Results are returned in the order of context partitions so that output is the same as for sequential execution.
+     */
+    private List<ContextPartitionResult> snapshotParallel(FireAndForgetProcessor processor, Collection<Integer> agentInstanceIds, final FilterSpecCompiled filter, ExprNode optionalFilterRootNode)
+    {
+        final List<ExprNode> filterExpressions = optionalFilterRootNode == null ? Collections.<ExprNode>emptyList() : Collections.singletonList(optionalFilterRootNode);
+        List<FireAndForgetInstance> instances = new ArrayList<FireAndForgetInstance>(agentInstanceIds.size());
+        List<Callable<Collection<EventBean>>> tasks = new ArrayList<Callable<Collection<EventBean>>>(agentInstanceIds.size());
+        for (int agentInstanceId : agentInstanceIds) {
+            final FireAndForgetInstance processorInstance = processor.getProcessorInstanceContextById(agentInstanceId);
+            if (processorInstance == null) {
+                continue;
+            }
+            processorInstance.lockForParallelSnapshot(this);
+            instances.add(processorInstance);
+            tasks.add(new Callable<Collection<EventBean>>() {
+                public Collection<EventBean> call() throws Exception {
+                    Collection<EventBean> snapshot = processorInstance.snapshotParallel(EPPreparedExecuteMethodQuery.this, filter, statementSpec.getAnnotations());
+                    if (filterExpressions.isEmpty()) {
+                        return snapshot;
+                    }
+                    ArrayDeque<EventBean> deque = new ArrayDeque<EventBean>(Math.min(snapshot.size(), 16));
+                    ExprNodeUtility.applyFilterExpressionsIterable(snapshot, filterExpressions, agentInstanceContext, deque);
+                    return deque;
+                }
+            });
+        }
+
+        List<Collection<EventBean>> snapshots = invokeParallel(tasks);
+        List<ContextPartitionResult> results = new ArrayList<ContextPartitionResult>(snapshots.size());
+        for (int i = 0; i < snapshots.size(); i++) {
+            results.add(new ContextPartitionResult(snapshots.get(i), instances.get(i).getAgentInstanceContext()));
+        }
+        return results;
+    }
+
+    /**
+     * Filters the snapshot in segments in the fork-join common pool, keeping the order of events.
+     */
+    private Collection<EventBean> getFilteredParallel(Collection<EventBean> snapshot, final List<ExprNode> filterExpressions)
+    {
+        final List<EventBean> events = Arrays.asList(snapshot.toArray(new EventBean[snapshot.size()]));
+        int numSegments = Math.min(ForkJoinPool.getCommonPoolParallelism(), events.size() / PARALLEL_FILTER_MIN_SEGMENT_SIZE);
+        int segmentSize = (events.size() + numSegments - 1) / numSegments;
+        List<Callable<Collection<EventBean>>> tasks = new ArrayList<Callable<Collection<EventBean>>>(numSegments);
+        for (int start = 0; start < events.size(); start += segmentSize) {
+            final List<EventBean> segment = events.subList(start, Math.min(start + segmentSize, events.size()));
+            tasks.add(new Callable<Collection<EventBean>>() {
+                public Collection<EventBean> call() throws Exception {
+                    ArrayDeque<EventBean> deque = new ArrayDeque<EventBean>(Math.min(segment.size(), 16));
+                    ExprNodeUtility.applyFilterExpressionsIterable(segment, filterExpressions, agentInstanceContext, deque);
+                    return deque;
+                }
+            });
+        }
+
+        ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
+        for (Collection<EventBean> filtered : invokeParallel(tasks)) {
+            result.addAll(filtered);
+        }
+        return result;
+    }
+
+    private static List<Collection<EventBean>> invokeParallel(List<Callable<Collection<EventBean>>> tasks)
+    {
+        List<Future<Collection<EventBean>>> futures = ForkJoinPool.commonPool().invokeAll(tasks);
+        List<Collection<EventBean>> results = new ArrayList<Collection<EventBean>>(futures.size());
+        try {
+            for (Future<Collection<EventBean>> future : futures) {
+                results.add(future.get());
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EPException("Interrupted executing fire-and-forget query in parallel", ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new EPException("Failed to execute fire-and-forget query in parallel: " + ex.getCause().getMessage(), ex.getCause());
+        }
+        return results;
+    }
+
     public EPServicesContext getServices() {
         return services;
     }
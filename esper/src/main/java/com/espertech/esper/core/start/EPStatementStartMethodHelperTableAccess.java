@@ -13,6 +13,7 @@ import com.espertech.esper.core.service.EPServicesContext;
 import com.espertech.esper.epl.expression.table.ExprTableAccessEvalStrategy;
 import com.espertech.esper.epl.expression.table.ExprTableAccessNode;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.table.mgmt.TableServiceUtil;
 import com.espertech.esper.epl.table.strategy.ExprTableEvalStrategyFactory;
 import com.espertech.esper.epl.table.strategy.TableAndLockProvider;
 
@@ -30,7 +31,8 @@ public class EPStatementStartMethodHelperTableAccess
         Map<ExprTableAccessNode, ExprTableAccessEvalStrategy> strategies = new HashMap<ExprTableAccessNode, ExprTableAccessEvalStrategy>();
         for (ExprTableAccessNode tableNode : tableNodes) {
             boolean writesToTables = agentInstanceContext.getStatementContext().isWritesToTables();
-            TableAndLockProvider provider = services.getTableService().getStateProvider(tableNode.getTableName(), agentInstanceContext.getAgentInstanceId(), writesToTables);
+            boolean rowLocking = TableServiceUtil.isRowLocking(agentInstanceContext.getStatementContext().getStatementSpecCompiled(), tableNode.getTableName(), services.getTableService());
+            TableAndLockProvider provider = services.getTableService().getStateProvider(tableNode.getTableName(), agentInstanceContext.getAgentInstanceId(), writesToTables, rowLocking);
             TableMetadata tableMetadata = services.getTableService().getTableMetadata(tableNode.getTableName());
             ExprTableAccessEvalStrategy strategy = ExprTableEvalStrategyFactory.getTableAccessEvalStrategy(tableNode, provider, tableMetadata);
             strategies.put(tableNode, strategy);
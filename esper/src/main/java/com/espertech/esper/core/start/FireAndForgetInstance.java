@@ -29,4 +29,24 @@ public abstract class FireAndForgetInstance {
     public abstract Viewable getTailViewInstance();
     public abstract VirtualDWView getVirtualDataWindow();
 
+    /**
+     * Acquires, for the thread executing the query, any lock that the snapshot requires to be held until the query completes,
+     * so that the snapshot can be taken by another thread using {@link #snapshotParallel}.
+     * @param query query
+     */
+    public void lockForParallelSnapshot(EPPreparedExecuteMethodQuery query) {
+    }
+
+    /**
+     * Returns the snapshot like {@link #snapshotBestEffort} for use by a thread other then the thread executing the query,
+     * after {@link #lockForParallelSnapshot} was called by the thread executing the query.
+     * @param query query
+     * @param filter optional filter
+     * @param annotations annotations
+     * @return snapshot
+     */
+    public Collection<EventBean> snapshotParallel(EPPreparedExecuteMethodQuery query, FilterSpecCompiled filter, Annotation[] annotations) {
+        return snapshotBestEffort(query, filter, annotations);
+    }
+
 }
@@ -82,6 +82,14 @@ public class FireAndForgetInstanceTable extends FireAndForgetInstance {
 
     public Collection<EventBean> snapshotBestEffort(EPPreparedExecuteMethodQuery query, FilterSpecCompiled filter, Annotation[] annotations) {
         ExprTableEvalLockUtil.obtainLockUnless(instance.getTableLevelRWLock().readLock(), query.getAgentInstanceContext());
+        return snapshotParallel(query, filter, annotations);
+    }
+
+    public void lockForParallelSnapshot(EPPreparedExecuteMethodQuery query) {
+        ExprTableEvalLockUtil.obtainLockUnless(instance.getTableLevelRWLock().readLock(), query.getAgentInstanceContext());
+    }
+
+    public Collection<EventBean> snapshotParallel(EPPreparedExecuteMethodQuery query, FilterSpecCompiled filter, Annotation[] annotations) {
         Collection<EventBean> events = snapshotNullWhenNoIndex(filter, annotations, null, null);
         if (events != null) {
             return events;
@@ -20,6 +20,6 @@ import java.util.TimeZone;
 public class SupportEngineImportServiceFactory {
 
     public static EngineImportServiceImpl make() {
-        return new EngineImportServiceImpl(true, true, true, false, null, TimeZone.getDefault(), ConfigurationEngineDefaults.ThreadingProfile.NORMAL, null, AggregationFactoryFactoryDefault.INSTANCE);
+        return new EngineImportServiceImpl(true, true, true, false, false, null, TimeZone.getDefault(), ConfigurationEngineDefaults.ThreadingProfile.NORMAL, null, AggregationFactoryFactoryDefault.INSTANCE);
     }
 }
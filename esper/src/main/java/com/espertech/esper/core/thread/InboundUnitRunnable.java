@@ -16,4 +16,10 @@ package com.espertech.esper.core.thread;
  */
 public interface InboundUnitRunnable extends Runnable
 {
+    /**
+     * Returns a key identifying the event type of the event to process, for use in partitioning inbound work
+     * such that events of the same type are processed in the order sent.
+     * @return key, or null if not known
+     */
+    public Object getEventTypeKey();
 }
@@ -43,6 +43,11 @@ public class InboundUnitSendAvro implements InboundUnitRunnable
         this.runtime = runtime;
     }
 
+    public Object getEventTypeKey()
+    {
+        return eventTypeName;
+    }
+
     public void run()
     {
         try
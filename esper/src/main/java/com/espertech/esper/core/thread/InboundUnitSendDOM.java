@@ -16,6 +16,8 @@ import com.espertech.esper.core.service.EPRuntimeImpl;
 import com.espertech.esper.client.EventBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 
 /**
  * Inbound unit for DOM events.
@@ -41,6 +43,15 @@ public class InboundUnitSendDOM implements InboundUnitRunnable
         this.runtime = runtime;
     }
 
+    public Object getEventTypeKey()
+    {
+        Node root = theEvent instanceof Document ? ((Document) theEvent).getDocumentElement() : theEvent;
+        if (root == null) {
+            return null;
+        }
+        return root.getLocalName() != null ? root.getLocalName() : root.getNodeName();
+    }
+
     public void run()
     {
         try
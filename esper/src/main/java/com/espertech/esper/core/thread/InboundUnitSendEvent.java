@@ -35,6 +35,11 @@ public class InboundUnitSendEvent implements InboundUnitRunnable
         this.runtime = runtime;
     }
 
+    public Object getEventTypeKey()
+    {
+        return theEvent.getClass().getName();
+    }
+
     public void run()
     {
         try
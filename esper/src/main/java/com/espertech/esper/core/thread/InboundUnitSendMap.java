@@ -46,6 +46,11 @@ public class InboundUnitSendMap implements InboundUnitRunnable
         this.runtime = runtime;
     }
 
+    public Object getEventTypeKey()
+    {
+        return eventTypeName;
+    }
+
     public void run()
     {
         try
@@ -13,6 +13,8 @@ package com.espertech.esper.core.thread;
 
 import com.espertech.esper.core.service.EPRuntimeEventSender;
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.event.bean.BeanEventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +38,15 @@ public class InboundUnitSendWrapped implements InboundUnitRunnable
         this.runtime = runtime;
     }
 
+    public Object getEventTypeKey()
+    {
+        EventType eventType = eventBean.getEventType();
+        if (eventType instanceof BeanEventType) {
+            return ((BeanEventType) eventType).getUnderlyingType().getName();
+        }
+        return eventType.getName();
+    }
+
     public void run()
     {
         try
@@ -0,0 +1,55 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.core.service.EPRuntimeImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named window consumer dispatch work unit delivering named window insert and remove stream events
+ * to a consuming statement, and thereafter dispatching results and processing events routed by the statement.
+ */
+public class NamedWindowConsumerUnit implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(NamedWindowConsumerUnit.class);
+
+    private final Runnable consumerDispatch;
+    private final EPRuntimeImpl runtime;
+
+    /**
+     * Ctor.
+     * @param consumerDispatch delivers events to the consuming statement
+     * @param runtime to dispatch results and process routed events
+     */
+    public NamedWindowConsumerUnit(Runnable consumerDispatch, EPRuntimeImpl runtime)
+    {
+        this.consumerDispatch = consumerDispatch;
+        this.runtime = runtime;
+    }
+
+    public void run()
+    {
+        try
+        {
+            consumerDispatch.run();
+
+            runtime.dispatch();
+
+            runtime.processThreadWorkQueue();
+        }
+        catch (RuntimeException e)
+        {
+            log.error("Unexpected error processing named window consumer dispatch: " + e.getMessage(), e);
+        }
+    }
+}
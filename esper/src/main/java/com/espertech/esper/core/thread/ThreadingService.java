@@ -82,6 +82,19 @@ public interface ThreadingService
      */
     public void submitOutbound(OutboundUnitRunnable unit);
 
+    /**
+     * Submit named window consumer dispatch work, for processing by the thread that the consumer is assigned to.
+     * @param consumerKey key identifying the consuming statement, work for the same key is processed in the order submitted
+     * @param consumerDispatch delivers events to the consuming statement
+     */
+    public void submitNamedWindowConsumer(Object consumerKey, Runnable consumerDispatch);
+
+    /**
+     * Returns the named window consumer dispatch queues, or null if the named window consumer thread pool has not been started.
+     * @return queue per thread
+     */
+    public BlockingQueue<Runnable>[] getNamedWindowConsumerQueues();
+
     /**
      * Returns the outbound queue.
      * @return queue
@@ -130,5 +143,36 @@ public interface ThreadingService
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the inbound queues when inbound work is partitioned, or null if not partitioned.
+     * @return queue per partition
+     */
+    public BlockingQueue<Runnable>[] getInboundPartitionQueues();
+
+    /**
+     * Returns the number of inbound work units queued, for all partitions.
+     * @return queue depth
+     */
+    public int getInboundQueueDepth();
+
+    /**
+     * Returns the number of inbound work units queued for each partition, or a single value when
+     * inbound work is not partitioned.
+     * @return queue depth per partition
+     */
+    public int[] getInboundPartitionQueueDepths();
+
+    /**
+     * Returns the number of inbound work units for which the sender waited as the queue was full.
+     * @return count
+     */
+    public long getInboundNumBlocked();
+
+    /**
+     * Returns the number of inbound work units rejected as the queue was full.
+     * @return count
+     */
+    public long getInboundNumRejected();
+
     public Thread makeEventSourceThread(String engineURI, String sourceName, Runnable runnable);
 }
@@ -12,12 +12,15 @@
 package com.espertech.esper.core.thread;
 
 import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPException;
 import com.espertech.esper.core.service.EPRuntimeImpl;
 import com.espertech.esper.core.service.EPServicesContext;
+import com.espertech.esper.metrics.jmx.JmxGetter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation for engine-level threading.
@@ -31,6 +34,9 @@ public class ThreadingServiceImpl implements ThreadingService
     private final boolean isInboundThreading;
     private final boolean isRouteThreading;
     private final boolean isOutboundThreading;
+    private final boolean isInboundRejectWhenFull;
+    private final AtomicLong inboundNumBlocked = new AtomicLong();
+    private final AtomicLong inboundNumRejected = new AtomicLong();
 
     private BlockingQueue<Runnable> timerQueue;
     private BlockingQueue<Runnable> inboundQueue;
@@ -42,6 +48,14 @@ public class ThreadingServiceImpl implements ThreadingService
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
 
+    private BlockingQueue<Runnable>[] inboundPartitionQueues;
+    private ThreadPoolExecutor[] inboundPartitionThreadPools;
+
+    private volatile BlockingQueue<Runnable>[] namedWindowConsumerQueues;
+    private ThreadPoolExecutor[] namedWindowConsumerThreadPools;
+    private String engineURI;
+    private EPRuntimeImpl runtime;
+
     /**
      * Ctor.
      * @param threadingConfig configuration
@@ -63,6 +77,7 @@ public class ThreadingServiceImpl implements ThreadingService
             isRouteThreading = false;
             isOutboundThreading = false;
         }
+        isInboundRejectWhenFull = threadingConfig.getThreadPoolInboundFullPolicy() == ConfigurationEngineDefaults.Threading.QueueFullPolicy.REJECT;
     }
 
     public boolean isRouteThreading()
@@ -87,10 +102,33 @@ public class ThreadingServiceImpl implements ThreadingService
 
     public void initThreading(EPServicesContext services, EPRuntimeImpl runtime)
     {
+        this.engineURI = services.getEngineURI();
+        this.runtime = runtime;
+
+        if (config.isThreadPoolNamedWindowConsumer())
+        {
+            initNamedWindowConsumerThreading();
+        }
+
         if (isInboundThreading)
         {
-            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
-            inboundThreadPool = getThreadPool(services.getEngineURI(), "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            if (config.getThreadPoolInboundPartitioning() == ConfigurationEngineDefaults.Threading.InboundPartitioning.EVENTTYPE)
+            {
+                // each partition has a single consumer thread, preserving the order of events of the same type
+                int numPartitions = config.getThreadPoolInboundNumThreads();
+                inboundPartitionQueues = new BlockingQueue[numPartitions];
+                inboundPartitionThreadPools = new ThreadPoolExecutor[numPartitions];
+                for (int i = 0; i < numPartitions; i++)
+                {
+                    inboundPartitionQueues[i] = makeQueue(config.getThreadPoolInboundCapacity());
+                    inboundPartitionThreadPools[i] = getThreadPool(services.getEngineURI(), "Inbound-" + i, inboundPartitionQueues[i], 1);
+                }
+            }
+            else
+            {
+                inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
+                inboundThreadPool = getThreadPool(services.getEngineURI(), "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            }
         }
 
         if (isTimerThreading)
@@ -140,9 +178,38 @@ public class ThreadingServiceImpl implements ThreadingService
 
     public void submitInbound(InboundUnitRunnable unit)
     {
+        BlockingQueue<Runnable> queue = inboundPartitionQueues == null ? inboundQueue : inboundPartitionQueues[getPartition(unit.getEventTypeKey(), inboundPartitionQueues.length)];
+        if (queue.offer(unit))
+        {
+            return;
+        }
+        if (isInboundRejectWhenFull)
+        {
+            inboundNumRejected.incrementAndGet();
+            throw new EPException("Inbound queue is full, rejected event of type '" + unit.getEventTypeKey() + "'");
+        }
+        inboundNumBlocked.incrementAndGet();
+        try
+        {
+            queue.put(unit);
+        }
+        catch (InterruptedException e)
+        {
+            log.info("Submit interrupted:" + e);
+        }
+    }
+
+    public void submitNamedWindowConsumer(Object consumerKey, Runnable consumerDispatch)
+    {
+        BlockingQueue<Runnable>[] queues = namedWindowConsumerQueues;
+        if (queues == null)
+        {
+            // named windows may use the pool by hint without it being enabled engine-wide
+            queues = initNamedWindowConsumerThreading();
+        }
         try
         {
-            inboundQueue.put(unit);
+            queues[getPartition(consumerKey, queues.length)].put(new NamedWindowConsumerUnit(consumerDispatch, runtime));
         }
         catch (InterruptedException e)
         {
@@ -214,6 +281,64 @@ public class ThreadingServiceImpl implements ThreadingService
         return inboundThreadPool;
     }
 
+    public BlockingQueue<Runnable>[] getNamedWindowConsumerQueues()
+    {
+        return namedWindowConsumerQueues;
+    }
+
+    public BlockingQueue<Runnable>[] getInboundPartitionQueues()
+    {
+        return inboundPartitionQueues;
+    }
+
+    @JmxGetter(name="InboundQueueDepth", description = "Number of inbound work units queued, for all partitions")
+    public int getInboundQueueDepth()
+    {
+        if (inboundPartitionQueues == null)
+        {
+            return inboundQueue == null ? 0 : inboundQueue.size();
+        }
+        int depth = 0;
+        for (BlockingQueue<Runnable> queue : inboundPartitionQueues)
+        {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    @JmxGetter(name="InboundPartitionQueueDepths", description = "Number of inbound work units queued per partition")
+    public int[] getInboundPartitionQueueDepths()
+    {
+        if (inboundPartitionQueues == null)
+        {
+            return new int[] {getInboundQueueDepth()};
+        }
+        int[] depths = new int[inboundPartitionQueues.length];
+        for (int i = 0; i < depths.length; i++)
+        {
+            depths[i] = inboundPartitionQueues[i].size();
+        }
+        return depths;
+    }
+
+    @JmxGetter(name="InboundNumBlocked", description = "Number of inbound work units for which the sender waited for a full queue")
+    public long getInboundNumBlocked()
+    {
+        return inboundNumBlocked.get();
+    }
+
+    @JmxGetter(name="InboundNumRejected", description = "Number of inbound work units rejected as the queue was full")
+    public long getInboundNumRejected()
+    {
+        return inboundNumRejected.get();
+    }
+
+    @JmxGetter(name="InboundFullPolicy", description = "Policy applied when an inbound queue is full")
+    public String getInboundFullPolicy()
+    {
+        return config.getThreadPoolInboundFullPolicy().name();
+    }
+
     public synchronized void destroy()
     {
         if (timerThreadPool != null)
@@ -232,11 +357,58 @@ public class ThreadingServiceImpl implements ThreadingService
         {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (namedWindowConsumerThreadPools != null)
+        {
+            for (int i = 0; i < namedWindowConsumerThreadPools.length; i++)
+            {
+                stopPool(namedWindowConsumerThreadPools[i], namedWindowConsumerQueues[i], "NamedWindowConsumer-" + i);
+            }
+        }
+        if (inboundPartitionThreadPools != null)
+        {
+            for (int i = 0; i < inboundPartitionThreadPools.length; i++)
+            {
+                stopPool(inboundPartitionThreadPools[i], inboundPartitionQueues[i], "Inbound-" + i);
+            }
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        inboundPartitionThreadPools = null;
+        namedWindowConsumerThreadPools = null;
+        namedWindowConsumerQueues = null;
+    }
+
+    private synchronized BlockingQueue<Runnable>[] initNamedWindowConsumerThreading()
+    {
+        if (namedWindowConsumerQueues != null)
+        {
+            return namedWindowConsumerQueues;
+        }
+
+        // each consuming statement is assigned to one thread, preserving the order of delivery to the statement
+        int numPartitions = config.getThreadPoolNamedWindowConsumerNumThreads();
+        BlockingQueue<Runnable>[] queues = new BlockingQueue[numPartitions];
+        namedWindowConsumerThreadPools = new ThreadPoolExecutor[numPartitions];
+        for (int i = 0; i < numPartitions; i++)
+        {
+            queues[i] = makeQueue(config.getThreadPoolNamedWindowConsumerCapacity());
+            namedWindowConsumerThreadPools[i] = getThreadPool(engineURI, "NamedWindowConsumer-" + i, queues[i], 1);
+        }
+        namedWindowConsumerQueues = queues;
+        return queues;
+    }
+
+    private static int getPartition(Object key, int numPartitions)
+    {
+        if (key == null)
+        {
+            return 0;
+        }
+        int hash = key.hashCode() * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % numPartitions;
     }
 
     private ThreadPoolExecutor getThreadPool(String engineURI, String name, BlockingQueue<Runnable> queue, int numThreads)
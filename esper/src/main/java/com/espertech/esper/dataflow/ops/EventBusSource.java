@@ -130,6 +130,9 @@ public class EventBusSource implements DataFlowSourceOperator, DataFlowOpLifecyc
         EPStatementAgentInstanceHandle handle = new EPStatementAgentInstanceHandle(agentInstanceContext.getStatementContext().getEpStatementHandle(), agentInstanceContext.getAgentInstanceLock(), 0, new StatementAgentInstanceFilterVersion(), agentInstanceContext.getStatementContext().getFilterFaultHandlerFactory());
         callbackHandle = new EPStatementHandleCallback(handle, this);
         filterServiceEntry = agentInstanceContext.getStatementContext().getFilterService().add(valueSet, callbackHandle);
+
+        // events are handed to the data flow and may be retained, reference the type for the data flow statement
+        agentInstanceContext.getStatementContext().getStatementEventTypeRef().addReferences(agentInstanceContext.getStatementName(), new String[] {eventType.getName()});
     }
 
     public synchronized void close(DataFlowOpCloseContext openContext) {
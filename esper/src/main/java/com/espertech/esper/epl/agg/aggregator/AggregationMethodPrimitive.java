@@ -0,0 +1,44 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.agg.aggregator;
+
+/**
+ * Aggregation method that in addition to boxed values can apply primitive numeric values as entering and
+ * leaving the state, so that aggregating a property of primitive type does not allocate.
+ * <p>
+ * The primitive methods are only used for aggregations that have a single non-null value per event, and
+ * are therefore equivalent to calling {@link #enter(Object)} and {@link #leave(Object)} with the boxed value
+ * of the type that the aggregation was validated for.
+ */
+public interface AggregationMethodPrimitive extends AggregationMethod
+{
+    /**
+     * Apply the integral value as entering aggregation (entering window).
+     * @param value to add to aggregate
+     */
+    public void enterLong(long value);
+
+    /**
+     * Apply the integral value as leaving aggregation (leaving window).
+     * @param value to remove from aggregate
+     */
+    public void leaveLong(long value);
+
+    /**
+     * Apply the floating-point value as entering aggregation (entering window).
+     * @param value to add to aggregate
+     */
+    public void enterDouble(double value);
+
+    /**
+     * Apply the floating-point value as leaving aggregation (leaving window).
+     * @param value to remove from aggregate
+     */
+    public void leaveDouble(double value);
+}
@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Average that generates double-typed numbers.
  */
-public class AggregatorAvg implements AggregationMethod
+public class AggregatorAvg implements AggregationMethodPrimitive
 {
     protected double sum;
     protected long numDataPoints;
@@ -45,6 +45,40 @@ public class AggregatorAvg implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        numDataPoints++;
+        sum += value;
+    }
+
+    public void leaveLong(long value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= value;
+        }
+    }
+
+    public void enterDouble(double value)
+    {
+        numDataPoints++;
+        sum += value;
+    }
+
+    public void leaveDouble(double value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= value;
+        }
+    }
+
     public Object getValue()
     {
         if (numDataPoints == 0) {
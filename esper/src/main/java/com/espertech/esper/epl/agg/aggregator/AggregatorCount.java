@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Counts all datapoints including null values.
  */
-public class AggregatorCount implements AggregationMethod
+public class AggregatorCount implements AggregationMethodPrimitive
 {
     protected long numDataPoints;
 
@@ -32,6 +32,30 @@ public class AggregatorCount implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        numDataPoints++;
+    }
+
+    public void leaveLong(long value)
+    {
+        if (numDataPoints > 0) {
+            numDataPoints--;
+        }
+    }
+
+    public void enterDouble(double value)
+    {
+        numDataPoints++;
+    }
+
+    public void leaveDouble(double value)
+    {
+        if (numDataPoints > 0) {
+            numDataPoints--;
+        }
+    }
+
     public Object getValue()
     {
         return numDataPoints;
@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Count all non-null values.
  */
-public class AggregatorCountNonNull implements AggregationMethod
+public class AggregatorCountNonNull implements AggregationMethodPrimitive
 {
     protected long numDataPoints;
 
@@ -42,6 +42,30 @@ public class AggregatorCountNonNull implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        numDataPoints++;
+    }
+
+    public void leaveLong(long value)
+    {
+        if (numDataPoints > 0) {
+            numDataPoints--;
+        }
+    }
+
+    public void enterDouble(double value)
+    {
+        numDataPoints++;
+    }
+
+    public void leaveDouble(double value)
+    {
+        if (numDataPoints > 0) {
+            numDataPoints--;
+        }
+    }
+
     public Object getValue()
     {
         return numDataPoints;
@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Standard deviation always generates double-typed numbers.
  */
-public class AggregatorStddev implements AggregationMethod
+public class AggregatorStddev implements AggregationMethodPrimitive
 {
     protected double mean;
     protected double qn;
@@ -68,6 +68,46 @@ public class AggregatorStddev implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        enterDouble(value);
+    }
+
+    public void leaveLong(long value)
+    {
+        leaveDouble(value);
+    }
+
+    public void enterDouble(double p)
+    {
+        // compute running variance per Knuth's method
+        if (numDataPoints == 0) {
+            mean = p;
+            qn = 0;
+            numDataPoints = 1;
+        }
+        else {
+            numDataPoints++;
+            double oldmean = mean;
+            mean += (p - mean)/numDataPoints;
+            qn += (p - oldmean)*(p - mean);
+        }
+    }
+
+    public void leaveDouble(double p)
+    {
+        // compute running variance per Knuth's method
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            double oldmean = mean;
+            mean -= (p - mean)/numDataPoints;
+            qn -= (p - oldmean)*(p - mean);
+        }
+    }
+
     public Object getValue()
     {
         if (numDataPoints < 2) {
@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for float values.
  */
-public class AggregatorSumFloat implements AggregationMethod
+public class AggregatorSumFloat implements AggregationMethodPrimitive
 {
     protected float sum;
     protected long numDataPoints;
@@ -47,6 +47,40 @@ public class AggregatorSumFloat implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        numDataPoints++;
+        sum += (float) value;
+    }
+
+    public void leaveLong(long value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= (float) value;
+        }
+    }
+
+    public void enterDouble(double value)
+    {
+        numDataPoints++;
+        sum += (float) value;
+    }
+
+    public void leaveDouble(double value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= (float) value;
+        }
+    }
+
     public Object getValue()
     {
         if (numDataPoints == 0)
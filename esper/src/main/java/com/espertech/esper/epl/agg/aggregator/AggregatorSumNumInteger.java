@@ -11,7 +11,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for any number value.
  */
-public class AggregatorSumNumInteger implements AggregationMethod
+public class AggregatorSumNumInteger implements AggregationMethodPrimitive
 {
     protected int sum;
     protected long numDataPoints;
@@ -49,6 +49,40 @@ public class AggregatorSumNumInteger implements AggregationMethod
         }
     }
 
+    public void enterLong(long value)
+    {
+        numDataPoints++;
+        sum += (int) value;
+    }
+
+    public void leaveLong(long value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= (int) value;
+        }
+    }
+
+    public void enterDouble(double value)
+    {
+        numDataPoints++;
+        sum += (int) value;
+    }
+
+    public void leaveDouble(double value)
+    {
+        if (numDataPoints <= 1) {
+            clear();
+        }
+        else {
+            numDataPoints--;
+            sum -= (int) value;
+        }
+    }
+
     public Object getValue()
     {
         if (numDataPoints == 0)
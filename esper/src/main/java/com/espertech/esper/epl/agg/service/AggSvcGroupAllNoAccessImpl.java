@@ -38,8 +38,7 @@ public class AggSvcGroupAllNoAccessImpl extends AggregationServiceBaseUngrouped
         for (int j = 0; j < evaluators.length; j++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, j, aggregators[j], aggregatorFactories[j].getAggregationExpression());}
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            aggregators[j].enter(columnResult);
+            AggregatorUtil.enter(aggregators[j], evaluators[j], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, j, aggregators[j]);}
         }
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggregationUngroupedApplyEnterLeave(true);}
@@ -51,8 +50,7 @@ public class AggSvcGroupAllNoAccessImpl extends AggregationServiceBaseUngrouped
         for (int j = 0; j < evaluators.length; j++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, j, aggregators[j], aggregatorFactories[j].getAggregationExpression());}
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            aggregators[j].leave(columnResult);
+            AggregatorUtil.leave(aggregators[j], evaluators[j], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, j, aggregators[j]);}
         }
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggregationUngroupedApplyEnterLeave(false);}
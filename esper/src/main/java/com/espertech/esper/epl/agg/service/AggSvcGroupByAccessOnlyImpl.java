@@ -18,7 +18,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -44,7 +43,7 @@ public class AggSvcGroupByAccessOnlyImpl implements AggregationService, Aggregat
                                                    AggregationStateFactory[] accessAggSpecs,
                                                    boolean isJoin)
     {
-        this.accessMap = new HashMap<Object, AggregationState[]>();
+        this.accessMap = AggSvcGroupByUtil.<AggregationState[]>newGroupMap();
         this.accessors = accessors;
         this.accessAggSpecs = accessAggSpecs;
         this.isJoin = isJoin;
@@ -17,7 +17,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -56,7 +55,7 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
         this.accessorsFactory = accessorsFactory;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationRowPair>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.<AggregationRowPair>newGroupMap();
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext)
@@ -83,8 +82,7 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
         AggregationMethod[] groupAggMethods = groupAggregators.getMethods();
         for (int i = 0; i < evaluators.length; i++) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggMethods[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggMethods[i].enter(columnResult);
+            AggregatorUtil.enter(groupAggMethods[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggMethods[i]);}
         }
 
@@ -119,8 +117,7 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
         for (int i = 0; i < evaluators.length; i++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggMethods[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggMethods[i].leave(columnResult);
+            AggregatorUtil.leave(groupAggMethods[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggMethods[i]);}
         }
 
@@ -15,7 +15,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -40,7 +39,7 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped
     public AggSvcGroupByNoAccessImpl(ExprEvaluator evaluators[], AggregationMethodFactory prototypes[])
     {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethod[]>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.<AggregationMethod[]>newGroupMap();
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext)
@@ -65,8 +64,7 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped
         for (int i = 0; i < evaluators.length; i++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggregators[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            AggregatorUtil.enter(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggregators[i]);}
         }
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggregationGroupedApplyEnterLeave(true);}
@@ -89,8 +87,7 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped
         for (int i = 0; i < evaluators.length; i++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggregators[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            AggregatorUtil.leave(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggregators[i]);}
         }
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggregationGroupedApplyEnterLeave(false);}
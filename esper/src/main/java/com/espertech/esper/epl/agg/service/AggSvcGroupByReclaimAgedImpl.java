@@ -59,7 +59,7 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
         isJoin = join;
         this.evaluationFunctionMaxAge = evaluationFunctionMaxAge;
         this.evaluationFunctionFrequency = evaluationFunctionFrequency;
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodRowAged>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.<AggregationMethodRowAged>newGroupMap();
         removedKeys = new ArrayList<Object>();
     }
 
@@ -111,8 +111,7 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
         currentAggregatorStates = groupStates;
         for (int i = 0; i < evaluators.length; i++) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, currentAggregatorMethods[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            AggregatorUtil.enter(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, currentAggregatorMethods[i]);}
         }
 
@@ -193,8 +192,7 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
         currentAggregatorStates = groupStates;
         for (int i = 0; i < evaluators.length; i++) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, currentAggregatorMethods[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            AggregatorUtil.leave(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, currentAggregatorMethods[i]);}
         }
 
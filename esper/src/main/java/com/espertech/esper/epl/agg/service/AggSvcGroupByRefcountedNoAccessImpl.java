@@ -41,7 +41,7 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
                                        AggregationMethodFactory prototypes[])
     {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodRow>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.<AggregationMethodRow>newGroupMap();
         removedKeys = new ArrayList<Object>();
     }
 
@@ -75,8 +75,7 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
         currentAggregatorRow = groupAggregators;
         for (int i = 0; i < evaluators.length; i++) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggregators[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            AggregatorUtil.enter(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggregators[i]);}
         }
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggregationGroupedApplyEnterLeave(true);}
@@ -104,8 +103,7 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
         currentAggregatorRow = groupAggregators;
         for (int i = 0; i < evaluators.length; i++) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggregators[i], aggregators[i].getAggregationExpression());}
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            AggregatorUtil.leave(groupAggregators[i], evaluators[i], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggregators[i]);}
         }
 
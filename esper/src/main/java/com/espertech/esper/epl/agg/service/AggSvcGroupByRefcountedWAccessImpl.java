@@ -54,7 +54,7 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
                                        boolean isJoin)
     {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodPairRow>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.<AggregationMethodPairRow>newGroupMap();
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
@@ -96,8 +96,7 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
         for (int j = 0; j < evaluators.length; j++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(true, j, groupAggregators[j], aggregators[j].getAggregationExpression());}
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[j].enter(columnResult);
+            AggregatorUtil.enter(groupAggregators[j], evaluators[j], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(true, j, groupAggregators[j]);}
         }
 
@@ -138,8 +137,7 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
         for (int j = 0; j < evaluators.length; j++)
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qAggNoAccessEnterLeave(false, j, groupAggregators[j], aggregators[j].getAggregationExpression());}
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[j].leave(columnResult);
+            AggregatorUtil.leave(groupAggregators[j], evaluators[j], eventsPerStream, exprEvaluatorContext);
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aAggNoAccessEnterLeave(false, j, groupAggregators[j]);}
         }
 
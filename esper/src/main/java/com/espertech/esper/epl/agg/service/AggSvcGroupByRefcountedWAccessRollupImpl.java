@@ -68,7 +68,7 @@ public class AggSvcGroupByRefcountedWAccessRollupImpl extends AggregationService
         this.aggregatorsPerGroup = (Map<Object, AggregationMethodPairRow>[]) new Map[rollupLevelDesc.getNumLevelsAggregation()];
         this.removedKeys = (List<Object>[]) new ArrayList[rollupLevelDesc.getNumLevelsAggregation()];
         for (int i = 0; i < rollupLevelDesc.getNumLevelsAggregation(); i++) {
-            this.aggregatorsPerGroup[i] = new HashMap<Object, AggregationMethodPairRow>();
+            this.aggregatorsPerGroup[i] = AggSvcGroupByUtil.<AggregationMethodPairRow>newGroupMap();
             this.removedKeys[i] = new ArrayList<Object>(2);
         }
         this.accessors = accessors;
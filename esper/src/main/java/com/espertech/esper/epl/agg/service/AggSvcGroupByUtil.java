@@ -11,11 +11,24 @@
 
 package com.espertech.esper.epl.agg.service;
 
+import com.espertech.esper.collection.CompactHashMap;
 import com.espertech.esper.epl.agg.access.AggregationServicePassThru;
 import com.espertech.esper.epl.agg.access.AggregationState;
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
 
+import java.util.Map;
+
 public class AggSvcGroupByUtil {
+    /**
+     * Returns a new map of group key and aggregation row for use by grouped aggregation services.
+     * <p>
+     * The map uses open addressing and allocates no entry object per group, and iterates groups in the order added.
+     * @return map
+     */
+    public static <V> Map<Object, V> newGroupMap() {
+        return new CompactHashMap<Object, V>();
+    }
+
     public static AggregationMethod[] newAggregators(AggregationMethodFactory[] prototypes) {
         AggregationMethod row[] = new AggregationMethod[prototypes.length];
         for (int i = 0; i < prototypes.length; i++) {
@@ -23,6 +23,7 @@ import com.espertech.esper.event.ObjectArrayBackedEventBean;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Implementation for handling aggregation with grouping by group-keys.
@@ -37,6 +38,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
     protected final int[] targetStates;
     protected final ExprNode[] accessStateExpr;
     private final AggregationAgent[] agents;
+    private final boolean rowLocking;
 
     // maintain a current row for random access into the aggregator state table
     // (row=groups, columns=expression nodes that have aggregation functions)
@@ -44,7 +46,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
     protected AggregationState[] currentAggregatorStates;
     protected Object currentGroupKey;
 
-    public AggSvcGroupByWTableBase(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, TableStateInstanceGrouped tableStateInstance, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents) {
+    public AggSvcGroupByWTableBase(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, TableStateInstanceGrouped tableStateInstance, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents, boolean rowLocking) {
         this.tableMetadata = tableMetadata;
         this.methodPairs = methodPairs;
         this.accessors = accessors;
@@ -53,6 +55,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
         this.targetStates = targetStates;
         this.accessStateExpr = accessStateExpr;
         this.agents = agents;
+        this.rowLocking = rowLocking;
     }
 
     public abstract void applyEnterInternal(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
@@ -60,19 +63,18 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
 
     public void applyEnter(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext)
     {
-        // acquire table-level write lock
-        ExprTableEvalLockUtil.obtainLockUnless(tableStateInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // the write lock is acquired for each row
         applyEnterInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
     public void applyLeave(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext)
     {
-        // acquire table-level write lock
-        ExprTableEvalLockUtil.obtainLockUnless(tableStateInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
+        // the write lock is acquired for each row
         applyLeaveInternal(eventsPerStream, groupByKey, exprEvaluatorContext);
     }
 
     protected void applyEnterGroupKey(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext) {
+        ExprTableEvalLockUtil.obtainLockUnless(getWriteLock(groupByKey), exprEvaluatorContext);
         ObjectArrayBackedEventBean bean = tableStateInstance.getCreateRowIntoTable(groupByKey, exprEvaluatorContext);
         AggregationRowPair row = (AggregationRowPair) bean.getProperties()[0];
 
@@ -103,6 +105,7 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
 
     protected void applyLeaveGroupKey(EventBean[] eventsPerStream, Object groupByKey, ExprEvaluatorContext exprEvaluatorContext)
     {
+        ExprTableEvalLockUtil.obtainLockUnless(getWriteLock(groupByKey), exprEvaluatorContext);
         ObjectArrayBackedEventBean bean = tableStateInstance.getCreateRowIntoTable(groupByKey, exprEvaluatorContext);
         AggregationRowPair row = (AggregationRowPair) bean.getProperties()[0];
 
@@ -207,7 +210,16 @@ public abstract class AggSvcGroupByWTableBase implements AggregationService
         return currentGroupKey;
     }
 
+    private Lock getWriteLock(Object groupByKey) {
+        // lock the row when the evaluation only updates this row, which locks the table unless the table has lock stripes
+        if (rowLocking) {
+            return tableStateInstance.getRowLock(groupByKey, true);
+        }
+        return tableStateInstance.getTableLevelRWLock().writeLock();
+    }
+
     public Collection<Object> getGroupKeys(ExprEvaluatorContext exprEvaluatorContext) {
+        ExprTableEvalLockUtil.obtainLockUnless(tableStateInstance.getTableLevelRWLock().writeLock(), exprEvaluatorContext);
         return tableStateInstance.getGroupKeys();
     }
 
@@ -15,6 +15,7 @@ import com.espertech.esper.epl.core.EngineImportService;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.table.mgmt.TableColumnMethodPair;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.table.mgmt.TableServiceUtil;
 import com.espertech.esper.epl.table.mgmt.TableStateInstanceGrouped;
 
 /**
@@ -45,8 +46,9 @@ public class AggSvcGroupByWTableFactory implements AggregationServiceFactory
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
         TableStateInstanceGrouped tableState = (TableStateInstanceGrouped) agentInstanceContext.getStatementContext().getTableService().getState(tableMetadata.getTableName(), agentInstanceContext.getAgentInstanceId());
         if (groupByRollupDesc == null) {
+            boolean rowLocking = TableServiceUtil.isRowLocking(agentInstanceContext.getStatementContext().getStatementSpecCompiled(), tableMetadata.getTableName(), agentInstanceContext.getStatementContext().getTableService());
             return new AggSvcGroupByWTableImpl(tableMetadata, methodPairs, accessors, isJoin,
-                    tableState, targetStates, accessStateExpr, agents);
+                    tableState, targetStates, accessStateExpr, agents, rowLocking);
         }
         if (tableMetadata.getKeyTypes().length > 1) {
             return new AggSvcGroupByWTableRollupMultiKeyImpl(tableMetadata, methodPairs, accessors, isJoin,
@@ -27,7 +27,7 @@ public class AggSvcGroupByWTableRollupMultiKeyImpl extends AggSvcGroupByWTableBa
     private final AggregationGroupByRollupDesc groupByRollupDesc;
 
     public AggSvcGroupByWTableRollupMultiKeyImpl(TableMetadata tableMetadata, TableColumnMethodPair[] methodPairs, AggregationAccessorSlotPair[] accessors, boolean join, TableStateInstanceGrouped tableStateInstance, int[] targetStates, ExprNode[] accessStateExpr, AggregationAgent[] agents, AggregationGroupByRollupDesc groupByRollupDesc) {
-        super(tableMetadata, methodPairs, accessors, join, tableStateInstance, targetStates, accessStateExpr, agents);
+        super(tableMetadata, methodPairs, accessors, join, tableStateInstance, targetStates, accessStateExpr, agents, false);
         this.groupByRollupDesc = groupByRollupDesc;
     }
 
@@ -46,7 +46,7 @@ public abstract class AggSvcGroupLocalGroupByBase implements AggregationService
 
         this.aggregatorsPerLevelAndGroup = new Map[localGroupByPlan.getAllLevels().length];
         for (int i = 0; i < localGroupByPlan.getAllLevels().length; i++) {
-            this.aggregatorsPerLevelAndGroup[i] = new HashMap<Object, AggregationMethodPairRow>();
+            this.aggregatorsPerLevelAndGroup[i] = AggSvcGroupByUtil.<AggregationMethodPairRow>newGroupMap();
         }
         removedKeys = new ArrayList<Pair<Integer, Object>>();
     }
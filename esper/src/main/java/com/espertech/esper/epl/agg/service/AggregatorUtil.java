@@ -8,10 +8,66 @@
  **************************************************************************************/
 package com.espertech.esper.epl.agg.service;
 
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethodPrimitive;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorPrimitive;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+
 public class AggregatorUtil
 {
     public static boolean checkFilter(Object[] object) {
         Boolean pass = (Boolean) object[1];
         return pass != null && pass;
     }
+
+    /**
+     * Evaluates the aggregated expression and applies the result as entering the aggregation,
+     * passing primitive values without boxing when both the evaluator and the aggregation method support it.
+     * @param aggregator aggregation method
+     * @param evaluator aggregated expression
+     * @param eventsPerStream events
+     * @param exprEvaluatorContext context
+     */
+    public static void enter(AggregationMethod aggregator, ExprEvaluator evaluator, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        if (evaluator instanceof ExprEvaluatorPrimitive && aggregator instanceof AggregationMethodPrimitive && !InstrumentationHelper.ENABLED) {
+            ExprEvaluatorPrimitive primitive = (ExprEvaluatorPrimitive) evaluator;
+            if (primitive.isPrimitiveResult(eventsPerStream)) {
+                if (primitive.isFloatingPoint()) {
+                    ((AggregationMethodPrimitive) aggregator).enterDouble(primitive.evaluateDouble(eventsPerStream, true, exprEvaluatorContext));
+                }
+                else {
+                    ((AggregationMethodPrimitive) aggregator).enterLong(primitive.evaluateLong(eventsPerStream, true, exprEvaluatorContext));
+                }
+                return;
+            }
+        }
+        aggregator.enter(evaluator.evaluate(eventsPerStream, true, exprEvaluatorContext));
+    }
+
+    /**
+     * Evaluates the aggregated expression and applies the result as leaving the aggregation,
+     * passing primitive values without boxing when both the evaluator and the aggregation method support it.
+     * @param aggregator aggregation method
+     * @param evaluator aggregated expression
+     * @param eventsPerStream events
+     * @param exprEvaluatorContext context
+     */
+    public static void leave(AggregationMethod aggregator, ExprEvaluator evaluator, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        if (evaluator instanceof ExprEvaluatorPrimitive && aggregator instanceof AggregationMethodPrimitive && !InstrumentationHelper.ENABLED) {
+            ExprEvaluatorPrimitive primitive = (ExprEvaluatorPrimitive) evaluator;
+            if (primitive.isPrimitiveResult(eventsPerStream)) {
+                if (primitive.isFloatingPoint()) {
+                    ((AggregationMethodPrimitive) aggregator).leaveDouble(primitive.evaluateDouble(eventsPerStream, false, exprEvaluatorContext));
+                }
+                else {
+                    ((AggregationMethodPrimitive) aggregator).leaveLong(primitive.evaluateLong(eventsPerStream, false, exprEvaluatorContext));
+                }
+                return;
+            }
+        }
+        aggregator.leave(evaluator.evaluate(eventsPerStream, false, exprEvaluatorContext));
+    }
 }
@@ -184,6 +184,8 @@ public interface EngineImportService
 
     public boolean isSortUsingCollator();
 
+    public boolean isCodeGeneration();
+
     void addAggregationMultiFunction(ConfigurationPlugInAggregationMultiFunction desc) throws EngineImportException;
 
     public MathContext getDefaultMathContext();
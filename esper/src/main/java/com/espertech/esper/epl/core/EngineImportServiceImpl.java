@@ -52,13 +52,14 @@ public class EngineImportServiceImpl implements EngineImportService
     private final boolean isUdfCache;
     private final boolean isDuckType;
     private final boolean sortUsingCollator;
+    private final boolean codeGeneration;
     private final MathContext optionalDefaultMathContext;
     private final TimeZone timeZone;
     private final ConfigurationEngineDefaults.ThreadingProfile threadingProfile;
     private final Map<String, Object> transientConfiguration;
     private final AggregationFactoryFactory aggregationFactoryFactory;
 
-	public EngineImportServiceImpl(boolean allowExtendedAggregationFunc, boolean isUdfCache, boolean isDuckType, boolean sortUsingCollator, MathContext optionalDefaultMathContext, TimeZone timeZone, ConfigurationEngineDefaults.ThreadingProfile threadingProfile, Map<String, Object> transientConfiguration, AggregationFactoryFactory aggregationFactoryFactory)
+	public EngineImportServiceImpl(boolean allowExtendedAggregationFunc, boolean isUdfCache, boolean isDuckType, boolean sortUsingCollator, boolean codeGeneration, MathContext optionalDefaultMathContext, TimeZone timeZone, ConfigurationEngineDefaults.ThreadingProfile threadingProfile, Map<String, Object> transientConfiguration, AggregationFactoryFactory aggregationFactoryFactory)
     {
         imports = new ArrayList<String>();
         annotationImports = new ArrayList<String>(2);
@@ -70,6 +71,7 @@ public class EngineImportServiceImpl implements EngineImportService
         this.isUdfCache = isUdfCache;
         this.isDuckType = isDuckType;
         this.sortUsingCollator = sortUsingCollator;
+        this.codeGeneration = codeGeneration;
         this.optionalDefaultMathContext = optionalDefaultMathContext;
         this.timeZone = timeZone;
         this.threadingProfile = threadingProfile;
@@ -536,6 +538,10 @@ public class EngineImportServiceImpl implements EngineImportService
         return sortUsingCollator;
     }
 
+    public boolean isCodeGeneration() {
+        return codeGeneration;
+    }
+
     public AggregationFactoryFactory getAggregationFactoryFactory() {
         return aggregationFactoryFactory;
     }
@@ -37,6 +37,7 @@ public class ResultSetProcessorAggregateGroupedFactory implements ResultSetProce
     private final ResultSetProcessorHelperFactory resultSetProcessorHelperFactory;
     private final OutputConditionPolledFactory optionalOutputFirstConditionFactory;
     private final boolean enableOutputLimitOpt;
+    private final boolean outputAllGroupStateOnly;
     private final int numStreams;
 
     public ResultSetProcessorAggregateGroupedFactory(SelectExprProcessor selectExprProcessor,
@@ -51,7 +52,8 @@ public class ResultSetProcessorAggregateGroupedFactory implements ResultSetProce
                                                      ResultSetProcessorHelperFactory resultSetProcessorHelperFactory,
                                                      OutputConditionPolledFactory optionalOutputFirstConditionFactory,
                                                      boolean enableOutputLimitOpt,
-                                                     int numStreams)
+                                                     int numStreams,
+                                                     boolean outputAllGroupStateOnly)
     {
         this.selectExprProcessor = selectExprProcessor;
         this.groupKeyNodeExpressions = groupKeyNodeExpressions;
@@ -72,6 +74,7 @@ public class ResultSetProcessorAggregateGroupedFactory implements ResultSetProce
         this.optionalOutputFirstConditionFactory = optionalOutputFirstConditionFactory;
         this.enableOutputLimitOpt = enableOutputLimitOpt;
         this.numStreams = numStreams;
+        this.outputAllGroupStateOnly = outputAllGroupStateOnly;
     }
 
     public ResultSetProcessor instantiate(OrderByProcessor orderByProcessor, AggregationService aggregationService, AgentInstanceContext agentInstanceContext) {
@@ -143,6 +146,15 @@ public class ResultSetProcessorAggregateGroupedFactory implements ResultSetProce
         return enableOutputLimitOpt;
     }
 
+    /**
+     * Returns true when output-all may reuse the output event of a group that did not change since the last output,
+     * i.e. when select-clause and having-clause only depend on the group representative event and group aggregation state.
+     * @return indicator
+     */
+    public boolean isOutputAllGroupStateOnly() {
+        return outputAllGroupStateOnly;
+    }
+
     public int getNumStreams() {
         return numStreams;
     }
@@ -21,8 +21,9 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
 
     private final List<EventBean> eventsOld = new ArrayList<EventBean>(2);
     private final List<EventBean> eventsNew = new ArrayList<EventBean>(2);
-    private final Map<Object, EventBean[]> repsPerGroup = new LinkedHashMap<Object, EventBean[]>();
-    private final Set<Object> lastSeenKeys = new HashSet<Object>();
+    private final ResultSetProcessorGroupedOutputAllSlots repsPerGroup = new ResultSetProcessorGroupedOutputAllSlots();
+    private final BitSet lastSeenSlots = new BitSet();
+    private boolean lastSynthesize;
 
     public ResultSetProcessorAggregateGroupedOutputAllHelperImpl(ResultSetProcessorAggregateGrouped processor) {
         this.processor = processor;
@@ -31,7 +32,7 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
     public void processView(EventBean[] newData, EventBean[] oldData, boolean isGenerateSynthetic) {
         Object[] newDataMultiKey = processor.generateGroupKeys(newData, true);
         Object[] oldDataMultiKey = processor.generateGroupKeys(oldData, false);
-        Set<Object> keysSeenRemoved = new HashSet<Object>();
+        Set<Object> keysSeenRemoved = null;
 
         if (newData != null)
         {
@@ -41,8 +42,7 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
             {
                 EventBean[] eventsPerStream = new EventBean[] {aNewData};
                 Object mk = newDataMultiKey[count];
-                repsPerGroup.put(mk, eventsPerStream);
-                lastSeenKeys.add(mk);
+                lastSeenSlots.set(repsPerGroup.put(mk, eventsPerStream));
                 processor.eventsPerStreamOneStream[0] = aNewData;
                 processor.aggregationService.applyEnter(eventsPerStream, mk, processor.agentInstanceContext);
                 count++;
@@ -55,7 +55,9 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
             for (EventBean anOldData : oldData)
             {
                 Object mk = oldDataMultiKey[count];
-                lastSeenKeys.add(mk);
+                if (keysSeenRemoved == null) {
+                    keysSeenRemoved = new HashSet<Object>();
+                }
                 keysSeenRemoved.add(mk);
                 processor.eventsPerStreamOneStream[0] = anOldData;
                 processor.aggregationService.applyLeave(processor.eventsPerStreamOneStream, oldDataMultiKey[count], processor.agentInstanceContext);
@@ -68,10 +70,13 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
         }
         processor.generateOutputBatchedViewUnkeyed(newData, newDataMultiKey, true, isGenerateSynthetic, eventsNew, null);
 
-        for (Object keySeen : keysSeenRemoved) {
-            EventBean newEvent = processor.generateOutputBatchedSingle(keySeen, repsPerGroup.get(keySeen), true, isGenerateSynthetic);
-            if (newEvent != null) {
-                eventsNew.add(newEvent);
+        if (keysSeenRemoved != null) {
+            for (Object keySeen : keysSeenRemoved) {
+                EventBean newEvent = processor.generateOutputBatchedSingle(keySeen, repsPerGroup.get(keySeen), true, isGenerateSynthetic);
+                if (newEvent != null) {
+                    eventsNew.add(newEvent);
+                }
+                markSeen(keySeen);
             }
         }
     }
@@ -79,7 +84,7 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
     public void processJoin(Set<MultiKey<EventBean>> newData, Set<MultiKey<EventBean>> oldData, boolean isGenerateSynthetic) {
         Object[] newDataMultiKey = processor.generateGroupKeys(newData, true);
         Object[] oldDataMultiKey = processor.generateGroupKeys(oldData, false);
-        Set<Object> keysSeenRemoved = new HashSet<Object>();
+        Set<Object> keysSeenRemoved = null;
 
         if (newData != null) {
             // apply new data to aggregates
@@ -87,8 +92,7 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
             for (MultiKey<EventBean> aNewData : newData)
             {
                 Object mk = newDataMultiKey[count];
-                repsPerGroup.put(mk, aNewData.getArray());
-                lastSeenKeys.add(mk);
+                lastSeenSlots.set(repsPerGroup.put(mk, aNewData.getArray()));
                 processor.aggregationService.applyEnter(aNewData.getArray(), mk, processor.agentInstanceContext);
                 count++;
             }
@@ -100,7 +104,9 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
             for (MultiKey<EventBean> anOldData : oldData)
             {
                 Object mk = oldDataMultiKey[count];
-                lastSeenKeys.add(mk);
+                if (keysSeenRemoved == null) {
+                    keysSeenRemoved = new HashSet<Object>();
+                }
                 keysSeenRemoved.add(mk);
                 processor.aggregationService.applyLeave(anOldData.getArray(), oldDataMultiKey[count], processor.agentInstanceContext);
                 count++;
@@ -112,10 +118,13 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
         }
         processor.generateOutputBatchedJoinUnkeyed(newData, newDataMultiKey, false, isGenerateSynthetic, eventsNew, null);
 
-        for (Object keySeen : keysSeenRemoved) {
-            EventBean newEvent = processor.generateOutputBatchedSingle(keySeen, repsPerGroup.get(keySeen), true, isGenerateSynthetic);
-            if (newEvent != null) {
-                eventsNew.add(newEvent);
+        if (keysSeenRemoved != null) {
+            for (Object keySeen : keysSeenRemoved) {
+                EventBean newEvent = processor.generateOutputBatchedSingle(keySeen, repsPerGroup.get(keySeen), true, isGenerateSynthetic);
+                if (newEvent != null) {
+                    eventsNew.add(newEvent);
+                }
+                markSeen(keySeen);
             }
         }
     }
@@ -137,17 +146,29 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
     }
 
     private UniformPair<EventBean[]> output(boolean isSynthesize) {
-        // generate remaining key events
-        for (Map.Entry<Object, EventBean[]> entry : repsPerGroup.entrySet()) {
-            if (lastSeenKeys.contains(entry.getKey())) {
+        // generate remaining key events, regenerating the events of groups that changed, and of all groups unless unchanged groups generate the same event
+        if (!processor.prototype.isOutputAllGroupStateOnly() || isSynthesize != lastSynthesize) {
+            repsPerGroup.markAllDirty();
+        }
+        lastSynthesize = isSynthesize;
+        for (Iterator<Integer> it = repsPerGroup.slotIterator(); it.hasNext();) {
+            int slot = it.next();
+            if (lastSeenSlots.get(slot)) {
                 continue;
             }
-            EventBean newEvent = processor.generateOutputBatchedSingle(entry.getKey(), entry.getValue(), true, isSynthesize);
+            EventBean newEvent;
+            if (repsPerGroup.isDirty(slot)) {
+                newEvent = processor.generateOutputBatchedSingle(repsPerGroup.getKey(slot), repsPerGroup.getRep(slot), true, isSynthesize);
+                repsPerGroup.setOutput(slot, newEvent);
+            }
+            else {
+                newEvent = repsPerGroup.getOutput(slot);
+            }
             if (newEvent != null) {
                 eventsNew.add(newEvent);
             }
         }
-        lastSeenKeys.clear();
+        lastSeenSlots.clear();
 
         EventBean[] newEventsArr = EventBeanUtility.toArray(eventsNew);
         EventBean[] oldEventsArr = null;
@@ -161,4 +182,12 @@ public class ResultSetProcessorAggregateGroupedOutputAllHelperImpl implements Re
         }
         return new UniformPair<EventBean[]>(newEventsArr, oldEventsArr);
     }
+
+    private void markSeen(Object key) {
+        // groups that changed remain dirty until their event is generated during an output
+        EventBean[] rep = repsPerGroup.get(key);
+        if (rep != null) {
+            lastSeenSlots.set(repsPerGroup.put(key, rep));
+        }
+    }
 }
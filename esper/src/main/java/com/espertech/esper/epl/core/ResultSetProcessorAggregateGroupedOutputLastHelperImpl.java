@@ -9,10 +9,10 @@
 package com.espertech.esper.epl.core;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.CompactHashMap;
 import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.UniformPair;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,8 +25,8 @@ public class ResultSetProcessorAggregateGroupedOutputLastHelperImpl implements R
 
     public ResultSetProcessorAggregateGroupedOutputLastHelperImpl(ResultSetProcessorAggregateGrouped processor) {
         this.processor = processor;
-        outputLastUnordGroupNew = new LinkedHashMap<Object, EventBean>();
-        outputLastUnordGroupOld = new LinkedHashMap<Object, EventBean>();
+        outputLastUnordGroupNew = new CompactHashMap<Object, EventBean>();
+        outputLastUnordGroupOld = new CompactHashMap<Object, EventBean>();
     }
 
     public void processView(EventBean[] newData, EventBean[] oldData, boolean isGenerateSynthetic) {
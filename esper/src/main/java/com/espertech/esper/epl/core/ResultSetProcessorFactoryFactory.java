@@ -351,6 +351,7 @@ public class ResultSetProcessorFactoryFactory
 
         ExprEvaluator optionHavingEval = optionalHavingNode == null ? null : optionalHavingNode.getExprEvaluator();
         boolean hasOutputLimitOptHint = HintEnum.ENABLE_OUTPUTLIMIT_OPT.getHint(statementSpec.getAnnotations()) != null;
+        boolean outputAllGroupStateOnly = hasOutputLimitOptHint && isOutputAllGroupStateOnly(statementSpec, selectClauseSpec, optionalHavingNode, outputLimitSpec, typeService, stmtContext);
 
         // Determine output-first condition factory
         OutputConditionPolledFactory optionalOutputFirstConditionFactory = null;
@@ -474,7 +475,7 @@ public class ResultSetProcessorFactoryFactory
                 factory = new ResultSetProcessorRowPerGroupRollupFactory(perLevelExpression, groupByNodesValidated, groupByEval, isSelectRStream, isUnidirectional, outputLimitSpec, orderByProcessorFactory != null, noDataWindowSingleStream, groupByRollupDesc, typeService.getEventTypes().length > 1, isHistoricalOnly, iterateUnbounded, optionalOutputFirstConditionFactory, resultSetProcessorHelperFactory, hasOutputLimitOptHint, numStreams);
             }
             else {
-                factory = new ResultSetProcessorRowPerGroupFactory(selectExprProcessor, groupByNodesValidated, groupByEval, optionHavingEval, isSelectRStream, isUnidirectional, outputLimitSpec, orderByProcessorFactory != null, noDataWindowSingleStream, isHistoricalOnly, iterateUnbounded, resultSetProcessorHelperFactory, hasOutputLimitOptHint, numStreams, optionalOutputFirstConditionFactory);
+                factory = new ResultSetProcessorRowPerGroupFactory(selectExprProcessor, groupByNodesValidated, groupByEval, optionHavingEval, isSelectRStream, isUnidirectional, outputLimitSpec, orderByProcessorFactory != null, noDataWindowSingleStream, isHistoricalOnly, iterateUnbounded, resultSetProcessorHelperFactory, hasOutputLimitOptHint, numStreams, optionalOutputFirstConditionFactory, outputAllGroupStateOnly);
             }
             return new ResultSetProcessorFactoryDesc(factory, orderByProcessorFactory, aggregationServiceFactory);
         }
@@ -487,10 +488,35 @@ public class ResultSetProcessorFactoryFactory
         // There is a group-by clause, and one or more event properties in the select clause that are not under an aggregation
         // function are not listed in the group-by clause (output one row per event, not one row per group)
         log.debug(".getProcessor Using ResultSetProcessorAggregateGrouped");
-        ResultSetProcessorAggregateGroupedFactory factory = new ResultSetProcessorAggregateGroupedFactory(selectExprProcessor, groupByNodesValidated, groupByEval, optionHavingEval, isSelectRStream, isUnidirectional, outputLimitSpec, orderByProcessorFactory != null, isHistoricalOnly, resultSetProcessorHelperFactory, optionalOutputFirstConditionFactory, hasOutputLimitOptHint, numStreams);
+        ResultSetProcessorAggregateGroupedFactory factory = new ResultSetProcessorAggregateGroupedFactory(selectExprProcessor, groupByNodesValidated, groupByEval, optionHavingEval, isSelectRStream, isUnidirectional, outputLimitSpec, orderByProcessorFactory != null, isHistoricalOnly, resultSetProcessorHelperFactory, optionalOutputFirstConditionFactory, hasOutputLimitOptHint, numStreams, outputAllGroupStateOnly);
         return new ResultSetProcessorFactoryDesc(factory, orderByProcessorFactory, aggregationServiceFactory);
     }
 
+    private static boolean isOutputAllGroupStateOnly(StatementSpecCompiled statementSpec, SelectClauseSpecCompiled selectClauseSpec, ExprNode optionalHavingNode, OutputLimitSpec outputLimitSpec, StreamTypeService typeService, StatementContext stmtContext) {
+        if (outputLimitSpec == null || outputLimitSpec.getDisplayLimit() != OutputLimitLimitType.ALL) {
+            return false;
+        }
+        if (statementSpec.getIntoTableSpec() != null || HintEnum.RECLAIM_GROUP_AGED.getHint(statementSpec.getAnnotations()) != null) {
+            return false;
+        }
+        for (EventType type : typeService.getEventTypes()) {
+            if (type != null && stmtContext.getTableService().getTableMetadataFromEventType(type) != null) {
+                return false;
+            }
+        }
+        ExprNodeGroupStateOnlyVisitor visitor = new ExprNodeGroupStateOnlyVisitor();
+        for (SelectClauseElementCompiled element : selectClauseSpec.getSelectExprList()) {
+            if (!(element instanceof SelectClauseExprCompiledSpec)) {
+                return false;
+            }
+            ((SelectClauseExprCompiledSpec) element).getSelectExpression().accept(visitor);
+        }
+        if (optionalHavingNode != null) {
+            optionalHavingNode.accept(visitor);
+        }
+        return visitor.isGroupStateOnly();
+    }
+
     private static void validateOutputLimit(OutputLimitSpec outputLimitSpec, StatementContext statementContext) throws ExprValidationException {
         if (outputLimitSpec == null) {
             return;
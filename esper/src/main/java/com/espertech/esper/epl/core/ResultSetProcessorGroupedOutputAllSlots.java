@@ -0,0 +1,144 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.CompactHashMap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+
+/**
+ * Group representatives for output-all rate limiting, kept in reusable per-group slots along with the output event
+ * last generated for the group and a dirty flag per slot that indicates that the group changed since then.
+ * <p>
+ * Slots are iterated in the order in which groups were first added. The slot of a removed group is reused.
+ */
+public class ResultSetProcessorGroupedOutputAllSlots {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final CompactHashMap<Object, Integer> slotsByKey = new CompactHashMap<Object, Integer>();
+    private final BitSet dirty = new BitSet();
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private EventBean[][] reps = new EventBean[INITIAL_CAPACITY][];
+    private EventBean[] outputs = new EventBean[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int numFree;
+    private int numSlots;
+
+    /**
+     * Sets the group representative and marks the group dirty, allocating a slot for a new group.
+     * @param key group key
+     * @param rep events
+     * @return slot
+     */
+    public int put(Object key, EventBean[] rep) {
+        Integer slot = slotsByKey.get(key);
+        if (slot == null) {
+            slot = allocate(key);
+        }
+        reps[slot] = rep;
+        dirty.set(slot);
+        return slot;
+    }
+
+    /**
+     * Marks the group dirty, if the group has a slot.
+     * @param key group key
+     */
+    public void markDirty(Object key) {
+        Integer slot = slotsByKey.get(key);
+        if (slot != null) {
+            dirty.set(slot);
+        }
+    }
+
+    public void markAllDirty() {
+        dirty.set(0, numSlots);
+    }
+
+    public boolean isDirty(int slot) {
+        return dirty.get(slot);
+    }
+
+    public EventBean[] get(Object key) {
+        Integer slot = slotsByKey.get(key);
+        return slot == null ? null : reps[slot];
+    }
+
+    public void remove(Object key) {
+        Integer slot = slotsByKey.remove(key);
+        if (slot == null) {
+            return;
+        }
+        keys[slot] = null;
+        reps[slot] = null;
+        outputs[slot] = null;
+        dirty.clear(slot);
+        if (numFree == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, numFree << 1);
+        }
+        freeSlots[numFree++] = slot;
+    }
+
+    /**
+     * Returns the slots in the order in which groups were first added.
+     * @return slot iterator
+     */
+    public Iterator<Integer> slotIterator() {
+        return slotsByKey.values().iterator();
+    }
+
+    public Object getKey(int slot) {
+        return keys[slot];
+    }
+
+    public EventBean[] getRep(int slot) {
+        return reps[slot];
+    }
+
+    public EventBean getOutput(int slot) {
+        return outputs[slot];
+    }
+
+    /**
+     * Retains the output event generated for the group and clears the dirty flag.
+     * @param slot slot
+     * @param output output event or null if the group generated no output
+     */
+    public void setOutput(int slot, EventBean output) {
+        outputs[slot] = output;
+        dirty.clear(slot);
+    }
+
+    public int size() {
+        return slotsByKey.size();
+    }
+
+    private int allocate(Object key) {
+        int slot;
+        if (numFree > 0) {
+            slot = freeSlots[--numFree];
+        }
+        else {
+            if (numSlots == keys.length) {
+                int capacity = keys.length << 1;
+                keys = Arrays.copyOf(keys, capacity);
+                reps = Arrays.copyOf(reps, capacity);
+                outputs = Arrays.copyOf(outputs, capacity);
+            }
+            slot = numSlots++;
+        }
+        keys[slot] = key;
+        slotsByKey.put(key, slot);
+        return slot;
+    }
+}
@@ -37,6 +37,7 @@ public class ResultSetProcessorRowPerGroupFactory implements ResultSetProcessorF
     private final boolean isHistoricalOnly;
     private final ResultSetProcessorHelperFactory resultSetProcessorHelperFactory;
     private final boolean enableOutputLimitOpt;
+    private final boolean outputAllGroupStateOnly;
     private final int numStreams;
     private final OutputConditionPolledFactory optionalOutputFirstConditionFactory;
 
@@ -54,7 +55,8 @@ public class ResultSetProcessorRowPerGroupFactory implements ResultSetProcessorF
                                                 ResultSetProcessorHelperFactory resultSetProcessorHelperFactory,
                                                 boolean enableOutputLimitOpt,
                                                 int numStreams,
-                                                OutputConditionPolledFactory optionalOutputFirstConditionFactory)
+                                                OutputConditionPolledFactory optionalOutputFirstConditionFactory,
+                                                boolean outputAllGroupStateOnly)
     {
         this.groupKeyNodeExpressions = groupKeyNodeExpressions;
         this.selectExprProcessor = selectExprProcessor;
@@ -76,6 +78,7 @@ public class ResultSetProcessorRowPerGroupFactory implements ResultSetProcessorF
         this.enableOutputLimitOpt = enableOutputLimitOpt;
         this.numStreams = numStreams;
         this.optionalOutputFirstConditionFactory = optionalOutputFirstConditionFactory;
+        this.outputAllGroupStateOnly = outputAllGroupStateOnly;
     }
 
     public ResultSetProcessor instantiate(OrderByProcessor orderByProcessor, AggregationService aggregationService, AgentInstanceContext agentInstanceContext) {
@@ -146,6 +149,15 @@ public class ResultSetProcessorRowPerGroupFactory implements ResultSetProcessorF
         return enableOutputLimitOpt;
     }
 
+    /**
+     * Returns true when output-all may reuse the output event of a group that did not change since the last output,
+     * i.e. when select-clause and having-clause only depend on the group representative event and group aggregation state.
+     * @return indicator
+     */
+    public boolean isOutputAllGroupStateOnly() {
+        return outputAllGroupStateOnly;
+    }
+
     public int getNumStreams() {
         return numStreams;
     }
@@ -18,9 +18,11 @@ public class ResultSetProcessorRowPerGroupOutputAllHelperImpl implements ResultS
 
     protected final ResultSetProcessorRowPerGroup processor;
 
-    private final Map<Object, EventBean[]> groupReps = new LinkedHashMap<Object, EventBean[]>();
+    private final ResultSetProcessorGroupedOutputAllSlots groupReps = new ResultSetProcessorGroupedOutputAllSlots();
     private final Map<Object, EventBean> groupRepsOutputLastUnordRStream = new LinkedHashMap<Object, EventBean>();
+    private final List<EventBean> newEvents = new ArrayList<EventBean>(4);
     private boolean first;
+    private boolean lastSynthesize;
 
     public ResultSetProcessorRowPerGroupOutputAllHelperImpl(ResultSetProcessorRowPerGroup processor) {
         this.processor = processor;
@@ -55,6 +57,7 @@ public class ResultSetProcessorRowPerGroupOutputAllHelperImpl implements ResultS
                         groupRepsOutputLastUnordRStream.put(mk, event);
                     }
                 }
+                groupReps.markDirty(mk);
                 processor.aggregationService.applyLeave(eventsPerStream, mk, processor.agentInstanceContext);
             }
         }
@@ -86,6 +89,7 @@ public class ResultSetProcessorRowPerGroupOutputAllHelperImpl implements ResultS
                         groupRepsOutputLastUnordRStream.put(mk, event);
                     }
                 }
+                groupReps.markDirty(mk);
                 processor.aggregationService.applyLeave(anOldData.getArray(), mk, processor.agentInstanceContext);
             }
         }
@@ -106,10 +110,27 @@ public class ResultSetProcessorRowPerGroupOutputAllHelperImpl implements ResultS
     }
 
     private UniformPair<EventBean[]> output(boolean isSynthesize, boolean join) {
-        // generate latest new-events from group representatives
-        List<EventBean> newEvents = new ArrayList<EventBean>(4);
-        processor.generateOutputBatchedArr(join, groupReps.entrySet().iterator(), true, isSynthesize, newEvents, null);
+        // regenerate the new-events of groups that changed, and of all groups unless unchanged groups generate the same event
+        if (!processor.prototype.isOutputAllGroupStateOnly() || isSynthesize != lastSynthesize) {
+            groupReps.markAllDirty();
+        }
+        lastSynthesize = isSynthesize;
+        for (Iterator<Integer> it = groupReps.slotIterator(); it.hasNext();) {
+            int slot = it.next();
+            EventBean event;
+            if (groupReps.isDirty(slot)) {
+                event = processor.generateOutputBatchedNoSortWMap(join, groupReps.getKey(slot), groupReps.getRep(slot), true, isSynthesize);
+                groupReps.setOutput(slot, event);
+            }
+            else {
+                event = groupReps.getOutput(slot);
+            }
+            if (event != null) {
+                newEvents.add(event);
+            }
+        }
         EventBean[] newEventsArr = (newEvents.isEmpty()) ? null : newEvents.toArray(new EventBean[newEvents.size()]);
+        newEvents.clear();
 
         // use old-events as retained, if any
         EventBean[] oldEventsArr = null;
@@ -128,9 +149,10 @@ public class ResultSetProcessorRowPerGroupOutputAllHelperImpl implements ResultS
 
     private void generateRemoveStreamJustOnce(boolean isSynthesize, boolean join) {
         if (first && processor.prototype.isSelectRStream()) {
-            for (Map.Entry<Object, EventBean[]> groupRep : groupReps.entrySet()) {
-                Object mk = processor.generateGroupKey(groupRep.getValue(), false);
-                EventBean event = processor.generateOutputBatchedNoSortWMap(join, mk, groupRep.getValue(), false, isSynthesize);
+            for (Iterator<Integer> it = groupReps.slotIterator(); it.hasNext();) {
+                EventBean[] rep = groupReps.getRep(it.next());
+                Object mk = processor.generateGroupKey(rep, false);
+                EventBean event = processor.generateOutputBatchedNoSortWMap(join, mk, rep, false, isSynthesize);
                 if (event != null) {
                     groupRepsOutputLastUnordRStream.put(mk, event);
                 }
@@ -9,6 +9,7 @@
 package com.espertech.esper.epl.core;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.CompactHashMap;
 import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.UniformPair;
 
@@ -17,8 +18,9 @@ import java.util.*;
 public class ResultSetProcessorRowPerGroupOutputLastHelperImpl implements ResultSetProcessorRowPerGroupOutputLastHelper {
 
     protected final ResultSetProcessorRowPerGroup processor;
-    private final Map<Object, EventBean[]> groupReps = new LinkedHashMap<Object, EventBean[]>();
-    private final Map<Object, EventBean> groupRepsOutputLastUnordRStream = new LinkedHashMap<Object, EventBean>();
+    private final Map<Object, EventBean[]> groupReps = new CompactHashMap<Object, EventBean[]>();
+    private final Map<Object, EventBean> groupRepsOutputLastUnordRStream = new CompactHashMap<Object, EventBean>();
+    private final List<EventBean> newEvents = new ArrayList<EventBean>(4);
 
     public ResultSetProcessorRowPerGroupOutputLastHelperImpl(ResultSetProcessorRowPerGroup processor) {
         this.processor = processor;
@@ -109,10 +111,18 @@ public class ResultSetProcessorRowPerGroupOutputLastHelperImpl implements Result
     }
 
     private UniformPair<EventBean[]> output(boolean isSynthesize, boolean join) {
-        List<EventBean> newEvents = new ArrayList<EventBean>(4);
-        processor.generateOutputBatchedArr(join, groupReps.entrySet().iterator(), true, isSynthesize, newEvents, null);
+        // iterate keys and representatives side-by-side, the compact map does not allocate entries for these
+        Iterator<Object> keys = groupReps.keySet().iterator();
+        Iterator<EventBean[]> reps = groupReps.values().iterator();
+        while (keys.hasNext()) {
+            EventBean event = processor.generateOutputBatchedNoSortWMap(join, keys.next(), reps.next(), true, isSynthesize);
+            if (event != null) {
+                newEvents.add(event);
+            }
+        }
         groupReps.clear();
         EventBean[] newEventsArr = (newEvents.isEmpty()) ? null : newEvents.toArray(new EventBean[newEvents.size()]);
+        newEvents.clear();
 
         EventBean[] oldEventsArr = null;
         if (groupRepsOutputLastUnordRStream != null && !groupRepsOutputLastUnordRStream.isEmpty()) {
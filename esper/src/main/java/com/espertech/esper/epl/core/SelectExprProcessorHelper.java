@@ -13,6 +13,7 @@ import com.espertech.esper.client.util.EventUnderlyingType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.agg.service.AggregationGroupByRollupLevel;
 import com.espertech.esper.epl.core.eval.*;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
 import com.espertech.esper.epl.expression.core.*;
 import com.espertech.esper.epl.named.NamedWindowMgmtService;
 import com.espertech.esper.epl.named.NamedWindowProcessor;
@@ -209,7 +210,7 @@ public class SelectExprProcessorHelper
         {
             SelectClauseExprCompiledSpec spec = selectionList.get(i);
             ExprNode expr = spec.getSelectExpression();
-            ExprEvaluator evaluator = expr.getExprEvaluator();
+            ExprEvaluator evaluator = ExprNodeCompiler.compile(expr, engineImportService != null && engineImportService.isCodeGeneration());
             exprNodes[i] = expr;
 
             // if there is insert-into specification, use that
@@ -0,0 +1,653 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.expression.codegen;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.ops.*;
+import com.espertech.esper.event.EventPropertyGetterPrimitive;
+import com.espertech.esper.event.bean.CGLibPropertyGetter;
+import com.espertech.esper.event.bean.LambdaPropertyGetter;
+import com.espertech.esper.event.bean.ReflectionPropMethodGetter;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.type.MathArithTypeEnum;
+import com.espertech.esper.type.RelationalOpEnum;
+import com.espertech.esper.util.CoercionException;
+import com.espertech.esper.util.JavaClassHelper;
+import net.sf.cglib.asm.$ClassWriter;
+import net.sf.cglib.asm.$Label;
+import net.sf.cglib.asm.$MethodVisitor;
+import net.sf.cglib.asm.$Opcodes;
+import net.sf.cglib.asm.$Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles a validated expression node tree into a generated evaluator class.
+ * <p>
+ * The "and", "or", "not", relational-operator, equals and arithmetic nodes as well as constants and
+ * event properties are compiled into a single evaluate method that keeps intermediate values in typed primitive
+ * locals and that calls bean property getter methods directly. Any other node is evaluated by its
+ * interpreted evaluator, invoked from the generated code.
+ * <p>
+ * The generated evaluator returns the same values, of the same type, as the interpreted evaluator of the node.
+ */
+public class ExprNodeCompiler implements $Opcodes
+{
+    private static final Logger log = LoggerFactory.getLogger(ExprNodeCompiler.class);
+
+    private static final AtomicLong generatedClassNumber = new AtomicLong();
+
+    private static final String GENERATED_CLASS_PREFIX = "com/espertech/esper/epl/expression/codegen/ExprEvaluatorGenerated";
+    private static final String EVALUATE_DESCRIPTOR = "([" + $Type.getDescriptor(EventBean.class) + "Z" + $Type.getDescriptor(ExprEvaluatorContext.class) + ")Ljava/lang/Object;";
+    private static final $Type OBJECT_TYPE = $Type.getType(Object.class);
+
+    private final ExprNode root;
+    private final Class rootType;
+    private final String className;
+    private final List<Object> references = new ArrayList<Object>();
+    private final List<Class> referenceTypes = new ArrayList<Class>();
+    private final Map<Object, Integer> referenceNumbers = new IdentityHashMap<Object, Integer>();
+    private final Map<String, Class> referencedClasses = new HashMap<String, Class>();
+    private $MethodVisitor mv;
+    private int nextLocal;
+
+    /**
+     * Returns the evaluator for a validated expression node, compiling the node into a generated class
+     * when code generation is enabled and the node can be compiled, or the node's interpreted evaluator otherwise.
+     * @param node validated expression node
+     * @param codeGeneration indicator whether code generation is enabled
+     * @return evaluator
+     */
+    public static ExprEvaluator compile(ExprNode node, boolean codeGeneration)
+    {
+        ExprEvaluator evaluator = node.getExprEvaluator();
+        if (!codeGeneration || InstrumentationHelper.ENABLED || !isCompiledOperator(node) || resultType(evaluator.getType()) == null) {
+            return evaluator;
+        }
+        try {
+            ExprEvaluator compiled = new ExprNodeCompiler(node, evaluator.getType()).generate();
+            if (log.isDebugEnabled()) {
+                log.debug("Compiled expression '" + ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node) + "' into " + compiled.getClass().getName());
+            }
+            return compiled;
+        }
+        catch (Exception ex) {
+            log.warn("Failed to compile expression '" + ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node) + "', using interpreted evaluation: " + ex.getMessage(), ex);
+            return evaluator;
+        }
+        catch (LinkageError ex) {
+            log.warn("Failed to compile expression '" + ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node) + "', using interpreted evaluation: " + ex.getMessage(), ex);
+            return evaluator;
+        }
+    }
+
+    private ExprNodeCompiler(ExprNode root, Class rootType) {
+        this.root = root;
+        this.rootType = rootType;
+        this.className = GENERATED_CLASS_PREFIX + generatedClassNumber.incrementAndGet();
+    }
+
+    private ExprEvaluator generate() throws Exception {
+        $ClassWriter cw = new $ClassWriter($ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, className, null, "java/lang/Object", new String[] {$Type.getInternalName(ExprEvaluator.class)});
+
+        // evaluate method, collecting the getters and interpreted evaluators referenced
+        mv = cw.visitMethod(ACC_PUBLIC, "evaluate", EVALUATE_DESCRIPTOR, null, null);
+        mv.visitCode();
+        nextLocal = 4;
+        $Label nullLabel = new $Label();
+        $Type type = resultType(rootType);
+        generateAs(root, type, nullLabel);
+        box(type);
+        mv.visitInsn(ARETURN);
+        mv.visitLabel(nullLabel);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // fields and constructor
+        for (int i = 0; i < references.size(); i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "r" + i, $Type.getDescriptor(referenceTypes.get(i)), null, null).visitEnd();
+        }
+        cw.visitField(ACC_PRIVATE + ACC_FINAL, "type", "Ljava/lang/Class;", null, null).visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;Ljava/lang/Class;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        for (int i = 0; i < references.size(); i++) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            pushInt(i);
+            mv.visitInsn(AALOAD);
+            mv.visitTypeInsn(CHECKCAST, $Type.getInternalName(referenceTypes.get(i)));
+            mv.visitFieldInsn(PUTFIELD, className, "r" + i, $Type.getDescriptor(referenceTypes.get(i)));
+        }
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitFieldInsn(PUTFIELD, className, "type", "Ljava/lang/Class;");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "getType", "()Ljava/lang/Class;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, "type", "Ljava/lang/Class;");
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        GeneratedClassLoader classLoader = new GeneratedClassLoader(ExprNodeCompiler.class.getClassLoader(), referencedClasses);
+        Class clazz = classLoader.define(className.replace('/', '.'), cw.toByteArray());
+        return (ExprEvaluator) clazz.getConstructor(Object[].class, Class.class).newInstance(references.toArray(), rootType);
+    }
+
+    /**
+     * Generates code that leaves the node's value on the operand stack, converted to the given type,
+     * or that jumps to the null label with an empty operand stack when the value is null.
+     */
+    private void generateAs(ExprNode node, $Type type, $Label nullLabel) {
+        convert(generate(node, nullLabel), type);
+    }
+
+    private int generateToLocal(ExprNode node, $Type type, $Label nullLabel) {
+        generateAs(node, type, nullLabel);
+        int local = newLocal(type);
+        mv.visitVarInsn(type.getOpcode(ISTORE), local);
+        return local;
+    }
+
+    private $Type generate(ExprNode node, $Label nullLabel) {
+        if (!isCompiled(node)) {
+            return generateInterpreted(node, nullLabel);
+        }
+        if (node instanceof ExprAndNodeImpl) {
+            return generateAndOr(node, true, nullLabel);
+        }
+        if (node instanceof ExprOrNode) {
+            return generateAndOr(node, false, nullLabel);
+        }
+        if (node instanceof ExprNotNode) {
+            generateAs(node.getChildNodes()[0], $Type.BOOLEAN_TYPE, nullLabel);
+            mv.visitInsn(ICONST_1);
+            mv.visitInsn(IXOR);
+            return $Type.BOOLEAN_TYPE;
+        }
+        if (node instanceof ExprRelationalOpNodeImpl) {
+            return generateRelationalOp((ExprRelationalOpNodeImpl) node, nullLabel);
+        }
+        if (node instanceof ExprEqualsNodeImpl) {
+            return generateEquals((ExprEqualsNodeImpl) node, nullLabel);
+        }
+        if (node instanceof ExprMathNode) {
+            return generateMath((ExprMathNode) node, nullLabel);
+        }
+        if (node instanceof ExprConstantNodeImpl) {
+            return generateConstant((ExprConstantNodeImpl) node);
+        }
+        return generateIdent((ExprIdentNode) node, nullLabel);
+    }
+
+    private $Type generateAndOr(ExprNode node, boolean isAnd, $Label nullLabel) {
+        // "and" returns false when any child is false, "or" returns true when any child is true, and otherwise null when any child is null
+        int nullSeen = newLocal($Type.BOOLEAN_TYPE);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, nullSeen);
+        $Label dominantLabel = new $Label();
+        for (ExprNode child : node.getChildNodes()) {
+            $Label childNullLabel = new $Label();
+            $Label nextLabel = new $Label();
+            generateAs(child, $Type.BOOLEAN_TYPE, childNullLabel);
+            mv.visitJumpInsn(isAnd ? IFEQ : IFNE, dominantLabel);
+            mv.visitJumpInsn(GOTO, nextLabel);
+            mv.visitLabel(childNullLabel);
+            mv.visitInsn(ICONST_1);
+            mv.visitVarInsn(ISTORE, nullSeen);
+            mv.visitLabel(nextLabel);
+        }
+        mv.visitVarInsn(ILOAD, nullSeen);
+        mv.visitJumpInsn(IFNE, nullLabel);
+        $Label doneLabel = new $Label();
+        mv.visitInsn(isAnd ? ICONST_1 : ICONST_0);
+        mv.visitJumpInsn(GOTO, doneLabel);
+        mv.visitLabel(dominantLabel);
+        mv.visitInsn(isAnd ? ICONST_0 : ICONST_1);
+        mv.visitLabel(doneLabel);
+        return $Type.BOOLEAN_TYPE;
+    }
+
+    private $Type generateRelationalOp(ExprRelationalOpNodeImpl node, $Label nullLabel) {
+        $Type type = relationalOpCompareType(node);
+        int left = generateToLocal(node.getChildNodes()[0], type, nullLabel);
+        int right = generateToLocal(node.getChildNodes()[1], type, nullLabel);
+        mv.visitVarInsn(type.getOpcode(ILOAD), left);
+        mv.visitVarInsn(type.getOpcode(ILOAD), right);
+
+        RelationalOpEnum op = node.getRelationalOpEnum();
+        $Label trueLabel = new $Label();
+        if (type == $Type.INT_TYPE) {
+            mv.visitJumpInsn(op == RelationalOpEnum.GT ? IF_ICMPGT : op == RelationalOpEnum.GE ? IF_ICMPGE : op == RelationalOpEnum.LT ? IF_ICMPLT : IF_ICMPLE, trueLabel);
+        }
+        else {
+            if (type == $Type.LONG_TYPE) {
+                mv.visitInsn(LCMP);
+            }
+            else {
+                // NaN compares false for all operators
+                mv.visitInsn(op == RelationalOpEnum.GT || op == RelationalOpEnum.GE ? DCMPL : DCMPG);
+            }
+            mv.visitJumpInsn(op == RelationalOpEnum.GT ? IFGT : op == RelationalOpEnum.GE ? IFGE : op == RelationalOpEnum.LT ? IFLT : IFLE, trueLabel);
+        }
+        return pushBoolean(trueLabel, true);
+    }
+
+    private $Type generateEquals(ExprEqualsNodeImpl node, $Label nullLabel) {
+        $Type type = equalsCompareType(node);
+        $Label leftNullLabel = new $Label();
+        int left = generateToLocal(node.getChildNodes()[0], type, leftNullLabel);
+        int right = generateToLocal(node.getChildNodes()[1], type, nullLabel);
+
+        // double values compare as Double.equals does
+        $Label equalLabel = new $Label();
+        mv.visitVarInsn(type.getOpcode(ILOAD), left);
+        if (type == $Type.DOUBLE_TYPE) {
+            mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+        }
+        mv.visitVarInsn(type.getOpcode(ILOAD), right);
+        if (type == $Type.DOUBLE_TYPE) {
+            mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+        }
+        if (type == $Type.INT_TYPE || type == $Type.BOOLEAN_TYPE) {
+            mv.visitJumpInsn(IF_ICMPEQ, equalLabel);
+        }
+        else {
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFEQ, equalLabel);
+        }
+        pushBoolean(equalLabel, !node.isNotEquals());
+
+        // the right-hand side is evaluated even when the left-hand side is null
+        $Label endLabel = new $Label();
+        mv.visitJumpInsn(GOTO, endLabel);
+        mv.visitLabel(leftNullLabel);
+        generateAs(node.getChildNodes()[1], type, nullLabel);
+        mv.visitInsn(type.getSize() == 2 ? POP2 : POP);
+        mv.visitJumpInsn(GOTO, nullLabel);
+        mv.visitLabel(endLabel);
+        return $Type.BOOLEAN_TYPE;
+    }
+
+    private $Type generateMath(ExprMathNode node, $Label nullLabel) {
+        $Type type = resultType(node.getType());
+        int left = generateToLocal(node.getChildNodes()[0], type, nullLabel);
+        int right = generateToLocal(node.getChildNodes()[1], type, nullLabel);
+
+        MathArithTypeEnum arith = node.getMathArithTypeEnum();
+        int opcode;
+        if (arith == MathArithTypeEnum.ADD) {
+            opcode = IADD;
+        }
+        else if (arith == MathArithTypeEnum.SUBTRACT) {
+            opcode = ISUB;
+        }
+        else if (arith == MathArithTypeEnum.MULTIPLY) {
+            opcode = IMUL;
+        }
+        else if (arith == MathArithTypeEnum.MODULO) {
+            opcode = IREM;
+        }
+        else {
+            opcode = IDIV;
+            // integer division by zero returns null, floating-point division by zero returns null only if so configured
+            if (type == $Type.INT_TYPE) {
+                mv.visitVarInsn(ILOAD, right);
+                mv.visitJumpInsn(IFEQ, nullLabel);
+            }
+            else if (type == $Type.LONG_TYPE) {
+                mv.visitVarInsn(LLOAD, right);
+                mv.visitInsn(LCONST_0);
+                mv.visitInsn(LCMP);
+                mv.visitJumpInsn(IFEQ, nullLabel);
+            }
+            else if (node.isDivisionByZeroReturnsNull()) {
+                mv.visitVarInsn(DLOAD, right);
+                mv.visitInsn(DCONST_0);
+                mv.visitInsn(DCMPL);
+                mv.visitJumpInsn(IFEQ, nullLabel);
+            }
+        }
+        mv.visitVarInsn(type.getOpcode(ILOAD), left);
+        mv.visitVarInsn(type.getOpcode(ILOAD), right);
+        mv.visitInsn(type.getOpcode(opcode));
+        return type;
+    }
+
+    private $Type generateConstant(ExprConstantNodeImpl node) {
+        Object value = node.getConstantValue(null);
+        $Type type = valueType(value.getClass());
+        if (type == $Type.BOOLEAN_TYPE) {
+            pushInt(((Boolean) value) ? 1 : 0);
+        }
+        else if (type == $Type.INT_TYPE) {
+            pushInt(((Number) value).intValue());
+        }
+        else if (type == $Type.LONG_TYPE) {
+            mv.visitLdcInsn(((Number) value).longValue());
+        }
+        else {
+            mv.visitLdcInsn(((Number) value).doubleValue());
+        }
+        return type;
+    }
+
+    private $Type generateIdent(ExprIdentNode node, $Label nullLabel) {
+        ExprIdentNodeEvaluator evaluator = node.getExprEvaluatorIdent();
+        $Type type = valueType(evaluator.getType());
+        int eventLocal = newLocal(OBJECT_TYPE);
+        mv.visitVarInsn(ALOAD, 1);
+        pushInt(evaluator.getStreamNum());
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ASTORE, eventLocal);
+        mv.visitVarInsn(ALOAD, eventLocal);
+        mv.visitJumpInsn(IFNULL, nullLabel);
+
+        // call the bean method directly
+        Method method = getInlinedMethod(evaluator.getGetter());
+        if (method != null) {
+            Class declaringClass = method.getDeclaringClass();
+            referencedClasses.put(declaringClass.getName(), declaringClass);
+            mv.visitVarInsn(ALOAD, eventLocal);
+            mv.visitMethodInsn(INVOKEINTERFACE, $Type.getInternalName(EventBean.class), "getUnderlying", "()Ljava/lang/Object;", true);
+            mv.visitTypeInsn(CHECKCAST, $Type.getInternalName(declaringClass));
+            mv.visitMethodInsn(declaringClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, $Type.getInternalName(declaringClass), method.getName(), $Type.getMethodDescriptor(method), declaringClass.isInterface());
+            Class returnType = method.getReturnType();
+            if (!returnType.isPrimitive()) {
+                return unboxOrNull(type, nullLabel);
+            }
+            if (returnType == float.class) {
+                mv.visitInsn(F2D);
+            }
+            return type;
+        }
+
+        // obtain primitive values from getters that provide them
+        if (ExprIdentNodeEvaluatorPrimitive.isApplicable(evaluator.getGetter(), evaluator.getType())) {
+            loadReference(evaluator.getGetter(), EventPropertyGetterPrimitive.class);
+            mv.visitVarInsn(ALOAD, eventLocal);
+            if (type == $Type.DOUBLE_TYPE) {
+                mv.visitMethodInsn(INVOKEINTERFACE, $Type.getInternalName(EventPropertyGetterPrimitive.class), "getDouble", "(" + $Type.getDescriptor(EventBean.class) + ")D", true);
+                return type;
+            }
+            mv.visitMethodInsn(INVOKEINTERFACE, $Type.getInternalName(EventPropertyGetterPrimitive.class), "getLong", "(" + $Type.getDescriptor(EventBean.class) + ")J", true);
+            return $Type.LONG_TYPE;
+        }
+
+        loadReference(evaluator.getGetter(), EventPropertyGetter.class);
+        mv.visitVarInsn(ALOAD, eventLocal);
+        mv.visitMethodInsn(INVOKEINTERFACE, $Type.getInternalName(EventPropertyGetter.class), "get", "(" + $Type.getDescriptor(EventBean.class) + ")Ljava/lang/Object;", true);
+        return unboxOrNull(type, nullLabel);
+    }
+
+    private $Type generateInterpreted(ExprNode node, $Label nullLabel) {
+        ExprEvaluator evaluator = node.getExprEvaluator();
+        $Type type = valueType(evaluator.getType());
+        if (type == null) {
+            throw new IllegalStateException("Unsupported expression type " + evaluator.getType());
+        }
+        loadReference(evaluator, ExprEvaluator.class);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitMethodInsn(INVOKEINTERFACE, $Type.getInternalName(ExprEvaluator.class), "evaluate", EVALUATE_DESCRIPTOR, true);
+        return unboxOrNull(type, nullLabel);
+    }
+
+    private $Type unboxOrNull($Type type, $Label nullLabel) {
+        int local = newLocal(OBJECT_TYPE);
+        mv.visitVarInsn(ASTORE, local);
+        mv.visitVarInsn(ALOAD, local);
+        mv.visitJumpInsn(IFNULL, nullLabel);
+        mv.visitVarInsn(ALOAD, local);
+        if (type == $Type.BOOLEAN_TYPE) {
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+        }
+        else {
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", type.getClassName() + "Value", "()" + type.getDescriptor(), false);
+        }
+        return type;
+    }
+
+    private void box($Type type) {
+        String boxed = type == $Type.BOOLEAN_TYPE ? "java/lang/Boolean" : type == $Type.INT_TYPE ? "java/lang/Integer" : type == $Type.LONG_TYPE ? "java/lang/Long" : "java/lang/Double";
+        mv.visitMethodInsn(INVOKESTATIC, boxed, "valueOf", "(" + type.getDescriptor() + ")L" + boxed + ";", false);
+    }
+
+    private void convert($Type from, $Type to) {
+        if (from == to) {
+            return;
+        }
+        if (from == $Type.BOOLEAN_TYPE || to == $Type.BOOLEAN_TYPE) {
+            throw new IllegalStateException("Cannot convert " + from + " to " + to);
+        }
+        if (from == $Type.INT_TYPE) {
+            mv.visitInsn(to == $Type.LONG_TYPE ? I2L : I2D);
+        }
+        else if (from == $Type.LONG_TYPE) {
+            mv.visitInsn(to == $Type.INT_TYPE ? L2I : L2D);
+        }
+        else {
+            mv.visitInsn(to == $Type.INT_TYPE ? D2I : D2L);
+        }
+    }
+
+    private $Type pushBoolean($Label jumpLabel, boolean valueOnJump) {
+        // the jump to the label has been generated, push the value for either case
+        $Label doneLabel = new $Label();
+        mv.visitInsn(valueOnJump ? ICONST_0 : ICONST_1);
+        mv.visitJumpInsn(GOTO, doneLabel);
+        mv.visitLabel(jumpLabel);
+        mv.visitInsn(valueOnJump ? ICONST_1 : ICONST_0);
+        mv.visitLabel(doneLabel);
+        return $Type.BOOLEAN_TYPE;
+    }
+
+    private void loadReference(Object reference, Class fieldType) {
+        Integer number = referenceNumbers.get(reference);
+        if (number == null) {
+            number = references.size();
+            references.add(reference);
+            referenceTypes.add(fieldType);
+            referenceNumbers.put(reference, number);
+        }
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, "r" + number, $Type.getDescriptor(referenceTypes.get(number)));
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        }
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        }
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+        else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private int newLocal($Type type) {
+        int local = nextLocal;
+        nextLocal += type.getSize();
+        return local;
+    }
+
+    private static boolean isCompiledOperator(ExprNode node) {
+        return isCompiled(node) && !(node instanceof ExprConstantNodeImpl) && !(node instanceof ExprIdentNode);
+    }
+
+    private static boolean isCompiled(ExprNode node) {
+        if (node instanceof ExprAndNodeImpl || node instanceof ExprOrNode || node instanceof ExprNotNode) {
+            return true;
+        }
+        if (node instanceof ExprRelationalOpNodeImpl) {
+            $Type type = relationalOpCompareType(node);
+            return type != null && type != $Type.BOOLEAN_TYPE;
+        }
+        if (node instanceof ExprEqualsNodeImpl) {
+            return !((ExprEqualsNodeImpl) node).isIs() && equalsCompareType(node) != null;
+        }
+        if (node instanceof ExprMathNode) {
+            $Type type = resultType(((ExprMathNode) node).getType());
+            return type != null && type != $Type.BOOLEAN_TYPE;
+        }
+        if (node instanceof ExprConstantNodeImpl) {
+            Object value = ((ExprConstantNodeImpl) node).getConstantValue(null);
+            return value != null && valueType(value.getClass()) != null;
+        }
+        if (node instanceof ExprIdentNode) {
+            ExprIdentNodeEvaluator evaluator = ((ExprIdentNode) node).getExprEvaluatorIdent();
+            return evaluator != null &&
+                   (evaluator.getClass() == ExprIdentNodeEvaluatorImpl.class || evaluator.getClass() == ExprIdentNodeEvaluatorPrimitive.class) &&
+                   valueType(evaluator.getType()) != null;
+        }
+        return false;
+    }
+
+    private static $Type relationalOpCompareType(ExprNode node) {
+        Class typeOne = JavaClassHelper.getBoxedType(node.getChildNodes()[0].getExprEvaluator().getType());
+        Class typeTwo = JavaClassHelper.getBoxedType(node.getChildNodes()[1].getExprEvaluator().getType());
+        if (valueType(typeOne) == null || valueType(typeTwo) == null) {
+            return null;
+        }
+        try {
+            return resultType(JavaClassHelper.getCompareToCoercionType(typeOne, typeTwo));
+        }
+        catch (CoercionException ex) {
+            return null;
+        }
+    }
+
+    private static $Type equalsCompareType(ExprNode node) {
+        Class typeOne = JavaClassHelper.getBoxedType(node.getChildNodes()[0].getExprEvaluator().getType());
+        Class typeTwo = JavaClassHelper.getBoxedType(node.getChildNodes()[1].getExprEvaluator().getType());
+        if (valueType(typeOne) == null || valueType(typeTwo) == null) {
+            return null;
+        }
+        if (typeOne == typeTwo) {
+            return resultType(typeOne);
+        }
+        try {
+            return resultType(JavaClassHelper.getCompareToCoercionType(typeOne, typeTwo));
+        }
+        catch (CoercionException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the type of values the generated code computes with for a given class of values, or null if not supported.
+     */
+    private static $Type valueType(Class type) {
+        Class boxed = JavaClassHelper.getBoxedType(type);
+        if (boxed == Integer.class || boxed == Short.class || boxed == Byte.class) {
+            return $Type.INT_TYPE;
+        }
+        if (boxed == Double.class || boxed == Float.class) {
+            return $Type.DOUBLE_TYPE;
+        }
+        if (boxed == Long.class || boxed == Boolean.class) {
+            return resultType(boxed);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the type of values the generated code computes results in for a given class of results, or null if not supported.
+     */
+    private static $Type resultType(Class type) {
+        Class boxed = JavaClassHelper.getBoxedType(type);
+        if (boxed == Integer.class) {
+            return $Type.INT_TYPE;
+        }
+        if (boxed == Long.class) {
+            return $Type.LONG_TYPE;
+        }
+        if (boxed == Double.class) {
+            return $Type.DOUBLE_TYPE;
+        }
+        if (boxed == Boolean.class) {
+            return $Type.BOOLEAN_TYPE;
+        }
+        return null;
+    }
+
+    private static Method getInlinedMethod(EventPropertyGetter getter) {
+        Method method;
+        if (getter instanceof CGLibPropertyGetter) {
+            method = ((CGLibPropertyGetter) getter).getMethod();
+        }
+        else if (getter instanceof ReflectionPropMethodGetter) {
+            method = ((ReflectionPropMethodGetter) getter).getMethod();
+        }
+        else if (getter instanceof LambdaPropertyGetter) {
+            method = ((LambdaPropertyGetter) getter).getMethod();
+        }
+        else {
+            return null;
+        }
+        if (method == null ||
+            method.getParameterTypes().length != 0 ||
+            !Modifier.isPublic(method.getModifiers()) ||
+            Modifier.isStatic(method.getModifiers()) ||
+            !Modifier.isPublic(method.getDeclaringClass().getModifiers()) ||
+            method.getReturnType() == char.class ||
+            valueType(method.getReturnType()) == null) {
+            return null;
+        }
+        return method;
+    }
+
+    private static class GeneratedClassLoader extends ClassLoader
+    {
+        private final Map<String, Class> referencedClasses;
+
+        private GeneratedClassLoader(ClassLoader parent, Map<String, Class> referencedClasses) {
+            super(parent);
+            this.referencedClasses = referencedClasses;
+        }
+
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            // resolve the event classes the generated code refers to as the exact classes of the event type
+            Class clazz = referencedClasses.get(name);
+            if (clazz != null) {
+                return clazz;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        private Class define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
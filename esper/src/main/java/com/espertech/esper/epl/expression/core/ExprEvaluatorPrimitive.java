@@ -0,0 +1,51 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.expression.core;
+
+import com.espertech.esper.client.EventBean;
+
+/**
+ * Evaluator that in addition to the boxed result can return a primitive numeric result without boxing,
+ * for use by consumers such as aggregations that evaluate the same expression for each event.
+ */
+public interface ExprEvaluatorPrimitive extends ExprEvaluator
+{
+    /**
+     * Returns true if the result is a floating-point value to be obtained from {@link #evaluateDouble},
+     * or false if the result is an integral value to be obtained from {@link #evaluateLong}.
+     * @return floating-point indicator
+     */
+    public boolean isFloatingPoint();
+
+    /**
+     * Returns true if the event tuple provides a primitive result, or false if the result is null
+     * and must be obtained from the evaluate method.
+     * @param eventsPerStream - event tuple
+     * @return indicator whether the primitive evaluate methods may be used
+     */
+    public boolean isPrimitiveResult(EventBean[] eventsPerStream);
+
+    /**
+     * Evaluate event tuple and return the integral result widened to long.
+     * @param eventsPerStream - event tuple
+     * @param isNewData - indicates whether we are dealing with new data (istream) or old data (rstream)
+     * @param context context for expression evaluation
+     * @return evaluation result
+     */
+    public long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context);
+
+    /**
+     * Evaluate event tuple and return the floating-point result widened to double.
+     * @param eventsPerStream - event tuple
+     * @param isNewData - indicates whether we are dealing with new data (istream) or old data (rstream)
+     * @param context context for expression evaluation
+     * @return evaluation result
+     */
+    public double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context);
+}
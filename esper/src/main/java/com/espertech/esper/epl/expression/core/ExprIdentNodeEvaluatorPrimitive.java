@@ -0,0 +1,60 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.expression.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.event.EventPropertyGetterPrimitive;
+import com.espertech.esper.util.JavaClassHelper;
+
+/**
+ * Evaluator for a property of primitive numeric type whose getter can return the value without boxing.
+ */
+public class ExprIdentNodeEvaluatorPrimitive extends ExprIdentNodeEvaluatorImpl implements ExprEvaluatorPrimitive
+{
+    private final int streamNum;
+    private final EventPropertyGetterPrimitive primitiveGetter;
+    private final boolean isFloatingPoint;
+
+    public ExprIdentNodeEvaluatorPrimitive(int streamNum, EventPropertyGetterPrimitive propertyGetter, Class propertyType, ExprIdentNode identNode) {
+        super(streamNum, propertyGetter, propertyType, identNode);
+        this.streamNum = streamNum;
+        this.primitiveGetter = propertyGetter;
+        this.isFloatingPoint = JavaClassHelper.isFloatingPointClass(propertyType);
+    }
+
+    /**
+     * Returns true if a primitive evaluator can be used for the getter and type of a property.
+     * @param propertyGetter getter
+     * @param propertyType property type
+     * @return indicator
+     */
+    public static boolean isApplicable(Object propertyGetter, Class propertyType) {
+        return propertyGetter instanceof EventPropertyGetterPrimitive &&
+               propertyType != null &&
+               propertyType.isPrimitive() &&
+               propertyType != boolean.class &&
+               propertyType != char.class;
+    }
+
+    public boolean isFloatingPoint() {
+        return isFloatingPoint;
+    }
+
+    public boolean isPrimitiveResult(EventBean[] eventsPerStream) {
+        return eventsPerStream[streamNum] != null;
+    }
+
+    public long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return primitiveGetter.getLong(eventsPerStream[streamNum]);
+    }
+
+    public double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return primitiveGetter.getDouble(eventsPerStream[streamNum]);
+    }
+}
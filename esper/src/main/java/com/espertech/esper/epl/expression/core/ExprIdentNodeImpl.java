@@ -17,6 +17,7 @@ import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.core.PropertyResolutionDescriptor;
 import com.espertech.esper.epl.expression.table.ExprTableIdentNode;
 import com.espertech.esper.epl.parse.ASTUtil;
+import com.espertech.esper.event.EventPropertyGetterPrimitive;
 import com.espertech.esper.event.property.PropertyParser;
 import com.espertech.esper.filter.FilterSpecLookupable;
 
@@ -82,7 +83,7 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode
             throw new IllegalArgumentException("Ident-node constructor could not locate property " + propertyName);
         }
         Class propertyType = eventType.getPropertyType(propertyName);
-        evaluator = new ExprIdentNodeEvaluatorImpl(streamNumber, propertyGetter, propertyType, this);
+        evaluator = makeEvaluator(streamNumber, propertyGetter, propertyType);
     }
 
     public ExprEvaluator getExprEvaluator()
@@ -90,6 +91,13 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode
         return evaluator;
     }
 
+    private ExprIdentNodeEvaluator makeEvaluator(int streamNum, EventPropertyGetter propertyGetter, Class propertyType) {
+        if (ExprIdentNodeEvaluatorPrimitive.isApplicable(propertyGetter, propertyType)) {
+            return new ExprIdentNodeEvaluatorPrimitive(streamNum, (EventPropertyGetterPrimitive) propertyGetter, propertyType, this);
+        }
+        return new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this);
+    }
+
     /**
      * For unit testing, returns unresolved property name.
      * @return property name
@@ -175,7 +183,7 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode
             evaluator = new ExprIdentNodeEvaluatorLogging(streamNum, propertyGetter, propertyType, this, resolvedPropertyName, validationContext.getStatementName(), validationContext.getStreamTypeService().getEngineURIQualifier());
         }
         else {
-            evaluator = new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this);
+            evaluator = makeEvaluator(streamNum, propertyGetter, propertyType);
         }
 
         // if running in a context, take the property value from context
@@ -183,4 +183,22 @@ public class ExprMathNode extends ExprNodeBase implements ExprEvaluator
     {
         return mathArithTypeEnum;
     }
+
+    /**
+     * Returns true for Java-standard integer division, false for division returning double.
+     * @return indicator
+     */
+    public boolean isIntegerDivision()
+    {
+        return isIntegerDivision;
+    }
+
+    /**
+     * Returns true for division-by-zero returning null, false for division-by-zero returning infinity.
+     * @return indicator
+     */
+    public boolean isDivisionByZeroReturnsNull()
+    {
+        return isDivisionByZeroReturnsNull;
+    }
 }
@@ -0,0 +1,76 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.expression.visitor;
+
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.funcs.*;
+import com.espertech.esper.epl.expression.methodagg.*;
+import com.espertech.esper.epl.expression.ops.*;
+
+/**
+ * Visitor that determines whether expressions may retain an event beyond the processing of the event,
+ * such as by keeping the event in aggregation state or handing the event to user code.
+ * <p>
+ * Only a fixed set of operators and built-in aggregation functions that keep values but not events qualifies as not retaining.
+ */
+public class ExprNodeEventRetainingVisitor implements ExprNodeVisitor
+{
+    private boolean retaining;
+
+    public boolean isVisit(ExprNode exprNode) {
+        return !retaining;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if (!isValueAggregation(exprNode) && !isValueOperator(exprNode)) {
+            retaining = true;
+        }
+    }
+
+    public boolean isRetaining() {
+        return retaining;
+    }
+
+    private static boolean isValueAggregation(ExprNode exprNode) {
+        return exprNode instanceof ExprSumNode ||
+               exprNode instanceof ExprCountNode ||
+               exprNode instanceof ExprAvgNode ||
+               exprNode instanceof ExprMinMaxAggrNode ||
+               exprNode instanceof ExprMedianNode ||
+               exprNode instanceof ExprStddevNode ||
+               exprNode instanceof ExprAvedevNode ||
+               exprNode instanceof ExprCountEverNode ||
+               exprNode instanceof ExprLeavingAggNode;
+    }
+
+    private static boolean isValueOperator(ExprNode exprNode) {
+        return exprNode instanceof ExprIdentNode ||
+               exprNode instanceof ExprConstantNode ||
+               exprNode instanceof ExprWildcard ||
+               exprNode instanceof ExprVariableNode ||
+               exprNode instanceof ExprMathNode ||
+               exprNode instanceof ExprConcatNode ||
+               exprNode instanceof ExprRelationalOpNode ||
+               exprNode instanceof ExprEqualsNode ||
+               exprNode instanceof ExprAndNode ||
+               exprNode instanceof ExprOrNode ||
+               exprNode instanceof ExprNotNode ||
+               exprNode instanceof ExprBitWiseNode ||
+               exprNode instanceof ExprBetweenNode ||
+               exprNode instanceof ExprInNode ||
+               exprNode instanceof ExprLikeNode ||
+               exprNode instanceof ExprRegexpNode ||
+               exprNode instanceof ExprCaseNode ||
+               exprNode instanceof ExprCastNode ||
+               exprNode instanceof ExprCoalesceNode ||
+               exprNode instanceof ExprInstanceofNode ||
+               exprNode instanceof ExprPropertyExistsNode ||
+               exprNode instanceof ExprMinMaxRowNode;
+    }
+}
@@ -0,0 +1,90 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.expression.visitor;
+
+import com.espertech.esper.epl.expression.accessagg.ExprAggMultiFunctionLinearAccessNode;
+import com.espertech.esper.epl.expression.baseagg.ExprAggregateNodeBase;
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.funcs.ExprCaseNode;
+import com.espertech.esper.epl.expression.funcs.ExprCastNode;
+import com.espertech.esper.epl.expression.funcs.ExprCoalesceNode;
+import com.espertech.esper.epl.expression.funcs.ExprMinMaxRowNode;
+import com.espertech.esper.epl.expression.methodagg.*;
+import com.espertech.esper.epl.expression.ops.*;
+
+/**
+ * Visitor that determines whether expressions evaluated for a group depend only on the events of the group
+ * and the aggregation state of the group, so that the result does not change unless events of the group arrive or leave.
+ * <p>
+ * Only a fixed set of operators and built-in aggregation functions qualifies. Among others, variables, subqueries,
+ * table access, previous and prior, user-defined functions, time-dependent aggregation functions and aggregation
+ * functions with a local group-by do not qualify.
+ */
+public class ExprNodeGroupStateOnlyVisitor implements ExprNodeVisitor
+{
+    private boolean groupStateOnly = true;
+
+    public boolean isVisit(ExprNode exprNode) {
+        return groupStateOnly;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if (exprNode instanceof ExprAggregateNodeBase) {
+            ExprAggregateNodeBase aggregateNode = (ExprAggregateNodeBase) exprNode;
+            if (aggregateNode.getOptionalLocalGroupBy() != null || !isGroupStateAggregation(exprNode)) {
+                groupStateOnly = false;
+            }
+            return;
+        }
+        if (!isGroupStateOperator(exprNode)) {
+            groupStateOnly = false;
+        }
+    }
+
+    public boolean isGroupStateOnly() {
+        return groupStateOnly;
+    }
+
+    private static boolean isGroupStateAggregation(ExprNode exprNode) {
+        return exprNode instanceof ExprSumNode ||
+               exprNode instanceof ExprCountNode ||
+               exprNode instanceof ExprAvgNode ||
+               exprNode instanceof ExprMinMaxAggrNode ||
+               exprNode instanceof ExprMedianNode ||
+               exprNode instanceof ExprStddevNode ||
+               exprNode instanceof ExprAvedevNode ||
+               exprNode instanceof ExprCountEverNode ||
+               exprNode instanceof ExprFirstEverNode ||
+               exprNode instanceof ExprLastEverNode ||
+               exprNode instanceof ExprLeavingAggNode ||
+               exprNode instanceof ExprNthAggNode ||
+               exprNode instanceof ExprAggMultiFunctionLinearAccessNode;
+    }
+
+    private static boolean isGroupStateOperator(ExprNode exprNode) {
+        return exprNode instanceof ExprIdentNode ||
+               exprNode instanceof ExprConstantNode ||
+               exprNode instanceof ExprStreamUnderlyingNode ||
+               exprNode instanceof ExprWildcard ||
+               exprNode instanceof ExprNamedParameterNode ||
+               exprNode instanceof ExprMathNode ||
+               exprNode instanceof ExprConcatNode ||
+               exprNode instanceof ExprRelationalOpNode ||
+               exprNode instanceof ExprEqualsNode ||
+               exprNode instanceof ExprAndNode ||
+               exprNode instanceof ExprOrNode ||
+               exprNode instanceof ExprNotNode ||
+               exprNode instanceof ExprBetweenNode ||
+               exprNode instanceof ExprInNode ||
+               exprNode instanceof ExprCaseNode ||
+               exprNode instanceof ExprCastNode ||
+               exprNode instanceof ExprCoalesceNode ||
+               exprNode instanceof ExprMinMaxRowNode;
+    }
+}
@@ -9,6 +9,7 @@
 package com.espertech.esper.epl.join.base;
 
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.core.service.StreamJoinAnalysisResult;
@@ -124,6 +125,13 @@ public class JoinSetComposerPrototypeFactory
                 historicalViewableDesc, historicalDependencyGraph, historicalStreamIndexLists,
                 streamJoinAnalysisResult, queryPlanLogging, statementContext.getAnnotations(), exprEvaluatorContext);
 
+        // for two-stream inner joins comparing computed keys use hash-join lookups instead of full table scans
+        if (streamTypes.length == 2 && !isOuterJoins && optionalFilterNode != null && hint == null &&
+                HintEnum.FORCE_NESTED_ITER.getHint(statementContext.getAnnotations()) == null &&
+                streamJoinAnalysisResult.getTablesPerStream()[0] == null && streamJoinAnalysisResult.getTablesPerStream()[1] == null) {
+            HashJoinQueryPlanBuilder.build(queryPlan, optionalFilterNode);
+        }
+
         // remove unused indexes - consider all streams or all unidirectional
         HashSet<TableLookupIndexReqKey> usedIndexes = new HashSet<TableLookupIndexReqKey>();
         QueryPlanIndex[] indexSpecs = queryPlan.getIndexSpecs();
@@ -179,7 +187,7 @@ public class JoinSetComposerPrototypeFactory
                                                 historicalStreamIndexLists,
                                                 joinRemoveStream,
                                                 isOuterJoins,
-                tableService, statementContext.getEventTableIndexService());
+                tableService, statementContext.getEventTableIndexService(), statementContext.getEngineImportService().isCodeGeneration());
     }
 
     private static JoinSetComposerPrototype makeComposerHistorical2Stream(OuterJoinDesc[] outerJoinDescList,
@@ -15,6 +15,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.StreamJoinAnalysisResult;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
@@ -64,6 +65,8 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
     private final boolean isOuterJoins;
     private final TableService tableService;
     private final EventTableIndexService eventTableIndexService;
+    private final ExprEvaluator postJoinFilterEvaluator;
+    private final ExprEvaluator postJoinFilterEvaluatorInclOnClause;
 
     public JoinSetComposerPrototypeImpl(String statementName,
                                         int statementId,
@@ -81,7 +84,8 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
                                         boolean joinRemoveStream,
                                         boolean isOuterJoins,
                                         TableService tableService,
-                                        EventTableIndexService eventTableIndexService) {
+                                        EventTableIndexService eventTableIndexService,
+                                        boolean codeGeneration) {
         this.statementName = statementName;
         this.statementId = statementId;
         this.outerJoinDescList = outerJoinDescList;
@@ -99,6 +103,11 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
         this.isOuterJoins = isOuterJoins;
         this.tableService = tableService;
         this.eventTableIndexService = eventTableIndexService;
+        this.postJoinFilterEvaluator = optionalFilterNode == null ? null : ExprNodeCompiler.compile(optionalFilterNode, codeGeneration);
+
+        // rewrite the filter expression for all-inner joins in case "on"-clause outer join syntax was used to include those expressions
+        ExprNode filterExpression = getFilterExpressionInclOnClause(optionalFilterNode, outerJoinDescList);
+        this.postJoinFilterEvaluatorInclOnClause = filterExpression == optionalFilterNode ? postJoinFilterEvaluator : ExprNodeCompiler.compile(filterExpression, codeGeneration);
     }
 
     public JoinSetComposerDesc create(Viewable[] streamViews, boolean isFireAndForget, AgentInstanceContext agentInstanceContext, boolean isRecoveringResilient) {
@@ -203,19 +212,13 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
                 }
             }
 
-            // rewrite the filter expression for all-inner joins in case "on"-clause outer join syntax was used to include those expressions
-            ExprNode filterExpression = getFilterExpressionInclOnClause(optionalFilterNode, outerJoinDescList);
-
-            ExprEvaluator postJoinEval = filterExpression == null ? null : filterExpression.getExprEvaluator();
-            joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+            joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluatorInclOnClause);
         }
         else
         {
-            ExprEvaluator postJoinEval = optionalFilterNode == null ? null : optionalFilterNode.getExprEvaluator();
-
             if (streamJoinAnalysisResult.isUnidirectionalAll()) {
                 JoinSetComposer composer = new JoinSetComposerAllUnidirectionalOuter(queryStrategies);
-                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluator);
             }
             else {
                 QueryStrategy driver;
@@ -231,7 +234,7 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
 
                 JoinSetComposer composer = new JoinSetComposerStreamToWinImpl(eventTableIndexService.allowInitIndex(isRecoveringResilient), indexesPerStream, streamJoinAnalysisResult.isPureSelfJoin(),
                         unidirectionalStream, driver, streamJoinAnalysisResult.getUnidirectionalNonDriving());
-                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluator);
             }
         }
 
@@ -0,0 +1,174 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.join.exec.base;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.join.rep.Cursor;
+import com.espertech.esper.epl.join.table.UnindexedEventTable;
+import com.espertech.esper.epl.lookup.LookupStrategyDesc;
+import com.espertech.esper.epl.lookup.LookupStrategyType;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.util.SimpleNumberCoercer;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookup on an unindexed table for joins that compare computed keys, which builds a temporary hash table
+ * of the table contents keyed by the indexed-side key expressions and probes it with the lookup-side key expressions.
+ * <p>
+ * The hash table is built when a second lookup arrives without a change to the table, such as for each event
+ * of a batch delivered by a batch data window, and reused until the table changes. A single lookup per table change
+ * returns the full table as nested iteration would, as building the hash table costs more than one scan.
+ * Tables with few events are always scanned. Matching events are still subject to the join filter.
+ */
+public class FullTableScanHashJoinLookupStrategy implements JoinExecTableLookupStrategy
+{
+    private static final int MIN_EVENTS_HASHED = 16;
+
+    private final UnindexedEventTable eventIndex;
+    private final int lookupStream;
+    private final int indexedStream;
+    private final int numStreams;
+    private final ExprEvaluator[] lookupEvaluators;
+    private final ExprEvaluator[] indexedEvaluators;
+    private final SimpleNumberCoercer[] lookupCoercers;
+    private final SimpleNumberCoercer[] indexedCoercers;
+    private final String[] indexedExpressionTexts;
+
+    private long scannedVersion = -1;
+    private long hashedVersion = -1;
+    private Map<Object, Set<EventBean>> hashTable;
+
+    /**
+     * Ctor.
+     * @param eventIndex table to use
+     * @param lookupStream stream providing the lookup event
+     * @param indexedStream stream of the table
+     * @param numStreams number of streams of the join
+     * @param lookupEvaluators key expressions evaluated against the lookup event
+     * @param indexedEvaluators key expressions evaluated against the table events
+     * @param lookupCoercers coercion of lookup keys, with null entries for no coercion
+     * @param indexedCoercers coercion of table keys, with null entries for no coercion
+     * @param indexedExpressionTexts key expression texts
+     */
+    public FullTableScanHashJoinLookupStrategy(UnindexedEventTable eventIndex, int lookupStream, int indexedStream, int numStreams,
+                                               ExprEvaluator[] lookupEvaluators, ExprEvaluator[] indexedEvaluators,
+                                               SimpleNumberCoercer[] lookupCoercers, SimpleNumberCoercer[] indexedCoercers,
+                                               String[] indexedExpressionTexts)
+    {
+        this.eventIndex = eventIndex;
+        this.lookupStream = lookupStream;
+        this.indexedStream = indexedStream;
+        this.numStreams = numStreams;
+        this.lookupEvaluators = lookupEvaluators;
+        this.indexedEvaluators = indexedEvaluators;
+        this.lookupCoercers = lookupCoercers;
+        this.indexedCoercers = indexedCoercers;
+        this.indexedExpressionTexts = indexedExpressionTexts;
+    }
+
+    public Set<EventBean> lookup(EventBean theEvent, Cursor cursor, ExprEvaluatorContext exprEvaluatorContext)
+    {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qIndexJoinLookup(this, eventIndex); }
+        Set<EventBean> result = lookupInternal(theEvent, exprEvaluatorContext);
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aIndexJoinLookup(result, null); }
+        return result;
+    }
+
+    private Set<EventBean> lookupInternal(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext)
+    {
+        Set<EventBean> events = eventIndex.getEventSet();
+        if (events.isEmpty()) {
+            hashTable = null;
+            return null;
+        }
+
+        long version = eventIndex.getVersion();
+        if (hashedVersion != version) {
+            hashTable = null;
+            if (scannedVersion != version || events.size() < MIN_EVENTS_HASHED) {
+                scannedVersion = version;
+                return events;
+            }
+            build(events, exprEvaluatorContext);
+            hashedVersion = version;
+        }
+
+        EventBean[] eventsPerStream = new EventBean[numStreams];
+        eventsPerStream[lookupStream] = theEvent;
+        Object key = getKey(lookupEvaluators, lookupCoercers, eventsPerStream, exprEvaluatorContext);
+        if (key == null) {
+            return null;
+        }
+        return hashTable.get(key);
+    }
+
+    private void build(Set<EventBean> events, ExprEvaluatorContext exprEvaluatorContext)
+    {
+        hashTable = new HashMap<Object, Set<EventBean>>();
+        EventBean[] eventsPerStream = new EventBean[numStreams];
+        for (EventBean theEvent : events) {
+            eventsPerStream[indexedStream] = theEvent;
+            Object key = getKey(indexedEvaluators, indexedCoercers, eventsPerStream, exprEvaluatorContext);
+            if (key == null) {
+                continue;
+            }
+            Set<EventBean> matching = hashTable.get(key);
+            if (matching == null) {
+                matching = new LinkedHashSet<EventBean>(4);
+                hashTable.put(key, matching);
+            }
+            matching.add(theEvent);
+        }
+    }
+
+    // Returns null if any key value is null as null never compares equal
+    private static Object getKey(ExprEvaluator[] evaluators, SimpleNumberCoercer[] coercers, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext)
+    {
+        if (evaluators.length == 1) {
+            return getKeyValue(evaluators[0], coercers[0], eventsPerStream, exprEvaluatorContext);
+        }
+        Object[] keys = new Object[evaluators.length];
+        for (int i = 0; i < evaluators.length; i++) {
+            keys[i] = getKeyValue(evaluators[i], coercers[i], eventsPerStream, exprEvaluatorContext);
+            if (keys[i] == null) {
+                return null;
+            }
+        }
+        return new MultiKeyUntyped(keys);
+    }
+
+    private static Object getKeyValue(ExprEvaluator evaluator, SimpleNumberCoercer coercer, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext)
+    {
+        Object value = evaluator.evaluate(eventsPerStream, true, exprEvaluatorContext);
+        if (value == null || coercer == null) {
+            return value;
+        }
+        return coercer.coerceBoxed((Number) value);
+    }
+
+    /**
+     * Returns the associated table.
+     * @return table for lookup.
+     */
+    public UnindexedEventTable getEventIndex()
+    {
+        return eventIndex;
+    }
+
+    public LookupStrategyDesc getStrategyDesc() {
+        return new LookupStrategyDesc(LookupStrategyType.FULLTABLESCAN, indexedExpressionTexts);
+    }
+}
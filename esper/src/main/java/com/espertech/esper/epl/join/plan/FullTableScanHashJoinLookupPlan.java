@@ -0,0 +1,86 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.join.plan;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.core.ExprNodeUtility;
+import com.espertech.esper.epl.join.exec.base.FullTableScanHashJoinLookupStrategy;
+import com.espertech.esper.epl.join.exec.base.JoinExecTableLookupStrategy;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.join.table.UnindexedEventTable;
+import com.espertech.esper.util.JavaClassHelper;
+import com.espertech.esper.util.SimpleNumberCoercer;
+import com.espertech.esper.util.SimpleNumberCoercerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Plan for a full table scan that, for joins comparing computed keys, looks up events using a temporary hash table
+ * built from the unindexed table.
+ */
+public class FullTableScanHashJoinLookupPlan extends FullTableScanLookupPlan
+{
+    private final ExprNode[] lookupKeyExpressions;
+    private final ExprNode[] indexedKeyExpressions;
+    private final Class[] coercionTypes;
+
+    /**
+     * Ctor.
+     * @param lookupStream - stream that generates event to look up for
+     * @param indexedStream - stream to full table scan
+     * @param indexNum - index number for the table containing the full unindexed contents
+     * @param lookupKeyExpressions - key expressions evaluated against the lookup event
+     * @param indexedKeyExpressions - key expressions evaluated against the indexed stream events
+     * @param coercionTypes - type to coerce keys to, with null entries for no coercion
+     */
+    public FullTableScanHashJoinLookupPlan(int lookupStream, int indexedStream, TableLookupIndexReqKey indexNum, ExprNode[] lookupKeyExpressions, ExprNode[] indexedKeyExpressions, Class[] coercionTypes)
+    {
+        super(lookupStream, indexedStream, indexNum);
+        this.lookupKeyExpressions = lookupKeyExpressions;
+        this.indexedKeyExpressions = indexedKeyExpressions;
+        this.coercionTypes = coercionTypes;
+    }
+
+    public JoinExecTableLookupStrategy makeStrategyInternal(EventTable[] eventTable, EventType[] eventTypes)
+    {
+        UnindexedEventTable index = (UnindexedEventTable) eventTable[0];
+        ExprEvaluator[] lookupEvaluators = ExprNodeUtility.getEvaluators(lookupKeyExpressions);
+        ExprEvaluator[] indexedEvaluators = ExprNodeUtility.getEvaluators(indexedKeyExpressions);
+        SimpleNumberCoercer[] lookupCoercers = new SimpleNumberCoercer[coercionTypes.length];
+        SimpleNumberCoercer[] indexedCoercers = new SimpleNumberCoercer[coercionTypes.length];
+        for (int i = 0; i < coercionTypes.length; i++) {
+            if (coercionTypes[i] != null) {
+                lookupCoercers[i] = SimpleNumberCoercerFactory.getCoercer(JavaClassHelper.getBoxedType(lookupEvaluators[i].getType()), coercionTypes[i]);
+                indexedCoercers[i] = SimpleNumberCoercerFactory.getCoercer(JavaClassHelper.getBoxedType(indexedEvaluators[i].getType()), coercionTypes[i]);
+            }
+        }
+        return new FullTableScanHashJoinLookupStrategy(index, getLookupStream(), getIndexedStream(), eventTypes.length,
+                lookupEvaluators, indexedEvaluators, lookupCoercers, indexedCoercers, ExprNodeUtility.toExpressionStringsMinPrecedence(indexedKeyExpressions));
+    }
+
+    public ExprNode[] getLookupKeyExpressions() {
+        return lookupKeyExpressions;
+    }
+
+    public ExprNode[] getIndexedKeyExpressions() {
+        return indexedKeyExpressions;
+    }
+
+    public String toString()
+    {
+        return "FullTableScanHashJoinLookupPlan" +
+                " lookupStream=" + getLookupStream() +
+                " indexedStream=" + getIndexedStream() +
+                " indexNum=" + Arrays.toString(getIndexNum()) +
+                " lookupKeys=" + ExprNodeUtility.toExpressionStringMinPrecedence(lookupKeyExpressions) +
+                " indexedKeys=" + ExprNodeUtility.toExpressionStringMinPrecedence(indexedKeyExpressions);
+    }
+}
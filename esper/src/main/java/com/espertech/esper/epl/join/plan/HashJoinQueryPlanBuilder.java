@@ -0,0 +1,174 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.join.plan;
+
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.funcs.ExprCastNode;
+import com.espertech.esper.epl.expression.funcs.ExprCoalesceNode;
+import com.espertech.esper.epl.expression.ops.ExprAndNode;
+import com.espertech.esper.epl.expression.ops.ExprConcatNode;
+import com.espertech.esper.epl.expression.ops.ExprEqualsNode;
+import com.espertech.esper.epl.expression.ops.ExprMathNode;
+import com.espertech.esper.epl.expression.visitor.ExprNodeStreamRequiredVisitor;
+import com.espertech.esper.epl.expression.visitor.ExprNodeSummaryVisitor;
+import com.espertech.esper.epl.expression.visitor.ExprNodeVisitor;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes the full table scan lookups of a two-stream inner join into hash-join lookups, for where-clause
+ * equalities between an expression of one stream and an expression of the other stream that the query graph
+ * cannot use for an index, such as when both sides are computed.
+ */
+public class HashJoinQueryPlanBuilder
+{
+    /**
+     * Replaces full table scan lookup plans that can use a hash join.
+     * @param queryPlan two-stream inner join plan
+     * @param filterNode where-clause
+     */
+    public static void build(QueryPlan queryPlan, ExprNode filterNode)
+    {
+        if (queryPlan.getExecNodeSpecs().length != 2) {
+            return;
+        }
+        List<ExprEqualsNode> equalsNodes = getEqualsNodes(filterNode);
+        if (equalsNodes.isEmpty()) {
+            return;
+        }
+
+        for (int streamNum = 0; streamNum < 2; streamNum++) {
+            QueryPlanNode node = queryPlan.getExecNodeSpecs()[streamNum];
+            if (!(node instanceof TableLookupNode)) {
+                continue;
+            }
+            TableLookupPlan plan = ((TableLookupNode) node).getTableLookupPlan();
+            if (plan.getClass() != FullTableScanLookupPlan.class) {
+                continue;
+            }
+            TableLookupPlan hashJoinPlan = getHashJoinPlan(plan, equalsNodes);
+            if (hashJoinPlan != null) {
+                queryPlan.getExecNodeSpecs()[streamNum] = new TableLookupNode(hashJoinPlan);
+            }
+        }
+    }
+
+    private static TableLookupPlan getHashJoinPlan(TableLookupPlan plan, List<ExprEqualsNode> equalsNodes)
+    {
+        int lookupStream = plan.getLookupStream();
+        int indexedStream = plan.getIndexedStream();
+        List<ExprNode> lookupKeys = new ArrayList<ExprNode>(2);
+        List<ExprNode> indexedKeys = new ArrayList<ExprNode>(2);
+        List<Class> coercionTypes = new ArrayList<Class>(2);
+
+        for (ExprEqualsNode equalsNode : equalsNodes) {
+            ExprNode left = equalsNode.getChildNodes()[0];
+            ExprNode right = equalsNode.getChildNodes()[1];
+            ExprNode lookupKey;
+            ExprNode indexedKey;
+            if (isStreamOnly(left, lookupStream) && isStreamOnly(right, indexedStream)) {
+                lookupKey = left;
+                indexedKey = right;
+            }
+            else if (isStreamOnly(right, lookupStream) && isStreamOnly(left, indexedStream)) {
+                lookupKey = right;
+                indexedKey = left;
+            }
+            else {
+                continue;
+            }
+
+            // the hash table is reused until the table changes, the indexed-side key must depend on the event only
+            if (!isEventOnly(indexedKey)) {
+                continue;
+            }
+
+            Class lookupType = JavaClassHelper.getBoxedType(lookupKey.getExprEvaluator().getType());
+            Class indexedType = JavaClassHelper.getBoxedType(indexedKey.getExprEvaluator().getType());
+            if (lookupType == null || indexedType == null || lookupType.isArray() || indexedType.isArray()) {
+                continue;
+            }
+            Class coercionType = null;
+            if (lookupType != indexedType) {
+                if (!JavaClassHelper.isNumeric(lookupType) || !JavaClassHelper.isNumeric(indexedType)) {
+                    continue;
+                }
+                coercionType = JavaClassHelper.getArithmaticCoercionType(lookupType, indexedType);
+            }
+            lookupKeys.add(lookupKey);
+            indexedKeys.add(indexedKey);
+            coercionTypes.add(coercionType);
+        }
+
+        if (lookupKeys.isEmpty()) {
+            return null;
+        }
+        return new FullTableScanHashJoinLookupPlan(lookupStream, indexedStream, plan.getIndexNum()[0],
+                ExprNodeUtility.toArray(lookupKeys), ExprNodeUtility.toArray(indexedKeys), coercionTypes.toArray(new Class[coercionTypes.size()]));
+    }
+
+    private static List<ExprEqualsNode> getEqualsNodes(ExprNode filterNode)
+    {
+        List<ExprNode> conjuncts;
+        if (filterNode instanceof ExprAndNode) {
+            conjuncts = new ArrayList<ExprNode>();
+            Collections.addAll(conjuncts, filterNode.getChildNodes());
+        }
+        else {
+            conjuncts = Collections.singletonList(filterNode);
+        }
+
+        List<ExprEqualsNode> equalsNodes = new ArrayList<ExprEqualsNode>(2);
+        for (ExprNode conjunct : conjuncts) {
+            if (!(conjunct instanceof ExprEqualsNode)) {
+                continue;
+            }
+            ExprEqualsNode equalsNode = (ExprEqualsNode) conjunct;
+            if (!equalsNode.isNotEquals() && !equalsNode.isIs()) {
+                equalsNodes.add(equalsNode);
+            }
+        }
+        return equalsNodes;
+    }
+
+    private static boolean isStreamOnly(ExprNode node, int streamNum)
+    {
+        ExprNodeSummaryVisitor summaryVisitor = new ExprNodeSummaryVisitor();
+        node.accept(summaryVisitor);
+        if (summaryVisitor.isHasSubselect() || summaryVisitor.isHasAggregation() || summaryVisitor.isHasPreviousPrior() || summaryVisitor.isHasStreamSelect()) {
+            return false;
+        }
+        ExprNodeStreamRequiredVisitor streamVisitor = new ExprNodeStreamRequiredVisitor();
+        node.accept(streamVisitor);
+        Set<Integer> streams = streamVisitor.getStreamsRequired();
+        return streams.size() == 1 && streams.contains(streamNum);
+    }
+
+    private static boolean isEventOnly(ExprNode node)
+    {
+        final boolean[] eventOnly = new boolean[] {true};
+        node.accept(new ExprNodeVisitor() {
+            public boolean isVisit(ExprNode exprNode) {
+                return eventOnly[0];
+            }
+
+            public void visit(ExprNode exprNode) {
+                if (!(exprNode instanceof ExprIdentNode || exprNode instanceof ExprConstantNode || exprNode instanceof ExprMathNode ||
+                        exprNode instanceof ExprConcatNode || exprNode instanceof ExprCoalesceNode || exprNode instanceof ExprCastNode)) {
+                    eventOnly[0] = false;
+                }
+            }
+        });
+        return eventOnly[0];
+    }
+}
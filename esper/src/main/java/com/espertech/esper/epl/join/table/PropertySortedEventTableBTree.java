@@ -0,0 +1,682 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.join.table;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.collection.SuperIterator;
+import com.espertech.esper.epl.join.exec.base.RangeIndexLookupValue;
+import com.espertech.esper.epl.join.exec.base.RangeIndexLookupValueEquals;
+import com.espertech.esper.epl.join.exec.base.RangeIndexLookupValueRange;
+import com.espertech.esper.epl.join.plan.QueryGraphRangeEnum;
+import com.espertech.esper.filter.Range;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.*;
+
+/**
+ * Index that organizes events by a numeric event property value into a B+tree with primitive long keys,
+ * for use instead of the TreeMap-based {@link PropertySortedEventTableImpl} when the key type is numeric.
+ * <p>
+ * Integral key values are kept as their long value and floating-point key values as an order-preserving
+ * encoding of their double value, so that key comparisons neither unbox nor call compareTo.
+ * Leaves keep keys in sorted arrays and are linked for range scans. A key holds the single event
+ * for the key value and only allocates a set when multiple events share the key value.
+ * <p>
+ * Removal takes out leaves and branches that become empty but does not otherwise rebalance the tree.
+ */
+public class PropertySortedEventTableBTree extends PropertySortedEventTable
+{
+    private static final int NODE_CAPACITY = 64;
+
+    private final boolean isFloatingPoint;
+    private final boolean isCoerced;
+    private final HashSet<EventBean> nullKeyedValues;
+    private Node root;
+    private Leaf firstLeaf;
+    private int numKeys;
+
+    /**
+     * Ctor.
+     * @param propertyGetter getter for the key value
+     * @param organization organization
+     * @param keyType boxed key type, or boxed coercion type if coerced
+     * @param isCoerced true if key values are coerced to the key type
+     */
+    public PropertySortedEventTableBTree(EventPropertyGetter propertyGetter, EventTableOrganization organization, Class keyType, boolean isCoerced)
+    {
+        super(propertyGetter, organization);
+        this.isFloatingPoint = JavaClassHelper.isFloatingPointClass(keyType);
+        this.isCoerced = isCoerced;
+        this.nullKeyedValues = new LinkedHashSet<EventBean>();
+        clear();
+    }
+
+    /**
+     * Returns indicator whether the key type can be kept as primitive long keys.
+     * @param keyType boxed key type
+     * @return indicator
+     */
+    public static boolean isApplicable(Class keyType)
+    {
+        return keyType == Long.class || keyType == Integer.class || keyType == Short.class || keyType == Byte.class ||
+               keyType == Double.class || keyType == Float.class;
+    }
+
+    public Set<EventBean> lookupRange(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        Collection<EventBean> result = lookupRange(keyStart, includeStart, keyEnd, includeEnd, allowRangeReversal, true);
+        return result == Collections.EMPTY_SET ? Collections.<EventBean>emptySet() : (Set<EventBean>) result;
+    }
+
+    public Collection<EventBean> lookupRangeColl(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptyList();
+        }
+        Collection<EventBean> result = lookupRange(keyStart, includeStart, keyEnd, includeEnd, allowRangeReversal, false);
+        return result == Collections.EMPTY_SET ? Collections.<EventBean>emptyList() : result;
+    }
+
+    public Set<EventBean> lookupRangeInverted(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) lookupRangeInverted(keyStart, includeStart, keyEnd, includeEnd, true);
+    }
+
+    public Collection<EventBean> lookupRangeInvertedColl(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd) {
+        if (keyStart == null || keyEnd == null) {
+            return Collections.emptySet();
+        }
+        return lookupRangeInverted(keyStart, includeStart, keyEnd, includeEnd, false);
+    }
+
+    public Set<EventBean> lookupLess(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scanTo(toKey(keyStart), false, new Collector(true)).getResult();
+    }
+
+    public Collection<EventBean> lookupLessThenColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scanTo(toKey(keyStart), false, new Collector(false)).getResult();
+    }
+
+    public Set<EventBean> lookupLessEqual(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scanTo(toKey(keyStart), true, new Collector(true)).getResult();
+    }
+
+    public Collection<EventBean> lookupLessEqualColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scanTo(toKey(keyStart), true, new Collector(false)).getResult();
+    }
+
+    public Set<EventBean> lookupGreaterEqual(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scanFrom(toKey(keyStart), true, new Collector(true)).getResult();
+    }
+
+    public Collection<EventBean> lookupGreaterEqualColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scanFrom(toKey(keyStart), true, new Collector(false)).getResult();
+    }
+
+    public Set<EventBean> lookupGreater(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptySet();
+        }
+        return (Set<EventBean>) scanFrom(toKey(keyStart), false, new Collector(true)).getResult();
+    }
+
+    public Collection<EventBean> lookupGreaterColl(Object keyStart) {
+        if (keyStart == null) {
+            return Collections.emptyList();
+        }
+        return scanFrom(toKey(keyStart), false, new Collector(false)).getResult();
+    }
+
+    public Set<EventBean> lookupConstants(RangeIndexLookupValue lookupValueBase) {
+
+        if (lookupValueBase instanceof RangeIndexLookupValueEquals) {
+            Object value = ((RangeIndexLookupValueEquals) lookupValueBase).getValue();
+            if (value == null) {
+                return null;
+            }
+            long key = toKey(value);
+            Leaf leaf = findLeaf(key);
+            int index = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+            return index < 0 ? null : asSet(leaf.values[index]);
+        }
+
+        RangeIndexLookupValueRange lookupValue = (RangeIndexLookupValueRange) lookupValueBase;
+        if (lookupValue.getOperator() == QueryGraphRangeEnum.RANGE_CLOSED) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRange(range.getLowEndpoint(), true, range.getHighEndpoint(), true, lookupValue.isAllowRangeReverse());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.RANGE_HALF_OPEN) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRange(range.getLowEndpoint(), true, range.getHighEndpoint(), false, lookupValue.isAllowRangeReverse());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.RANGE_HALF_CLOSED) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRange(range.getLowEndpoint(), false, range.getHighEndpoint(), true, lookupValue.isAllowRangeReverse());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.RANGE_OPEN) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRange(range.getLowEndpoint(), false, range.getHighEndpoint(), false, lookupValue.isAllowRangeReverse());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.NOT_RANGE_CLOSED) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRangeInverted(range.getLowEndpoint(), true, range.getHighEndpoint(), true);
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.NOT_RANGE_HALF_OPEN) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRangeInverted(range.getLowEndpoint(), true, range.getHighEndpoint(), false);
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.NOT_RANGE_HALF_CLOSED) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRangeInverted(range.getLowEndpoint(), false, range.getHighEndpoint(), true);
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.NOT_RANGE_OPEN) {
+            Range range = (Range) lookupValue.getValue();
+            return lookupRangeInverted(range.getLowEndpoint(), false, range.getHighEndpoint(), false);
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.GREATER) {
+            return lookupGreater(lookupValue.getValue());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.GREATER_OR_EQUAL) {
+            return lookupGreaterEqual(lookupValue.getValue());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.LESS) {
+            return lookupLess(lookupValue.getValue());
+        }
+        else if (lookupValue.getOperator() == QueryGraphRangeEnum.LESS_OR_EQUAL) {
+            return lookupLessEqual(lookupValue.getValue());
+        }
+        else {
+            throw new IllegalArgumentException("Unrecognized operator '" + lookupValue.getOperator() + "'");
+        }
+    }
+
+    public void add(EventBean theEvent)
+    {
+        Object value = getIndexedValue(theEvent);
+        if (value == null) {
+            nullKeyedValues.add(theEvent);
+            return;
+        }
+
+        long key = toKey(value);
+        Leaf leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (index >= 0) {
+            Object existing = leaf.values[index];
+            if (existing instanceof EventBean) {
+                if (existing.equals(theEvent)) {
+                    return;
+                }
+                Set<EventBean> events = new LinkedHashSet<EventBean>();
+                events.add((EventBean) existing);
+                events.add(theEvent);
+                leaf.values[index] = events;
+            }
+            else {
+                ((Set<EventBean>) existing).add(theEvent);
+            }
+            return;
+        }
+
+        int position = -(index + 1);
+        if (leaf.size == NODE_CAPACITY) {
+            Leaf right = splitLeaf(leaf);
+            if (position > leaf.size) {
+                position -= leaf.size;
+                leaf = right;
+            }
+        }
+        System.arraycopy(leaf.keys, position, leaf.keys, position + 1, leaf.size - position);
+        System.arraycopy(leaf.values, position, leaf.values, position + 1, leaf.size - position);
+        leaf.keys[position] = key;
+        leaf.values[position] = theEvent;
+        leaf.size++;
+        numKeys++;
+    }
+
+    public void remove(EventBean theEvent)
+    {
+        Object value = getIndexedValue(theEvent);
+        if (value == null) {
+            nullKeyedValues.remove(theEvent);
+            return;
+        }
+
+        long key = toKey(value);
+        Leaf leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (index < 0) {
+            return;
+        }
+
+        // Not an error if not found, its possible that an old-data event is artificial (such as for statistics) and
+        // thus did not correspond to a new-data event raised earlier.
+        Object existing = leaf.values[index];
+        if (existing instanceof EventBean) {
+            if (!existing.equals(theEvent)) {
+                return;
+            }
+        }
+        else {
+            Set<EventBean> events = (Set<EventBean>) existing;
+            if (!events.remove(theEvent) || !events.isEmpty()) {
+                return;
+            }
+        }
+
+        System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.size - index - 1);
+        System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.size - index - 1);
+        leaf.size--;
+        leaf.values[leaf.size] = null;
+        numKeys--;
+
+        if (leaf.size == 0 && leaf != root) {
+            removeEmpty(leaf);
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        return numKeys == 0;
+    }
+
+    public Iterator<EventBean> iterator()
+    {
+        if (nullKeyedValues.isEmpty()) {
+            return new BTreeIterator(firstLeaf);
+        }
+        return new SuperIterator<EventBean>(new BTreeIterator(firstLeaf), nullKeyedValues.iterator());
+    }
+
+    public void clear()
+    {
+        Leaf leaf = new Leaf();
+        root = leaf;
+        firstLeaf = leaf;
+        numKeys = 0;
+        nullKeyedValues.clear();
+    }
+
+    public void destroy() {
+        clear();
+    }
+
+    public int getNumKeys() {
+        return numKeys;
+    }
+
+    public Object getIndex() {
+        return this;
+    }
+
+    public Class getProviderClass() {
+        return isCoerced ? PropertySortedEventTableCoerced.class : PropertySortedEventTable.class;
+    }
+
+    private Collection<EventBean> lookupRange(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal, boolean asSet) {
+        long start = toKey(keyStart);
+        long end = toKey(keyEnd);
+        if (start > end) {
+            if (!allowRangeReversal) {
+                return Collections.EMPTY_SET;
+            }
+            long temp = start;
+            start = end;
+            end = temp;
+        }
+        Collector collector = new Collector(asSet);
+        scan(findLeaf(start), start, includeStart, true, end, includeEnd, collector);
+        return collector.getResult();
+    }
+
+    private Collection<EventBean> lookupRangeInverted(Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean asSet) {
+        Collector collector = new Collector(asSet);
+        scanTo(toKey(keyStart), !includeStart, collector);
+        scanFrom(toKey(keyEnd), !includeEnd, collector);
+        return collector.getResult();
+    }
+
+    private Collector scanTo(long end, boolean includeEnd, Collector collector) {
+        Leaf leaf = firstLeaf;
+        for (; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                long key = leaf.keys[i];
+                if (key > end || (key == end && !includeEnd)) {
+                    return collector;
+                }
+                collector.add(leaf.values[i]);
+            }
+        }
+        return collector;
+    }
+
+    private Collector scanFrom(long start, boolean includeStart, Collector collector) {
+        scan(findLeaf(start), start, includeStart, false, 0, false, collector);
+        return collector;
+    }
+
+    private static void scan(Leaf leaf, long start, boolean includeStart, boolean hasEnd, long end, boolean includeEnd, Collector collector) {
+        int index = includeStart ? lowerBound(leaf.keys, leaf.size, start) : upperBound(leaf.keys, leaf.size, start);
+        for (; leaf != null; leaf = leaf.next, index = 0) {
+            for (; index < leaf.size; index++) {
+                long key = leaf.keys[index];
+                if (hasEnd && (key > end || (key == end && !includeEnd))) {
+                    return;
+                }
+                collector.add(leaf.values[index]);
+            }
+        }
+    }
+
+    private long toKey(Object value) {
+        Number number = (Number) value;
+        if (!isFloatingPoint) {
+            return number.longValue();
+        }
+        // flip all but the sign bit of negative values so that long comparison follows Double.compareTo
+        long bits = Double.doubleToLongBits(number.doubleValue());
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private Leaf findLeaf(long key) {
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            node = branch.children[upperBound(branch.keys, branch.size, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        int half = leaf.size >> 1;
+        Leaf right = new Leaf();
+        right.size = leaf.size - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.size);
+        System.arraycopy(leaf.values, half, right.values, 0, right.size);
+        Arrays.fill(leaf.values, half, leaf.size, null);
+        leaf.size = half;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+
+        insertIntoParent(leaf, right.keys[0], right);
+        return right;
+    }
+
+    private void insertIntoParent(Node left, long separator, Node right) {
+        Branch parent = left.parent;
+        if (parent == null) {
+            Branch branch = new Branch();
+            branch.keys[0] = separator;
+            branch.children[0] = left;
+            branch.children[1] = right;
+            branch.size = 1;
+            left.parent = branch;
+            right.parent = branch;
+            root = branch;
+            return;
+        }
+
+        // branches hold one key more than the capacity until split
+        int index = indexOfChild(parent, left);
+        System.arraycopy(parent.keys, index, parent.keys, index + 1, parent.size - index);
+        System.arraycopy(parent.children, index + 1, parent.children, index + 2, parent.size - index);
+        parent.keys[index] = separator;
+        parent.children[index + 1] = right;
+        parent.size++;
+        right.parent = parent;
+
+        if (parent.size > NODE_CAPACITY) {
+            int half = parent.size >> 1;
+            Branch sibling = new Branch();
+            sibling.size = parent.size - half - 1;
+            System.arraycopy(parent.keys, half + 1, sibling.keys, 0, sibling.size);
+            System.arraycopy(parent.children, half + 1, sibling.children, 0, sibling.size + 1);
+            Arrays.fill(parent.children, half + 1, parent.size + 1, null);
+            for (int i = 0; i <= sibling.size; i++) {
+                sibling.children[i].parent = sibling;
+            }
+            long separatorUp = parent.keys[half];
+            parent.size = half;
+            insertIntoParent(parent, separatorUp, sibling);
+        }
+    }
+
+    private void removeEmpty(Node node) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            if (leaf.prev == null) {
+                firstLeaf = leaf.next;
+            }
+            else {
+                leaf.prev.next = leaf.next;
+            }
+            if (leaf.next != null) {
+                leaf.next.prev = leaf.prev;
+            }
+        }
+
+        // a branch that loses its only child is removed as well, the root branch always has a key and at least two children
+        Branch parent = node.parent;
+        if (parent.size == 0) {
+            removeEmpty(parent);
+            return;
+        }
+        int index = indexOfChild(parent, node);
+        int keyIndex = index == 0 ? 0 : index - 1;
+        System.arraycopy(parent.keys, keyIndex + 1, parent.keys, keyIndex, parent.size - keyIndex - 1);
+        System.arraycopy(parent.children, index + 1, parent.children, index, parent.size - index);
+        parent.children[parent.size] = null;
+        parent.size--;
+
+        while (root instanceof Branch && ((Branch) root).size == 0) {
+            root = ((Branch) root).children[0];
+            root.parent = null;
+        }
+    }
+
+    private static int indexOfChild(Branch parent, Node child) {
+        for (int i = 0; i <= parent.size; i++) {
+            if (parent.children[i] == child) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Child node not found in parent");
+    }
+
+    // first index of a key greater than or equal to the key
+    private static int lowerBound(long[] keys, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // first index of a key greater than the key
+    private static int upperBound(long[] keys, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Set<EventBean> asSet(Object value) {
+        if (value instanceof EventBean) {
+            return Collections.singleton((EventBean) value);
+        }
+        return (Set<EventBean>) value;
+    }
+
+    private abstract static class Node
+    {
+        protected final long[] keys;
+        protected int size;
+        protected Branch parent;
+
+        protected Node(int capacity) {
+            this.keys = new long[capacity];
+        }
+    }
+
+    private final static class Leaf extends Node
+    {
+        private final Object[] values = new Object[NODE_CAPACITY];
+        private Leaf prev;
+        private Leaf next;
+
+        private Leaf() {
+            super(NODE_CAPACITY);
+        }
+    }
+
+    private final static class Branch extends Node
+    {
+        private final Node[] children = new Node[NODE_CAPACITY + 2];
+
+        private Branch() {
+            super(NODE_CAPACITY + 1);
+        }
+    }
+
+    // Collects the events of matching keys, returning the events of a single key without copying them
+    private static class Collector
+    {
+        private final boolean asSet;
+        private Object first;
+        private Collection<EventBean> result;
+
+        private Collector(boolean asSet) {
+            this.asSet = asSet;
+        }
+
+        private void add(Object value) {
+            if (first == null) {
+                first = value;
+                return;
+            }
+            if (result == null) {
+                result = asSet ? new LinkedHashSet<EventBean>() : new ArrayDeque<EventBean>();
+                addTo(first);
+            }
+            addTo(value);
+        }
+
+        private void addTo(Object value) {
+            if (value instanceof EventBean) {
+                result.add((EventBean) value);
+            }
+            else {
+                result.addAll((Set<EventBean>) value);
+            }
+        }
+
+        private Collection<EventBean> getResult() {
+            if (result != null) {
+                return result;
+            }
+            return first == null ? null : asSet(first);
+        }
+    }
+
+    private static class BTreeIterator implements Iterator<EventBean>
+    {
+        private Leaf leaf;
+        private int index;
+        private Iterator<EventBean> events;
+        private EventBean next;
+
+        private BTreeIterator(Leaf leaf) {
+            this.leaf = leaf;
+            advance();
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public EventBean next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            EventBean result = next;
+            advance();
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance() {
+            if (events != null && events.hasNext()) {
+                next = events.next();
+                return;
+            }
+            events = null;
+            while (leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf == null) {
+                next = null;
+                return;
+            }
+            Object value = leaf.values[index++];
+            if (value instanceof EventBean) {
+                next = (EventBean) value;
+            }
+            else {
+                events = ((Set<EventBean>) value).iterator();
+                next = events.next();
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@
 package com.espertech.esper.epl.join.table;
 
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.util.JavaClassHelper;
 
 public class PropertySortedEventTableCoercedFactory extends PropertySortedEventTableFactory
 {
@@ -30,6 +31,10 @@ public class PropertySortedEventTableCoercedFactory extends PropertySortedEventT
     @Override
     public EventTable[] makeEventTables(EventTableFactoryTableIdent tableIdent) {
         EventTableOrganization organization = getOrganization();
+        Class boxedCoercionType = JavaClassHelper.getBoxedType(coercionType);
+        if (PropertySortedEventTableBTree.isApplicable(boxedCoercionType)) {
+            return new EventTable[] {new PropertySortedEventTableBTree(propertyGetter, organization, boxedCoercionType, true)};
+        }
         return new EventTable[] {new PropertySortedEventTableCoerced(propertyGetter, organization, coercionType)};
     }
 
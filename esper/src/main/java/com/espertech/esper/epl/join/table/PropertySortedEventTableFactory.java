@@ -11,6 +11,7 @@ package com.espertech.esper.epl.join.table;
 import com.espertech.esper.client.EventPropertyGetter;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.event.EventBeanUtility;
+import com.espertech.esper.util.JavaClassHelper;
 
 /**
  * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
@@ -26,6 +27,11 @@ public class PropertySortedEventTableFactory implements EventTableFactory
      */
     protected final EventPropertyGetter propertyGetter;
 
+    /**
+     * Boxed property type.
+     */
+    protected final Class propertyType;
+
     /**
      * Ctor.
      * @param streamNum - the stream number that is indexed
@@ -37,10 +43,14 @@ public class PropertySortedEventTableFactory implements EventTableFactory
         this.streamNum = streamNum;
         this.propertyName = propertyName;
         propertyGetter = EventBeanUtility.getAssertPropertyGetter(eventType, propertyName);
+        propertyType = JavaClassHelper.getBoxedType(eventType.getPropertyType(propertyName));
     }
 
     public EventTable[] makeEventTables(EventTableFactoryTableIdent tableIdent) {
         EventTableOrganization organization = getOrganization();
+        if (PropertySortedEventTableBTree.isApplicable(propertyType)) {
+            return new EventTable[] {new PropertySortedEventTableBTree(propertyGetter, organization, propertyType, false)};
+        }
         return new EventTable[] {new PropertySortedEventTableImpl(propertyGetter, organization)};
     }
 
@@ -21,6 +21,13 @@ public abstract class UnindexedEventTable implements EventTable
 
     public abstract Set<EventBean> getEventSet();
 
+    /**
+     * Returns a number that changes whenever events are added or removed, for use by lookup strategies that cache
+     * information derived from the table contents.
+     * @return version
+     */
+    public abstract long getVersion();
+
     /**
      * Ctor.
      * @param streamNum is the indexed stream's number
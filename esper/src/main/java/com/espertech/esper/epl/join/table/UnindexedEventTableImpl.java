@@ -22,6 +22,7 @@ import java.util.Set;
 public class UnindexedEventTableImpl extends UnindexedEventTable
 {
     private Set<EventBean> eventSet = new LinkedHashSet<EventBean>();
+    private long version;
 
     /**
      * Ctor.
@@ -34,6 +35,7 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
 
     public void clear()
     {
+        version++;
         eventSet.clear();
     }
 
@@ -43,6 +45,7 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
 
     public void addRemove(EventBean[] newData, EventBean[] oldData) {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qIndexAddRemove(this, newData, oldData);}
+        version++;
         if (newData != null) {
             Collections.addAll(eventSet, newData);
         }
@@ -57,6 +60,7 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
     public void add(EventBean[] events)
     {
         if (events != null) {
+            version++;
 
             if (InstrumentationHelper.ENABLED && events.length > 0) {
                 InstrumentationHelper.get().qIndexAdd(this, events);
@@ -72,6 +76,7 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
     public void remove(EventBean[] events)
     {
         if (events != null) {
+            version++;
 
             if (InstrumentationHelper.ENABLED && events.length > 0) {
                 InstrumentationHelper.get().qIndexRemove(this, events);
@@ -89,10 +94,12 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
     }
 
     public void add(EventBean event) {
+        version++;
         eventSet.add(event);
     }
 
     public void remove(EventBean event) {
+        version++;
         eventSet.remove(event);
     }
 
@@ -110,6 +117,10 @@ public class UnindexedEventTableImpl extends UnindexedEventTable
         return eventSet;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Iterator<EventBean> iterator()
     {
         return eventSet.iterator();
@@ -17,14 +17,16 @@ public abstract class NamedWindowConsumerLatch
 {
     private final NamedWindowDeltaData deltaData;
     private final Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo;
+    private final boolean parallel;
 
     public abstract void await();
     public abstract Thread getCurrentThread();
     public abstract void done();
 
-    public NamedWindowConsumerLatch(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
+    public NamedWindowConsumerLatch(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, boolean parallel) {
         this.deltaData = deltaData;
         this.dispatchTo = dispatchTo;
+        this.parallel = parallel;
     }
 
     public NamedWindowDeltaData getDeltaData() {
@@ -34,4 +36,12 @@ public abstract class NamedWindowConsumerLatch
     public Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> getDispatchTo() {
         return dispatchTo;
     }
+
+    /**
+     * Returns indicator whether the consuming statements may receive the delta in parallel, each by the thread it is assigned to.
+     * @return parallel indicator
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
 }
@@ -25,6 +25,7 @@ public class NamedWindowConsumerLatchFactory
     protected final TimeSourceService timeSourceService;
     protected final long msecWait;
     protected final boolean enabled;
+    protected final boolean parallel;
 
     private NamedWindowConsumerLatchSpin currentLatchSpin;
     private NamedWindowConsumerLatchWait currentLatchWait;
@@ -37,14 +38,16 @@ public class NamedWindowConsumerLatchFactory
      * @param timeSourceService time source provider
      * @param initializeNow for initializing
      * @param enabled for active indicator
+     * @param parallel true to deliver to consuming statements in parallel using the named window consumer thread pool
      */
     public NamedWindowConsumerLatchFactory(String name, boolean enabled, long msecWait, ConfigurationEngineDefaults.Threading.Locking locking,
-                                           TimeSourceService timeSourceService, boolean initializeNow)
+                                           TimeSourceService timeSourceService, boolean initializeNow, boolean parallel)
     {
         this.name = name;
         this.enabled = enabled;
         this.msecWait = msecWait;
         this.timeSourceService = timeSourceService;
+        this.parallel = parallel;
 
         useSpin = enabled && (locking == ConfigurationEngineDefaults.Threading.Locking.SPIN);
 
@@ -68,18 +71,18 @@ public class NamedWindowConsumerLatchFactory
     public NamedWindowConsumerLatch newLatch(NamedWindowDeltaData delta, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumers)
     {
         if (useSpin) {
-            NamedWindowConsumerLatchSpin nextLatch = new NamedWindowConsumerLatchSpin(delta, consumers, this, currentLatchSpin);
+            NamedWindowConsumerLatchSpin nextLatch = new NamedWindowConsumerLatchSpin(delta, consumers, this, currentLatchSpin, parallel);
             currentLatchSpin = nextLatch;
             return nextLatch;
         }
         else {
             if (enabled) {
-                NamedWindowConsumerLatchWait nextLatch = new NamedWindowConsumerLatchWait(delta, consumers, this, currentLatchWait);
+                NamedWindowConsumerLatchWait nextLatch = new NamedWindowConsumerLatchWait(delta, consumers, this, currentLatchWait, parallel);
                 currentLatchWait.setLater(nextLatch);
                 currentLatchWait = nextLatch;
                 return nextLatch;
             }
-            return new NamedWindowConsumerLatchNone(delta, consumers);
+            return new NamedWindowConsumerLatchNone(delta, consumers, parallel);
         }
     }
 
@@ -19,8 +19,8 @@ import java.util.Map;
  */
 public class NamedWindowConsumerLatchNone extends NamedWindowConsumerLatch
 {
-    public NamedWindowConsumerLatchNone(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
-        super(deltaData, dispatchTo);
+    public NamedWindowConsumerLatchNone(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, boolean parallel) {
+        super(deltaData, dispatchTo, parallel);
     }
 
     public void await() {
@@ -30,16 +30,16 @@ public class NamedWindowConsumerLatchSpin extends NamedWindowConsumerLatch
 
     private volatile boolean isCompleted;
 
-    public NamedWindowConsumerLatchSpin(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchSpin earlier)
+    public NamedWindowConsumerLatchSpin(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchSpin earlier, boolean parallel)
     {
-        super(deltaData, dispatchTo);
+        super(deltaData, dispatchTo, parallel);
         this.factory = factory;
         this.earlier = earlier;
     }
 
     public NamedWindowConsumerLatchSpin(NamedWindowConsumerLatchFactory factory)
     {
-        super(null, null);
+        super(null, null, false);
         this.factory = factory;
         isCompleted = true;
         earlier = null;
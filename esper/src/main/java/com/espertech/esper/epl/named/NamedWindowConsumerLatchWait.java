@@ -32,16 +32,16 @@ public class NamedWindowConsumerLatchWait extends NamedWindowConsumerLatch
     private volatile boolean isCompleted;
     private Thread currentThread;
 
-    public NamedWindowConsumerLatchWait(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchWait earlier)
+    public NamedWindowConsumerLatchWait(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo, NamedWindowConsumerLatchFactory factory, NamedWindowConsumerLatchWait earlier, boolean parallel)
     {
-        super(deltaData, dispatchTo);
+        super(deltaData, dispatchTo, parallel);
         this.factory = factory;
         this.earlier = earlier;
     }
 
     public NamedWindowConsumerLatchWait(NamedWindowConsumerLatchFactory factory)
     {
-        super(null, null);
+        super(null, null, false);
         this.factory = factory;
         isCompleted = true;
         earlier = null;
@@ -17,6 +17,7 @@ import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.core.service.ExceptionHandlingService;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.core.service.StatementResultService;
+import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.epl.metric.MetricReportingPath;
 import com.espertech.esper.epl.metric.MetricReportingService;
 import com.espertech.esper.epl.table.mgmt.TableService;
@@ -43,6 +44,7 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     private final boolean isPrioritized;
     private final ManagedReadWriteLock eventProcessingRWLock;
     private final MetricReportingService metricReportingService;
+    private final ThreadingService threadingService;
 
     private ThreadLocal<List<NamedWindowConsumerLatch>> threadLocal = new ThreadLocal<List<NamedWindowConsumerLatch>>()
     {
@@ -66,7 +68,8 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                                           boolean isPrioritized,
                                           ManagedReadWriteLock eventProcessingRWLock,
                                           ExceptionHandlingService exceptionHandlingService,
-                                          MetricReportingService metricReportingService)
+                                          MetricReportingService metricReportingService,
+                                          ThreadingService threadingService)
     {
         this.schedulingService = schedulingService;
         this.variableService = variableService;
@@ -75,14 +78,15 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         this.eventProcessingRWLock = eventProcessingRWLock;
         this.exceptionHandlingService = exceptionHandlingService;
         this.metricReportingService = metricReportingService;
+        this.threadingService = threadingService;
     }
 
     public NamedWindowProcessor createProcessor(String name, NamedWindowMgmtServiceImpl namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, String contextName, EventType eventType, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, String eplExpression, String statementName, boolean isPrioritized, boolean isEnableSubqueryIndexShare, boolean enableQueryPlanLog, MetricReportingService metricReportingService, boolean isBatchingDataWindow, boolean isVirtualDataWindow, Set<String> optionalUniqueKeyProps, String eventTypeAsName, StatementContext statementContextCreateWindow) {
         return new NamedWindowProcessor(name, namedWindowMgmtService, namedWindowDispatchService, contextName, eventType, statementResultService, revisionProcessor, eplExpression, statementName, isPrioritized, isEnableSubqueryIndexShare, enableQueryPlanLog, metricReportingService, isBatchingDataWindow, isVirtualDataWindow, optionalUniqueKeyProps, eventTypeAsName, statementContextCreateWindow);
     }
 
-    public NamedWindowTailView createTailView(EventType eventType, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, boolean prioritized, boolean parentBatchWindow, String contextName, TimeSourceService timeSourceService, ConfigurationEngineDefaults.Threading threadingConfig) {
-        return new NamedWindowTailView(eventType, namedWindowMgmtService, namedWindowDispatchService, statementResultService, revisionProcessor, isPrioritized, parentBatchWindow, timeSourceService, threadingConfig);
+    public NamedWindowTailView createTailView(EventType eventType, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, boolean prioritized, boolean parentBatchWindow, String contextName, TimeSourceService timeSourceService, ConfigurationEngineDefaults.Threading threadingConfig, boolean parallelConsumerDispatch) {
+        return new NamedWindowTailView(eventType, namedWindowMgmtService, namedWindowDispatchService, statementResultService, revisionProcessor, isPrioritized, parentBatchWindow, timeSourceService, threadingConfig, parallelConsumerDispatch);
     }
 
     public void destroy()
@@ -132,6 +136,11 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
 
     private void processDispatches(NamedWindowConsumerLatch[] dispatches) {
 
+        if (!isPrioritized && isParallel(dispatches)) {
+            processDispatchesParallel(dispatches);
+            return;
+        }
+
         if (dispatches.length == 1)
         {
             NamedWindowConsumerLatch latch = dispatches[0];
@@ -315,6 +324,124 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         dispatchesPerStmt.clear();
     }
 
+    private void processDispatchesParallel(NamedWindowConsumerLatch[] dispatches) {
+
+        // Each consuming statement receives its delta by the thread it is assigned to, therefore statements process
+        // in parallel while each statement receives deltas in the order that the named window produced them.
+        // The delta is handed off after the earlier latch completes, and the latch completes after hand-off.
+        if (dispatches.length == 1)
+        {
+            NamedWindowConsumerLatch latch = dispatches[0];
+            try {
+                latch.await();
+                final EventBean[] newData = latch.getDeltaData().getNewData();
+                final EventBean[] oldData = latch.getDeltaData().getOldData();
+                for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                    final EPStatementAgentInstanceHandle handle = entry.getKey();
+                    final List<NamedWindowConsumerView> views = entry.getValue();
+                    threadingService.submitNamedWindowConsumer(handle, new Runnable() {
+                        public void run() {
+                            processHandleLocked(handle, views, newData, oldData, null);
+                        }
+                    });
+                }
+            }
+            finally {
+                latch.done();
+            }
+            return;
+        }
+
+        Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt = dispatchesPerStmtTL.get();
+        try {
+            for (NamedWindowConsumerLatch latch : dispatches)
+            {
+                latch.await();
+                for (EPStatementAgentInstanceHandle handle : latch.getDispatchTo().keySet())
+                {
+                    Object perStmtObj = dispatchesPerStmt.get(handle);
+                    if (perStmtObj == null) {
+                        dispatchesPerStmt.put(handle, latch);
+                    }
+                    else if (perStmtObj instanceof List) {
+                        ((List<NamedWindowConsumerLatch>) perStmtObj).add(latch);
+                    }
+                    else {
+                        List<NamedWindowConsumerLatch> list = new ArrayList<NamedWindowConsumerLatch>();
+                        list.add((NamedWindowConsumerLatch) perStmtObj);
+                        list.add(latch);
+                        dispatchesPerStmt.put(handle, list);
+                    }
+                }
+            }
+
+            for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
+                final EPStatementAgentInstanceHandle handle = entry.getKey();
+                Object perStmtObj = entry.getValue();
+                if (perStmtObj instanceof NamedWindowConsumerLatch) {
+                    NamedWindowConsumerLatch unit = (NamedWindowConsumerLatch) perStmtObj;
+                    final List<NamedWindowConsumerView> views = unit.getDispatchTo().get(handle);
+                    final EventBean[] newData = unit.getDeltaData().getNewData();
+                    final EventBean[] oldData = unit.getDeltaData().getOldData();
+                    threadingService.submitNamedWindowConsumer(handle, new Runnable() {
+                        public void run() {
+                            processHandleLocked(handle, views, newData, oldData, null);
+                        }
+                    });
+                }
+                else {
+                    final LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = getDeltaPerConsumer(perStmtObj, handle);
+                    threadingService.submitNamedWindowConsumer(handle, new Runnable() {
+                        public void run() {
+                            processHandleLocked(handle, null, null, null, deltaPerConsumer);
+                        }
+                    });
+                }
+            }
+        }
+        finally {
+            dispatchesPerStmt.clear();
+            for (NamedWindowConsumerLatch latch : dispatches) {
+                latch.done();
+            }
+        }
+    }
+
+    private void processHandleLocked(EPStatementAgentInstanceHandle handle, List<NamedWindowConsumerView> views, EventBean[] newData, EventBean[] oldData, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
+        // Acquire main processing lock which locks out statement management
+        eventProcessingRWLock.acquireReadLock();
+        try {
+            boolean metrics = MetricReportingPath.isMetricsEnabled && handle.getStatementHandle().getMetricsHandle().isEnabled();
+            long cpuTimeBefore = metrics ? MetricUtil.getCPUCurrentThread() : 0;
+            long wallTimeBefore = metrics ? MetricUtil.getWall() : 0;
+
+            if (deltaPerConsumer == null) {
+                processHandle(handle, views, newData, oldData);
+            }
+            else {
+                processHandleMultiple(handle, deltaPerConsumer);
+            }
+
+            if (metrics) {
+                long deltaCPU = MetricUtil.getCPUCurrentThread() - cpuTimeBefore;
+                long deltaWall = MetricUtil.getWall() - wallTimeBefore;
+                metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+            }
+        }
+        finally {
+            eventProcessingRWLock.releaseReadLock();
+        }
+    }
+
+    private static boolean isParallel(NamedWindowConsumerLatch[] dispatches) {
+        for (NamedWindowConsumerLatch latch : dispatches) {
+            if (!latch.isParallel()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void processHandleMultiple(EPStatementAgentInstanceHandle handle, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qNamedWindowCPMulti(exceptionHandlingService.getEngineURI(), deltaPerConsumer, handle, schedulingService.getTime());}
         handle.getStatementAgentInstanceLock().acquireWriteLock();
@@ -9,6 +9,7 @@
 package com.espertech.esper.epl.named;
 
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.context.util.ContextDescriptor;
 import com.espertech.esper.core.service.StatementContext;
@@ -41,6 +42,7 @@ public class NamedWindowProcessor
     private final String statementName;
     private final boolean isEnableSubqueryIndexShare;
     private final boolean isVirtualDataWindow;
+    private final boolean isVersionedSnapshot;
     private final Set<String> optionalUniqueKeyProps;
     private final String eventTypeAsName;
     private final EventTableIndexMetadata eventTableIndexMetadataRepo = new EventTableIndexMetadata();
@@ -55,12 +57,16 @@ public class NamedWindowProcessor
         this.statementName = statementName;
         this.isEnableSubqueryIndexShare = isEnableSubqueryIndexShare;
         this.isVirtualDataWindow = isVirtualDataWindow;
+        this.isVersionedSnapshot = HintEnum.ENABLE_VERSIONED_SNAPSHOT.getHint(statementContextCreateWindow.getAnnotations()) != null &&
+                !isVirtualDataWindow && !isBatchingDataWindow && revisionProcessor == null;
         this.optionalUniqueKeyProps = optionalUniqueKeyProps;
         this.eventTypeAsName = eventTypeAsName;
         this.statementContextCreateWindow = statementContextCreateWindow;
 
         rootView = new NamedWindowRootView(revisionProcessor, enableQueryPlanLog, metricReportingService, eventType, isBatchingDataWindow, isEnableSubqueryIndexShare, optionalUniqueKeyProps);
-        tailView = namedWindowDispatchService.createTailView(eventType, namedWindowMgmtService, namedWindowDispatchService, statementResultService, revisionProcessor, isPrioritized, isBatchingDataWindow, contextName, statementContextCreateWindow.getTimeSourceService(), statementContextCreateWindow.getConfigSnapshot().getEngineDefaults().getThreading());
+        boolean parallelConsumerDispatch = HintEnum.ENABLE_PARALLEL_CONSUMER_DISPATCH.getHint(statementContextCreateWindow.getAnnotations()) != null ||
+                statementContextCreateWindow.getConfigSnapshot().getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer();
+        tailView = namedWindowDispatchService.createTailView(eventType, namedWindowMgmtService, namedWindowDispatchService, statementResultService, revisionProcessor, isPrioritized, isBatchingDataWindow, contextName, statementContextCreateWindow.getTimeSourceService(), statementContextCreateWindow.getConfigSnapshot().getEngineDefaults().getThreading(), parallelConsumerDispatch);
     }
 
     public String getEventTypeAsName() {
@@ -144,6 +150,14 @@ public class NamedWindowProcessor
         return isVirtualDataWindow;
     }
 
+    /**
+     * Returns indicator whether fire-and-forget queries read a versioned snapshot of the named window without locking.
+     * @return versioned snapshot indicator
+     */
+    public boolean isVersionedSnapshot() {
+        return isVersionedSnapshot;
+    }
+
     /**
      * Returns the tail view of the named window, hooked into the view chain after the named window's data window views,
      * as the last view.
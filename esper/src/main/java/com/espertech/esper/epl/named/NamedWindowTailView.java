@@ -40,8 +40,9 @@ public class NamedWindowTailView
     protected volatile Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumersNonContext;  // handles as copy-on-write
     protected final TimeSourceService timeSourceService;
     protected final ConfigurationEngineDefaults.Threading threadingConfig;
+    protected final boolean isParallelConsumerDispatch;
 
-    public NamedWindowTailView(EventType eventType, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, boolean prioritized, boolean parentBatchWindow, TimeSourceService timeSourceService, ConfigurationEngineDefaults.Threading threadingConfig) {
+    public NamedWindowTailView(EventType eventType, NamedWindowMgmtService namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, boolean prioritized, boolean parentBatchWindow, TimeSourceService timeSourceService, ConfigurationEngineDefaults.Threading threadingConfig, boolean parallelConsumerDispatch) {
         this.eventType = eventType;
         this.namedWindowMgmtService = namedWindowMgmtService;
         this.namedWindowDispatchService = namedWindowDispatchService;
@@ -52,6 +53,7 @@ public class NamedWindowTailView
         this.consumersNonContext = NamedWindowUtil.createConsumerMap(isPrioritized);
         this.threadingConfig = threadingConfig;
         this.timeSourceService = timeSourceService;
+        this.isParallelConsumerDispatch = parallelConsumerDispatch;
     }
 
     /**
@@ -166,6 +168,6 @@ public class NamedWindowTailView
         return new NamedWindowConsumerLatchFactory(eventType.getName(),
                 threadingConfig.isNamedWindowConsumerDispatchPreserveOrder(),
                 threadingConfig.getNamedWindowConsumerDispatchTimeout(),
-                threadingConfig.getNamedWindowConsumerDispatchLocking(), timeSourceService, true);
+                threadingConfig.getNamedWindowConsumerDispatchLocking(), timeSourceService, true, isParallelConsumerDispatch);
     }
 }
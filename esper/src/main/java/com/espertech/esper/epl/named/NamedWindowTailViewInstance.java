@@ -40,6 +40,7 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
     private final NamedWindowProcessor namedWindowProcessor;
     private final AgentInstanceContext agentInstanceContext;
     private final NamedWindowConsumerLatchFactory latchFactory;
+    private final NamedWindowVersionedSnapshot versionedSnapshot;
 
     private volatile Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumersInContext;  // handles as copy-on-write
     private volatile long numberOfEvents;
@@ -51,6 +52,7 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
         this.agentInstanceContext = agentInstanceContext;
         this.consumersInContext = NamedWindowUtil.createConsumerMap(tailView.isPrioritized());
         this.latchFactory = tailView.makeLatchFactory();
+        this.versionedSnapshot = namedWindowProcessor.isVersionedSnapshot() ? new NamedWindowVersionedSnapshot() : null;
     }
 
     public void update(EventBean[] newData, EventBean[] oldData)
@@ -71,6 +73,10 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
             numberOfEvents += newData.length;
         }
 
+        if (versionedSnapshot != null) {
+            versionedSnapshot.update(newData, oldData);
+        }
+
         // Post to child views, only if there are listeners or subscribers
         if (tailView.getStatementResultService().isMakeNatural() || tailView.getStatementResultService().isMakeSynthetic())
         {
@@ -214,6 +220,10 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
             return tailView.getRevisionProcessor().getSnapshot(agentInstanceContext.getEpStatementAgentInstanceHandle(), parent);
         }
 
+        if (versionedSnapshot != null) {
+            return snapshotVersioned(filter, annotations);
+        }
+
         agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
         try
         {
@@ -226,6 +236,25 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
         }
     }
 
+    private Collection<EventBean> snapshotVersioned(FilterSpecCompiled filter, Annotation[] annotations)
+    {
+        // index lookups are short and use the lock, a scan reads the current version of the named window without the lock
+        if (filter != null && filter.getParameters().length > 0) {
+            agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
+            try {
+                Collection<EventBean> indexedResult = rootViewInstance.snapshot(filter, annotations);
+                if (indexedResult != null) {
+                    return indexedResult;
+                }
+            }
+            finally {
+                releaseTableLocks(agentInstanceContext);
+                agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().releaseReadLock();
+            }
+        }
+        return versionedSnapshot.snapshot();
+    }
+
     public EventBean[] snapshotUpdate(FilterSpecCompiled filter, ExprNode optionalWhereClause, EventBeanUpdateHelper updateHelper, Annotation[] annotations) {
         agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
         try {
@@ -0,0 +1,152 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.epl.named;
+
+import com.espertech.esper.client.EventBean;
+
+import java.util.*;
+
+/**
+ * Keeps the events of a named window instance as a list of versioned entries, so that fire-and-forget queries
+ * can read a consistent snapshot of the named window without the agent instance lock and thus
+ * without blocking event processing that changes the named window.
+ * <p>
+ * Each change to the named window publishes a new version. Entries are appended in the order that events enter
+ * the named window and record the version that inserted and the version that removed the event.
+ * A reader takes the current version and collects the events of entries inserted at or before and not removed
+ * at or before that version. Removed entries are unlinked once no reader can require them anymore.
+ * <p>
+ * Changes must be made by one thread at a time, i.e. under the agent instance lock, while any number of threads may read.
+ */
+public class NamedWindowVersionedSnapshot
+{
+    private static final int MIN_PURGE_THRESHOLD = 64;
+
+    private final Entry head = new Entry(null, 0);
+    private final Map<EventBean, Entry> entries = new HashMap<EventBean, Entry>();
+    private final List<Long> readerVersions = new ArrayList<Long>();
+    private volatile long version;
+    private Entry tail = head;
+    private int numLive;
+    private int numRemovedLinked;
+    private int purgeThreshold = MIN_PURGE_THRESHOLD;
+
+    /**
+     * Publishes a new version reflecting the events that entered and left the named window.
+     * @param newData events entering, or null
+     * @param oldData events leaving, or null
+     */
+    public void update(EventBean[] newData, EventBean[] oldData)
+    {
+        long next = version + 1;
+        if (newData != null) {
+            for (EventBean theEvent : newData) {
+                Entry entry = new Entry(theEvent, next);
+                entry.earlierSame = entries.put(theEvent, entry);
+                tail.next = entry;
+                tail = entry;
+                numLive++;
+            }
+        }
+        if (oldData != null) {
+            for (EventBean theEvent : oldData) {
+                Entry entry = entries.remove(theEvent);
+                if (entry == null) {
+                    continue;
+                }
+                if (entry.earlierSame != null) {
+                    entries.put(theEvent, entry.earlierSame);
+                }
+                entry.removeVersion = next;
+                numLive--;
+                numRemovedLinked++;
+            }
+        }
+        version = next;
+
+        if (numRemovedLinked >= purgeThreshold) {
+            purge();
+        }
+    }
+
+    /**
+     * Returns the events of the current version, in the order they entered the named window.
+     * @return events
+     */
+    public Collection<EventBean> snapshot()
+    {
+        long readVersion;
+        synchronized (readerVersions) {
+            readVersion = version;
+            readerVersions.add(readVersion);
+        }
+        try {
+            ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
+            for (Entry entry = head.next; entry != null && entry.insertVersion <= readVersion; entry = entry.next) {
+                if (entry.removeVersion > readVersion) {
+                    result.add(entry.event);
+                }
+            }
+            return result;
+        }
+        finally {
+            synchronized (readerVersions) {
+                readerVersions.remove(Long.valueOf(readVersion));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries that are still linked, for testing purposes.
+     * @return number of entries
+     */
+    public int getNumEntries()
+    {
+        return numLive + numRemovedLinked;
+    }
+
+    private void purge()
+    {
+        long threshold;
+        synchronized (readerVersions) {
+            threshold = version;
+            for (Long readerVersion : readerVersions) {
+                threshold = Math.min(threshold, readerVersion);
+            }
+        }
+
+        // readers positioned at an unlinked entry continue to its successor, the tail stays linked for appending
+        Entry pred = head;
+        for (Entry entry = head.next; entry != null; entry = entry.next) {
+            if (entry.removeVersion <= threshold && entry != tail) {
+                pred.next = entry.next;
+                numRemovedLinked--;
+            }
+            else {
+                pred = entry;
+            }
+        }
+        purgeThreshold = numRemovedLinked + Math.max(MIN_PURGE_THRESHOLD, numLive);
+    }
+
+    private static class Entry
+    {
+        private final EventBean event;
+        private final long insertVersion;
+        private volatile long removeVersion = Long.MAX_VALUE;
+        private volatile Entry next;
+        private Entry earlierSame;
+
+        private Entry(EventBean event, long insertVersion)
+        {
+            this.event = event;
+            this.insertVersion = insertVersion;
+        }
+    }
+}
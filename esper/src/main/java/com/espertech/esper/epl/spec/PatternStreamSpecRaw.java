@@ -28,6 +28,7 @@ import com.espertech.esper.event.EventAdapterService;
 import com.espertech.esper.event.EventTypeSPI;
 import com.espertech.esper.filter.FilterSpecCompiled;
 import com.espertech.esper.filter.FilterSpecCompiler;
+import com.espertech.esper.filter.FilterSpecParamEventProp;
 import com.espertech.esper.pattern.*;
 import com.espertech.esper.pattern.guard.GuardFactory;
 import com.espertech.esper.pattern.guard.GuardParameterException;
@@ -283,6 +284,14 @@ public class PatternStreamSpecRaw extends StreamSpecBase implements StreamSpecRa
                     filterNode.getRawFilterSpec().getOptionalPropertyEvalSpec(),  filterTaggedEventTypes, arrayCompositeEventTypes, streamTypeService,
                    null, context, subexpressionIdStack);
             filterNode.setFilterSpec(spec);
+
+            // use a shared filter registration for filters correlated to prior tagged events, if enabled
+            if (context.getConfigSnapshot() != null && context.getConfigSnapshot().getEngineDefaults().getPatterns().isCorrelatedFilterIndex()) {
+                FilterSpecParamEventProp correlatedParam = EvalFilterCorrelatedIndex.getCorrelatedParam(spec, filterNode.getConsumptionLevel());
+                if (correlatedParam != null) {
+                    filterNode.setCorrelated(correlatedParam, EvalFilterCorrelatedIndex.getCorrelatedFilterSpec(spec, correlatedParam));
+                }
+            }
         }
         else if (evalNode instanceof EvalObserverFactoryNode)
         {
@@ -11,7 +11,11 @@
 
 package com.espertech.esper.epl.spec.util;
 
+import com.espertech.esper.client.annotation.IterableUnbound;
+import com.espertech.esper.epl.annotation.AnnotationUtil;
+import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.subquery.ExprSubselectNode;
+import com.espertech.esper.epl.expression.visitor.ExprNodeEventRetainingVisitor;
 import com.espertech.esper.epl.spec.*;
 import com.espertech.esper.filter.FilterSpecCompiled;
 import com.espertech.esper.pattern.EvalFilterFactoryNode;
@@ -36,6 +40,92 @@ public class StatementSpecCompiledAnalyzer {
         return new StatementSpecCompiledAnalyzerResult(filters, namedWindows);
     }
 
+    /**
+     * Returns indicator whether the statement can process an event in parallel to other statements processing the same event.
+     * <p>
+     * Only select statements over filter streams qualify, that do not route events by insert-into, do not use a context,
+     * match-recognize or subqueries and do not create or modify named windows, tables, variables or other engine-level objects.
+     * @param spec statement specification
+     * @return indicator whether the statement can execute in parallel
+     */
+    public static boolean isParallelExecutable(StatementSpecCompiled spec) {
+        if (spec.getOnTriggerDesc() != null || spec.getCreateWindowDesc() != null || spec.getCreateVariableDesc() != null ||
+            spec.getCreateIndexDesc() != null || spec.getContextDesc() != null || spec.getCreateGraphDesc() != null ||
+            spec.getCreateExpressionDesc() != null || spec.getCreateTableDesc() != null || spec.getCreateSchemaDesc() != null ||
+            spec.getUpdateSpec() != null || spec.getFireAndForgetSpec() != null || spec.getOptionalContextName() != null ||
+            spec.getIntoTableSpec() != null || spec.getInsertIntoDesc() != null || spec.getMatchRecognizeSpec() != null ||
+            spec.getSubSelectExpressions().length > 0 || spec.getStreamSpecs().length == 0) {
+            return false;
+        }
+        for (StreamSpecCompiled stream : spec.getStreamSpecs()) {
+            if (!(stream instanceof FilterStreamSpecCompiled)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a statement may retain the events it consumes beyond the processing of each event,
+     * for example in a data window, pattern, aggregation state or output buffer, or by handing the event to user code.
+     * <p>
+     * Only create-schema statements and select statements over a single filter stream without data window
+     * and with a select-clause, where-clause, group-by, having and order-by of only value-computing expressions qualify as not retaining.
+     * @param spec statement specification
+     * @param iterableUnbound engine default for iterating unbound streams
+     * @return indicator whether the statement may retain events
+     */
+    public static boolean isRetainsEvents(StatementSpecCompiled spec, boolean iterableUnbound) {
+        if (spec.getCreateSchemaDesc() != null) {
+            return false;
+        }
+        if (spec.getOnTriggerDesc() != null || spec.getCreateWindowDesc() != null || spec.getCreateVariableDesc() != null ||
+            spec.getCreateIndexDesc() != null || spec.getContextDesc() != null || spec.getCreateGraphDesc() != null ||
+            spec.getCreateExpressionDesc() != null || spec.getCreateTableDesc() != null || spec.getUpdateSpec() != null ||
+            spec.getFireAndForgetSpec() != null || spec.getOptionalContextName() != null || spec.getIntoTableSpec() != null ||
+            spec.getInsertIntoDesc() != null || spec.getMatchRecognizeSpec() != null || spec.getOutputLimitSpec() != null ||
+            spec.getSubSelectExpressions().length > 0 || spec.getDeclaredExpressions().length > 0) {
+            return true;
+        }
+        if (iterableUnbound || AnnotationUtil.findAnnotation(spec.getAnnotations(), IterableUnbound.class) != null) {
+            return true;
+        }
+        if (spec.getStreamSpecs().length != 1 || !(spec.getStreamSpecs()[0] instanceof FilterStreamSpecCompiled) ||
+            spec.getStreamSpecs()[0].getViewSpecs().length > 0) {
+            return true;
+        }
+
+        SelectClauseSpecCompiled selectClause = spec.getSelectClauseSpec();
+        if (selectClause.isUsingWildcard()) {
+            return true;
+        }
+        ExprNodeEventRetainingVisitor visitor = new ExprNodeEventRetainingVisitor();
+        for (SelectClauseElementCompiled element : selectClause.getSelectExprList()) {
+            if (!(element instanceof SelectClauseExprCompiledSpec)) {
+                return true;
+            }
+            ((SelectClauseExprCompiledSpec) element).getSelectExpression().accept(visitor);
+        }
+        if (spec.getFilterRootNode() != null) {
+            spec.getFilterRootNode().accept(visitor);
+        }
+        if (spec.getHavingExprRootNode() != null) {
+            spec.getHavingExprRootNode().accept(visitor);
+        }
+        if (spec.getGroupByExpressions() != null) {
+            if (spec.getGroupByExpressions().getGroupByRollupLevels() != null) {
+                return true;
+            }
+            for (ExprNode node : spec.getGroupByExpressions().getGroupByNodes()) {
+                node.accept(visitor);
+            }
+        }
+        for (OrderByItem item : spec.getOrderByList()) {
+            item.getExprNode().accept(visitor);
+        }
+        return visitor.isRetaining();
+    }
+
     private static void addFilters(StreamSpecCompiled[] streams, List<FilterSpecCompiled> filters, List<NamedWindowConsumerStreamSpec> namedWindows) {
         for (StreamSpecCompiled compiled : streams) {
             if (compiled instanceof FilterStreamSpecCompiled) {
@@ -28,6 +28,10 @@ public class TableExprEvaluatorContext {
         return threadLocal.get().add(lock);
     }
 
+    public void removeAcquiredLock(Lock lock) {
+        threadLocal.get().remove(lock);
+    }
+
     public void releaseAcquiredLocks() {
         Set<Lock> locks = threadLocal.get();
         if (locks.isEmpty()) {
@@ -49,5 +49,5 @@ public interface TableService {
     public void validateAddIndex(String createIndexStatementName, TableMetadata tableMetadata, String indexName, IndexMultiKey imk) throws ExprValidationException;
     public void removeIndexReferencesStmtMayRemoveIndex(String statementName, TableMetadata tableMetadata);
     public TableMetadata addTable(String tableName, String eplExpression, String statementName, Class[] keyTypes, Map<String, TableMetadataColumn> tableColumns, TableStateRowFactory tableStateRowFactory, int numberMethodAggregations, StatementContext statementContext, ObjectArrayEventType internalEventType, ObjectArrayEventType publicEventType, TableMetadataInternalEventToPublic eventToPublic, boolean queryPlanLogging) throws ExprValidationException;
-    public TableAndLockProvider getStateProvider(String tableName, int agentInstanceId, boolean writesToTables);
+    public TableAndLockProvider getStateProvider(String tableName, int agentInstanceId, boolean writesToTables, boolean rowLocking);
 }
@@ -13,6 +13,8 @@ package com.espertech.esper.epl.table.mgmt;
 
 import com.espertech.esper.client.ConfigurationPlugInAggregationMultiFunction;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.Hint;
+import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.StatementContext;
@@ -92,9 +94,11 @@ public class TableServiceImpl implements TableService {
             };
         }
         else {
+            final int numLockStripes = getNumLockStripes(statementContext);
             tableStateFactory = new TableStateFactory() {
                 public TableStateInstance makeTableState(AgentInstanceContext agentInstanceContext) {
-                    return new TableStateInstanceGroupedImpl(metadata, agentInstanceContext);
+                    TableStripedReadWriteLock stripedLock = numLockStripes > 1 ? new TableStripedReadWriteLock(numLockStripes) : null;
+                    return new TableStateInstanceGroupedImpl(metadata, agentInstanceContext, stripedLock);
                 }
             };
         }
@@ -104,6 +108,27 @@ public class TableServiceImpl implements TableService {
         return metadata;
     }
 
+    private static int getNumLockStripes(StatementContext statementContext) throws ExprValidationException {
+        Hint hint = HintEnum.TABLE_LOCK_STRIPES.getHint(statementContext.getAnnotations());
+        if (hint == null) {
+            return 1;
+        }
+        String value = HintEnum.TABLE_LOCK_STRIPES.getHintAssignedValue(hint);
+        if (value == null) {
+            throw new ExprValidationException("Required hint value for hint '" + HintEnum.TABLE_LOCK_STRIPES + "' has not been provided");
+        }
+        try {
+            int numLockStripes = Integer.parseInt(value.trim());
+            if (numLockStripes < 1) {
+                throw new ExprValidationException("Hint '" + HintEnum.TABLE_LOCK_STRIPES + "' requires a positive number of stripes but received '" + value + "'");
+            }
+            return numLockStripes;
+        }
+        catch (NumberFormatException ex) {
+            throw new ExprValidationException("Hint '" + HintEnum.TABLE_LOCK_STRIPES + "' requires a number of stripes but received '" + value + "'");
+        }
+    }
+
     public void removeTableIfFound(String tableName) {
         TableMetadata metadata = tables.remove(tableName);
         if (metadata != null) {
@@ -206,11 +231,11 @@ public class TableServiceImpl implements TableService {
         return CollectionUtil.toArray(tables.keySet());
     }
 
-    public TableAndLockProvider getStateProvider(String tableName, int agentInstanceId, boolean writesToTables) {
+    public TableAndLockProvider getStateProvider(String tableName, int agentInstanceId, boolean writesToTables, boolean rowLocking) {
         TableStateInstance instance = assertGetState(tableName, agentInstanceId);
         Lock lock = writesToTables ? instance.getTableLevelRWLock().writeLock() : instance.getTableLevelRWLock().readLock();
         if (instance instanceof TableStateInstanceGrouped) {
-            return new TableAndLockProviderGroupedImpl(new TableAndLockGrouped(lock, (TableStateInstanceGrouped) instance));
+            return new TableAndLockProviderGroupedImpl(new TableAndLockGrouped(lock, (TableStateInstanceGrouped) instance, writesToTables, rowLocking));
         }
         else {
             return new TableAndLockProviderUngroupedImpl(new TableAndLockUngrouped(lock, (TableStateInstanceUngrouped) instance));
@@ -14,8 +14,11 @@ package com.espertech.esper.epl.table.mgmt;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.core.StreamTypeServiceImpl;
+import com.espertech.esper.epl.expression.table.ExprTableAccessNode;
 import com.espertech.esper.epl.lookup.IndexMultiKey;
 import com.espertech.esper.epl.lookup.IndexedPropDesc;
+import com.espertech.esper.epl.spec.FilterStreamSpecCompiled;
+import com.espertech.esper.epl.spec.StatementSpecCompiled;
 import com.espertech.esper.event.EventTypeMetadata;
 import com.espertech.esper.event.EventTypeSPI;
 import com.espertech.esper.event.arr.ObjectArrayEventType;
@@ -39,6 +42,67 @@ public class TableServiceUtil {
         return null;
     }
 
+    /**
+     * Returns true when the statement locks rows rather than the table for any table it accesses.
+     * The stream of such a statement must not be shared with other statements, since the row locks are held
+     * until the end of processing the stream's event.
+     * @param spec compiled statement
+     * @param tableService table service
+     * @return indicator whether the statement locks rows of any table
+     */
+    public static boolean isRowLockingAnyTable(StatementSpecCompiled spec, TableService tableService) {
+        if (spec.getIntoTableSpec() != null && isRowLocking(spec, spec.getIntoTableSpec().getName(), tableService)) {
+            return true;
+        }
+        if (spec.getTableNodes() != null) {
+            for (ExprTableAccessNode node : spec.getTableNodes()) {
+                if (isRowLocking(spec, node.getTableName(), tableService)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true when each evaluation of the statement accesses at most one row of the table, so that the evaluation
+     * may lock the row only. This is the case for a statement with a single filter stream without data window,
+     * and without rollup, that accesses the table exactly once by key, i.e. through either into-table aggregation or a single table-access expression.
+     * Other statements lock the whole table up front as they may need several rows, in any order, in one evaluation.
+     * @param spec compiled statement, or null for fire-and-forget queries
+     * @param tableName table name
+     * @param tableService table service
+     * @return indicator whether the statement locks rows rather than the table
+     */
+    public static boolean isRowLocking(StatementSpecCompiled spec, String tableName, TableService tableService) {
+        if (spec == null ||
+            spec.getStreamSpecs().length != 1 ||
+            !(spec.getStreamSpecs()[0] instanceof FilterStreamSpecCompiled) ||
+            spec.getStreamSpecs()[0].getViewSpecs().length != 0 ||
+            spec.getOnTriggerDesc() != null ||
+            spec.getMatchRecognizeSpec() != null ||
+            spec.getOutputLimitSpec() != null ||
+            spec.getSubSelectExpressions().length != 0) {
+            return false;
+        }
+        if (spec.getGroupByExpressions() != null && spec.getGroupByExpressions().getGroupByRollupLevels() != null) {
+            return false;
+        }
+        if (spec.getInsertIntoDesc() != null && tableService.getTableMetadata(spec.getInsertIntoDesc().getEventTypeName()) != null) {
+            return false;
+        }
+
+        int numAccess = spec.getIntoTableSpec() != null && spec.getIntoTableSpec().getName().equals(tableName) ? 1 : 0;
+        if (spec.getTableNodes() != null) {
+            for (ExprTableAccessNode node : spec.getTableNodes()) {
+                if (node.getTableName().equals(tableName)) {
+                    numAccess++;
+                }
+            }
+        }
+        return numAccess == 1;
+    }
+
     public static StreamTypeServiceImpl streamTypeFromTableColumn(TableMetadataColumnAggregation column, String engineURI) {
         if (column.getOptionalEventType() == null) {
             throw new IllegalArgumentException("Required event type not provided");
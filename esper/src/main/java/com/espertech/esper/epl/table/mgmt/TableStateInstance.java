@@ -24,13 +24,14 @@ import com.espertech.esper.event.ObjectArrayBackedEventBean;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public abstract class TableStateInstance {
 
     protected final TableMetadata tableMetadata;
     protected final AgentInstanceContext agentInstanceContext;
-    private final ReentrantReadWriteLock tableLevelRWLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock tableLevelRWLock;
     protected final EventTableIndexRepository indexRepository = new EventTableIndexRepository();
 
     public abstract Iterable<EventBean> getIterableTableScan();
@@ -60,8 +61,13 @@ public abstract class TableStateInstance {
     }
 
     protected TableStateInstance(TableMetadata tableMetadata, AgentInstanceContext agentInstanceContext) {
+        this(tableMetadata, agentInstanceContext, new ReentrantReadWriteLock());
+    }
+
+    protected TableStateInstance(TableMetadata tableMetadata, AgentInstanceContext agentInstanceContext, ReadWriteLock tableLevelRWLock) {
         this.tableMetadata = tableMetadata;
         this.agentInstanceContext = agentInstanceContext;
+        this.tableLevelRWLock = tableLevelRWLock;
     }
 
     public TableMetadata getTableMetadata() {
@@ -72,7 +78,7 @@ public abstract class TableStateInstance {
         return agentInstanceContext;
     }
 
-    public ReentrantReadWriteLock getTableLevelRWLock() {
+    public ReadWriteLock getTableLevelRWLock() {
         return tableLevelRWLock;
     }
 
@@ -16,10 +16,12 @@ import com.espertech.esper.epl.lookup.EventTableIndexRepository;
 import com.espertech.esper.event.ObjectArrayBackedEventBean;
 
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableStateInstanceGrouped {
-    ReentrantReadWriteLock getTableLevelRWLock();
+    ReadWriteLock getTableLevelRWLock();
+    Lock getRowLock(Object groupKey, boolean write);
     ObjectArrayBackedEventBean getCreateRowIntoTable(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
     void handleRowUpdated(ObjectArrayBackedEventBean row);
     ObjectArrayBackedEventBean getRowForGroupKey(Object groupKey);
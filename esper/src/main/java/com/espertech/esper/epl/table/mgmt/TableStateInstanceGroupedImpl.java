@@ -30,14 +30,36 @@ import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.util.CollectionUtil;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class TableStateInstanceGroupedImpl extends TableStateInstance implements TableStateInstanceGrouped {
 
-    private final Map<Object, ObjectArrayBackedEventBean> rows = new HashMap<Object, ObjectArrayBackedEventBean>();
+    private final Map<Object, ObjectArrayBackedEventBean> rows;
     private final IndexMultiKey primaryIndexKey;
+    private final TableStripedReadWriteLock stripedLock;
 
     public TableStateInstanceGroupedImpl(TableMetadata tableMetadata, AgentInstanceContext agentInstanceContext) {
-        super(tableMetadata, agentInstanceContext);
+        this(tableMetadata, agentInstanceContext, null);
+    }
+
+    /**
+     * Ctor.
+     * @param tableMetadata table metadata
+     * @param agentInstanceContext agent instance context
+     * @param stripedLock lock stripes when rows are locked by group key, or null to lock the table
+     */
+    public TableStateInstanceGroupedImpl(TableMetadata tableMetadata, AgentInstanceContext agentInstanceContext, TableStripedReadWriteLock stripedLock) {
+        super(tableMetadata, agentInstanceContext, stripedLock != null ? stripedLock : new ReentrantReadWriteLock());
+        this.stripedLock = stripedLock;
+
+        // rows of different stripes are looked up and added concurrently
+        if (stripedLock != null) {
+            rows = Collections.synchronizedMap(new HashMap<Object, ObjectArrayBackedEventBean>());
+        }
+        else {
+            rows = new HashMap<Object, ObjectArrayBackedEventBean>();
+        }
 
         List<EventPropertyGetter> indexGetters = new ArrayList<EventPropertyGetter>();
         List<String> keyNames = new ArrayList<String>();
@@ -153,10 +175,25 @@ public class TableStateInstanceGroupedImpl extends TableStateInstance implements
             return bean;
         }
         ObjectArrayBackedEventBean row = tableMetadata.getRowFactory().makeOA(exprEvaluatorContext.getAgentInstanceId(), groupByKey, null, getAggregationServicePassThru());
-        addEvent(row);
+        if (stripedLock != null) {
+            // the row lock excludes other threads for this group key only, secondary indexes are shared by all stripes
+            synchronized (rows) {
+                addEvent(row);
+            }
+        }
+        else {
+            addEvent(row);
+        }
         return row;
     }
 
+    public Lock getRowLock(Object groupKey, boolean write) {
+        if (stripedLock != null) {
+            return stripedLock.getRowLock(groupKey, write);
+        }
+        return write ? getTableLevelRWLock().writeLock() : getTableLevelRWLock().readLock();
+    }
+
     public int getRowCount() {
         return rows.size();
     }
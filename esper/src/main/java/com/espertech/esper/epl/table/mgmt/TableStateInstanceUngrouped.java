@@ -15,10 +15,10 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.event.ObjectArrayBackedEventBean;
 
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface TableStateInstanceUngrouped {
-    ReentrantReadWriteLock getTableLevelRWLock();
+    ReadWriteLock getTableLevelRWLock();
     ObjectArrayBackedEventBean getCreateRowIntoTable(Object groupByKey, ExprEvaluatorContext exprEvaluatorContext);
     ObjectArrayBackedEventBean getEventUngrouped();
     void handleRowUpdated(ObjectArrayBackedEventBean row);
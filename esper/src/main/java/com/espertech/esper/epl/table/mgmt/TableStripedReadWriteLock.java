@@ -0,0 +1,170 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.table.mgmt;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Table-level read-write lock that partitions the rows of a grouped table across lock stripes by group key hash.
+ * <p>
+ * The row locks returned by {@link #getRowLock(Object, boolean)} lock only the stripe that owns the group key.
+ * The read and write locks of the table lock all stripes in stripe order.
+ * <p>
+ * A thread waits for a stripe only when it holds no stripe at or above that stripe, so that threads wait in stripe order
+ * and never wait on each other in a cycle. Stripes that were acquired remain held until unlocked: an evaluation
+ * that may need more than one row of the table takes the table-level lock up front (see
+ * {@link TableServiceUtil#isRowLocking}), so that it never needs to wait for a stripe below a stripe it holds.
+ * Such an out-of-order request fails with an exception rather than releasing stripes or waiting.
+ */
+public class TableStripedReadWriteLock implements ReadWriteLock {
+
+    private final ReentrantReadWriteLock[] stripes;
+    private final Lock[] stripeReadLocks;
+    private final Lock[] stripeWriteLocks;
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public TableStripedReadWriteLock(int numStripes) {
+        if (numStripes < 1) {
+            throw new IllegalArgumentException("Number of stripes must be at least 1");
+        }
+        stripes = new ReentrantReadWriteLock[numStripes];
+        stripeReadLocks = new Lock[numStripes];
+        stripeWriteLocks = new Lock[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+            stripeReadLocks[i] = new StripeRangeLock(i, i + 1, false);
+            stripeWriteLocks[i] = new StripeRangeLock(i, i + 1, true);
+        }
+        readLock = new StripeRangeLock(0, numStripes, false);
+        writeLock = new StripeRangeLock(0, numStripes, true);
+    }
+
+    public Lock readLock() {
+        return readLock;
+    }
+
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Returns the lock for the stripe that owns the group key.
+     * @param groupKey group key
+     * @param write true for the write lock, false for the read lock
+     * @return stripe lock
+     */
+    public Lock getRowLock(Object groupKey, boolean write) {
+        int stripe = getStripe(groupKey);
+        return write ? stripeWriteLocks[stripe] : stripeReadLocks[stripe];
+    }
+
+    public int getStripe(Object groupKey) {
+        if (groupKey == null) {
+            return 0;
+        }
+        int hash = groupKey.hashCode();
+        hash ^= hash >>> 16;
+        return (hash & 0x7fffffff) % stripes.length;
+    }
+
+    public int getNumStripes() {
+        return stripes.length;
+    }
+
+    private boolean tryLockRange(int from, int to, boolean write) {
+        for (int i = from; i < to; i++) {
+            Lock lock = write ? stripes[i].writeLock() : stripes[i].readLock();
+            if (!lock.tryLock()) {
+                unlockRange(from, i, write);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void lockRange(int from, int to, boolean write) {
+        for (int i = from; i < to; i++) {
+            Lock lock = write ? stripes[i].writeLock() : stripes[i].readLock();
+            if (lock.tryLock()) {
+                continue;
+            }
+
+            // waiting while holding this or a higher stripe may deadlock, and held stripes protect rows already changed
+            if (isHoldingFrom(i)) {
+                unlockRange(from, i, write);
+                throw new IllegalStateException("Table lock stripe " + i + " is not available and the thread holds the same or a higher stripe");
+            }
+            lock.lock();
+        }
+    }
+
+    private boolean isHoldingFrom(int stripe) {
+        for (int i = stripe; i < stripes.length; i++) {
+            if (stripes[i].getReadHoldCount() > 0 || stripes[i].isWriteLockedByCurrentThread()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unlockRange(int from, int to, boolean write) {
+        for (int i = to - 1; i >= from; i--) {
+            if (write) {
+                stripes[i].writeLock().unlock();
+            }
+            else {
+                stripes[i].readLock().unlock();
+            }
+        }
+    }
+
+    private class StripeRangeLock implements Lock {
+        private final int from;
+        private final int to;
+        private final boolean write;
+
+        private StripeRangeLock(int from, int to, boolean write) {
+            this.from = from;
+            this.to = to;
+            this.write = write;
+        }
+
+        public void lock() {
+            lockRange(from, to, write);
+        }
+
+        public boolean tryLock() {
+            return tryLockRange(from, to, write);
+        }
+
+        public void unlock() {
+            unlockRange(from, to, write);
+        }
+
+        public void lockInterruptibly() throws InterruptedException {
+            throw new UnsupportedOperationException("Interruptible locking is not supported by table stripe locks");
+        }
+
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            throw new UnsupportedOperationException("Timed locking is not supported by table stripe locks");
+        }
+
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Conditions are not supported by table stripe locks");
+        }
+    }
+}
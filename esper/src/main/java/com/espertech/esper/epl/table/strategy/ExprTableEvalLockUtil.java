@@ -25,7 +25,14 @@ public class ExprTableEvalLockUtil {
     public static void obtainLockUnless(Lock lock, TableExprEvaluatorContext tableExprEvaluatorContext) {
         boolean added = tableExprEvaluatorContext.addAcquiredLock(lock);
         if (added) {
-            lock.lock();
+            try {
+                lock.lock();
+            }
+            catch (RuntimeException ex) {
+                // not acquired, therefore not released with the acquired locks
+                tableExprEvaluatorContext.removeAcquiredLock(lock);
+                throw ex;
+            }
         }
     }
 }
@@ -25,7 +25,7 @@ public abstract class ExprTableEvalStrategyGroupByBase {
 
     protected ObjectArrayBackedEventBean lockTableReadAndGet(Object group, ExprEvaluatorContext context) {
         TableAndLockGrouped tableAndLockGrouped = provider.get();
-        ExprTableEvalLockUtil.obtainLockUnless(tableAndLockGrouped.getLock(), context);
+        ExprTableEvalLockUtil.obtainLockUnless(tableAndLockGrouped.getRowLock(group), context);
         return tableAndLockGrouped.getGrouped().getRowForGroupKey(group);
     }
 
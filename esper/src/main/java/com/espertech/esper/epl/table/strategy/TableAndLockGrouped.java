@@ -18,10 +18,14 @@ import java.util.concurrent.locks.Lock;
 public class TableAndLockGrouped {
     private final Lock lock;
     private final TableStateInstanceGrouped grouped;
+    private final boolean writesToTables;
+    private final boolean rowLocking;
 
-    public TableAndLockGrouped(Lock lock, TableStateInstanceGrouped grouped) {
+    public TableAndLockGrouped(Lock lock, TableStateInstanceGrouped grouped, boolean writesToTables, boolean rowLocking) {
         this.lock = lock;
         this.grouped = grouped;
+        this.writesToTables = writesToTables;
+        this.rowLocking = rowLocking;
     }
 
     public Lock getLock() {
@@ -31,4 +35,11 @@ public class TableAndLockGrouped {
     public TableStateInstanceGrouped getGrouped() {
         return grouped;
     }
+
+    public Lock getRowLock(Object groupKey) {
+        if (!rowLocking) {
+            return lock;
+        }
+        return grouped.getRowLock(groupKey, writesToTables);
+    }
 }
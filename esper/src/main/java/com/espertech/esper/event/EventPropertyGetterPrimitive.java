@@ -0,0 +1,38 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.event;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.PropertyAccessException;
+
+/**
+ * Property getter that in addition to the boxed value can return the value of a property of primitive numeric type
+ * without boxing.
+ * <p>
+ * The primitive methods may only be used when the property type is a primitive numeric type.
+ */
+public interface EventPropertyGetterPrimitive extends EventPropertyGetter
+{
+    /**
+     * Returns the property value widened to long.
+     * @param eventBean is the event to get the value of a property from
+     * @return value
+     * @throws PropertyAccessException to indicate that property access failed
+     */
+    public long getLong(EventBean eventBean) throws PropertyAccessException;
+
+    /**
+     * Returns the property value widened to double.
+     * @param eventBean is the event to get the value of a property from
+     * @return value
+     * @throws PropertyAccessException to indicate that property access failed
+     */
+    public double getDouble(EventBean eventBean) throws PropertyAccessException;
+}
@@ -15,6 +15,7 @@ import com.espertech.esper.core.service.EPRuntimeEventSender;
 import com.espertech.esper.core.thread.InboundUnitSendWrapped;
 import com.espertech.esper.core.thread.ThreadingOption;
 import com.espertech.esper.core.thread.ThreadingService;
+import com.espertech.esper.event.map.MapEventBean;
 import com.espertech.esper.event.map.MapEventType;
 
 import java.util.Map;
@@ -30,6 +31,11 @@ public class EventSenderMap implements EventSender
     private final EventAdapterService eventAdapterService;
     private final MapEventType mapEventType;
     private final ThreadingService threadingService;
+    private final ThreadLocal<EventSenderReusableWrapper> reusableWrapper = new ThreadLocal<EventSenderReusableWrapper>() {
+        protected synchronized EventSenderReusableWrapper initialValue() {
+            return new EventSenderReusableWrapper(new MapEventBean(mapEventType));
+        }
+    };
 
     /**
      * Ctor.
@@ -52,18 +58,31 @@ public class EventSenderMap implements EventSender
         {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected " + Map.class.getName());
         }
-        
+
         Map<String, Object> map = (Map<String, Object>) theEvent;
-        EventBean mapEvent = eventAdapterService.adapterForTypedMap(map, mapEventType);
 
         if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading()))
         {
+            EventBean mapEvent = eventAdapterService.adapterForTypedMap(map, mapEventType);
             threadingService.submitInbound(new InboundUnitSendWrapped(mapEvent, runtimeEventSender));
+            return;
         }
-        else
-        {
-            runtimeEventSender.processWrappedEvent(mapEvent);
+
+        // reuse the per-thread wrapper unless any statement, listener or handler may retain the event
+        if (!runtimeEventSender.isEventRetained(mapEventType)) {
+            EventSenderReusableWrapper reusable = reusableWrapper.get();
+            EventBean mapEvent = reusable.acquire(map);
+            if (mapEvent != null) {
+                try {
+                    runtimeEventSender.processWrappedEvent(mapEvent);
+                }
+                finally {
+                    reusable.release();
+                }
+                return;
+            }
         }
+        runtimeEventSender.processWrappedEvent(eventAdapterService.adapterForTypedMap(map, mapEventType));
     }
 
     public void route(Object theEvent)
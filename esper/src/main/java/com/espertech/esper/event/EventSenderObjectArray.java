@@ -15,6 +15,7 @@ import com.espertech.esper.core.service.EPRuntimeEventSender;
 import com.espertech.esper.core.thread.InboundUnitSendWrapped;
 import com.espertech.esper.core.thread.ThreadingOption;
 import com.espertech.esper.core.thread.ThreadingService;
+import com.espertech.esper.event.arr.ObjectArrayEventBean;
 import com.espertech.esper.event.arr.ObjectArrayEventType;
 
 /**
@@ -28,6 +29,11 @@ public class EventSenderObjectArray implements EventSender
     private final EventAdapterService eventAdapterService;
     private final ObjectArrayEventType objectArrayEventType;
     private final ThreadingService threadingService;
+    private final ThreadLocal<EventSenderReusableWrapper> reusableWrapper = new ThreadLocal<EventSenderReusableWrapper>() {
+        protected synchronized EventSenderReusableWrapper initialValue() {
+            return new EventSenderReusableWrapper(new ObjectArrayEventBean(null, objectArrayEventType));
+        }
+    };
 
     /**
      * Ctor.
@@ -50,18 +56,31 @@ public class EventSenderObjectArray implements EventSender
         {
             throw new EPException("Unexpected event object of type " + theEvent.getClass().getName() + ", expected Object[]");
         }
-        
+
         Object[] arr = (Object[]) theEvent;
-        EventBean objectArrayEvent = eventAdapterService.adapterForTypedObjectArray(arr, objectArrayEventType);
 
         if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading()))
         {
+            EventBean objectArrayEvent = eventAdapterService.adapterForTypedObjectArray(arr, objectArrayEventType);
             threadingService.submitInbound(new InboundUnitSendWrapped(objectArrayEvent, runtimeEventSender));
+            return;
         }
-        else
-        {
-            runtimeEventSender.processWrappedEvent(objectArrayEvent);
+
+        // reuse the per-thread wrapper unless any statement, listener or handler may retain the event
+        if (!runtimeEventSender.isEventRetained(objectArrayEventType)) {
+            EventSenderReusableWrapper reusable = reusableWrapper.get();
+            EventBean objectArrayEvent = reusable.acquire(arr);
+            if (objectArrayEvent != null) {
+                try {
+                    runtimeEventSender.processWrappedEvent(objectArrayEvent);
+                }
+                finally {
+                    reusable.release();
+                }
+                return;
+            }
         }
+        runtimeEventSender.processWrappedEvent(eventAdapterService.adapterForTypedObjectArray(arr, objectArrayEventType));
     }
 
     public void route(Object theEvent)
@@ -0,0 +1,55 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.event;
+
+/**
+ * Per-thread reusable event wrapper for use by type-bound event senders, for use when no statement retains
+ * events of the type beyond their processing.
+ * <p>
+ * A wrapper that is in use, such as when a listener sends an event of the same type, cannot be acquired
+ * and the caller allocates a new wrapper instead.
+ */
+public class EventSenderReusableWrapper
+{
+    private final EventBeanSPI wrapper;
+    private boolean inUse;
+
+    /**
+     * Ctor.
+     * @param wrapper the wrapper to reuse
+     */
+    public EventSenderReusableWrapper(EventBeanSPI wrapper)
+    {
+        this.wrapper = wrapper;
+    }
+
+    /**
+     * Returns the wrapper holding the underlying event, or null if the wrapper is currently in use.
+     * @param underlying event underlying
+     * @return wrapper or null if in use
+     */
+    public EventBeanSPI acquire(Object underlying)
+    {
+        if (inUse) {
+            return null;
+        }
+        inUse = true;
+        wrapper.setUnderlying(underlying);
+        return wrapper;
+    }
+
+    /**
+     * Releases the wrapper, dropping the reference to the underlying event.
+     */
+    public void release()
+    {
+        wrapper.setUnderlying(null);
+        inUse = false;
+    }
+}
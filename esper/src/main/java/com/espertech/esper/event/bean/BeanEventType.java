@@ -373,6 +373,9 @@ public class BeanEventType implements EventTypeSPI, NativeEventType
             }
         }
 
+        boolean isLambdaGetters = (optionalLegacyDef != null) &&
+                (optionalLegacyDef.getCodeGeneration() == ConfigurationEventTypeLegacy.CodeGeneration.LAMBDA);
+
         int count = 0;
         for (InternalEventPropDescriptor desc : properties)
         {
@@ -391,7 +394,12 @@ public class BeanEventType implements EventTypeSPI, NativeEventType
                 Class type;
                 if (desc.getReadMethod() != null)
                 {
-                    getter = PropertyHelper.getGetter(desc.getReadMethod(), fastClass, eventAdapterService);
+                    if (isLambdaGetters) {
+                        getter = PropertyHelper.getGetterLambda(desc.getReadMethod(), fastClass, eventAdapterService);
+                    }
+                    else {
+                        getter = PropertyHelper.getGetter(desc.getReadMethod(), fastClass, eventAdapterService);
+                    }
                     type = desc.getReadMethod().getReturnType();
                 }
                 else
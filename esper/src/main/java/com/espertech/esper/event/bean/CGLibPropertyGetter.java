@@ -53,6 +53,15 @@ public class CGLibPropertyGetter extends BaseNativePropertyGetter implements Bea
         }
     }
 
+    /**
+     * Returns the method to use to retrieve a value from the object.
+     * @return method
+     */
+    public Method getMethod()
+    {
+        return fastMethod.getJavaMethod();
+    }
+
     public boolean isBeanExistsProperty(Object object)
     {
         return true; // Property exists as the property is not dynamic (unchecked)
@@ -0,0 +1,237 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.event.bean;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.PropertyAccessException;
+import com.espertech.esper.event.EventAdapterService;
+import com.espertech.esper.event.EventPropertyGetterPrimitive;
+import com.espertech.esper.event.vaevent.PropertyUtility;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Property getter using functional getters generated by {@link LambdaMetafactory}.
+ * <p>
+ * For properties of primitive numeric type the getter additionally provides a getter that returns
+ * the value widened to long or double without boxing.
+ */
+public class LambdaPropertyGetter extends BaseNativePropertyGetter implements BeanEventPropertyGetter, EventPropertyGetterPrimitive
+{
+    private final Method method;
+    private final Function<Object, Object> function;
+    private final ToLongFunction<Object> longFunction;
+    private final ToDoubleFunction<Object> doubleFunction;
+
+    /**
+     * Constructor.
+     * @param method the underlying method
+     * @param function is the generated getter returning the boxed value
+     * @param longFunction is the generated getter returning the value widened to long, or null if not applicable
+     * @param doubleFunction is the generated getter returning the value widened to double, or null if not applicable
+     * @param eventAdapterService factory for event beans and event types
+     */
+    public LambdaPropertyGetter(Method method, Function<Object, Object> function, ToLongFunction<Object> longFunction, ToDoubleFunction<Object> doubleFunction, EventAdapterService eventAdapterService)
+    {
+        super(eventAdapterService, method.getReturnType(), JavaClassHelper.getGenericReturnType(method, true));
+        this.method = method;
+        this.function = function;
+        this.longFunction = longFunction;
+        this.doubleFunction = doubleFunction;
+    }
+
+    /**
+     * Generates the functional getters for the given method.
+     * <p>
+     * Returns null when the method cannot be linked from the engine class loader, i.e. when the method
+     * or its class is not public or when the class is not visible to the engine class loader.
+     * @param method is the read method
+     * @param eventAdapterService factory for event beans and event types
+     * @return getter or null if the method cannot be accessed through a generated functional getter
+     * @throws Throwable if the generation failed
+     */
+    public static LambdaPropertyGetter make(Method method, EventAdapterService eventAdapterService) throws Throwable
+    {
+        Class declaringClass = method.getDeclaringClass();
+        Class returnType = method.getReturnType();
+        if (!Modifier.isPublic(method.getModifiers()) ||
+            !Modifier.isPublic(declaringClass.getModifiers()) ||
+            Modifier.isStatic(method.getModifiers()) ||
+            method.getParameterTypes().length != 0 ||
+            returnType == void.class ||
+            !isVisible(declaringClass) ||
+            !isVisible(returnType))
+        {
+            return null;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(method);
+        MethodType boxedType = MethodType.methodType(JavaClassHelper.getBoxedType(returnType), declaringClass);
+        Function<Object, Object> function = (Function<Object, Object>) generate(lookup, handle, Function.class, "apply", Object.class, boxedType);
+
+        ToLongFunction<Object> longFunction = null;
+        ToDoubleFunction<Object> doubleFunction = null;
+        if (returnType == long.class || returnType == int.class || returnType == short.class || returnType == byte.class || returnType == char.class)
+        {
+            longFunction = (ToLongFunction<Object>) generate(lookup, handle, ToLongFunction.class, "applyAsLong", long.class, MethodType.methodType(long.class, declaringClass));
+        }
+        else if (returnType == double.class || returnType == float.class)
+        {
+            doubleFunction = (ToDoubleFunction<Object>) generate(lookup, handle, ToDoubleFunction.class, "applyAsDouble", double.class, MethodType.methodType(double.class, declaringClass));
+        }
+        return new LambdaPropertyGetter(method, function, longFunction, doubleFunction, eventAdapterService);
+    }
+
+    public Object getBeanProp(Object object) throws PropertyAccessException
+    {
+        try
+        {
+            return function.apply(object);
+        }
+        catch (ClassCastException e)
+        {
+            throw handle(object, e);
+        }
+        catch (Exception e)
+        {
+            throw PropertyUtility.getInvocationTargetException(method, new InvocationTargetException(e));
+        }
+    }
+
+    /**
+     * Returns the method to use to retrieve a value from the object.
+     * @return method
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    public boolean isBeanExistsProperty(Object object)
+    {
+        return true; // Property exists as the property is not dynamic (unchecked)
+    }
+
+    public final Object get(EventBean obj) throws PropertyAccessException
+    {
+        Object underlying = obj.getUnderlying();
+        return getBeanProp(underlying);
+    }
+
+    public long getLong(EventBean obj) throws PropertyAccessException
+    {
+        Object underlying = obj.getUnderlying();
+        try
+        {
+            if (longFunction != null)
+            {
+                return longFunction.applyAsLong(underlying);
+            }
+            if (doubleFunction != null)
+            {
+                return (long) doubleFunction.applyAsDouble(underlying);
+            }
+        }
+        catch (ClassCastException e)
+        {
+            throw handle(underlying, e);
+        }
+        catch (Exception e)
+        {
+            throw PropertyUtility.getInvocationTargetException(method, new InvocationTargetException(e));
+        }
+        return ((Number) getBeanProp(underlying)).longValue();
+    }
+
+    public double getDouble(EventBean obj) throws PropertyAccessException
+    {
+        Object underlying = obj.getUnderlying();
+        try
+        {
+            if (doubleFunction != null)
+            {
+                return doubleFunction.applyAsDouble(underlying);
+            }
+            if (longFunction != null)
+            {
+                return longFunction.applyAsLong(underlying);
+            }
+        }
+        catch (ClassCastException e)
+        {
+            throw handle(underlying, e);
+        }
+        catch (Exception e)
+        {
+            throw PropertyUtility.getInvocationTargetException(method, new InvocationTargetException(e));
+        }
+        return ((Number) getBeanProp(underlying)).doubleValue();
+    }
+
+    public String toString()
+    {
+        return "LambdaPropertyGetter " +
+                "method=" + method.toGenericString();
+    }
+
+    public boolean isExistsProperty(EventBean eventBean)
+    {
+        return true; // Property exists as the property is not dynamic (unchecked)
+    }
+
+    private PropertyAccessException handle(Object object, ClassCastException e)
+    {
+        // the generated getter casts the object to the declaring class, a cast failing within the method itself is an invocation failure
+        if (method.getDeclaringClass().isInstance(object))
+        {
+            return PropertyUtility.getInvocationTargetException(method, new InvocationTargetException(e));
+        }
+        return PropertyUtility.getMismatchException(method, object, e);
+    }
+
+    private static Object generate(MethodHandles.Lookup lookup, MethodHandle handle, Class functionalInterface, String methodName, Class returnType, MethodType instantiatedType) throws Throwable
+    {
+        MethodType samType = MethodType.methodType(returnType, Object.class);
+        return LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionalInterface), samType, handle, instantiatedType)
+                .getTarget()
+                .invoke();
+    }
+
+    private static boolean isVisible(Class clazz)
+    {
+        // the generated class resolves the classes it refers to using the engine class loader
+        while (clazz.isArray())
+        {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz.isPrimitive())
+        {
+            return true;
+        }
+        try
+        {
+            return Class.forName(clazz.getName(), false, LambdaPropertyGetter.class.getClassLoader()) == clazz;
+        }
+        catch (ClassNotFoundException ex)
+        {
+            return false;
+        }
+    }
+}
@@ -64,6 +64,33 @@ public class PropertyHelper
         return getter;
     }
 
+    /**
+     * Return getter for the given method using functional getters generated by LambdaMetafactory, falling back
+     * to the CGLIB FastClass or reflection getter for methods that cannot be accessed this way.
+     * @param method to return getter for
+     * @param fastClass is the CGLIB fast classs to make FastMethod for
+     * @param eventAdapterService factory for event beans and event types
+     * @return property getter
+     */
+    public static EventPropertyGetter getGetterLambda(Method method, FastClass fastClass, EventAdapterService eventAdapterService)
+    {
+        LambdaPropertyGetter getter = null;
+        try
+        {
+            getter = LambdaPropertyGetter.make(method, eventAdapterService);
+        }
+        catch (Throwable ex)
+        {
+            log.warn(".getAccessors Unable to obtain generated functional getter for method " + method.getName() + ", msg=" + ex.getMessage());
+        }
+
+        if (getter != null)
+        {
+            return getter;
+        }
+        return getGetter(method, fastClass, eventAdapterService);
+    }
+
     /**
      * Introspects the given class and returns event property descriptors for each property found
      * in the class itself, it's superclasses and all interfaces this class and the superclasses implements.
@@ -55,6 +55,15 @@ public final class ReflectionPropMethodGetter extends BaseNativePropertyGetter i
         }
     }
 
+    /**
+     * Returns the method to use to retrieve a value from the object.
+     * @return method
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
     public boolean isBeanExistsProperty(Object object)
     {
         return true;
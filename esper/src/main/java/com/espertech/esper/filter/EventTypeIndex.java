@@ -30,13 +30,15 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public class EventTypeIndex implements EventEvaluator
 {
-    private Map<EventType, FilterHandleSetNode> eventTypes;
+    private volatile Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
+    private final boolean copyOnWrite;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory)
     {
         eventTypes = new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
+        copyOnWrite = lockFactory.isCopyOnWrite();
     }
 
     /**
@@ -44,6 +46,10 @@ public class EventTypeIndex implements EventEvaluator
      */
     public void destroy()
     {
+        if (copyOnWrite) {
+            eventTypes = new HashMap<EventType, FilterHandleSetNode>();
+            return;
+        }
         eventTypes.clear();
     }
 
@@ -62,6 +68,12 @@ public class EventTypeIndex implements EventEvaluator
             {
                 throw new IllegalStateException("Event type already in index, add not performed, type=" + eventType);
             }
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+                copy.put(eventType, rootNode);
+                eventTypes = copy;
+                return;
+            }
             eventTypes.put(eventType, rootNode);
         }
         finally
@@ -71,10 +83,38 @@ public class EventTypeIndex implements EventEvaluator
     }
 
 
+    /**
+     * Replace the root node of the subtree for an existing event type.
+     * Threads that are evaluating an event against the prior root node complete their evaluation against the prior subtree.
+     * The mapping is always copied, since replacing is infrequent and may take place while threads evaluate events without locking.
+     * @param eventType is the event type to replace the subtree for
+     * @param rootNode is the new root node of the subtree
+     */
+    public void replace(EventType eventType, FilterHandleSetNode rootNode)
+    {
+        eventTypesRWLock.writeLock().lock();
+        try
+        {
+            Map<EventType, FilterHandleSetNode> copy = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+            copy.put(eventType, rootNode);
+            eventTypes = copy;
+        }
+        finally
+        {
+            eventTypesRWLock.writeLock().unlock();
+        }
+    }
+
     public void removeType(EventType type) {
         eventTypesRWLock.writeLock().lock();
         try
         {
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+                copy.remove(type);
+                eventTypes = copy;
+                return;
+            }
             eventTypes.remove(type);
         }
         finally
@@ -10,22 +10,33 @@ package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.Pair;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * This class is responsible for changes to {@link EventTypeIndex} for addition and removal of filters.
  * It delegates the work to make modifications to the filter parameter tree to an {@link IndexTreeBuilder}.
  * It enforces a policy that a filter callback can only be added once.
+ * <p>
+ * When index reordering is enabled the builder keeps track of all filters and can rebuild the filter subtree
+ * of an event type such that the filter parameters with the lowest observed hit rate, i.e. the most
+ * selective indexes, come first. Filter service entries remain valid as their tree path gets replaced in place.
  */
 public class EventTypeIndexBuilder
 {
     private final Map<FilterHandle, EventTypeIndexBuilderValueIndexesPair> isolatableCallbacks;
     private final Lock callbacksLock;
     private final EventTypeIndex eventTypeIndex;
+    private final Map<EventType, Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle>> reorderableFilters;
+    private final Map<EventType, Map<Pair<FilterSpecLookupable, FilterOperator>, Double>> hitRates;
+    private final Map<EventType, List<Pair<FilterSpecLookupable, FilterOperator>>> rankings;
+    private final ReentrantReadWriteLock reorderLock;
+    private volatile long numReorders;
 
     /**
      * Constructor - takes the event type index to manipulate as its parameter.
@@ -33,6 +44,17 @@ public class EventTypeIndexBuilder
      * @param allowIsolation - indicator whether isolated service provider is allowed for the engine
      */
     public EventTypeIndexBuilder(EventTypeIndex eventTypeIndex, boolean allowIsolation)
+    {
+        this(eventTypeIndex, allowIsolation, false);
+    }
+
+    /**
+     * Constructor - takes the event type index to manipulate as its parameter.
+     * @param eventTypeIndex - index to manipulate
+     * @param allowIsolation - indicator whether isolated service provider is allowed for the engine
+     * @param allowReorder - indicator whether filter indexes can be reordered by selectivity
+     */
+    public EventTypeIndexBuilder(EventTypeIndex eventTypeIndex, boolean allowIsolation, boolean allowReorder)
     {
         this.eventTypeIndex = eventTypeIndex;
         this.callbacksLock = new ReentrantLock();
@@ -43,6 +65,19 @@ public class EventTypeIndexBuilder
         else {
             this.isolatableCallbacks = null;
         }
+
+        if (allowReorder) {
+            this.reorderableFilters = new HashMap<EventType, Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle>>();
+            this.hitRates = new HashMap<EventType, Map<Pair<FilterSpecLookupable, FilterOperator>, Double>>();
+            this.rankings = new HashMap<EventType, List<Pair<FilterSpecLookupable, FilterOperator>>>();
+            this.reorderLock = new ReentrantReadWriteLock();
+        }
+        else {
+            this.reorderableFilters = null;
+            this.hitRates = null;
+            this.rankings = null;
+            this.reorderLock = null;
+        }
     }
 
     /**
@@ -54,6 +89,9 @@ public class EventTypeIndexBuilder
         if (isolatableCallbacks != null) {
             isolatableCallbacks.clear();
         }
+        if (reorderableFilters != null) {
+            reorderableFilters.clear();
+        }
     }
 
     /**
@@ -65,6 +103,20 @@ public class EventTypeIndexBuilder
      * @return filter service enrty
      */
     public final FilterServiceEntry add(FilterValueSet filterValueSet, FilterHandle filterCallback, FilterServiceGranularLockFactory lockFactory)
+    {
+        if (reorderLock == null) {
+            return addInternal(filterValueSet, filterCallback, lockFactory);
+        }
+        reorderLock.readLock().lock();
+        try {
+            return addInternal(filterValueSet, filterCallback, lockFactory);
+        }
+        finally {
+            reorderLock.readLock().unlock();
+        }
+    }
+
+    private FilterServiceEntry addInternal(FilterValueSet filterValueSet, FilterHandle filterCallback, FilterServiceGranularLockFactory lockFactory)
     {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterAdd(filterValueSet, filterCallback);}
         EventType eventType = filterValueSet.getEventType();
@@ -81,7 +133,7 @@ public class EventTypeIndexBuilder
                 rootNode = eventTypeIndex.get(eventType);
                 if (rootNode == null)
                 {
-                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite(), lockFactory.isStatisticsEnabled());
                     eventTypeIndex.add(eventType, rootNode);
                 }
             }
@@ -92,13 +144,26 @@ public class EventTypeIndexBuilder
         }
 
         // Now add to tree
-        ArrayDeque<EventTypeIndexBuilderIndexLookupablePair>[] path = IndexTreeBuilder.add(filterValueSet, filterCallback, rootNode, lockFactory);
-        EventTypeIndexBuilderIndexLookupablePair[][] pathArray = new EventTypeIndexBuilderIndexLookupablePair[path.length][];
-        for (int i = 0; i < path.length; i++) {
-            pathArray[i] = path[i].toArray(new EventTypeIndexBuilderIndexLookupablePair[path[i].size()]);
-        }
+        FilterValueSet ordered = reorderableFilters == null ? filterValueSet : orderBySelectivity(filterValueSet);
+        EventTypeIndexBuilderIndexLookupablePair[][] pathArray = addToTree(ordered, filterCallback, rootNode, lockFactory);
         EventTypeIndexBuilderValueIndexesPair pair = new EventTypeIndexBuilderValueIndexesPair(filterValueSet, pathArray);
 
+        // for reordering this class is also keeping track of the tree location of non-isolatable callbacks
+        if (reorderableFilters != null) {
+            callbacksLock.lock();
+            try {
+                Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle> filters = reorderableFilters.get(eventType);
+                if (filters == null) {
+                    filters = new LinkedHashMap<EventTypeIndexBuilderValueIndexesPair, FilterHandle>();
+                    reorderableFilters.put(eventType, filters);
+                }
+                filters.put(pair, filterCallback);
+            }
+            finally {
+                callbacksLock.unlock();
+            }
+        }
+
         // for non-isolatable callbacks the consumer keeps track of tree location
         if (isolatableCallbacks == null) {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterAdd(); }
@@ -124,6 +189,21 @@ public class EventTypeIndexBuilder
      * @param filterServiceEntry entry
      */
     public final void remove(FilterHandle filterCallback, FilterServiceEntry filterServiceEntry)
+    {
+        if (reorderLock == null) {
+            removeInternal(filterCallback, filterServiceEntry);
+            return;
+        }
+        reorderLock.readLock().lock();
+        try {
+            removeInternal(filterCallback, filterServiceEntry);
+        }
+        finally {
+            reorderLock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(FilterHandle filterCallback, FilterServiceEntry filterServiceEntry)
     {
         EventTypeIndexBuilderValueIndexesPair pair;
         if (isolatableCallbacks != null) {
@@ -146,6 +226,7 @@ public class EventTypeIndexBuilder
 
         EventType eventType = pair.getFilterValueSet().getEventType();
         FilterHandleSetNode rootNode = eventTypeIndex.get(eventType);
+        unregisterReorderable(eventType, pair);
 
         // Now remove from tree
         if (rootNode != null) {
@@ -168,6 +249,20 @@ public class EventTypeIndexBuilder
             throw new EPException("Operation not supported, please enable isolation in the engine configuration");
         }
 
+        if (reorderLock == null) {
+            return takeInternal(statementIds);
+        }
+        reorderLock.readLock().lock();
+        try {
+            return takeInternal(statementIds);
+        }
+        finally {
+            reorderLock.readLock().unlock();
+        }
+    }
+
+    private FilterSet takeInternal(Set<Integer> statementIds)
+    {
         List<FilterSetEntry> list = new ArrayList<FilterSetEntry>();
         callbacksLock.lock();
         try
@@ -181,6 +276,7 @@ public class EventTypeIndexBuilder
 
                     EventType eventType = pair.getFilterValueSet().getEventType();
                     FilterHandleSetNode rootNode = eventTypeIndex.get(eventType);
+                    unregisterReorderable(eventType, pair);
 
                     // Now remove from tree
                     for (int i = 0; i < pair.getIndexPairs().length; i++) {
@@ -217,4 +313,238 @@ public class EventTypeIndexBuilder
     public boolean isSupportsTakeApply() {
         return isolatableCallbacks != null;
     }
+
+    /**
+     * Returns indicator whether filter indexes can be reordered.
+     * @return indicator
+     */
+    public boolean isSupportsReorder() {
+        return reorderableFilters != null;
+    }
+
+    /**
+     * Returns the number of filter subtrees rebuilt by reordering.
+     * @return count
+     */
+    public long getNumReorders() {
+        return numReorders;
+    }
+
+    /**
+     * Rebuild the filter subtree of each event type for which the ranking of filter parameters by hit rate changed
+     * since the last rebuild, such that parameters with a lower hit rate are indexed first.
+     * Evaluation may continue against the prior subtree while the new subtree gets built.
+     * @param lockFactory lock factory
+     * @return number of subtrees rebuilt
+     */
+    public int reorder(FilterServiceGranularLockFactory lockFactory)
+    {
+        if (reorderLock == null) {
+            throw new EPException("Operation not supported, please enable filter index reordering in the engine configuration");
+        }
+
+        int count = 0;
+        reorderLock.writeLock().lock();
+        try {
+            for (Map.Entry<EventType, Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle>> entry : reorderableFilters.entrySet()) {
+                if (reorderType(entry.getKey(), entry.getValue(), lockFactory)) {
+                    count++;
+                }
+            }
+        }
+        finally {
+            reorderLock.writeLock().unlock();
+        }
+        numReorders += count;
+        return count;
+    }
+
+    /**
+     * Reset the evaluation and hit counters of the filter indexes.
+     */
+    public void resetStatistics()
+    {
+        if (reorderableFilters == null) {
+            return;
+        }
+        callbacksLock.lock();
+        try {
+            for (Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle> filters : reorderableFilters.values()) {
+                for (FilterParamIndexBase index : collectIndexes(filters.keySet())) {
+                    index.resetStatistics();
+                }
+            }
+        }
+        finally {
+            callbacksLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a textual summary of filter index evaluations and hits per event type, lookupable and operator.
+     * @return one line per event type, lookupable and operator
+     */
+    public List<String> getIndexStatistics()
+    {
+        List<String> result = new ArrayList<String>();
+        if (reorderableFilters == null) {
+            return result;
+        }
+        callbacksLock.lock();
+        try {
+            for (Map.Entry<EventType, Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle>> entry : reorderableFilters.entrySet()) {
+                Map<Pair<FilterSpecLookupable, FilterOperator>, long[]> counts = sumStatistics(collectIndexes(entry.getValue().keySet()));
+                for (Map.Entry<Pair<FilterSpecLookupable, FilterOperator>, long[]> count : counts.entrySet()) {
+                    long evaluated = count.getValue()[0];
+                    long hits = count.getValue()[1];
+                    result.add(entry.getKey().getName() + " " + count.getKey().getFirst().getExpression() + " " + count.getKey().getSecond() +
+                            " evaluated=" + evaluated + " hits=" + hits + " misses=" + (evaluated - hits));
+                }
+            }
+        }
+        finally {
+            callbacksLock.unlock();
+        }
+        return result;
+    }
+
+    private boolean reorderType(EventType eventType, Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle> filters, FilterServiceGranularLockFactory lockFactory)
+    {
+        if (filters.isEmpty() || eventTypeIndex.get(eventType) == null) {
+            return false;
+        }
+
+        // update hit rates, keeping the prior rate for indexes that did not evaluate events
+        Map<Pair<FilterSpecLookupable, FilterOperator>, long[]> counts = sumStatistics(collectIndexes(filters.keySet()));
+        Map<Pair<FilterSpecLookupable, FilterOperator>, Double> rates = hitRates.get(eventType);
+        if (rates == null) {
+            rates = new HashMap<Pair<FilterSpecLookupable, FilterOperator>, Double>();
+        }
+        else {
+            rates = new HashMap<Pair<FilterSpecLookupable, FilterOperator>, Double>(rates);
+        }
+        for (Map.Entry<Pair<FilterSpecLookupable, FilterOperator>, long[]> count : counts.entrySet()) {
+            long evaluated = count.getValue()[0];
+            if (evaluated > 0) {
+                rates.put(count.getKey(), count.getValue()[1] / (double) evaluated);
+            }
+        }
+        hitRates.put(eventType, rates);
+
+        // rebuild only when the ranking changed
+        List<Pair<FilterSpecLookupable, FilterOperator>> ranking = new ArrayList<Pair<FilterSpecLookupable, FilterOperator>>(rates.keySet());
+        final Map<Pair<FilterSpecLookupable, FilterOperator>, Double> rankingRates = rates;
+        Collections.sort(ranking, new Comparator<Pair<FilterSpecLookupable, FilterOperator>>() {
+            public int compare(Pair<FilterSpecLookupable, FilterOperator> o1, Pair<FilterSpecLookupable, FilterOperator> o2) {
+                int comparison = Double.compare(rankingRates.get(o1), rankingRates.get(o2));
+                if (comparison != 0) {
+                    return comparison;
+                }
+                return o1.toString().compareTo(o2.toString());
+            }
+        });
+        if (ranking.isEmpty() || ranking.equals(rankings.get(eventType))) {
+            return false;
+        }
+        rankings.put(eventType, ranking);
+
+        FilterHandleSetNode rootNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite(), lockFactory.isStatisticsEnabled());
+        for (Map.Entry<EventTypeIndexBuilderValueIndexesPair, FilterHandle> entry : filters.entrySet()) {
+            EventTypeIndexBuilderValueIndexesPair pair = entry.getKey();
+            FilterValueSet ordered = orderBySelectivity(pair.getFilterValueSet());
+            pair.setIndexPairs(addToTree(ordered, entry.getValue(), rootNode, lockFactory));
+        }
+        eventTypeIndex.replace(eventType, rootNode);
+        return true;
+    }
+
+    private FilterValueSet orderBySelectivity(FilterValueSet filterValueSet)
+    {
+        final Map<Pair<FilterSpecLookupable, FilterOperator>, Double> rates = hitRates.get(filterValueSet.getEventType());
+        if (rates == null) {
+            return filterValueSet;
+        }
+
+        Comparator<FilterValueSetParam> comparator = new Comparator<FilterValueSetParam>() {
+            public int compare(FilterValueSetParam o1, FilterValueSetParam o2) {
+                return Double.compare(getRate(o1), getRate(o2));
+            }
+
+            private double getRate(FilterValueSetParam param) {
+                // boolean expressions are expensive to evaluate and remain last
+                if (param.getFilterOperator() == FilterOperator.BOOLEAN_EXPRESSION) {
+                    return Double.MAX_VALUE;
+                }
+                Double rate = rates.get(new Pair<FilterSpecLookupable, FilterOperator>(param.getLookupable(), param.getFilterOperator()));
+                return rate == null ? 1d : rate;
+            }
+        };
+
+        FilterValueSetParam[][] parameters = new FilterValueSetParam[filterValueSet.getParameters().length][];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = filterValueSet.getParameters()[i].clone();
+            Arrays.sort(parameters[i], comparator);
+        }
+        return new FilterValueSetImpl(filterValueSet.getEventType(), parameters);
+    }
+
+    private void unregisterReorderable(EventType eventType, EventTypeIndexBuilderValueIndexesPair pair)
+    {
+        if (reorderableFilters == null) {
+            return;
+        }
+        callbacksLock.lock();
+        try {
+            Map<EventTypeIndexBuilderValueIndexesPair, FilterHandle> filters = reorderableFilters.get(eventType);
+            if (filters != null) {
+                filters.remove(pair);
+            }
+        }
+        finally {
+            callbacksLock.unlock();
+        }
+    }
+
+    private static EventTypeIndexBuilderIndexLookupablePair[][] addToTree(FilterValueSet filterValueSet, FilterHandle filterCallback, FilterHandleSetNode rootNode, FilterServiceGranularLockFactory lockFactory)
+    {
+        ArrayDeque<EventTypeIndexBuilderIndexLookupablePair>[] path = IndexTreeBuilder.add(filterValueSet, filterCallback, rootNode, lockFactory);
+        EventTypeIndexBuilderIndexLookupablePair[][] pathArray = new EventTypeIndexBuilderIndexLookupablePair[path.length][];
+        for (int i = 0; i < path.length; i++) {
+            pathArray[i] = path[i].toArray(new EventTypeIndexBuilderIndexLookupablePair[path[i].size()]);
+        }
+        return pathArray;
+    }
+
+    // each index of the subtree is on the tree path of at least one filter
+    private static Collection<FilterParamIndexBase> collectIndexes(Collection<EventTypeIndexBuilderValueIndexesPair> pairs)
+    {
+        Map<FilterParamIndexBase, FilterParamIndexBase> indexes = new IdentityHashMap<FilterParamIndexBase, FilterParamIndexBase>();
+        for (EventTypeIndexBuilderValueIndexesPair pair : pairs) {
+            for (EventTypeIndexBuilderIndexLookupablePair[] path : pair.getIndexPairs()) {
+                for (EventTypeIndexBuilderIndexLookupablePair element : path) {
+                    indexes.put(element.getIndex(), element.getIndex());
+                }
+            }
+        }
+        return indexes.keySet();
+    }
+
+    private static Map<Pair<FilterSpecLookupable, FilterOperator>, long[]> sumStatistics(Collection<FilterParamIndexBase> indexes)
+    {
+        Map<Pair<FilterSpecLookupable, FilterOperator>, long[]> counts = new LinkedHashMap<Pair<FilterSpecLookupable, FilterOperator>, long[]>();
+        for (FilterParamIndexBase index : indexes) {
+            if (!(index instanceof FilterParamIndexLookupableBase)) {
+                continue;
+            }
+            Pair<FilterSpecLookupable, FilterOperator> key = new Pair<FilterSpecLookupable, FilterOperator>(((FilterParamIndexLookupableBase) index).getLookupable(), index.getFilterOperator());
+            long[] count = counts.get(key);
+            if (count == null) {
+                count = new long[2];
+                counts.put(key, count);
+            }
+            count[0] += index.getNumEvaluated();
+            count[1] += index.getNumHits();
+        }
+        return counts;
+    }
 }
@@ -11,7 +11,7 @@ package com.espertech.esper.filter;
 public class EventTypeIndexBuilderValueIndexesPair implements FilterServiceEntry
 {
     private final FilterValueSet filterValueSet;
-    private final EventTypeIndexBuilderIndexLookupablePair[][] indexPairs;
+    private volatile EventTypeIndexBuilderIndexLookupablePair[][] indexPairs;
 
     public EventTypeIndexBuilderValueIndexesPair(FilterValueSet filterValueSet, EventTypeIndexBuilderIndexLookupablePair[][] indexPairs) {
         this.filterValueSet = filterValueSet;
@@ -25,4 +25,8 @@ public class EventTypeIndexBuilderValueIndexesPair implements FilterServiceEntry
     public EventTypeIndexBuilderIndexLookupablePair[][] getIndexPairs() {
         return indexPairs;
     }
+
+    public void setIndexPairs(EventTypeIndexBuilderIndexLookupablePair[][] indexPairs) {
+        this.indexPairs = indexPairs;
+    }
 }
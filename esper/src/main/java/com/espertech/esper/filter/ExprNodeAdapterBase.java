@@ -26,12 +26,12 @@ public class ExprNodeAdapterBase
     protected final ExprEvaluator exprNodeEval;
     protected final ExprEvaluatorContext evaluatorContext;
 
-    public ExprNodeAdapterBase(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext evaluatorContext)
+    public ExprNodeAdapterBase(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext evaluatorContext)
     {
         this.filterSpecId = filterSpecId;
         this.filterSpecParamPathNum = filterSpecParamPathNum;
         this.exprNode = exprNode;
-        this.exprNodeEval = exprNode.getExprEvaluator();
+        this.exprNodeEval = exprNodeEval;
         this.evaluatorContext = evaluatorContext;
     }
 
@@ -9,6 +9,7 @@
 package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.variable.VariableService;
@@ -17,8 +18,8 @@ public class ExprNodeAdapterBaseStmtLock extends ExprNodeAdapterBase
 {
     protected final VariableService variableService;
 
-    public ExprNodeAdapterBaseStmtLock(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext evaluatorContext, VariableService variableService) {
-        super(filterSpecId, filterSpecParamPathNum, exprNode, evaluatorContext);
+    public ExprNodeAdapterBaseStmtLock(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext evaluatorContext, VariableService variableService) {
+        super(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, evaluatorContext);
         this.variableService = variableService;
     }
 
@@ -9,6 +9,7 @@
 package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.table.mgmt.TableService;
@@ -18,8 +19,8 @@ public class ExprNodeAdapterBaseWTableAccess extends ExprNodeAdapterBase
     private final ExprNodeAdapterBase evalBase;
     private final TableService tableService;
 
-    public ExprNodeAdapterBaseWTableAccess(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext evaluatorContext, ExprNodeAdapterBase evalBase, TableService tableService) {
-        super(filterSpecId, filterSpecParamPathNum, exprNode, evaluatorContext);
+    public ExprNodeAdapterBaseWTableAccess(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext evaluatorContext, ExprNodeAdapterBase evalBase, TableService tableService) {
+        super(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, evaluatorContext);
         this.evalBase = evalBase;
         this.tableService = tableService;
     }
@@ -9,6 +9,7 @@
 package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.variable.VariableService;
@@ -23,8 +24,8 @@ public class ExprNodeAdapterMultiStream extends ExprNodeAdapterBaseVariables
     protected final EventBean[] prototypeArray;
     private final ThreadLocal<EventBean[]> arrayPerThread;
 
-    public ExprNodeAdapterMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext evaluatorContext, VariableService variableService, EventBean[] prototype) {
-        super(filterSpecId, filterSpecParamPathNum, exprNode, evaluatorContext, variableService);
+    public ExprNodeAdapterMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext evaluatorContext, VariableService variableService, EventBean[] prototype) {
+        super(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, evaluatorContext, variableService);
         this.prototypeArray = prototype;
 
         arrayPerThread = new ThreadLocal<EventBean[]>()
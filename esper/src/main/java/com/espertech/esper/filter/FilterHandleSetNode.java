@@ -21,15 +21,30 @@ import java.util.concurrent.locks.ReadWriteLock;
  * but can also be non-leaf (some indizes exist) in a filter evaluation tree.
  * Events are evaluated by asking each of the indizes to evaluate the event and by
  * adding any filter callbacks in this node to the "matches" list of callbacks.
+ * <p>
+ * When copy-on-write, changes replace the callback set and index list with modified copies
+ * so that evaluation can iterate without locking.
  */
 public final class FilterHandleSetNode implements EventEvaluator
 {
     private final ReadWriteLock nodeRWLock;
-    private final Set<FilterHandle> callbackSet;
-    private final List<FilterParamIndexBase> indizes;
+    private final boolean copyOnWrite;
+    private final boolean statisticsEnabled;
+    private volatile Set<FilterHandle> callbackSet;
+    private volatile List<FilterParamIndexBase> indizes;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite) {
+        this(nodeRWLock, copyOnWrite, false);
+    }
+
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite, boolean statisticsEnabled) {
         this.nodeRWLock = nodeRWLock;
+        this.copyOnWrite = copyOnWrite;
+        this.statisticsEnabled = statisticsEnabled;
         callbackSet = new LinkedHashSet<FilterHandle>();
         indizes = new LinkedList<FilterParamIndexBase>();
     }
@@ -66,7 +81,8 @@ public final class FilterHandleSetNode implements EventEvaluator
     }
 
     /**
-     * Returns list of indexes - not returning an iterator. Client classes should not change this collection.
+     * Returns list of indexes - not returning an iterator. Client classes should not change this collection
+     * and should use the add and remove methods instead.
      * @return list of indizes
      */
     public List<FilterParamIndexBase> getIndizes()
@@ -83,8 +99,15 @@ public final class FilterHandleSetNode implements EventEvaluator
      */
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
     {
+        if (statisticsEnabled) {
+            FilterIndexStatisticsPath.getInvocationCounter()[0]++;
+        }
+
         nodeRWLock.readLock().lock();
         try {
+            List<FilterParamIndexBase> indizes = this.indizes;
+            Set<FilterHandle> callbackSet = this.callbackSet;
+
             if (InstrumentationHelper.ENABLED) {
                 if (!indizes.isEmpty()) {
                     InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
@@ -139,6 +162,12 @@ public final class FilterHandleSetNode implements EventEvaluator
      */
     public final void add(FilterParamIndexBase index)
     {
+        if (copyOnWrite) {
+            List<FilterParamIndexBase> copy = new LinkedList<FilterParamIndexBase>(indizes);
+            copy.add(index);
+            indizes = copy;
+            return;
+        }
         indizes.add(index);
     }
 
@@ -151,6 +180,14 @@ public final class FilterHandleSetNode implements EventEvaluator
      */
     public final boolean remove(FilterParamIndexBase index)
     {
+        if (copyOnWrite) {
+            List<FilterParamIndexBase> copy = new LinkedList<FilterParamIndexBase>(indizes);
+            if (!copy.remove(index)) {
+                return false;
+            }
+            indizes = copy;
+            return true;
+        }
         return indizes.remove(index);
     }
 
@@ -163,6 +200,12 @@ public final class FilterHandleSetNode implements EventEvaluator
      */
     public final void add(FilterHandle filterCallback)
     {
+        if (copyOnWrite) {
+            Set<FilterHandle> copy = new LinkedHashSet<FilterHandle>(callbackSet);
+            copy.add(filterCallback);
+            callbackSet = copy;
+            return;
+        }
         callbackSet.add(filterCallback);
     }
 
@@ -175,6 +218,14 @@ public final class FilterHandleSetNode implements EventEvaluator
      */
     public final boolean remove(FilterHandle filterCallback)
     {
+        if (copyOnWrite) {
+            Set<FilterHandle> copy = new LinkedHashSet<FilterHandle>(callbackSet);
+            if (!copy.remove(filterCallback)) {
+                return false;
+            }
+            callbackSet = copy;
+            return true;
+        }
         return callbackSet.remove(filterCallback);
     }
 
@@ -0,0 +1,34 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+/**
+ * Per-thread invocation counter for the collection of filter index statistics.
+ * <p>
+ * For filter services that reorder filter indexes, each filter index counts the events it evaluates and the events
+ * it passes on to at least one event evaluator. An index detects the latter by the per-thread invocation counter
+ * that each evaluator increments when it is asked to match an event.
+ */
+public class FilterIndexStatisticsPath
+{
+    private static final ThreadLocal<long[]> invocationCounter = new ThreadLocal<long[]>() {
+        protected synchronized long[] initialValue() {
+            return new long[1];
+        }
+    };
+
+    /**
+     * Returns the invocation counter of the current thread, the counter is a single-element array.
+     * @return counter
+     */
+    public static long[] getInvocationCounter()
+    {
+        return invocationCounter.get();
+    }
+}
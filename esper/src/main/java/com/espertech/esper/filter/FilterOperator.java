@@ -153,6 +153,30 @@ public enum FilterOperator
         return false;
     }
 
+    /**
+     * Returns true for range and inverted range operators that include the low endpoint in the range.
+     * @return true for closed and half-open ranges, false for anyting else
+     */
+    public boolean isRangeLowInclusive()
+    {
+        return (this == FilterOperator.RANGE_CLOSED) ||
+               (this == FilterOperator.RANGE_HALF_OPEN) ||
+               (this == FilterOperator.NOT_RANGE_CLOSED) ||
+               (this == FilterOperator.NOT_RANGE_HALF_OPEN);
+    }
+
+    /**
+     * Returns true for range and inverted range operators that include the high endpoint in the range.
+     * @return true for closed and half-closed ranges, false for anyting else
+     */
+    public boolean isRangeHighInclusive()
+    {
+        return (this == FilterOperator.RANGE_CLOSED) ||
+               (this == FilterOperator.RANGE_HALF_CLOSED) ||
+               (this == FilterOperator.NOT_RANGE_CLOSED) ||
+               (this == FilterOperator.NOT_RANGE_HALF_CLOSED);
+    }
+
     /**
      * Returns true for relational comparison operators which excludes the = equals operator, else returns false.
      * @return true for lesser or greater -type operators, false for anyting else
@@ -8,6 +8,9 @@
  **************************************************************************************/
 package com.espertech.esper.filter;
 
+import com.espertech.esper.client.EventBean;
+
+import java.util.Collection;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -19,10 +22,17 @@ import java.util.concurrent.locks.ReadWriteLock;
  * would store a value of "10" in its internal structure.
  * <p>
  * Implementations make sure that the type of the Object constant in get and put calls matches the event property type.
+ * <p>
+ * When filter index statistics are enabled the index counts the number of events evaluated and
+ * the number of events that matched at least one filter parameter constant (hits).
+ * The counters are not synchronized and are therefore approximate when multiple threads evaluate events.
  */
 public abstract class FilterParamIndexBase implements EventEvaluator
 {
     private final FilterOperator filterOperator;
+    private boolean statisticsEnabled;
+    private long numEvaluated;
+    private long numHits;
 
     /**
      * Constructor.
@@ -33,6 +43,66 @@ public abstract class FilterParamIndexBase implements EventEvaluator
         this.filterOperator = filterOperator;
     }
 
+    /**
+     * Matches the event against the filter parameter constants of the index.
+     * @param theEvent is the event to match
+     * @param matches is the list to add matching filter callbacks to
+     */
+    protected abstract void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches);
+
+    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        if (!statisticsEnabled) {
+            matchEventInternal(theEvent, matches);
+            return;
+        }
+
+        // any evaluator that this index passes the event to counts an invocation
+        long[] invocations = FilterIndexStatisticsPath.getInvocationCounter();
+        long count = ++invocations[0];
+        matchEventInternal(theEvent, matches);
+        numEvaluated++;
+        if (invocations[0] != count) {
+            numHits++;
+        }
+    }
+
+    /**
+     * Sets filter index statistics collection, to be set before the index becomes part of a filter index tree.
+     * @param statisticsEnabled true if the index should count evaluations and hits
+     */
+    void setStatisticsEnabled(boolean statisticsEnabled)
+    {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * Returns the number of events evaluated while statistics were enabled.
+     * @return count
+     */
+    public final long getNumEvaluated()
+    {
+        return numEvaluated;
+    }
+
+    /**
+     * Returns the number of events that matched at least one filter parameter constant while statistics were enabled.
+     * @return count
+     */
+    public final long getNumHits()
+    {
+        return numHits;
+    }
+
+    /**
+     * Resets the evaluation and hit counters.
+     */
+    public final void resetStatistics()
+    {
+        numEvaluated = 0;
+        numHits = 0;
+    }
+
     /**
      * Get the event evaluation instance associated with the constant. Returns null if no entry found for the constant.
      * The calling class must make sure that access to the underlying resource is protected
@@ -26,17 +26,23 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexCompare extends FilterParamIndexLookupableBase
 {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private volatile TreeMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
-    private Double lowerBounds;
-    private Double upperBounds;
+    private volatile Double lowerBounds;
+    private volatile Double upperBounds;
 
     public FilterParamIndexCompare(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexCompare(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
 
         if ((filterOperator != FilterOperator.GREATER) &&
             (filterOperator != FilterOperator.GREATER_OR_EQUAL) &&
@@ -54,7 +60,14 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
 
     public final void put(Object filterConstant, EventEvaluator matcher)
     {
-        constantsMap.put(filterConstant, matcher);
+        if (copyOnWrite) {
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.put(filterConstant, matcher);
+            constantsMap = copy;
+        }
+        else {
+            constantsMap.put(filterConstant, matcher);
+        }
 
         // Update bounds
         Double constant = ((Number) filterConstant).doubleValue();
@@ -70,7 +83,15 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
 
     public final boolean remove(Object filterConstant)
     {
-        if (constantsMap.remove(filterConstant) == null)
+        if (copyOnWrite) {
+            if (!constantsMap.containsKey(filterConstant)) {
+                return false;
+            }
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.remove(filterConstant);
+            constantsMap = copy;
+        }
+        else if (constantsMap.remove(filterConstant) == null)
         {
             return false;
         }
@@ -90,7 +111,7 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         return constantsMapRWLock;
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object propertyValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, propertyValue);}
@@ -102,7 +123,9 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         }
 
         // A undefine lower bound indicates an empty index
-        if (lowerBounds == null)
+        Double lowerBounds = this.lowerBounds;
+        Double upperBounds = this.upperBounds;
+        if ((lowerBounds == null) || (upperBounds == null))
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
             return;
@@ -136,6 +159,7 @@ public final class FilterParamIndexCompare extends FilterParamIndexLookupableBas
         // Look up in table
         constantsMapRWLock.readLock().lock();
         try {
+            TreeMap<Object, EventEvaluator> constantsMap = this.constantsMap;
 
             // Get the head or tail end of the map depending on comparison type
             Map<Object, EventEvaluator> subMap;
@@ -26,14 +26,20 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexCompareString extends FilterParamIndexLookupableBase
 {
-    private final TreeMap<Object, EventEvaluator> constantsMap;
+    private volatile TreeMap<Object, EventEvaluator> constantsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
     public FilterParamIndexCompareString(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexCompareString(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new TreeMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
 
         if ((filterOperator != FilterOperator.GREATER) &&
             (filterOperator != FilterOperator.GREATER_OR_EQUAL) &&
@@ -51,12 +57,27 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
 
     public final void put(Object filterConstant, EventEvaluator matcher)
     {
-        constantsMap.put(filterConstant, matcher);
+        if (copyOnWrite) {
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.put(filterConstant, matcher);
+            constantsMap = copy;
+        }
+        else {
+            constantsMap.put(filterConstant, matcher);
+        }
     }
 
     public final boolean remove(Object filterConstant)
     {
-        if (constantsMap.remove(filterConstant) == null)
+        if (copyOnWrite) {
+            if (!constantsMap.containsKey(filterConstant)) {
+                return false;
+            }
+            TreeMap<Object, EventEvaluator> copy = new TreeMap<Object, EventEvaluator>(constantsMap);
+            copy.remove(filterConstant);
+            constantsMap = copy;
+        }
+        else if (constantsMap.remove(filterConstant) == null)
         {
             return false;
         }
@@ -74,7 +95,7 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
         return constantsMapRWLock;
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object propertyValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, propertyValue);}
@@ -90,6 +111,7 @@ public final class FilterParamIndexCompareString extends FilterParamIndexLookupa
         // Look up in table
         constantsMapRWLock.readLock().lock();
         try {
+            TreeMap<Object, EventEvaluator> constantsMap = this.constantsMap;
 
             // Get the head or tail end of the map depending on comparison type
             Map<Object, EventEvaluator> subMap;
@@ -14,26 +14,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.SortedMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
+ * The implementation is based on an augmented interval tree and stores only expression
  * parameter values of type DoubleRange.
  */
 public final class FilterParamIndexDoubleRange extends FilterParamIndexDoubleRangeBase
 {
     public FilterParamIndexDoubleRange(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
-        super(lookupable, readWriteLock, filterOperator);
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexDoubleRange(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, filterOperator, copyOnWrite);
         if (!(filterOperator.isRangeOperator()))
         {
             throw new IllegalArgumentException("Invalid filter operator " + filterOperator);
         }
     }
     
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object objAttributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, objAttributeValue);}
@@ -44,64 +46,13 @@ public final class FilterParamIndexDoubleRange extends FilterParamIndexDoubleRan
             return;
         }
 
-        double attributeValue = ((Number) objAttributeValue).doubleValue();
-
-        DoubleRange rangeStart = new DoubleRange(attributeValue - largestRangeValueDouble, attributeValue);
-        DoubleRange rangeEnd = new DoubleRange(attributeValue, Double.MAX_VALUE);
-
-        SortedMap<DoubleRange, EventEvaluator> subMap = ranges.subMap(rangeStart, rangeEnd);
-
-        // For not including either endpoint
-        // A bit awkward to duplicate the loop code, however better than checking the boolean many times over
-        // This may be a bit of an early performance optimization - the optimizer after all may do this better
-        if (this.getFilterOperator() == FilterOperator.RANGE_OPEN)  // include neither endpoint
-        {
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if ((attributeValue > entry.getKey().getMin()) &&
-                    (attributeValue < entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_CLOSED)   // include all endpoints
-        {
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if ((attributeValue >= entry.getKey().getMin()) &&
-                    (attributeValue <= entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_HALF_CLOSED) // include high endpoint not low endpoint
-        {
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if ((attributeValue > entry.getKey().getMin()) &&
-                    (attributeValue <= entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_HALF_OPEN) // include low endpoint not high endpoint
-        {
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if ((attributeValue >= entry.getKey().getMin()) &&
-                    (attributeValue < entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else
+        if (Double.isNaN(((Number) objAttributeValue).doubleValue()))   // NaN compares false with any endpoint
         {
-            throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
+            return;
         }
+
+        ranges.matchContaining(objAttributeValue, lowInclusive, highInclusive, theEvent, matches);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
     }
 
@@ -12,28 +12,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.IdentityHashMap;
-import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
- * parameter values of type DoubleRange.
+ * The implementation is based on an augmented interval tree and stores only expression
+ * parameter values of type DoubleRange. Ranges with a null endpoint are kept aside as they never match.
  */
 public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLookupableBase
 {
-    protected final TreeMap<DoubleRange, EventEvaluator> ranges;
+    protected final RangeIntervalTree ranges;
     private final IdentityHashMap<DoubleRange, EventEvaluator> rangesNullEndpoints;
     private final ReadWriteLock rangesRWLock;
+    protected final boolean lowInclusive;
+    protected final boolean highInclusive;
 
-    protected double largestRangeValueDouble = Double.MIN_VALUE;
-
-    protected FilterParamIndexDoubleRangeBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexDoubleRangeBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
-        ranges = new TreeMap<DoubleRange, EventEvaluator>(new DoubleRangeComparator());
+        ranges = RangeIntervalTree.makeDoubleRangeTree();   // the tree copies changed paths, copy-on-write requires no copy
         rangesNullEndpoints = new IdentityHashMap<DoubleRange, EventEvaluator>();
         rangesRWLock = readWriteLock;
+        lowInclusive = filterOperator.isRangeLowInclusive();
+        highInclusive = filterOperator.isRangeHighInclusive();
     }
 
     public final EventEvaluator get(Object expressionValue)
@@ -66,11 +67,6 @@ public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLo
             return;
         }
 
-        if ( Math.abs(range.getMax() - range.getMin()) > largestRangeValueDouble)
-        {
-            largestRangeValueDouble = Math.abs(range.getMax() - range.getMin());
-        }
-
         ranges.put(range, matcher);
     }
 
@@ -83,7 +79,7 @@ public abstract class FilterParamIndexDoubleRangeBase extends FilterParamIndexLo
             return rangesNullEndpoints.remove(range) != null;
         }
 
-        return ranges.remove(range) != null;
+        return ranges.remove(range);
     }
 
     public final int size()
@@ -14,25 +14,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the not range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
+ * The implementation is based on an augmented interval tree and stores only expression
  * parameter values of type DoubleRange.
  */
 public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexDoubleRangeBase
 {
     public FilterParamIndexDoubleRangeInverted(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
-        super(lookupable, readWriteLock, filterOperator);
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexDoubleRangeInverted(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, filterOperator, copyOnWrite);
         if (!(filterOperator.isInvertedRangeOperator()))
         {
             throw new IllegalArgumentException("Invalid filter operator " + filterOperator);
         }
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object objAttributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, objAttributeValue);}
@@ -43,48 +46,13 @@ public final class FilterParamIndexDoubleRangeInverted extends FilterParamIndexD
             return;
         }
 
-        double attributeValue = ((Number) objAttributeValue).doubleValue();
-
-        if (this.getFilterOperator() == FilterOperator.NOT_RANGE_CLOSED) {   // include all endpoints
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue < entry.getKey().getMin()) ||
-                    (attributeValue > entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_OPEN) { // include neither endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue <= entry.getKey().getMin()) ||
-                    (attributeValue >= entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_HALF_CLOSED) { // include high endpoint not low endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue <= entry.getKey().getMin()) ||
-                    (attributeValue > entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.NOT_RANGE_HALF_OPEN) { // include low endpoint not high endpoint
-            for (Map.Entry<DoubleRange, EventEvaluator> entry : ranges.entrySet()) {
-                if ((attributeValue < entry.getKey().getMin()) ||
-                    (attributeValue >= entry.getKey().getMax()))
-                {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else
+        if (Double.isNaN(((Number) objAttributeValue).doubleValue()))   // NaN compares false with any endpoint
         {
-            throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
+            return;
         }
+
+        ranges.matchNotContaining(objAttributeValue, lowInclusive, highInclusive, theEvent, matches);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
     }
 
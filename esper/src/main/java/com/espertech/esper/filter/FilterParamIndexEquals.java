@@ -21,10 +21,14 @@ import java.util.concurrent.locks.ReadWriteLock;
 public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase
 {
     public FilterParamIndexEquals(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.EQUAL);
+        this(lookupable, readWriteLock, false);
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    public FilterParamIndexEquals(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, copyOnWrite);
+    }
+
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
@@ -15,17 +15,20 @@ import java.util.concurrent.locks.ReadWriteLock;
 /**
  * Index for filter parameter constants to match using the equals (=) operator.
  * The implementation is based on a regular HashMap.
+ * When copy-on-write, changes replace the map with a modified copy.
  */
 public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupableBase
 {
-    protected final Map<Object, EventEvaluator> constantsMap;
+    protected volatile Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
-    protected FilterParamIndexEqualsBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexEqualsBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant)
@@ -35,11 +38,26 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
 
     public final void put(Object filterConstant, EventEvaluator evaluator)
     {
+        if (copyOnWrite) {
+            Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(constantsMap);
+            copy.put(filterConstant, evaluator);
+            constantsMap = copy;
+            return;
+        }
         constantsMap.put(filterConstant, evaluator);
     }
 
     public final boolean remove(Object filterConstant)
     {
+        if (copyOnWrite) {
+            if (!constantsMap.containsKey(filterConstant)) {
+                return false;
+            }
+            Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(constantsMap);
+            copy.remove(filterConstant);
+            constantsMap = copy;
+            return true;
+        }
         if (constantsMap.remove(filterConstant) == null)
         {
             return false;
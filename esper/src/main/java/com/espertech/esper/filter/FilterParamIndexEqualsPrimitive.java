@@ -0,0 +1,71 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the equals (=) operator against a numeric lookupable.
+ * The implementation is based on an open-addressing map keyed by primitive long and does not box property values
+ * when the getter provides primitive access.
+ */
+public final class FilterParamIndexEqualsPrimitive extends FilterParamIndexEqualsPrimitiveBase
+{
+    public FilterParamIndexEqualsPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexEqualsPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, copyOnWrite);
+    }
+
+    protected void matchKey(EventBean theEvent, long key, Collection<FilterHandle> matches)
+    {
+        // Look up in hashtable
+        EventEvaluator evaluator = null;
+        constantsMapRWLock.readLock().lock();
+        try {
+            evaluator = constantsMap.get(key);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+        matchEvaluator(theEvent, evaluator, matches);
+    }
+
+    protected void matchObject(EventBean theEvent, Object attributeValue, Collection<FilterHandle> matches)
+    {
+        EventEvaluator evaluator = null;
+        constantsMapRWLock.readLock().lock();
+        try {
+            evaluator = nonNumericMap.get(attributeValue);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+        matchEvaluator(theEvent, evaluator, matches);
+    }
+
+    private void matchEvaluator(EventBean theEvent, EventEvaluator evaluator, Collection<FilterHandle> matches)
+    {
+        // No listener found for the value, return
+        if (evaluator == null)
+        {
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
+            return;
+        }
+
+        evaluator.matchEvent(theEvent, matches);
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(true);}
+    }
+}
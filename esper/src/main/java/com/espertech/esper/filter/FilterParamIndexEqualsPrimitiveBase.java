@@ -0,0 +1,107 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.collection.LongObjectHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the equals (=) or not-equals (!=) operator
+ * against a numeric lookupable.
+ * The implementation is based on an open-addressing map keyed by primitive long.
+ * When copy-on-write, changes replace the map with a modified copy.
+ */
+public abstract class FilterParamIndexEqualsPrimitiveBase extends FilterParamIndexPrimitiveBase
+{
+    protected volatile LongObjectHashMap<EventEvaluator> constantsMap;
+    protected volatile Map<Object, EventEvaluator> nonNumericMap;
+    protected final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
+
+    protected FilterParamIndexEqualsPrimitiveBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
+        super(filterOperator, lookupable);
+
+        constantsMap = new LongObjectHashMap<EventEvaluator>();
+        nonNumericMap = new HashMap<Object, EventEvaluator>();
+        constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public final EventEvaluator get(Object filterConstant)
+    {
+        if (filterConstant instanceof Number) {
+            return constantsMap.get(toKey((Number) filterConstant));
+        }
+        return nonNumericMap.get(filterConstant);
+    }
+
+    public final void put(Object filterConstant, EventEvaluator evaluator)
+    {
+        if (filterConstant instanceof Number) {
+            long key = toKey((Number) filterConstant);
+            if (copyOnWrite) {
+                LongObjectHashMap<EventEvaluator> copy = new LongObjectHashMap<EventEvaluator>(constantsMap);
+                copy.put(key, evaluator);
+                constantsMap = copy;
+                return;
+            }
+            constantsMap.put(key, evaluator);
+            return;
+        }
+
+        if (copyOnWrite) {
+            Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(nonNumericMap);
+            copy.put(filterConstant, evaluator);
+            nonNumericMap = copy;
+            return;
+        }
+        nonNumericMap.put(filterConstant, evaluator);
+    }
+
+    public final boolean remove(Object filterConstant)
+    {
+        if (filterConstant instanceof Number) {
+            long key = toKey((Number) filterConstant);
+            if (copyOnWrite) {
+                if (!constantsMap.containsKey(key)) {
+                    return false;
+                }
+                LongObjectHashMap<EventEvaluator> copy = new LongObjectHashMap<EventEvaluator>(constantsMap);
+                copy.remove(key);
+                constantsMap = copy;
+                return true;
+            }
+            return constantsMap.remove(key) != null;
+        }
+
+        if (copyOnWrite) {
+            if (!nonNumericMap.containsKey(filterConstant)) {
+                return false;
+            }
+            Map<Object, EventEvaluator> copy = new HashMap<Object, EventEvaluator>(nonNumericMap);
+            copy.remove(filterConstant);
+            nonNumericMap = copy;
+            return true;
+        }
+        return nonNumericMap.remove(filterConstant) != null;
+    }
+
+    public final int size()
+    {
+        return constantsMap.size() + nonNumericMap.size();
+    }
+
+    public final ReadWriteLock getReadWriteLock()
+    {
+        return constantsMapRWLock;
+    }
+}
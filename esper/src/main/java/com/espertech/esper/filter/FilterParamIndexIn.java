@@ -24,16 +24,22 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
 {
-    private final Map<Object, List<EventEvaluator>> constantsMap;
+    private volatile Map<Object, List<EventEvaluator>> constantsMap;
     private final Map<MultiKeyUntyped, EventEvaluator> evaluatorsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
     public FilterParamIndexIn(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexIn(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
         super(FilterOperator.IN_LIST_OF_VALUES, lookupable);
 
         constantsMap = new HashMap<Object, List<EventEvaluator>>();
         evaluatorsMap = new HashMap<MultiKeyUntyped, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant)
@@ -51,6 +57,7 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
         EventEvaluator oldEvaluator = evaluatorsMap.put(keys, evaluator);
 
         // Store each value to match against in Map with it's evaluator as a list
+        Map<Object, List<EventEvaluator>> constantsMap = copyOnWrite ? new HashMap<Object, List<EventEvaluator>>(this.constantsMap) : this.constantsMap;
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++)
         {
@@ -62,6 +69,11 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
             }
             else
             {
+                if (copyOnWrite)
+                {
+                    evaluators = new LinkedList<EventEvaluator>(evaluators);
+                    constantsMap.put(keyValues[i], evaluators);
+                }
                 if (oldEvaluator != null)
                 {
                     evaluators.remove(oldEvaluator);
@@ -69,6 +81,7 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
             }
             evaluators.add(evaluator);
         }
+        this.constantsMap = constantsMap;
     }
 
     public final boolean remove(Object filterConstant)
@@ -83,12 +96,18 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
             isRemoved = true;
         }
 
+        Map<Object, List<EventEvaluator>> constantsMap = copyOnWrite ? new HashMap<Object, List<EventEvaluator>>(this.constantsMap) : this.constantsMap;
         Object[] keyValues = keys.getKeys();
         for (int i = 0; i < keyValues.length; i++)
         {
             List<EventEvaluator> evaluators = constantsMap.get(keyValues[i]);
             if (evaluators != null) // could be removed already as same-value constants existed
             {
+                if (copyOnWrite)
+                {
+                    evaluators = new LinkedList<EventEvaluator>(evaluators);
+                    constantsMap.put(keyValues[i], evaluators);
+                }
                 evaluators.remove(eval);
                 if (evaluators.isEmpty())
                 {
@@ -96,6 +115,7 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
                 }
             }
         }
+        this.constantsMap = constantsMap;
         return isRemoved;
     }
 
@@ -109,7 +129,7 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase
         return constantsMapRWLock;
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
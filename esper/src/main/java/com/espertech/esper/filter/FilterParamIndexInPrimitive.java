@@ -0,0 +1,198 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.LongObjectHashMap;
+import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the 'in' operator to match against a supplied set of values
+ * (i.e. multiple possible exact matches) for a numeric lookupable.
+ * The implementation is based on an open-addressing map keyed by primitive long and does not box property values
+ * when the getter provides primitive access.
+ */
+public final class FilterParamIndexInPrimitive extends FilterParamIndexPrimitiveBase
+{
+    private volatile LongObjectHashMap<List<EventEvaluator>> constantsMap;
+    private volatile Map<Object, List<EventEvaluator>> nonNumericMap;
+    private final Map<MultiKeyUntyped, EventEvaluator> evaluatorsMap;
+    private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
+
+    public FilterParamIndexInPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexInPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(FilterOperator.IN_LIST_OF_VALUES, lookupable);
+
+        constantsMap = new LongObjectHashMap<List<EventEvaluator>>();
+        nonNumericMap = new HashMap<Object, List<EventEvaluator>>();
+        evaluatorsMap = new HashMap<MultiKeyUntyped, EventEvaluator>();
+        constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    public final EventEvaluator get(Object filterConstant)
+    {
+        MultiKeyUntyped keyValues = (MultiKeyUntyped) filterConstant;
+        return evaluatorsMap.get(keyValues);
+    }
+
+    public final void put(Object filterConstant, EventEvaluator evaluator)
+    {
+        // Store evaluator keyed to set of values
+        MultiKeyUntyped keys = (MultiKeyUntyped) filterConstant;
+
+        // make sure to remove the old evaluator for this constant
+        EventEvaluator oldEvaluator = evaluatorsMap.put(keys, evaluator);
+
+        // Store each value to match against in Map with it's evaluator as a list
+        LongObjectHashMap<List<EventEvaluator>> constantsMap = copyOnWrite ? new LongObjectHashMap<List<EventEvaluator>>(this.constantsMap) : this.constantsMap;
+        Map<Object, List<EventEvaluator>> nonNumericMap = copyOnWrite ? new HashMap<Object, List<EventEvaluator>>(this.nonNumericMap) : this.nonNumericMap;
+        Object[] keyValues = keys.getKeys();
+        for (int i = 0; i < keyValues.length; i++)
+        {
+            boolean numeric = keyValues[i] instanceof Number;
+            long key = numeric ? toKey((Number) keyValues[i]) : 0;
+            List<EventEvaluator> evaluators = numeric ? constantsMap.get(key) : nonNumericMap.get(keyValues[i]);
+            if (evaluators == null)
+            {
+                evaluators = new LinkedList<EventEvaluator>();
+            }
+            else
+            {
+                if (copyOnWrite)
+                {
+                    evaluators = new LinkedList<EventEvaluator>(evaluators);
+                }
+                if (oldEvaluator != null)
+                {
+                    evaluators.remove(oldEvaluator);
+                }
+            }
+            evaluators.add(evaluator);
+            if (numeric) {
+                constantsMap.put(key, evaluators);
+            }
+            else {
+                nonNumericMap.put(keyValues[i], evaluators);
+            }
+        }
+        this.constantsMap = constantsMap;
+        this.nonNumericMap = nonNumericMap;
+    }
+
+    public final boolean remove(Object filterConstant)
+    {
+        MultiKeyUntyped keys = (MultiKeyUntyped) filterConstant;
+
+        // remove the mapping of value set to evaluator
+        EventEvaluator eval = evaluatorsMap.remove(keys);
+        boolean isRemoved = false;
+        if (eval != null)
+        {
+            isRemoved = true;
+        }
+
+        LongObjectHashMap<List<EventEvaluator>> constantsMap = copyOnWrite ? new LongObjectHashMap<List<EventEvaluator>>(this.constantsMap) : this.constantsMap;
+        Map<Object, List<EventEvaluator>> nonNumericMap = copyOnWrite ? new HashMap<Object, List<EventEvaluator>>(this.nonNumericMap) : this.nonNumericMap;
+        Object[] keyValues = keys.getKeys();
+        for (int i = 0; i < keyValues.length; i++)
+        {
+            boolean numeric = keyValues[i] instanceof Number;
+            long key = numeric ? toKey((Number) keyValues[i]) : 0;
+            List<EventEvaluator> evaluators = numeric ? constantsMap.get(key) : nonNumericMap.get(keyValues[i]);
+            if (evaluators == null) // could be removed already as same-value constants existed
+            {
+                continue;
+            }
+            if (copyOnWrite)
+            {
+                evaluators = new LinkedList<EventEvaluator>(evaluators);
+            }
+            evaluators.remove(eval);
+            if (numeric)
+            {
+                if (evaluators.isEmpty()) {
+                    constantsMap.remove(key);
+                }
+                else if (copyOnWrite) {
+                    constantsMap.put(key, evaluators);
+                }
+            }
+            else
+            {
+                if (evaluators.isEmpty()) {
+                    nonNumericMap.remove(keyValues[i]);
+                }
+                else if (copyOnWrite) {
+                    nonNumericMap.put(keyValues[i], evaluators);
+                }
+            }
+        }
+        this.constantsMap = constantsMap;
+        this.nonNumericMap = nonNumericMap;
+        return isRemoved;
+    }
+
+    public final int size()
+    {
+        return constantsMap.size() + nonNumericMap.size();
+    }
+
+    public final ReadWriteLock getReadWriteLock()
+    {
+        return constantsMapRWLock;
+    }
+
+    protected void matchKey(EventBean theEvent, long key, Collection<FilterHandle> matches)
+    {
+        // Look up in hashtable
+        constantsMapRWLock.readLock().lock();
+        try {
+            matchEvaluators(theEvent, constantsMap.get(key), matches);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+    }
+
+    protected void matchObject(EventBean theEvent, Object attributeValue, Collection<FilterHandle> matches)
+    {
+        constantsMapRWLock.readLock().lock();
+        try {
+            matchEvaluators(theEvent, nonNumericMap.get(attributeValue), matches);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+    }
+
+    private void matchEvaluators(EventBean theEvent, List<EventEvaluator> evaluators, Collection<FilterHandle> matches)
+    {
+        // No listener found for the value, return
+        if (evaluators == null)
+        {
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
+            return;
+        }
+
+        for (EventEvaluator evaluator : evaluators)
+        {
+            evaluator.matchEvent(theEvent, matches);
+        }
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
+    }
+}
@@ -24,10 +24,14 @@ import java.util.concurrent.locks.ReadWriteLock;
 public final class FilterParamIndexNotEquals extends FilterParamIndexNotEqualsBase
 {
     public FilterParamIndexNotEquals(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.NOT_EQUAL);
+        this(lookupable, readWriteLock, false);
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    public FilterParamIndexNotEquals(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.NOT_EQUAL, copyOnWrite);
+    }
+
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
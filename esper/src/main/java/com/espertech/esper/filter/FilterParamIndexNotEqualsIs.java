@@ -24,10 +24,14 @@ import java.util.concurrent.locks.ReadWriteLock;
 public final class FilterParamIndexNotEqualsIs extends FilterParamIndexNotEqualsBase
 {
     public FilterParamIndexNotEqualsIs(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.IS_NOT);
+        this(lookupable, readWriteLock, false);
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    public FilterParamIndexNotEqualsIs(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.IS_NOT, copyOnWrite);
+    }
+
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
@@ -0,0 +1,96 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.LongObjectHashMap;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Index for filter parameter constants to match using the not-equals (!=) operator against a numeric lookupable.
+ * The implementation is based on an open-addressing map keyed by primitive long and does not box property values
+ * when the getter provides primitive access.
+ */
+public final class FilterParamIndexNotEqualsPrimitive extends FilterParamIndexEqualsPrimitiveBase
+{
+    public FilterParamIndexNotEqualsPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexNotEqualsPrimitive(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.NOT_EQUAL, copyOnWrite);
+    }
+
+    protected void matchKey(EventBean theEvent, long key, Collection<FilterHandle> matches)
+    {
+        constantsMapRWLock.readLock().lock();
+        try {
+            LongObjectHashMap<EventEvaluator> constants = constantsMap;
+            for (int i = 0; i < constants.getCapacity(); i++)
+            {
+                EventEvaluator evaluator = constants.getValueAt(i);
+                if (evaluator != null && constants.getKeyAt(i) != key)
+                {
+                    evaluator.matchEvent(theEvent, matches);
+                }
+            }
+            matchNonNumeric(theEvent, null, matches);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
+    }
+
+    protected void matchObject(EventBean theEvent, Object attributeValue, Collection<FilterHandle> matches)
+    {
+        constantsMapRWLock.readLock().lock();
+        try {
+            LongObjectHashMap<EventEvaluator> constants = constantsMap;
+            for (int i = 0; i < constants.getCapacity(); i++)
+            {
+                EventEvaluator evaluator = constants.getValueAt(i);
+                if (evaluator != null)
+                {
+                    evaluator.matchEvent(theEvent, matches);
+                }
+            }
+            matchNonNumeric(theEvent, attributeValue, matches);
+        }
+        finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
+    }
+
+    private void matchNonNumeric(EventBean theEvent, Object attributeValue, Collection<FilterHandle> matches)
+    {
+        Map<Object, EventEvaluator> nonNumeric = nonNumericMap;
+        if (nonNumeric.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Object, EventEvaluator> entry : nonNumeric.entrySet())
+        {
+            if (entry.getKey() == null)
+            {
+                continue;   // null-value cannot match, not even null (use "is" or "is not", i.e. null != null returns null)
+            }
+            if (!entry.getKey().equals(attributeValue))
+            {
+                entry.getValue().matchEvent(theEvent, matches);
+            }
+        }
+    }
+}
@@ -23,19 +23,24 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
 {
-    private final Map<Object, Set<EventEvaluator>> constantsMap;
+    private volatile NotInState state;
     private final Map<MultiKeyUntyped, EventEvaluator> filterValueEvaluators;
-    private final Set<EventEvaluator> evaluatorsSet;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
     public FilterParamIndexNotIn(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock)
+    {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexNotIn(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite)
     {
         super(FilterOperator.NOT_IN_LIST_OF_VALUES, lookupable);
 
-        constantsMap = new HashMap<Object, Set<EventEvaluator>>();
+        state = new NotInState(new HashMap<Object, Set<EventEvaluator>>(), new HashSet<EventEvaluator>());
         filterValueEvaluators = new HashMap<MultiKeyUntyped, EventEvaluator>();
-        evaluatorsSet = new HashSet<EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant)
@@ -48,21 +53,45 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
     {
         // Store evaluator keyed to set of values
         MultiKeyUntyped keys = (MultiKeyUntyped) filterConstant;
-        filterValueEvaluators.put(keys, evaluator);
-        evaluatorsSet.add(evaluator);
+
+        // when copy-on-write make sure to remove the old evaluator for this constant, as the put replaces it atomically
+        EventEvaluator oldEvaluator = filterValueEvaluators.put(keys, evaluator);
+        if (!copyOnWrite)
+        {
+            oldEvaluator = null;
+        }
 
         // Store each value to match against in Map with it's evaluator as a list
+        NotInState state = copyOnWrite ? this.state.copy() : this.state;
         Object[] keyValues = keys.getKeys();
         for (Object keyValue : keyValues)
         {
-            Set<EventEvaluator> evaluators = constantsMap.get(keyValue);
+            Set<EventEvaluator> evaluators = state.constantsMap.get(keyValue);
             if (evaluators == null)
             {
                 evaluators = new HashSet<EventEvaluator>();
-                constantsMap.put(keyValue, evaluators);
+                state.constantsMap.put(keyValue, evaluators);
+            }
+            else if (copyOnWrite)
+            {
+                evaluators = new HashSet<EventEvaluator>(evaluators);
+                state.constantsMap.put(keyValue, evaluators);
+            }
+            if (oldEvaluator != null)
+            {
+                evaluators.remove(oldEvaluator);
             }
             evaluators.add(evaluator);
         }
+
+        if (oldEvaluator != null)
+        {
+            state.evaluatorsSet.remove(oldEvaluator);
+        }
+        state.evaluatorsSet.add(evaluator);
+
+        // When copy-on-write, evaluation sees either the prior or the new constants and evaluators, never a mix
+        this.state = state;
     }
 
     public final boolean remove(Object filterConstant)
@@ -71,32 +100,40 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
 
         // remove the mapping of value set to evaluator
         EventEvaluator eval = filterValueEvaluators.remove(keys);
-        evaluatorsSet.remove(eval);
         boolean isRemoved = false;
         if (eval != null)
         {
             isRemoved = true;
         }
 
+        NotInState state = copyOnWrite ? this.state.copy() : this.state;
+        state.evaluatorsSet.remove(eval);
+
         Object[] keyValues = keys.getKeys();
         for (Object keyValue : keyValues)
         {
-            Set<EventEvaluator> evaluators = constantsMap.get(keyValue);
+            Set<EventEvaluator> evaluators = state.constantsMap.get(keyValue);
             if (evaluators != null) // could already be removed as constants may be the same
             {
+                if (copyOnWrite)
+                {
+                    evaluators = new HashSet<EventEvaluator>(evaluators);
+                    state.constantsMap.put(keyValue, evaluators);
+                }
                 evaluators.remove(eval);
                 if (evaluators.isEmpty())
                 {
-                    constantsMap.remove(keyValue);
+                    state.constantsMap.remove(keyValue);
                 }
             }
         }
+        this.state = state;
         return isRemoved;
     }
 
     public final int size()
     {
-        return constantsMap.size();
+        return state.constantsMap.size();
     }
 
     public final ReadWriteLock getReadWriteLock()
@@ -104,7 +141,7 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
         return constantsMapRWLock;
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
@@ -117,7 +154,9 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
 
         // Look up in hashtable the set of not-in evaluators
         constantsMapRWLock.readLock().lock();
-        Set<EventEvaluator> evalNotMatching = constantsMap.get(attributeValue);
+        NotInState state = this.state;
+        Set<EventEvaluator> evaluatorsSet = state.evaluatorsSet;
+        Set<EventEvaluator> evalNotMatching = state.constantsMap.get(attributeValue);
 
         // if all known evaluators are matching, invoke all
         if (evalNotMatching == null)
@@ -159,5 +198,25 @@ public final class FilterParamIndexNotIn extends FilterParamIndexLookupableBase
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
     }
 
+    /**
+     * Constants and evaluators published together so that copy-on-write evaluation reads a consistent pair.
+     */
+    private static final class NotInState
+    {
+        private final Map<Object, Set<EventEvaluator>> constantsMap;
+        private final Set<EventEvaluator> evaluatorsSet;
+
+        private NotInState(Map<Object, Set<EventEvaluator>> constantsMap, Set<EventEvaluator> evaluatorsSet)
+        {
+            this.constantsMap = constantsMap;
+            this.evaluatorsSet = evaluatorsSet;
+        }
+
+        private NotInState copy()
+        {
+            return new NotInState(new HashMap<Object, Set<EventEvaluator>>(constantsMap), new HashSet<EventEvaluator>(evaluatorsSet));
+        }
+    }
+
     private static final Logger log = LoggerFactory.getLogger(FilterParamIndexNotIn.class);
 }
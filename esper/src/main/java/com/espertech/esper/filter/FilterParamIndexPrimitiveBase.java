@@ -0,0 +1,115 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.event.EventPropertyGetterPrimitive;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.Collection;
+
+/**
+ * Base for indexes that keep filter parameter constants of a numeric lookupable in maps keyed by primitive long.
+ * <p>
+ * Integral values are keyed by their long value and floating-point values are keyed by the bits
+ * of their double value, which matches the equality semantics of the boxed types.
+ * The property value is obtained without boxing when the lookupable getter supports primitive access.
+ * <p>
+ * Constants that are not numbers, such as null, are kept by subclasses in a separate object-keyed map.
+ */
+public abstract class FilterParamIndexPrimitiveBase extends FilterParamIndexLookupableBase
+{
+    private final boolean floatingPoint;
+    private final EventPropertyGetterPrimitive primitiveGetter;
+
+    /**
+     * Ctor.
+     * @param filterOperator operator
+     * @param lookupable lookupable with a numeric return type
+     */
+    protected FilterParamIndexPrimitiveBase(FilterOperator filterOperator, FilterSpecLookupable lookupable)
+    {
+        super(filterOperator, lookupable);
+        Class boxed = JavaClassHelper.getBoxedType(lookupable.getReturnType());
+        floatingPoint = boxed == Double.class || boxed == Float.class;
+
+        EventPropertyGetter getter = lookupable.getGetter();
+        if (lookupable.getReturnType().isPrimitive() && getter instanceof EventPropertyGetterPrimitive) {
+            primitiveGetter = (EventPropertyGetterPrimitive) getter;
+        }
+        else {
+            primitiveGetter = null;
+        }
+    }
+
+    /**
+     * Returns indicator whether primitive-keyed indexes support the lookupable return type.
+     * @param returnType lookupable return type
+     * @return true for byte, short, int, long, float and double, primitive or boxed
+     */
+    public static boolean isPrimitiveKeyed(Class returnType)
+    {
+        Class boxed = JavaClassHelper.getBoxedType(returnType);
+        return boxed == Integer.class || boxed == Long.class || boxed == Double.class ||
+               boxed == Short.class || boxed == Byte.class || boxed == Float.class;
+    }
+
+    /**
+     * Match the event for a numeric property value.
+     * @param theEvent event
+     * @param key property value key
+     * @param matches to add matches to
+     */
+    protected abstract void matchKey(EventBean theEvent, long key, Collection<FilterHandle> matches);
+
+    /**
+     * Match the event for a property value that is not a number and is not null.
+     * @param theEvent event
+     * @param attributeValue property value
+     * @param matches to add matches to
+     */
+    protected abstract void matchObject(EventBean theEvent, Object attributeValue, Collection<FilterHandle> matches);
+
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        if (primitiveGetter != null) {
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, primitiveGetter.get(theEvent));}
+            long key = floatingPoint ? Double.doubleToLongBits(primitiveGetter.getDouble(theEvent)) : primitiveGetter.getLong(theEvent);
+            matchKey(theEvent, key, matches);
+            return;
+        }
+
+        Object attributeValue = lookupable.getGetter().get(theEvent);
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, attributeValue);}
+
+        if (attributeValue == null) {   //  null cannot match, not even null: requires use of "is"
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
+            return;
+        }
+
+        if (attributeValue instanceof Number) {
+            matchKey(theEvent, toKey((Number) attributeValue), matches);
+        }
+        else {
+            matchObject(theEvent, attributeValue, matches);
+        }
+    }
+
+    /**
+     * Returns the key for a numeric constant.
+     * @param value constant
+     * @return key
+     */
+    protected final long toKey(Number value)
+    {
+        return floatingPoint ? Double.doubleToLongBits(value.doubleValue()) : value.longValue();
+    }
+}
@@ -18,19 +18,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.SortedMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index for filter parameter constants for the range operators (range open/closed/half).
- * The implementation is based on the SortedMap implementation of TreeMap and stores only expression
+ * The implementation is based on an augmented interval tree and stores only expression
  * parameter values of type DoubleRange.
  */
 public final class FilterParamIndexStringRange extends FilterParamIndexStringRangeBase
 {
     public FilterParamIndexStringRange(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
-        super(lookupable, readWriteLock, filterOperator);
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    public FilterParamIndexStringRange(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, filterOperator, copyOnWrite);
 
         if (!(filterOperator.isRangeOperator()))
         {
@@ -38,7 +40,7 @@ public final class FilterParamIndexStringRange extends FilterParamIndexStringRan
         }
     }
 
-    public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected final void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
         Object objAttributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qFilterReverseIndex(this, objAttributeValue);}
@@ -48,56 +50,8 @@ public final class FilterParamIndexStringRange extends FilterParamIndexStringRan
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(false);}
             return;
         }
-        
-        String attributeValue = (String) objAttributeValue;
 
-        StringRange rangeStart = new StringRange(null, attributeValue);
-        StringRange rangeEnd = new StringRange(attributeValue, null);
-        SortedMap<StringRange, EventEvaluator> subMap = ranges.subMap(rangeStart, true, rangeEnd, true);
-
-        // For not including either endpoint
-        // A bit awkward to duplicate the loop code, however better than checking the boolean many times over
-        // This may be a bit of an early performance optimization - the optimizer after all may do this better
-        if (this.getFilterOperator() == FilterOperator.RANGE_OPEN)  // include neither endpoint
-        {
-            for (Map.Entry<StringRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if (entry.getKey().getMin().compareTo(attributeValue) < 0 && entry.getKey().getMax().compareTo(attributeValue) > 0) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_CLOSED)   // include all endpoints
-        {
-            for (Map.Entry<StringRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if (entry.getKey().getMin().compareTo(attributeValue) <= 0 && entry.getKey().getMax().compareTo(attributeValue) >= 0) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_HALF_CLOSED) // include high endpoint not low endpoint
-        {
-            for (Map.Entry<StringRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if (entry.getKey().getMin().compareTo(attributeValue) < 0 && entry.getKey().getMax().compareTo(attributeValue) >= 0) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else if (this.getFilterOperator() == FilterOperator.RANGE_HALF_OPEN) // include low endpoint not high endpoint
-        {
-            for (Map.Entry<StringRange, EventEvaluator> entry : subMap.entrySet())
-            {
-                if (entry.getKey().getMin().compareTo(attributeValue) <= 0 && entry.getKey().getMax().compareTo(attributeValue) > 0) {
-                    entry.getValue().matchEvent(theEvent, matches);
-                }
-            }
-        }
-        else
-        {
-            throw new IllegalStateException("Invalid filter operator " + this.getFilterOperator());
-        }
+        ranges.matchContaining(objAttributeValue, lowInclusive, highInclusive, theEvent, matches);
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aFilterReverseIndex(null);}
     }
 
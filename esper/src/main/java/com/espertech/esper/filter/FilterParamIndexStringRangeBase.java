@@ -16,21 +16,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.IdentityHashMap;
-import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 
 public abstract class FilterParamIndexStringRangeBase extends FilterParamIndexLookupableBase
 {
-    protected final TreeMap<StringRange, EventEvaluator> ranges;
+    protected final RangeIntervalTree ranges;
     private final IdentityHashMap<StringRange, EventEvaluator> rangesNullEndpoints;
     private final ReadWriteLock rangesRWLock;
+    protected final boolean lowInclusive;
+    protected final boolean highInclusive;
 
-    protected FilterParamIndexStringRangeBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexStringRangeBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
-        ranges = new TreeMap<StringRange, EventEvaluator>(new StringRangeComparator());
+        ranges = RangeIntervalTree.makeStringRangeTree();   // the tree copies changed paths, copy-on-write requires no copy
         rangesNullEndpoints = new IdentityHashMap<StringRange, EventEvaluator>();
         rangesRWLock = readWriteLock;
+        lowInclusive = filterOperator.isRangeLowInclusive();
+        highInclusive = filterOperator.isRangeHighInclusive();
     }
 
     public final EventEvaluator get(Object expressionValue)
@@ -76,7 +79,7 @@ public abstract class FilterParamIndexStringRangeBase extends FilterParamIndexLo
             return rangesNullEndpoints.remove(range) != null;
         }
 
-        return ranges.remove(range) != null;
+        return ranges.remove(range);
     }
 
     public final int size()
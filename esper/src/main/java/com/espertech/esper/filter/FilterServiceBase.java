@@ -19,8 +19,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
@@ -37,13 +38,46 @@ public abstract class FilterServiceBase implements FilterServiceSPI
     private final AtomicLong numEventsEvaluated = new AtomicLong();
     private volatile long filtersVersion = 1;
     private final CopyOnWriteArraySet<FilterServiceListener> filterServiceListeners;
+    private final ScheduledExecutorService reorderExecutor;
 
     protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, boolean allowIsolation)
     {
+        this(lockFactory, allowIsolation, 0);
+    }
+
+    protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, boolean allowIsolation, long indexReorderInterval)
+    {
+        if (indexReorderInterval > 0) {
+            log.info("Filter index statistics have been enabled, filter indexes are reordered every " + indexReorderInterval + " milliseconds");
+            lockFactory = new FilterServiceGranularLockFactoryStatistics(lockFactory);
+        }
         this.lockFactory = lockFactory;
         eventTypeIndex = new EventTypeIndex(lockFactory);
-        indexBuilder = new EventTypeIndexBuilder(eventTypeIndex, allowIsolation);
+        indexBuilder = new EventTypeIndexBuilder(eventTypeIndex, allowIsolation, indexReorderInterval > 0);
         filterServiceListeners = new CopyOnWriteArraySet<FilterServiceListener>();
+
+        if (indexReorderInterval > 0) {
+            reorderExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "com.espertech.esper.FilterIndexReorder");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            reorderExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        reorderIndexes();
+                    }
+                    catch (RuntimeException ex) {
+                        log.error("Unexpected exception reordering filter indexes: " + ex.getMessage(), ex);
+                    }
+                }
+            }, indexReorderInterval, indexReorderInterval, TimeUnit.MILLISECONDS);
+        }
+        else {
+            reorderExecutor = null;
+        }
     }
 
     public boolean isSupportsTakeApply() {
@@ -57,6 +91,9 @@ public abstract class FilterServiceBase implements FilterServiceSPI
     public void destroy()
     {
         log.debug("Destroying filter service");
+        if (reorderExecutor != null) {
+            reorderExecutor.shutdownNow();
+        }
         eventTypeIndex.destroy();
         indexBuilder.destroy();
     }
@@ -127,9 +164,29 @@ public abstract class FilterServiceBase implements FilterServiceSPI
         return numEventsEvaluated.get();
     }
 
-    @JmxOperation(description = "Reset number of events evaluated")
+    @JmxOperation(description = "Reset number of events evaluated and filter index statistics")
     public void resetStats() {
         numEventsEvaluated.set(0);
+        indexBuilder.resetStatistics();
+    }
+
+    @JmxGetter(name="IndexStatistics", description = "Filter index evaluations, hits and misses per event type, lookupable and operator")
+    public String[] getIndexStatistics() {
+        List<String> statistics = indexBuilder.getIndexStatistics();
+        return statistics.toArray(new String[statistics.size()]);
+    }
+
+    @JmxGetter(name="NumIndexReorders", description = "Number of filter subtrees rebuilt ordering filter indexes by selectivity")
+    public long getNumIndexReorders() {
+        return indexBuilder.getNumReorders();
+    }
+
+    @JmxOperation(description = "Rebuild filter subtrees ordering filter indexes by selectivity")
+    public int reorderIndexes() {
+        if (!indexBuilder.isSupportsReorder()) {
+            return 0;
+        }
+        return indexBuilder.reorder(lockFactory);
     }
 
     public void addFilterServiceListener(FilterServiceListener filterServiceListener) {
@@ -13,4 +13,17 @@ import java.util.concurrent.locks.ReadWriteLock;
 public interface FilterServiceGranularLockFactory
 {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns indicator whether filter tree nodes and indexes must publish copy-on-write snapshots
+     * for changes, allowing filter evaluation to read without locking.
+     * @return copy-on-write indicator
+     */
+    public boolean isCopyOnWrite();
+
+    /**
+     * Returns indicator whether filter tree nodes and indexes count evaluations and hits for filter index reordering.
+     * @return statistics indicator
+     */
+    public boolean isStatisticsEnabled();
 }
@@ -0,0 +1,36 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Granular lock factory for use when writers to the filter index tree are serialized by the filter service
+ * and evaluation takes no locks: hands out no-op locks and instructs tree nodes and indexes to publish
+ * copy-on-write snapshots.
+ */
+public class FilterServiceGranularLockFactoryCopyOnWrite implements FilterServiceGranularLockFactory
+{
+    public static final FilterServiceGranularLockFactoryCopyOnWrite INSTANCE = new FilterServiceGranularLockFactoryCopyOnWrite();
+
+    private FilterServiceGranularLockFactoryCopyOnWrite() {
+    }
+
+    public ReadWriteLock obtainNew() {
+        return FilterServiceGranularLockFactoryNone.INSTANCE.obtainNew();
+    }
+
+    public boolean isCopyOnWrite() {
+        return true;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return false;
+    }
+}
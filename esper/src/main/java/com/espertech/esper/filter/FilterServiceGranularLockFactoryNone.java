@@ -56,4 +56,12 @@ public class FilterServiceGranularLockFactoryNone implements FilterServiceGranul
     public ReadWriteLock obtainNew() {
         return RWLOCKNONE;
     }
+
+    public boolean isCopyOnWrite() {
+        return false;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return false;
+    }
 }
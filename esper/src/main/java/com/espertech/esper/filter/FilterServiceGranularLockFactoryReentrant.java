@@ -16,4 +16,12 @@ public class FilterServiceGranularLockFactoryReentrant implements FilterServiceG
     public ReadWriteLock obtainNew() {
         return new ReentrantReadWriteLock();
     }
+
+    public boolean isCopyOnWrite() {
+        return false;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return false;
+    }
 }
@@ -0,0 +1,36 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Granular lock factory for a filter service that reorders filter indexes: hands out the locks of the
+ * underlying lock factory and instructs tree nodes and indexes to collect filter index statistics.
+ */
+public class FilterServiceGranularLockFactoryStatistics implements FilterServiceGranularLockFactory
+{
+    private final FilterServiceGranularLockFactory lockFactory;
+
+    public FilterServiceGranularLockFactoryStatistics(FilterServiceGranularLockFactory lockFactory) {
+        this.lockFactory = lockFactory;
+    }
+
+    public ReadWriteLock obtainNew() {
+        return lockFactory.obtainNew();
+    }
+
+    public boolean isCopyOnWrite() {
+        return lockFactory.isCopyOnWrite();
+    }
+
+    public boolean isStatisticsEnabled() {
+        return true;
+    }
+}
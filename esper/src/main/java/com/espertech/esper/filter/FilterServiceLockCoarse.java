@@ -20,7 +20,11 @@ public final class FilterServiceLockCoarse extends FilterServiceBase
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     public FilterServiceLockCoarse(boolean allowIsolation) {
-        super(FilterServiceGranularLockFactoryNone.INSTANCE, allowIsolation);
+        this(allowIsolation, 0);
+    }
+
+    public FilterServiceLockCoarse(boolean allowIsolation, long indexReorderInterval) {
+        super(FilterServiceGranularLockFactoryNone.INSTANCE, allowIsolation, indexReorderInterval);
     }
 
     public void acquireWriteLock() {
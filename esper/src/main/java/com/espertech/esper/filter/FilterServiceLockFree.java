@@ -0,0 +1,184 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.ArrayBackedCollection;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Filter service that does not lock for filter evaluation.
+ * <p>
+ * Changes to filters are serialized by a single lock and the filter index tree nodes and indexes publish
+ * copy-on-write snapshots, so that evaluation threads never write to shared lock state.
+ * Evaluation only validates an optimistic stamp against the exclusive section obtained through {@link #acquireWriteLock()}.
+ * In the rare case the exclusive section overlapped an evaluation, the matches of the evaluation are discarded and
+ * the event is evaluated again holding a read stamp, so that an event is evaluated entirely before or after the exclusive section.
+ */
+public final class FilterServiceLockFree extends FilterServiceBase
+{
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final StampedLock exclusiveLock = new StampedLock();
+    private volatile Thread exclusiveOwner;
+    private long exclusiveStamp;
+    private int exclusiveHoldCount;
+
+    public FilterServiceLockFree(boolean allowIsolation) {
+        this(allowIsolation, 0);
+    }
+
+    public FilterServiceLockFree(boolean allowIsolation, long indexReorderInterval) {
+        super(FilterServiceGranularLockFactoryCopyOnWrite.INSTANCE, allowIsolation, indexReorderInterval);
+    }
+
+    public void acquireWriteLock() {
+        writeLock.lock();
+        if (exclusiveOwner == Thread.currentThread()) {
+            exclusiveHoldCount++;
+            return;
+        }
+        exclusiveStamp = exclusiveLock.writeLock();
+        exclusiveOwner = Thread.currentThread();
+        exclusiveHoldCount = 1;
+    }
+
+    public void releaseWriteLock() {
+        try {
+            exclusiveHoldCount--;
+            if (exclusiveHoldCount == 0) {
+                exclusiveOwner = null;
+                exclusiveLock.unlockWrite(exclusiveStamp);
+            }
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    public FilterSet take(Set<Integer> statementId) {
+        writeLock.lock();
+        try {
+            return super.takeInternal(statementId);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void apply(FilterSet filterSet) {
+        writeLock.lock();
+        try {
+            super.applyInternal(filterSet);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches) {
+        long stamp = exclusiveLock.tryOptimisticRead();
+        if (stamp != 0) {
+            int sizeBefore = matches.size();
+            long version = super.evaluateInternal(theEvent, matches);
+            if (exclusiveLock.validate(stamp)) {
+                return version;
+            }
+            // the exclusive section overlapped, evaluate entirely before or after the exclusive section instead
+            removeMatchesAfter(matches, sizeBefore);
+        }
+
+        // the owner of the exclusive section evaluates as usual
+        if (exclusiveOwner == Thread.currentThread()) {
+            return super.evaluateInternal(theEvent, matches);
+        }
+        stamp = exclusiveLock.readLock();
+        try {
+            return super.evaluateInternal(theEvent, matches);
+        }
+        finally {
+            exclusiveLock.unlockRead(stamp);
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId) {
+        long stamp = exclusiveLock.tryOptimisticRead();
+        if (stamp != 0) {
+            int sizeBefore = matches.size();
+            long version = super.evaluateInternal(theEvent, matches, statementId);
+            if (exclusiveLock.validate(stamp)) {
+                return version;
+            }
+            // the exclusive section overlapped, evaluate entirely before or after the exclusive section instead
+            removeMatchesAfter(matches, sizeBefore);
+        }
+
+        // the owner of the exclusive section evaluates as usual
+        if (exclusiveOwner == Thread.currentThread()) {
+            return super.evaluateInternal(theEvent, matches, statementId);
+        }
+        stamp = exclusiveLock.readLock();
+        try {
+            return super.evaluateInternal(theEvent, matches, statementId);
+        }
+        finally {
+            exclusiveLock.unlockRead(stamp);
+        }
+    }
+
+    private static void removeMatchesAfter(Collection<FilterHandle> matches, int size) {
+        if (matches instanceof ArrayBackedCollection) {
+            ((ArrayBackedCollection<FilterHandle>) matches).truncate(size);
+            return;
+        }
+        Iterator<FilterHandle> it = matches.iterator();
+        for (int i = 0; i < size; i++) {
+            it.next();
+        }
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public FilterServiceEntry add(FilterValueSet filterValueSet, FilterHandle callback) {
+        writeLock.lock();
+        try {
+            return super.addInternal(filterValueSet, callback);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(FilterHandle callback, FilterServiceEntry filterServiceEntry) {
+        writeLock.lock();
+        try {
+            super.removeInternal(callback, filterServiceEntry);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeType(EventType type) {
+        writeLock.lock();
+        try {
+            super.removeTypeInternal(type);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+}
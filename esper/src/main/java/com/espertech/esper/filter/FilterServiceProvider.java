@@ -22,12 +22,27 @@ public final class FilterServiceProvider
      * @return implementation
      */
     public static FilterServiceSPI newService(ConfigurationEngineDefaults.FilterServiceProfile filterServiceProfile, boolean allowIsolation)
+    {
+        return newService(filterServiceProfile, allowIsolation, 0);
+    }
+
+    /**
+     * Creates an implementation of the FilterEvaluationService interface.
+     * @param filterServiceProfile config
+     * @param allowIsolation whether isolation is supported
+     * @param indexReorderInterval interval in milliseconds for reordering filter indexes by selectivity, or zero to disable
+     * @return implementation
+     */
+    public static FilterServiceSPI newService(ConfigurationEngineDefaults.FilterServiceProfile filterServiceProfile, boolean allowIsolation, long indexReorderInterval)
     {
         if (filterServiceProfile == ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY) {
-            return new FilterServiceLockCoarse(allowIsolation);
+            return new FilterServiceLockCoarse(allowIsolation, indexReorderInterval);
+        }
+        else if (filterServiceProfile == ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE) {
+            return new FilterServiceLockFree(allowIsolation, indexReorderInterval);
         }
         else {
-            return new FilterServiceLockFine(allowIsolation);
+            return new FilterServiceLockFine(allowIsolation, indexReorderInterval);
         }
     }
 }
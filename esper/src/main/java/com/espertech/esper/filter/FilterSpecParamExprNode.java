@@ -14,6 +14,8 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.visitor.ExprNodeVariableVisitor;
 import com.espertech.esper.epl.table.mgmt.TableService;
@@ -30,6 +32,7 @@ import java.util.Map;
 public final class FilterSpecParamExprNode extends FilterSpecParam
 {
     private final ExprNode exprNode;
+    private final transient ExprEvaluator exprNodeEval;
     private final LinkedHashMap<String, Pair<EventType, String>> taggedEventTypes;
     private final LinkedHashMap<String, Pair<EventType, String>> arrayEventTypes;
     private final transient EventAdapterService eventAdapterService;
@@ -75,6 +78,7 @@ public final class FilterSpecParamExprNode extends FilterSpecParam
         this.useLargeThreadingProfile = configurationInformation.getEngineDefaults().getExecution().getThreadingProfile() == ConfigurationEngineDefaults.ThreadingProfile.LARGE;
         this.hasFilterStreamSubquery = hasSubquery;
         this.hasTableAccess = hasTableAccess;
+        this.exprNodeEval = ExprNodeCompiler.compile(exprNode, configurationInformation.getEngineDefaults().getExpression().isCodeGeneration());
 
         ExprNodeVariableVisitor visitor = new ExprNodeVariableVisitor();
         exprNode.accept(visitor);
@@ -90,6 +94,15 @@ public final class FilterSpecParamExprNode extends FilterSpecParam
         return exprNode;
     }
 
+    /**
+     * Returns the evaluator of the boolean expression, compiled if code generation is enabled.
+     * @return evaluator
+     */
+    public ExprEvaluator getExprEvaluator()
+    {
+        return exprNodeEval;
+    }
+
     /**
      * Returns the map of tag/stream names to event types that the filter expressions map use (for patterns)
      * @return map
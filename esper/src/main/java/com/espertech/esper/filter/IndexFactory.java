@@ -24,6 +24,13 @@ public class IndexFactory
      * @return the proper index based on the filter operator type
      */
     public static FilterParamIndexBase createIndex(FilterSpecLookupable lookupable, FilterServiceGranularLockFactory lockFactory, FilterOperator filterOperator)
+    {
+        FilterParamIndexBase index = createIndexInternal(lookupable, lockFactory, filterOperator);
+        index.setStatisticsEnabled(lockFactory.isStatisticsEnabled());
+        return index;
+    }
+
+    private static FilterParamIndexBase createIndexInternal(FilterSpecLookupable lookupable, FilterServiceGranularLockFactory lockFactory, FilterOperator filterOperator)
     {
         FilterParamIndexBase index;
         Class returnValueType = lookupable.getReturnType();
@@ -31,26 +38,32 @@ public class IndexFactory
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL)
         {
-            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
+            if (FilterParamIndexPrimitiveBase.isPrimitiveKeyed(returnValueType)) {
+                return new FilterParamIndexEqualsPrimitive(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
+            }
+            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
         // Handle all NOT-EQUAL comparisons
         if (filterOperator == FilterOperator.NOT_EQUAL)
         {
-            index = new FilterParamIndexNotEquals(lookupable, lockFactory.obtainNew());
+            if (FilterParamIndexPrimitiveBase.isPrimitiveKeyed(returnValueType)) {
+                return new FilterParamIndexNotEqualsPrimitive(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
+            }
+            index = new FilterParamIndexNotEquals(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
         if (filterOperator == FilterOperator.IS)
         {
-            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
         if (filterOperator == FilterOperator.IS_NOT)
         {
-            index = new FilterParamIndexNotEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexNotEqualsIs(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
@@ -61,10 +74,10 @@ public class IndexFactory
             (filterOperator == FilterOperator.LESS_OR_EQUAL))
         {
             if (returnValueType != String.class) {
-                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexCompare(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
             else {
-                index = new FilterParamIndexCompareString(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexCompareString(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
             return index;
         }
@@ -73,37 +86,40 @@ public class IndexFactory
         if (filterOperator.isRangeOperator())
         {
             if (returnValueType != String.class) {
-                index = new FilterParamIndexDoubleRange(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexDoubleRange(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
             else {
-                index = new FilterParamIndexStringRange(lookupable, lockFactory.obtainNew(), filterOperator);
+                index = new FilterParamIndexStringRange(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
             return index;
         }
         if (filterOperator.isInvertedRangeOperator())
         {
             if (returnValueType != String.class) {
-                return new FilterParamIndexDoubleRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator);
+                return new FilterParamIndexDoubleRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
             else {
-                return new FilterParamIndexStringRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator);
+                return new FilterParamIndexStringRangeInverted(lookupable, lockFactory.obtainNew(), filterOperator, lockFactory.isCopyOnWrite());
             }
         }
 
         // Handle all IN and NOT IN comparisons
         if (filterOperator == FilterOperator.IN_LIST_OF_VALUES)
         {
-            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew());
+            if (FilterParamIndexPrimitiveBase.isPrimitiveKeyed(returnValueType)) {
+                return new FilterParamIndexInPrimitive(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
+            }
+            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
         }
         if (filterOperator == FilterOperator.NOT_IN_LIST_OF_VALUES)
         {
-            return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
         }
 
         // Handle all boolean expression
         if (filterOperator == FilterOperator.BOOLEAN_EXPRESSION)
         {
-            return new FilterParamIndexBooleanExpr(lockFactory.obtainNew());
+            return new FilterParamIndexBooleanExpr(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
         }
         throw new IllegalArgumentException("Cannot create filter index instance for filter operator " + filterOperator);
     }
@@ -172,7 +172,7 @@ public final class IndexTreeBuilder
 
             FilterParamIndexBase index = IndexFactory.createIndex(parameterPickedForIndex.getLookupable(), lockFactory, parameterPickedForIndex.getFilterOperator());
 
-            currentNode.getIndizes().add(index);
+            currentNode.add(index);
             treePathInfo.add(new EventTypeIndexBuilderIndexLookupablePair(index, parameterPickedForIndex.getFilterForValue()));
             addToIndex(remainingParameters, filterCallback, index, parameterPickedForIndex.getFilterForValue(), treePathInfo, lockFactory);
         }
@@ -379,10 +379,13 @@ public final class IndexTreeBuilder
                 }
 
                 // The found eventEvaluator must be converted to a new FilterHandleSetNode
+                // When copy-on-write the put replaces the existing evaluator so that non-locking evaluation never misses the value
                 FilterParamIndexBase nextIndex = (FilterParamIndexBase) eventEvaluator;
-                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite(), lockFactory.isStatisticsEnabled());
                 newNode.add(nextIndex);
-                index.remove(filterForValue);
+                if (!lockFactory.isCopyOnWrite()) {
+                    index.remove(filterForValue);
+                }
                 index.put(filterForValue, newNode);
                 addToNode(remainingParameters, filterCallback, newNode, treePathInfo, lockFactory);
 
@@ -393,7 +396,7 @@ public final class IndexTreeBuilder
             // if there are no remaining parameters, create a node
             if (remainingParameters.isEmpty())
             {
-                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite(), lockFactory.isStatisticsEnabled());
                 addToNode(remainingParameters, filterCallback, node, treePathInfo, lockFactory);
                 index.put(filterForValue, node);
                 return;
@@ -0,0 +1,356 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Augmented interval tree of ranges and their event evaluators for use by range and inverted-range filter indexes.
+ * <p>
+ * The tree is an AVL tree sorted by low endpoint and then high endpoint. Each node also keeps the largest low endpoint,
+ * and the smallest and largest high endpoint of its subtree, so that a lookup of the ranges that contain, or that do not
+ * contain, a value only descends into subtrees that can have matches. A point lookup therefore costs O(log n + k)
+ * for k matching ranges, instead of a scan over all ranges that start before the value.
+ * <p>
+ * Nodes are immutable and changes copy the path from the root to the changed node, so that a reader that obtained
+ * the root always sees a consistent tree. Writers must be serialized by the caller.
+ * Ranges are expected to provide non-null endpoints.
+ */
+public final class RangeIntervalTree
+{
+    private final Comparator<Object> endpointComparator;
+    private volatile Node root;
+    private volatile int size;
+
+    /**
+     * Ctor.
+     * @param endpointComparator compares range endpoints and values
+     */
+    public RangeIntervalTree(Comparator<Object> endpointComparator)
+    {
+        this.endpointComparator = endpointComparator;
+    }
+
+    /**
+     * Returns a tree for double ranges, values can be any Number and are compared by double value.
+     * @return tree
+     */
+    public static RangeIntervalTree makeDoubleRangeTree()
+    {
+        return new RangeIntervalTree(new DoubleEndpointComparator());
+    }
+
+    /**
+     * Returns a tree for string ranges.
+     * @return tree
+     */
+    public static RangeIntervalTree makeStringRangeTree()
+    {
+        return new RangeIntervalTree(new StringEndpointComparator());
+    }
+
+    /**
+     * Returns the evaluator for the range or null if the range is not found.
+     * @param range to look up
+     * @return evaluator or null
+     */
+    public EventEvaluator get(Range range)
+    {
+        Object low = range.getLowEndpoint();
+        Object high = range.getHighEndpoint();
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(low, high, node);
+            if (comparison == 0) {
+                return node.evaluator;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns indicator whether the range exists.
+     * @param range to look up
+     * @return true for found
+     */
+    public boolean containsKey(Range range)
+    {
+        return get(range) != null;
+    }
+
+    /**
+     * Add or replace a range.
+     * @param range range
+     * @param evaluator evaluator
+     */
+    public void put(Range range, EventEvaluator evaluator)
+    {
+        boolean exists = containsKey(range);
+        root = insert(root, new Node(null, range, evaluator, null));
+        if (!exists) {
+            size++;
+        }
+    }
+
+    /**
+     * Remove a range.
+     * @param range to remove
+     * @return true if removed, false if not found
+     */
+    public boolean remove(Range range)
+    {
+        if (!containsKey(range)) {
+            return false;
+        }
+        root = delete(root, range.getLowEndpoint(), range.getHighEndpoint());
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of ranges.
+     * @return size
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Match the ranges that contain the value, in ascending order of ranges.
+     * @param value to look up
+     * @param lowInclusive true to include the low endpoint
+     * @param highInclusive true to include the high endpoint
+     * @param theEvent event to pass to evaluators
+     * @param matches to add matches to
+     */
+    public void matchContaining(Object value, boolean lowInclusive, boolean highInclusive, EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        matchContaining(root, value, lowInclusive, highInclusive, theEvent, matches);
+    }
+
+    /**
+     * Match the ranges that do not contain the value, in ascending order of ranges.
+     * @param value to look up
+     * @param lowInclusive true to include the low endpoint in the range, i.e. to not match a value equal to the low endpoint
+     * @param highInclusive true to include the high endpoint in the range, i.e. to not match a value equal to the high endpoint
+     * @param theEvent event to pass to evaluators
+     * @param matches to add matches to
+     */
+    public void matchNotContaining(Object value, boolean lowInclusive, boolean highInclusive, EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        matchNotContaining(root, value, lowInclusive, highInclusive, theEvent, matches);
+    }
+
+    private void matchContaining(Node node, Object value, boolean lowInclusive, boolean highInclusive, EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        while (node != null) {
+            // no range in this subtree ends at or after the value
+            if (endpointComparator.compare(node.maxHigh, value) < 0) {
+                return;
+            }
+            matchContaining(node.left, value, lowInclusive, highInclusive, theEvent, matches);
+
+            // this range and all ranges to the right start after the value
+            int lowComparison = endpointComparator.compare(node.low, value);
+            if (lowComparison > 0) {
+                return;
+            }
+            if (lowComparison < 0 || lowInclusive) {
+                int highComparison = endpointComparator.compare(node.high, value);
+                if (highComparison > 0 || (highInclusive && highComparison == 0)) {
+                    node.evaluator.matchEvent(theEvent, matches);
+                }
+            }
+            node = node.right;
+        }
+    }
+
+    private void matchNotContaining(Node node, Object value, boolean lowInclusive, boolean highInclusive, EventBean theEvent, Collection<FilterHandle> matches)
+    {
+        while (node != null) {
+            // all ranges in this subtree start at or before the value and end at or after the value
+            if (endpointComparator.compare(node.maxLow, value) < 0 && endpointComparator.compare(node.minHigh, value) > 0) {
+                return;
+            }
+            matchNotContaining(node.left, value, lowInclusive, highInclusive, theEvent, matches);
+
+            int lowComparison = endpointComparator.compare(node.low, value);
+            int highComparison = endpointComparator.compare(node.high, value);
+            boolean containsLow = lowComparison < 0 || (lowInclusive && lowComparison == 0);
+            boolean containsHigh = highComparison > 0 || (highInclusive && highComparison == 0);
+            if (!containsLow || !containsHigh) {
+                node.evaluator.matchEvent(theEvent, matches);
+            }
+            node = node.right;
+        }
+    }
+
+    private Node insert(Node node, Node entry)
+    {
+        if (node == null) {
+            return entry;
+        }
+        int comparison = compare(entry.low, entry.high, node);
+        if (comparison < 0) {
+            return balance(insert(node.left, entry), node, node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.left, node, insert(node.right, entry));
+        }
+        return new Node(node.left, entry.range, entry.evaluator, node.right);
+    }
+
+    private Node delete(Node node, Object low, Object high)
+    {
+        int comparison = compare(low, high, node);
+        if (comparison < 0) {
+            return balance(delete(node.left, low, high), node, node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.left, node, delete(node.right, low, high));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(node.left, successor, deleteMin(node.right));
+    }
+
+    private Node deleteMin(Node node)
+    {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(deleteMin(node.left), node, node.right);
+    }
+
+    private Node balance(Node left, Node entry, Node right)
+    {
+        int heightLeft = height(left);
+        int heightRight = height(right);
+        if (heightLeft > heightRight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return makeNode(left.left, left, makeNode(left.right, entry, right));
+            }
+            Node pivot = left.right;
+            return makeNode(makeNode(left.left, left, pivot.left), pivot, makeNode(pivot.right, entry, right));
+        }
+        if (heightRight > heightLeft + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return makeNode(makeNode(left, entry, right.left), right, right.right);
+            }
+            Node pivot = right.left;
+            return makeNode(makeNode(left, entry, pivot.left), pivot, makeNode(pivot.right, right, right.right));
+        }
+        return makeNode(left, entry, right);
+    }
+
+    private Node makeNode(Node left, Node entry, Node right)
+    {
+        return new Node(left, entry.range, entry.evaluator, right);
+    }
+
+    private int compare(Object low, Object high, Node node)
+    {
+        int comparison = endpointComparator.compare(low, node.low);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return endpointComparator.compare(high, node.high);
+    }
+
+    private static int height(Node node)
+    {
+        return node == null ? 0 : node.height;
+    }
+
+    private final class Node
+    {
+        private final Node left;
+        private final Node right;
+        private final Range range;
+        private final Object low;
+        private final Object high;
+        private final EventEvaluator evaluator;
+        private final int height;
+        private final Object maxLow;
+        private final Object minHigh;
+        private final Object maxHigh;
+
+        private Node(Node left, Range range, EventEvaluator evaluator, Node right)
+        {
+            this.left = left;
+            this.right = right;
+            this.range = range;
+            this.low = range.getLowEndpoint();
+            this.high = range.getHighEndpoint();
+            this.evaluator = evaluator;
+            this.height = Math.max(RangeIntervalTree.height(left), RangeIntervalTree.height(right)) + 1;
+            this.maxLow = right == null ? low : right.maxLow;
+
+            Object minHigh = high;
+            Object maxHigh = high;
+            if (left != null) {
+                minHigh = min(minHigh, left.minHigh);
+                maxHigh = max(maxHigh, left.maxHigh);
+            }
+            if (right != null) {
+                minHigh = min(minHigh, right.minHigh);
+                maxHigh = max(maxHigh, right.maxHigh);
+            }
+            this.minHigh = minHigh;
+            this.maxHigh = maxHigh;
+        }
+
+        private Object min(Object one, Object two)
+        {
+            return endpointComparator.compare(one, two) <= 0 ? one : two;
+        }
+
+        private Object max(Object one, Object two)
+        {
+            return endpointComparator.compare(one, two) >= 0 ? one : two;
+        }
+    }
+
+    private static class DoubleEndpointComparator implements Comparator<Object>
+    {
+        public int compare(Object one, Object two)
+        {
+            double valueOne = ((Number) one).doubleValue();
+            double valueTwo = ((Number) two).doubleValue();
+            if (valueOne < valueTwo) {
+                return -1;
+            }
+            if (valueOne > valueTwo) {
+                return 1;
+            }
+            return 0;
+        }
+    }
+
+    private static class StringEndpointComparator implements Comparator<Object>
+    {
+        public int compare(Object one, Object two)
+        {
+            return ((String) one).compareTo((String) two);
+        }
+    }
+}
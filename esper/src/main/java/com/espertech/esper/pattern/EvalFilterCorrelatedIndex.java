@@ -0,0 +1,267 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.pattern;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.core.service.EPStatementHandleCallback;
+import com.espertech.esper.filter.*;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.*;
+
+/**
+ * Shared filter registration for the state nodes of a pattern filter that compares an event property for equality
+ * to a property of a prior tagged event, such as in "every a=Order -> b=Fill(orderId=a.id)".
+ * <p>
+ * Instead of each state node registering a filter for its own value, the index registers a single filter without the
+ * correlated parameter and keeps a hash map of correlation value to the waiting state nodes. Starting and stopping a
+ * state node thus becomes a hash insert or remove.
+ * <p>
+ * State nodes that start while the pattern processes an event do not receive that event, the same as for a filter
+ * that is registered after the event was matched against the registered filters.
+ */
+public class EvalFilterCorrelatedIndex implements FilterHandleCallback
+{
+    private final EvalFilterNode evalFilterNode;
+    private final EventPropertyGetter getter;
+    private final Map<Object, Object> stateNodes = new HashMap<Object, Object>();
+    private int numStateNodes;
+    private long matchSequence;
+    private EPStatementHandleCallback handle;
+    private FilterServiceEntry filterServiceEntry;
+
+    /**
+     * Ctor.
+     * @param evalFilterNode filter node
+     */
+    public EvalFilterCorrelatedIndex(EvalFilterNode evalFilterNode)
+    {
+        this.evalFilterNode = evalFilterNode;
+        this.getter = evalFilterNode.getFactoryNode().getCorrelatedParam().getLookupable().getGetter();
+    }
+
+    /**
+     * Returns the filter parameter that the index replaces, or null if the filter is not of the correlated shape.
+     * <p>
+     * The filter must have a single path, must not consume events and must have exactly one equals-parameter
+     * against a property of a prior tagged event without type coercion, while all other parameters are constants.
+     * @param filterSpec filter
+     * @param consumptionLevel consumption level or null if not consuming
+     * @return correlated parameter or null if not applicable
+     */
+    public static FilterSpecParamEventProp getCorrelatedParam(FilterSpecCompiled filterSpec, Integer consumptionLevel)
+    {
+        if (consumptionLevel != null || filterSpec.getParameters().length != 1) {
+            return null;
+        }
+        FilterSpecParamEventProp correlated = null;
+        for (FilterSpecParam param : filterSpec.getParameters()[0]) {
+            if (param instanceof FilterSpecParamConstant) {
+                continue;
+            }
+            if (correlated != null || !(param instanceof FilterSpecParamEventProp) || param.getFilterOperator() != FilterOperator.EQUAL) {
+                return null;
+            }
+            correlated = (FilterSpecParamEventProp) param;
+        }
+        if (correlated == null) {
+            return null;
+        }
+        if (correlated.isMustCoerce() &&
+            JavaClassHelper.getBoxedType(correlated.getCoercionType()) != JavaClassHelper.getBoxedType(correlated.getLookupable().getReturnType())) {
+            return null;
+        }
+        return correlated;
+    }
+
+    /**
+     * Returns the filter without the correlated parameter.
+     * @param filterSpec filter
+     * @param correlated correlated parameter
+     * @return filter registered by the index
+     */
+    public static FilterSpecCompiled getCorrelatedFilterSpec(FilterSpecCompiled filterSpec, FilterSpecParamEventProp correlated)
+    {
+        List<FilterSpecParam> remaining = new ArrayList<FilterSpecParam>();
+        for (FilterSpecParam param : filterSpec.getParameters()[0]) {
+            if (param != correlated) {
+                remaining.add(param);
+            }
+        }
+        List<FilterSpecParam>[] parameters = (List<FilterSpecParam>[]) new List[] {remaining};
+        return new FilterSpecCompiled(filterSpec.getFilterForEventType(), filterSpec.getFilterForEventTypeName(), parameters, filterSpec.getOptionalPropertyEvaluator());
+    }
+
+    /**
+     * Adds a state node waiting for events that have the correlation value, registering the filter if required.
+     * @param key correlation value
+     * @param stateNode state node
+     */
+    public void add(Object key, EvalFilterStateNode stateNode)
+    {
+        Object existing = stateNodes.get(key);
+        if (existing == null) {
+            stateNodes.put(key, stateNode);
+        }
+        else if (existing instanceof EvalFilterStateNode) {
+            List<EvalFilterStateNode> list = new ArrayList<EvalFilterStateNode>(2);
+            list.add((EvalFilterStateNode) existing);
+            list.add(stateNode);
+            stateNodes.put(key, list);
+        }
+        else {
+            ((List<EvalFilterStateNode>) existing).add(stateNode);
+        }
+
+        numStateNodes++;
+        if (handle == null) {
+            startFiltering();
+        }
+    }
+
+    /**
+     * Removes a state node, removing the filter if no state nodes remain.
+     * @param key correlation value
+     * @param stateNode state node
+     */
+    public void remove(Object key, EvalFilterStateNode stateNode)
+    {
+        Object existing = stateNodes.get(key);
+        if (existing == null) {
+            return;
+        }
+        if (existing instanceof EvalFilterStateNode) {
+            if (existing != stateNode) {
+                return;
+            }
+            stateNodes.remove(key);
+        }
+        else {
+            List<EvalFilterStateNode> list = (List<EvalFilterStateNode>) existing;
+            if (!removeIdentity(list, stateNode)) {
+                return;
+            }
+            if (list.size() == 1) {
+                stateNodes.put(key, list.get(0));
+            }
+        }
+
+        numStateNodes--;
+        if (numStateNodes == 0) {
+            stopFiltering();
+        }
+    }
+
+    /**
+     * Returns the match sequence number for a state node that starts now: a state node that starts while the statement
+     * processes an event that the index is yet to receive does not receive that event.
+     * @return match sequence number that the state node does not receive
+     */
+    public long getStartMatchSequence()
+    {
+        if (evalFilterNode.getContext().isPendingFilterCallback(this)) {
+            return matchSequence + 1;
+        }
+        return matchSequence;
+    }
+
+    public void matchFound(EventBean theEvent, Collection<FilterHandleCallback> allStmtMatches)
+    {
+        // each invocation is a new engine processing pass for the index, also when the same event is processed again
+        matchSequence++;
+        PatternAgentInstanceContext context = evalFilterNode.getContext();
+        context.setCurrentFilterCallback(this, allStmtMatches);
+        try {
+            matchFoundInternal(theEvent, allStmtMatches);
+        }
+        finally {
+            context.setCurrentFilterCallback(null, null);
+        }
+    }
+
+    private void matchFoundInternal(EventBean theEvent, Collection<FilterHandleCallback> allStmtMatches)
+    {
+        Object key = getter.get(theEvent);
+        if (key == null) {
+            return;     // null cannot match, same as the equals-filter index
+        }
+
+        Object found = stateNodes.get(key);
+        if (found == null) {
+            return;
+        }
+        if (found instanceof EvalFilterStateNode) {
+            EvalFilterStateNode stateNode = (EvalFilterStateNode) found;
+            if (stateNode.getCorrelatedMatchSequence() != matchSequence) {
+                stateNode.matchFound(theEvent, allStmtMatches);
+            }
+            return;
+        }
+
+        // state nodes may stop and start as a result of a match
+        List<EvalFilterStateNode> list = (List<EvalFilterStateNode>) found;
+        EvalFilterStateNode[] matching = list.toArray(new EvalFilterStateNode[list.size()]);
+        for (EvalFilterStateNode stateNode : matching) {
+            if (stateNode.getCorrelatedMatchSequence() != matchSequence) {
+                stateNode.matchFound(theEvent, allStmtMatches);
+            }
+        }
+    }
+
+    public boolean isSubSelect()
+    {
+        return false;
+    }
+
+    public int getStatementId()
+    {
+        return evalFilterNode.getContext().getPatternContext().getStatementId();
+    }
+
+    /**
+     * Returns the number of waiting state nodes.
+     * @return count
+     */
+    public int getNumStateNodes()
+    {
+        return numStateNodes;
+    }
+
+    private void startFiltering()
+    {
+        FilterService filterService = evalFilterNode.getContext().getPatternContext().getFilterService();
+        handle = new EPStatementHandleCallback(evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle(), this);
+        FilterValueSet filterValues = evalFilterNode.getFactoryNode().getCorrelatedFilterSpec().getValueSet(null, evalFilterNode.getContext().getAgentInstanceContext(), evalFilterNode.getAddendumFilters());
+        filterServiceEntry = filterService.add(filterValues, handle);
+        long filtersVersion = filterService.getFiltersVersion();
+        evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle().getStatementFilterVersion().setStmtFilterVersion(filtersVersion);
+    }
+
+    private void stopFiltering()
+    {
+        FilterService filterService = evalFilterNode.getContext().getPatternContext().getFilterService();
+        filterService.remove(handle, filterServiceEntry);
+        handle = null;
+        filterServiceEntry = null;
+        long filtersVersion = filterService.getFiltersVersion();
+        evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle().getStatementFilterVersion().setStmtFilterVersion(filtersVersion);
+    }
+
+    private static boolean removeIdentity(List<EvalFilterStateNode> list, EvalFilterStateNode stateNode)
+    {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == stateNode) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+}
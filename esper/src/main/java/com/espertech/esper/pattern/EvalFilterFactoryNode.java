@@ -11,6 +11,7 @@ package com.espertech.esper.pattern;
 import com.espertech.esper.epl.expression.core.ExprNodeUtility;
 import com.espertech.esper.epl.spec.FilterSpecRaw;
 import com.espertech.esper.filter.FilterSpecCompiled;
+import com.espertech.esper.filter.FilterSpecParamEventProp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +27,8 @@ public class EvalFilterFactoryNode extends EvalNodeFactoryBase
     private final String eventAsName;
     private transient FilterSpecCompiled filterSpec;
     private final Integer consumptionLevel;
+    private transient FilterSpecParamEventProp correlatedParam;
+    private transient FilterSpecCompiled correlatedFilterSpec;
 
     private int eventAsTagNumber = -1;
 
@@ -89,6 +92,33 @@ public class EvalFilterFactoryNode extends EvalNodeFactoryBase
         return consumptionLevel;
     }
 
+    /**
+     * Returns the equals-parameter against a prior tagged event that state nodes look up in a shared index,
+     * or null if state nodes register their own filter.
+     * @return correlated parameter
+     */
+    public FilterSpecParamEventProp getCorrelatedParam() {
+        return correlatedParam;
+    }
+
+    /**
+     * Returns the filter without the correlated parameter, for registration by the shared index.
+     * @return filter
+     */
+    public FilterSpecCompiled getCorrelatedFilterSpec() {
+        return correlatedFilterSpec;
+    }
+
+    /**
+     * Sets the correlated parameter and the filter to register instead.
+     * @param correlatedParam equals-parameter against a prior tagged event
+     * @param correlatedFilterSpec filter without the correlated parameter
+     */
+    public void setCorrelated(FilterSpecParamEventProp correlatedParam, FilterSpecCompiled correlatedFilterSpec) {
+        this.correlatedParam = correlatedParam;
+        this.correlatedFilterSpec = correlatedFilterSpec;
+    }
+
     @SuppressWarnings({"StringConcatenationInsideStringBufferAppend"})
     public final String toString()
     {
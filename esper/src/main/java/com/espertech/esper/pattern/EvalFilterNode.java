@@ -19,6 +19,7 @@ public class EvalFilterNode extends EvalNodeBase
 {
     protected final EvalFilterFactoryNode factoryNode;
     private final FilterValueSetParam[][] addendumFilters;
+    private final EvalFilterCorrelatedIndex correlatedIndex;
 
     public EvalFilterNode(PatternAgentInstanceContext context, EvalFilterFactoryNode factoryNode) {
         super(context);
@@ -29,6 +30,12 @@ public class EvalFilterNode extends EvalNodeBase
         else {
             this.addendumFilters = null;
         }
+        if (factoryNode.getCorrelatedParam() != null && context.getConsumptionHandler() == null) {
+            this.correlatedIndex = new EvalFilterCorrelatedIndex(this);
+        }
+        else {
+            this.correlatedIndex = null;
+        }
     }
 
     public EvalFilterFactoryNode getFactoryNode() {
@@ -39,6 +46,14 @@ public class EvalFilterNode extends EvalNodeBase
         return addendumFilters;
     }
 
+    /**
+     * Returns the shared filter registration for correlated filters, or null if the filter registers per state node.
+     * @return index
+     */
+    public EvalFilterCorrelatedIndex getCorrelatedIndex() {
+        return correlatedIndex;
+    }
+
     public EvalStateNode newState(Evaluator parentNode,
                                   EvalStateNodeNumber stateNodeNumber, long stateNodeId)
     {
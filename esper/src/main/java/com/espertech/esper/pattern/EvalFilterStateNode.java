@@ -31,6 +31,8 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
     protected EPStatementHandleCallback handle;
     protected FilterServiceEntry filterServiceEntry;
     protected MatchedEventMap beginState;
+    protected Object correlatedKey;
+    protected long correlatedMatchSequence;
 
     /**
      * Constructor.
@@ -87,6 +89,24 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
     }
 
     public void matchFound(EventBean theEvent, Collection<FilterHandleCallback> allStmtMatches)
+    {
+        // state nodes of a correlated filter receive events from the correlated index, which indicates the current callback
+        if (evalFilterNode.getCorrelatedIndex() != null) {
+            matchFoundInternal(theEvent, allStmtMatches);
+            return;
+        }
+
+        PatternAgentInstanceContext context = evalFilterNode.getContext();
+        context.setCurrentFilterCallback(this, allStmtMatches);
+        try {
+            matchFoundInternal(theEvent, allStmtMatches);
+        }
+        finally {
+            context.setCurrentFilterCallback(null, null);
+        }
+    }
+
+    private void matchFoundInternal(EventBean theEvent, Collection<FilterHandleCallback> allStmtMatches)
     {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qPatternFilterMatch(evalFilterNode, theEvent);}
 
@@ -147,6 +167,15 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
         return false;
     }
 
+    /**
+     * Returns the match sequence number of the correlated index for which the state node does not receive the event.
+     * @return sequence number
+     */
+    public long getCorrelatedMatchSequence()
+    {
+        return correlatedMatchSequence;
+    }
+
     public final String toString()
     {
         StringBuilder buffer = new StringBuilder();
@@ -182,6 +211,14 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
 
     protected void startFiltering()
     {
+        EvalFilterCorrelatedIndex correlatedIndex = evalFilterNode.getCorrelatedIndex();
+        if (correlatedIndex != null) {
+            correlatedKey = evalFilterNode.getFactoryNode().getCorrelatedParam().getFilterValue(beginState, evalFilterNode.getContext().getAgentInstanceContext());
+            correlatedMatchSequence = correlatedIndex.getStartMatchSequence();
+            correlatedIndex.add(correlatedKey, this);
+            return;
+        }
+
         FilterService filterService = evalFilterNode.getContext().getPatternContext().getFilterService();
         handle = new EPStatementHandleCallback(evalFilterNode.getContext().getAgentInstanceContext().getEpStatementAgentInstanceHandle(), this);
         FilterValueSet filterValues = evalFilterNode.getFactoryNode().getFilterSpec().getValueSet(beginState, evalFilterNode.getContext().getAgentInstanceContext(), evalFilterNode.getAddendumFilters());
@@ -192,6 +229,14 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
 
     private void stopFiltering()
     {
+        EvalFilterCorrelatedIndex correlatedIndex = evalFilterNode.getCorrelatedIndex();
+        if (correlatedIndex != null) {
+            correlatedIndex.remove(correlatedKey, this);
+            correlatedKey = null;
+            isStarted = false;
+            return;
+        }
+
         PatternContext context = evalFilterNode.getContext().getPatternContext();
         if (handle != null) {
             context.getFilterService().remove(handle, filterServiceEntry);
@@ -8,6 +8,8 @@
  **************************************************************************************/
 package com.espertech.esper.pattern;
 
+import com.espertech.esper.pattern.guard.TimerWithinGuardFactory;
+import com.espertech.esper.pattern.guard.TimerWithinSharedSchedule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,11 +20,21 @@ public class EvalGuardNode extends EvalNodeBase
 {
     protected final EvalGuardFactoryNode factoryNode;
     private final EvalNode childNode;
+    private final TimerWithinSharedSchedule timerWithinSharedSchedule;
 
     public EvalGuardNode(PatternAgentInstanceContext context, EvalGuardFactoryNode factoryNode, EvalNode childNode) {
         super(context);
         this.factoryNode = factoryNode;
         this.childNode = childNode;
+
+        // timer-within guards of constant length expire in the order they start and share a single schedule
+        if (factoryNode.getGuardFactory() != null && factoryNode.getGuardFactory().getClass() == TimerWithinGuardFactory.class) {
+            TimerWithinGuardFactory guardFactory = (TimerWithinGuardFactory) factoryNode.getGuardFactory();
+            timerWithinSharedSchedule = guardFactory.isConstantMilliseconds() ? new TimerWithinSharedSchedule(context, guardFactory) : null;
+        }
+        else {
+            timerWithinSharedSchedule = null;
+        }
     }
 
     public EvalGuardFactoryNode getFactoryNode() {
@@ -33,6 +45,14 @@ public class EvalGuardNode extends EvalNodeBase
         return childNode;
     }
 
+    /**
+     * Returns the schedule shared by timer-within guards of constant length, or null if not applicable.
+     * @return shared schedule
+     */
+    public TimerWithinSharedSchedule getTimerWithinSharedSchedule() {
+        return timerWithinSharedSchedule;
+    }
+
     public EvalStateNode newState(Evaluator parentNode,
                                   EvalStateNodeNumber stateNodeNumber, long stateNodeId)
     {
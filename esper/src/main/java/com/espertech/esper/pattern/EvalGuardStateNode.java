@@ -66,7 +66,12 @@ public class EvalGuardStateNode extends EvalStateNode implements Evaluator, Quit
     {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qPatternGuardStart(evalGuardNode, beginState);}
         this.beginState = beginState;
-        guard = evalGuardNode.getFactoryNode().getGuardFactory().makeGuard(evalGuardNode.getContext(), beginState, this, null, null);
+        if (evalGuardNode.getTimerWithinSharedSchedule() != null) {
+            guard = evalGuardNode.getTimerWithinSharedSchedule().makeGuard(beginState, this);
+        }
+        else {
+            guard = evalGuardNode.getFactoryNode().getGuardFactory().makeGuard(evalGuardNode.getContext(), beginState, this, null, null);
+        }
         activeChildNode = evalGuardNode.getChildNode().newState(this, null, 0L);
 
         // Start the single child state
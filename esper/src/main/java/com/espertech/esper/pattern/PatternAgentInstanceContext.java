@@ -10,6 +10,9 @@ package com.espertech.esper.pattern;
 
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.filter.FilterHandleCallback;
+
+import java.util.Collection;
 
 /**
  * Contains handles to implementations of services needed by evaluation nodes.
@@ -19,6 +22,8 @@ public class PatternAgentInstanceContext
     private final PatternContext patternContext;
     private final AgentInstanceContext agentInstanceContext;
     private final EvalFilterConsumptionHandler consumptionHandler;
+    private FilterHandleCallback currentFilterCallback;
+    private Collection<FilterHandleCallback> currentFilterMatches;
 
     public PatternAgentInstanceContext(PatternContext patternContext, AgentInstanceContext agentInstanceContext, boolean hasConsumingFilter) {
         this.patternContext = patternContext;
@@ -47,4 +52,35 @@ public class PatternAgentInstanceContext
     public StatementContext getStatementContext() {
         return agentInstanceContext.getStatementContext();
     }
+
+    /**
+     * Sets the pattern filter callback that currently processes an event, and all callbacks of the statement for the same event.
+     * @param callback callback currently processing an event, or null when done
+     * @param allStmtMatches all callbacks of the statement for the same event, or null if the callback is the only one
+     */
+    public void setCurrentFilterCallback(FilterHandleCallback callback, Collection<FilterHandleCallback> allStmtMatches) {
+        this.currentFilterCallback = callback;
+        this.currentFilterMatches = allStmtMatches;
+    }
+
+    /**
+     * Returns true if the callback is yet to receive the event that the current pattern filter callback processes.
+     * @param callback callback to check
+     * @return indicator whether the callback receives the current event after the current callback
+     */
+    public boolean isPendingFilterCallback(FilterHandleCallback callback) {
+        if (currentFilterMatches == null) {
+            return false;
+        }
+        boolean afterCurrent = false;
+        for (FilterHandleCallback match : currentFilterMatches) {
+            if (match == currentFilterCallback) {
+                afterCurrent = true;
+            }
+            else if (match == callback) {
+                return afterCurrent;
+            }
+        }
+        return false;
+    }
 }
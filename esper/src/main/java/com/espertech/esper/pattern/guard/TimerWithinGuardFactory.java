@@ -69,6 +69,19 @@ public class TimerWithinGuardFactory implements GuardFactory, MetaDefItem, Seria
         }
     }
 
+    /**
+     * Returns true if the number of milliseconds does not depend on prior matching events, variables or
+     * the calendar, so that guards expire in the order they start and can share a schedule.
+     * @return indicator
+     */
+    public boolean isConstantMilliseconds() {
+        if (millisecondsExpr instanceof ExprTimePeriod) {
+            ExprTimePeriod timePeriod = (ExprTimePeriod) millisecondsExpr;
+            return timePeriod.isConstantResult() && !timePeriod.isHasMonth() && !timePeriod.isHasYear();
+        }
+        return millisecondsExpr.isConstantResult();
+    }
+
     public Guard makeGuard(PatternAgentInstanceContext context, MatchedEventMap matchedEventMap, Quitable quitable, EvalStateNodeNumber stateNodeId, Object guardState)
     {
         return new TimerWithinGuard(computeMilliseconds(matchedEventMap, context), quitable);
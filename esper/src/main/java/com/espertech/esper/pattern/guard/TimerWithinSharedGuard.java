@@ -0,0 +1,99 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.pattern.guard;
+
+import com.espertech.esper.pattern.MatchedEventMap;
+
+/**
+ * Guard implementation for a timer-within guard with a constant number of milliseconds that,
+ * instead of keeping its own timer, shares the schedule of all guards of the same sub-expression.
+ */
+public class TimerWithinSharedGuard implements Guard
+{
+    private final TimerWithinSharedSchedule schedule;
+    private final Quitable quitable;
+    private long expiryTime;
+    private boolean isActive;
+
+    /**
+     * Ctor.
+     * @param schedule - the schedule shared by the guards of the sub-expression
+     * @param quitable - to use to indicate that the guard quitted
+     */
+    public TimerWithinSharedGuard(TimerWithinSharedSchedule schedule, Quitable quitable)
+    {
+        this.schedule = schedule;
+        this.quitable = quitable;
+    }
+
+    public void startGuard()
+    {
+        if (isActive)
+        {
+            throw new IllegalStateException("Timer already active");
+        }
+        isActive = true;
+        schedule.add(this);
+    }
+
+    public void stopGuard()
+    {
+        if (isActive)
+        {
+            isActive = false;
+            schedule.remove(this);
+        }
+    }
+
+    public boolean inspect(MatchedEventMap matchEvent)
+    {
+        // no need to test: for timing only, if the timer expired the guardQuit stops any events from coming here
+        return true;
+    }
+
+    public void accept(EventGuardVisitor visitor) {
+        visitor.visitGuard(10, expiryTime);
+    }
+
+    /**
+     * Returns the time at which the guard expires.
+     * @return expiry time
+     */
+    protected long getExpiryTime()
+    {
+        return expiryTime;
+    }
+
+    /**
+     * Sets the time at which the guard expires.
+     * @param expiryTime expiry time
+     */
+    protected void setExpiryTime(long expiryTime)
+    {
+        this.expiryTime = expiryTime;
+    }
+
+    /**
+     * Returns true when started and not yet stopped or expired.
+     * @return indicator
+     */
+    protected boolean isActive()
+    {
+        return isActive;
+    }
+
+    /**
+     * Called by the shared schedule when the guard expired.
+     */
+    protected void expire()
+    {
+        isActive = false;
+        quitable.guardQuit();
+    }
+}
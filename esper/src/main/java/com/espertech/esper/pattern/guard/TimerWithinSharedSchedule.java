@@ -0,0 +1,187 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.pattern.guard;
+
+import com.espertech.esper.core.service.EPStatementHandleCallback;
+import com.espertech.esper.core.service.EngineLevelExtensionServicesContext;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.pattern.MatchedEventMap;
+import com.espertech.esper.pattern.PatternAgentInstanceContext;
+import com.espertech.esper.schedule.ScheduleHandleCallback;
+import com.espertech.esper.schedule.SchedulingService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedule shared by all {@link TimerWithinSharedGuard} instances of a timer-within guard sub-expression
+ * that has a constant number of milliseconds.
+ * <p>
+ * Since each guard expires the same number of milliseconds after it starts, guards expire in the order
+ * they start. The schedule keeps the guards in a queue ordered by expiry time and keeps a single schedule
+ * entry for the earliest expiry time, instead of a schedule handle, slot and entry per guard.
+ * Stopped guards are removed from the queue when they reach the head of the queue or when the
+ * queue holds more stopped than active guards.
+ */
+public class TimerWithinSharedSchedule implements ScheduleHandleCallback
+{
+    private final PatternAgentInstanceContext context;
+    private final TimerWithinGuardFactory guardFactory;
+    private final long scheduleSlot;
+    private final ArrayDeque<TimerWithinSharedGuard> guards = new ArrayDeque<TimerWithinSharedGuard>();
+
+    private Long msec;
+    private int numActive;
+    private EPStatementHandleCallback scheduleHandle;
+    private boolean isScheduled;
+    private long scheduledTime;
+
+    /**
+     * Ctor.
+     * @param context - pattern context
+     * @param guardFactory - the guard factory that computes the number of milliseconds
+     */
+    public TimerWithinSharedSchedule(PatternAgentInstanceContext context, TimerWithinGuardFactory guardFactory)
+    {
+        this.context = context;
+        this.guardFactory = guardFactory;
+        this.scheduleSlot = context.getPatternContext().getScheduleBucket().allocateSlot();
+    }
+
+    /**
+     * Makes a guard that uses this schedule.
+     * @param beginState - the prior matching events
+     * @param quitable - to use for indicating the guard has quit
+     * @return guard
+     */
+    public TimerWithinSharedGuard makeGuard(MatchedEventMap beginState, Quitable quitable)
+    {
+        if (msec == null) {
+            msec = guardFactory.computeMilliseconds(beginState, context);
+        }
+        return new TimerWithinSharedGuard(this, quitable);
+    }
+
+    /**
+     * Returns the number of started guards that did not stop or expire.
+     * @return number of active guards
+     */
+    public int getNumActive()
+    {
+        return numActive;
+    }
+
+    public final void scheduledTrigger(EngineLevelExtensionServicesContext engineLevelExtensionServicesContext)
+    {
+        // Timer callback is automatically removed when triggering
+        isScheduled = false;
+        long currentTime = getSchedulingService().getTime();
+        while (!guards.isEmpty() && guards.peekFirst().getExpiryTime() <= currentTime) {
+            TimerWithinSharedGuard guard = guards.pollFirst();
+            if (!guard.isActive()) {
+                continue;
+            }
+            numActive--;
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qPatternGuardScheduledEval();}
+            guard.expire();
+            if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aPatternGuardScheduledEval();}
+        }
+        scheduleHead();
+    }
+
+    /**
+     * Adds a started guard.
+     * @param guard to add
+     */
+    protected void add(TimerWithinSharedGuard guard)
+    {
+        long expiryTime = getSchedulingService().getTime() + msec;
+        guard.setExpiryTime(expiryTime);
+        numActive++;
+
+        TimerWithinSharedGuard last = guards.peekLast();
+        if (last == null || last.getExpiryTime() <= expiryTime) {
+            guards.addLast(guard);
+        }
+        else {
+            // the engine time moved backwards, insert by expiry time to keep the queue ordered
+            List<TimerWithinSharedGuard> later = new ArrayList<TimerWithinSharedGuard>();
+            while (!guards.isEmpty() && guards.peekLast().getExpiryTime() > expiryTime) {
+                later.add(guards.pollLast());
+            }
+            guards.addLast(guard);
+            for (int i = later.size() - 1; i >= 0; i--) {
+                guards.addLast(later.get(i));
+            }
+        }
+        scheduleHead();
+    }
+
+    /**
+     * Removes a guard that stopped before expiring.
+     * @param guard to remove
+     */
+    protected void remove(TimerWithinSharedGuard guard)
+    {
+        numActive--;
+        if (numActive == 0) {
+            guards.clear();
+            unschedule();
+            return;
+        }
+
+        // compact when stopped guards outnumber active guards, keeping the order
+        if (guards.size() - numActive > numActive + 64) {
+            int size = guards.size();
+            for (int i = 0; i < size; i++) {
+                TimerWithinSharedGuard next = guards.pollFirst();
+                if (next.isActive()) {
+                    guards.addLast(next);
+                }
+            }
+        }
+    }
+
+    private void scheduleHead()
+    {
+        while (!guards.isEmpty() && !guards.peekFirst().isActive()) {
+            guards.pollFirst();
+        }
+        if (guards.isEmpty()) {
+            unschedule();
+            return;
+        }
+
+        long expiryTime = guards.peekFirst().getExpiryTime();
+        if (isScheduled && scheduledTime == expiryTime) {
+            return;
+        }
+        if (scheduleHandle == null) {
+            scheduleHandle = new EPStatementHandleCallback(context.getAgentInstanceContext().getEpStatementAgentInstanceHandle(), this);
+        }
+        SchedulingService schedulingService = getSchedulingService();
+        schedulingService.add(expiryTime - schedulingService.getTime(), scheduleHandle, scheduleSlot);
+        isScheduled = true;
+        scheduledTime = expiryTime;
+    }
+
+    private void unschedule()
+    {
+        if (isScheduled) {
+            getSchedulingService().remove(scheduleHandle, scheduleSlot);
+            isScheduled = false;
+        }
+    }
+
+    private SchedulingService getSchedulingService()
+    {
+        return context.getPatternContext().getSchedulingService();
+    }
+}
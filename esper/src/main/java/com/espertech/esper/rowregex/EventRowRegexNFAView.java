@@ -79,6 +79,12 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
 
     private final RegexPartitionStateRandomAccessGetter prevGetter;
     private final ObjectArrayBackedEventBean compositeEventBean;
+    private final boolean[] isDefineEventLocal;
+    private final EventBean[] eventsPerStreamStart;
+
+    // results of define-conditions that only depend on the current event, one bit per variable stream number, reset per event
+    private long defineEvaluatedMask;
+    private long defineMatchedMask;
 
     // state
     protected RegexPartitionStateRepo regexPartitionStateRepo;
@@ -144,6 +150,8 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         this.isIterateOnly = isIterateOnly;
         this.agentInstanceContext = agentInstanceContext;
         this.isCollectMultimatches = isCollectMultimatches;
+        this.isDefineEventLocal = factory.getDefineEventLocal();
+        this.eventsPerStreamStart = new EventBean[numEventsEventsPerStreamDefine];
 
         if (matchRecognizeSpec.getInterval() != null) {
             agentInstanceContext.addTerminationCallback(this);
@@ -899,6 +907,8 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                                           Object partitionKey)
     {
         List<RegexNFAStateEntry> terminationStates = null;  // always null or a list of entries (no singleton list)
+        defineEvaluatedMask = 0;
+        defineMatchedMask = 0;
 
         // handle current state matching
         for (;currentStatesIterator.hasNext();)
@@ -919,7 +929,7 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                 eventsPerStream[numEventsEventsPerStreamDefine-1] = getMultimatchState(currentState);
             }
 
-            if (currentState.getState().matches(eventsPerStream, agentInstanceContext))
+            if (matches(currentState.getState(), eventsPerStream))
             {
                 if (isRetainEventSet)
                 {
@@ -1018,11 +1028,15 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         {
             if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qRegExStateStart(startState, variableStreams, multimatchStreamNumToVariable);}
 
-            EventBean[] eventsPerStream = new EventBean[numEventsEventsPerStreamDefine];
+            // evaluate using a reusable array, allocating the array only when the start state matches
             int currentStateStreamNum = startState.getStreamNum();
-            eventsPerStream[currentStateStreamNum] = theEvent;
+            eventsPerStreamStart[currentStateStreamNum] = theEvent;
+            boolean matches = matches(startState, eventsPerStreamStart);
+            eventsPerStreamStart[currentStateStreamNum] = null;
 
-            if (startState.matches(eventsPerStream, agentInstanceContext)) {
+            if (matches) {
+                EventBean[] eventsPerStream = new EventBean[numEventsEventsPerStreamDefine];
+                eventsPerStream[currentStateStreamNum] = theEvent;
                 if (isRetainEventSet) {
                     this.windowMatchedEventset.add(theEvent);
                 }
@@ -1085,6 +1099,23 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         return terminationStates;   // only for immediate use, not for scheduled use as no copy of state
     }
 
+    private boolean matches(RegexNFAState state, EventBean[] eventsPerStream) {
+        int streamNum = state.getStreamNum();
+        if (streamNum >= 64 || !isDefineEventLocal[streamNum]) {
+            return state.matches(eventsPerStream, agentInstanceContext);
+        }
+
+        // the condition only depends on the current event: evaluate once per event for all states of the variable
+        long bit = 1L << streamNum;
+        if ((defineEvaluatedMask & bit) == 0) {
+            defineEvaluatedMask |= bit;
+            if (state.matches(eventsPerStream, agentInstanceContext)) {
+                defineMatchedMask |= bit;
+            }
+        }
+        return (defineMatchedMask & bit) != 0;
+    }
+
     private ObjectArrayBackedEventBean getMultimatchState(RegexNFAStateEntry currentState) {
         if (currentState.getOptionalMultiMatches() == null || !currentState.getState().isExprRequiresMultimatchState()) {
             return null;
@@ -62,6 +62,7 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport
     protected final boolean isDefineAsksMultimatches;
     protected final ObjectArrayBackedEventBean defineMultimatchEventBean;
     protected final boolean[] isExprRequiresMultimatchState;
+    protected final boolean[] isDefineEventLocal;
     protected final RowRegexExprNode expandedPatternNode;
     protected final ConfigurationEngineDefaults.MatchRecognize matchRecognizeConfig;
 
@@ -141,6 +142,7 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport
         List<ExprAggregateNode> aggregateNodes = new ArrayList<ExprAggregateNode>();
         ExprEvaluatorContextStatement exprEvaluatorContext = new ExprEvaluatorContextStatement(statementContext, false);
         this.isExprRequiresMultimatchState = new boolean[variableStreams.size()];
+        this.isDefineEventLocal = new boolean[variableStreams.size()];
 
         for (int defineIndex = 0; defineIndex < matchRecognizeSpec.getDefines().size(); defineIndex++)
         {
@@ -184,6 +186,20 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport
                     break;
                 }
             }
+
+            // determine whether the condition only depends on the current event, so that it can be evaluated once per event
+            Pair<Integer, Boolean> defineStream = variableStreams.get(defineItem.getIdentifier());
+            if (defineStream != null) {
+                ExprNodeSubselectDeclaredDotVisitor subselectDeclaredVisitor = new ExprNodeSubselectDeclaredDotVisitor();
+                validated.accept(subselectDeclaredVisitor);
+                boolean eventLocal = subselectDeclaredVisitor.getSubselects().isEmpty() && subselectDeclaredVisitor.getDeclaredExpressions().isEmpty();
+                for (int streamRequired : streamsRequired) {
+                    if (streamRequired != defineStream.getFirst()) {
+                        eventLocal = false;
+                    }
+                }
+                isDefineEventLocal[defineStream.getFirst()] = eventLocal;
+            }
         }
         isDefineAsksMultimatches = CollectionUtil.isAnySet(isExprRequiresMultimatchState);
         defineMultimatchEventBean = isDefineAsksMultimatches ? EventRowRegexNFAViewFactoryHelper.getDefineMultimatchBean(statementContext, variableStreams, parentViewType) : null;
@@ -501,6 +517,15 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport
         return aggregationService;
     }
 
+    /**
+     * Returns, per variable stream number, whether the define-condition only depends on the current event
+     * and not on events of other variables or multi-match state.
+     * @return indicator per stream number
+     */
+    public boolean[] getDefineEventLocal() {
+        return isDefineEventLocal;
+    }
+
     public Set<ExprPreviousMatchRecognizeNode> getPreviousExprNodes() {
         if (callbacksPerIndex.isEmpty()) {
             return Collections.emptySet();
@@ -8,6 +8,7 @@
  **************************************************************************************/
 package com.espertech.esper.schedule;
 
+import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.timer.TimeSourceService;
 
 /**
@@ -24,4 +25,18 @@ public final class SchedulingServiceProvider
     {
         return new SchedulingServiceImpl(timeSourceService);
     }
+
+    /**
+     * Creates an implementation of the SchedulingService interface.
+     * @param profile scheduling service profile
+     * @param timeSourceService time source provider
+     * @return implementation
+     */
+    public static SchedulingServiceSPI newService(ConfigurationEngineDefaults.SchedulingServiceProfile profile, TimeSourceService timeSourceService)
+    {
+        if (profile == ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheel(timeSourceService);
+        }
+        return new SchedulingServiceImpl(timeSourceService);
+    }
 }
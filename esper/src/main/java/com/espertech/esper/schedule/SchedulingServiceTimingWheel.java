@@ -0,0 +1,541 @@
+/**************************************************************************************
+ * Copyright (C) 2006-2015 EsperTech Inc. All rights reserved.                        *
+ * http://www.espertech.com/esper                                                          *
+ * http://www.espertech.com                                                           *
+ * ---------------------------------------------------------------------------------- *
+ * The software in this package is published under the terms of the GPL license       *
+ * a copy of which has been included with this distribution in the license.txt file.  *
+ **************************************************************************************/
+package com.espertech.esper.schedule;
+
+import com.espertech.esper.client.util.DateTime;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.metrics.jmx.JmxGetter;
+import com.espertech.esper.timer.TimeSourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implements the schedule service by a hierarchical timing wheel with millisecond resolution.
+ * <p>
+ * The wheel has a level for each byte of the time value and 256 buckets per level.
+ * A schedule is kept at the level of the highest byte in which its time differs from the wheel time,
+ * in the bucket for the value of that byte. When the wheel time advances, the bucket that the wheel time
+ * enters at the level of the highest changed byte is cascaded into lower levels. Per-level occupancy bitmaps
+ * allow the wheel to skip empty buckets, so that large time jumps cost no more than the schedules they trigger.
+ * <p>
+ * Adding and removing schedules does not take the service lock and takes constant time:
+ * a handle is mapped to its schedule entry in a concurrent map and added entries are pushed
+ * onto a lock-free stack that evaluation moves into the wheel. Removed entries are skipped when their bucket
+ * is cascaded or triggered, and purged when they outnumber the live entries.
+ * <p>
+ * Handles that trigger at the same time are returned in the order of their schedule slot, as
+ * provided by {@link ScheduleBucket}. As with {@link SchedulingServiceImpl}, of multiple handles that trigger
+ * at the same time in the same slot only the last-added handle triggers.
+ */
+public final class SchedulingServiceTimingWheel implements SchedulingServiceSPI
+{
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheel.class);
+
+    private static final int NUM_LEVELS = 8;
+    private static final int NUM_BUCKETS = 256;
+    private static final int BUCKET_MASK = NUM_BUCKETS - 1;
+    private static final int MIN_PURGE_CANCELLED = 1024;
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+        public int compare(Entry o1, Entry o2) {
+            if (o1.time != o2.time) {
+                return o1.time < o2.time ? -1 : 1;
+            }
+            if (o1.slot != o2.slot) {
+                return o1.slot < o2.slot ? -1 : 1;
+            }
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+        }
+    };
+
+    // Map of handle and its current entry, the entry that is mapped is the live entry
+    private final ConcurrentHashMap<ScheduleHandle, Entry> handleEntries;
+
+    // Entries added since the last evaluation
+    private final AtomicReference<Entry> pending;
+    private final AtomicLong sequence;
+    private final AtomicInteger numCancelled;
+
+    // Wheel buckets per level and bucket occupancy
+    private final ArrayList<Entry>[][] buckets;
+    private final long[][] occupied;
+    private final ArrayList<Entry> dueEntries;
+
+    // Wheel time as an unsigned position, see position
+    private long wheel;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    /**
+     * Constructor.
+     * @param timeSourceService time source provider
+     */
+    public SchedulingServiceTimingWheel(TimeSourceService timeSourceService)
+    {
+        this.handleEntries = new ConcurrentHashMap<ScheduleHandle, Entry>();
+        this.pending = new AtomicReference<Entry>();
+        this.sequence = new AtomicLong();
+        this.numCancelled = new AtomicInteger();
+        this.buckets = new ArrayList[NUM_LEVELS][NUM_BUCKETS];
+        this.occupied = new long[NUM_LEVELS][NUM_BUCKETS / 64];
+        this.dueEntries = new ArrayList<Entry>();
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.wheel = position(currentTime);
+    }
+
+    public synchronized void destroy()
+    {
+        log.debug("Destroying scheduling service");
+        handleEntries.clear();
+        pending.set(null);
+        clearWheel();
+    }
+
+    public long getTime()
+    {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime)
+    {
+        this.currentTime = currentTime;
+
+        // time going backwards requires placing all schedules relative to the earlier time
+        long target = position(currentTime);
+        if (Long.compareUnsigned(target, wheel) < 0) {
+            rewind(target);
+        }
+    }
+
+    public final void add(long afterMSec, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException
+    {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qScheduleAdd(currentTime, afterMSec, handle, slot);}
+        Entry entry = new Entry(handle, currentTime + afterMSec, slot, sequence.incrementAndGet());
+        Entry prior = handleEntries.put(handle, entry);
+        if (prior != null) {
+            numCancelled.incrementAndGet();
+        }
+
+        // push onto the pending stack
+        while (true) {
+            Entry head = pending.get();
+            entry.next = head;
+            if (pending.compareAndSet(head, entry)) {
+                break;
+            }
+        }
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aScheduleAdd();}
+    }
+
+    public final void remove(ScheduleHandle handle, long slot)
+    {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qScheduleRemove(handle, slot);}
+        // If it already has been removed then that's fine;
+        // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+        if (handleEntries.remove(handle) != null) {
+            numCancelled.incrementAndGet();
+        }
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().aScheduleRemove();}
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles)
+    {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.get().qScheduleEval(currentTime);}
+        drainPending();
+
+        long target = position(currentTime);
+        if (Long.compareUnsigned(target, wheel) < 0) {
+            rewind(target);
+        }
+
+        int sizeBefore = handles.size();
+        while (true) {
+            // trigger the buckets of the lowest level up to the target or to the end of the level
+            boolean sameWindow = (target >>> 8) == (wheel >>> 8);
+            int last = sameWindow ? (int) (target & BUCKET_MASK) : BUCKET_MASK;
+            for (int index = nextOccupied(0, (int) (wheel & BUCKET_MASK)); index != -1 && index <= last; index = nextOccupied(0, index + 1)) {
+                trigger(index, handles);
+            }
+            if (sameWindow) {
+                wheel = target;
+                break;
+            }
+
+            // advance to the next bucket holding schedules, or to the target when there is no such bucket before the target
+            long next = nextBucketStart();
+            if (next == -1 || Long.compareUnsigned(next, target) > 0) {
+                advance(target);
+                break;
+            }
+            advance(next);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (handles.size() == sizeBefore) {
+                InstrumentationHelper.get().aScheduleEval(Collections.<ScheduleHandle>emptyList());
+            }
+            else {
+                InstrumentationHelper.get().aScheduleEval(handles);
+            }
+        }
+    }
+
+    public ScheduleSet take(Set<Integer> statementIds)
+    {
+        List<ScheduleSetEntry> list = new ArrayList<ScheduleSetEntry>();
+        long currentTime = getTime();
+        for (Entry entry : getEntriesSorted())
+        {
+            if (statementIds.contains(entry.handle.getStatementId()))
+            {
+                long relative = entry.time - currentTime;
+                list.add(new ScheduleSetEntry(relative, entry.slot, entry.handle));
+            }
+        }
+
+        for (ScheduleSetEntry entry : list)
+        {
+            remove(entry.getHandle(), entry.getScheduleSlot());
+        }
+
+        return new ScheduleSet(list);
+    }
+
+    public void apply(ScheduleSet scheduleSet)
+    {
+        for (ScheduleSetEntry entry : scheduleSet.getList())
+        {
+            add(entry.getTime(), entry.getHandle(), entry.getScheduleSlot());
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public int getTimeHandleCount()
+    {
+        Set<Long> times = new HashSet<Long>();
+        for (Entry entry : handleEntries.values()) {
+            times.add(entry.time);
+        }
+        return times.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate()
+    {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate()
+    {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public Long getFurthestTimeHandle()
+    {
+        Long furthest = null;
+        for (Entry entry : handleEntries.values()) {
+            if (furthest == null || entry.time > furthest) {
+                furthest = entry.time;
+            }
+        }
+        return furthest;
+    }
+
+    public int getScheduleHandleCount()
+    {
+        return handleEntries.size();
+    }
+
+    public boolean isScheduled(ScheduleHandle handle)
+    {
+        return handleEntries.containsKey(handle);
+    }
+
+    public synchronized Long getNearestTimeHandle()
+    {
+        drainPending();
+
+        // the lowest level with schedules holds the nearest schedules, in its first occupied bucket
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            int index = nextOccupied(level, level == 0 ? (int) (wheel & BUCKET_MASK) : 0);
+            while (index != -1) {
+                ArrayList<Entry> bucket = buckets[level][index];
+                removeCancelled(bucket);
+                if (bucket.isEmpty()) {
+                    release(level, index);
+                    index = nextOccupied(level, index + 1);
+                    continue;
+                }
+                long nearest = Long.MAX_VALUE;
+                for (Entry entry : bucket) {
+                    nearest = Math.min(nearest, entry.time);
+                }
+                return nearest;
+            }
+        }
+        return null;
+    }
+
+    public void visitSchedules(ScheduleVisitor visitor)
+    {
+        ScheduleVisit visit = new ScheduleVisit();
+        for (Entry entry : getEntriesSorted()) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    private List<Entry> getEntriesSorted()
+    {
+        List<Entry> entries = new ArrayList<Entry>(handleEntries.values());
+        Collections.sort(entries, ENTRY_COMPARATOR);
+        return entries;
+    }
+
+    // Move added entries into the wheel, purging removed entries when they outnumber live entries
+    private void drainPending()
+    {
+        Entry entry = pending.getAndSet(null);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            if (isLive(entry)) {
+                place(entry);
+            }
+            entry = next;
+        }
+
+        int cancelled = numCancelled.get();
+        if (cancelled > MIN_PURGE_CANCELLED && cancelled > handleEntries.size()) {
+            numCancelled.addAndGet(-cancelled);
+            for (int level = 0; level < NUM_LEVELS; level++) {
+                for (int index = nextOccupied(level, 0); index != -1; index = nextOccupied(level, index + 1)) {
+                    removeCancelled(buckets[level][index]);
+                    if (buckets[level][index].isEmpty()) {
+                        release(level, index);
+                    }
+                }
+            }
+        }
+    }
+
+    private void trigger(int index, Collection<ScheduleHandle> handles)
+    {
+        ArrayList<Entry> bucket = buckets[0][index];
+        release(0, index);
+
+        dueEntries.clear();
+        for (Entry entry : bucket) {
+            if (isLive(entry)) {
+                dueEntries.add(entry);
+            }
+        }
+        if (dueEntries.size() > 1) {
+            Collections.sort(dueEntries, ENTRY_COMPARATOR);
+        }
+
+        for (int i = 0; i < dueEntries.size(); i++) {
+            Entry entry = dueEntries.get(i);
+            // the last-added of the handles for the same time and slot triggers
+            boolean replaced = i < dueEntries.size() - 1 && dueEntries.get(i + 1).time == entry.time && dueEntries.get(i + 1).slot == entry.slot;
+            if (handleEntries.remove(entry.handle, entry) && !replaced) {
+                handles.add(entry.handle);
+            }
+        }
+        dueEntries.clear();
+    }
+
+    // Advance the wheel time without passing a schedule, cascading the bucket that the wheel time enters
+    private void advance(long target)
+    {
+        long changed = wheel ^ target;
+        wheel = target;
+        if (changed == 0) {
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(changed)) >>> 3;
+        if (level == 0) {
+            return;
+        }
+        int index = byteAt(target, level);
+        if (!isOccupied(level, index)) {
+            return;
+        }
+        ArrayList<Entry> bucket = buckets[level][index];
+        release(level, index);
+        for (Entry entry : bucket) {
+            if (isLive(entry)) {
+                place(entry);
+            }
+        }
+    }
+
+    // Returns the start position of the first occupied bucket above the lowest level, or -1 if there is none
+    private long nextBucketStart()
+    {
+        for (int level = 1; level < NUM_LEVELS; level++) {
+            int index = nextOccupied(level, 0);
+            if (index != -1) {
+                long upper = level == NUM_LEVELS - 1 ? 0 : wheel & (-1L << (8 * (level + 1)));
+                return upper | ((long) index << (8 * level));
+            }
+        }
+        return -1;
+    }
+
+    private void rewind(long target)
+    {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            for (int index = nextOccupied(level, 0); index != -1; index = nextOccupied(level, index + 1)) {
+                for (Entry entry : buckets[level][index]) {
+                    if (isLive(entry)) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        clearWheel();
+        wheel = target;
+        for (Entry entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry entry)
+    {
+        long position = position(entry.time);
+        int level;
+        int index;
+        if (Long.compareUnsigned(position, wheel) <= 0) {
+            // due already, trigger with the current bucket
+            level = 0;
+            index = (int) (wheel & BUCKET_MASK);
+        }
+        else {
+            level = (63 - Long.numberOfLeadingZeros(position ^ wheel)) >>> 3;
+            index = byteAt(position, level);
+        }
+
+        ArrayList<Entry> bucket = buckets[level][index];
+        if (bucket == null) {
+            bucket = new ArrayList<Entry>(4);
+            buckets[level][index] = bucket;
+        }
+        bucket.add(entry);
+        occupied[level][index >>> 6] |= 1L << index;
+    }
+
+    private void release(int level, int index)
+    {
+        buckets[level][index] = null;
+        occupied[level][index >>> 6] &= ~(1L << index);
+    }
+
+    private void clearWheel()
+    {
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            Arrays.fill(buckets[level], null);
+            Arrays.fill(occupied[level], 0);
+        }
+    }
+
+    private boolean isOccupied(int level, int index)
+    {
+        return (occupied[level][index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Returns the first occupied bucket index at or after the index provided, or -1 if there is none
+    private int nextOccupied(int level, int fromIndex)
+    {
+        if (fromIndex >= NUM_BUCKETS) {
+            return -1;
+        }
+        long[] bits = occupied[level];
+        int word = fromIndex >>> 6;
+        long current = bits[word] & (-1L << fromIndex);
+        while (true) {
+            if (current != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private void removeCancelled(ArrayList<Entry> bucket)
+    {
+        Iterator<Entry> it = bucket.iterator();
+        while (it.hasNext()) {
+            if (!isLive(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    private boolean isLive(Entry entry)
+    {
+        return handleEntries.get(entry.handle) == entry;
+    }
+
+    private static int byteAt(long position, int level)
+    {
+        return (int) (position >>> (8 * level)) & BUCKET_MASK;
+    }
+
+    // Unsigned position that orders like the signed time
+    private static long position(long time)
+    {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static final class Entry
+    {
+        private final ScheduleHandle handle;
+        private final long time;
+        private final long slot;
+        private final long sequence;
+        private Entry next;
+
+        private Entry(ScheduleHandle handle, long time, long slot, long sequence)
+        {
+            this.handle = handle;
+            this.time = time;
+            this.slot = slot;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class SupportExprValidationContextFactory {
     }
 
     public static ExprValidationContext makeEmpty(ConfigurationEngineDefaults.ThreadingProfile threadingProfile) {
-        return new ExprValidationContext(null, new EngineImportServiceImpl(false, false, false, false, null, TimeZone.getDefault(), threadingProfile, null, AggregationFactoryFactoryDefault.INSTANCE), null, null, null, null, null, new SupportExprEvaluatorContext(null), null, null, 1, null, null, false, false, false, false, null, false);
+        return new ExprValidationContext(null, new EngineImportServiceImpl(false, false, false, false, false, null, TimeZone.getDefault(), threadingProfile, null, AggregationFactoryFactoryDefault.INSTANCE), null, null, null, null, null, new SupportExprEvaluatorContext(null), null, null, 1, null, null, false, false, false, false, null, false);
     }
 
     public static ExprValidationContext make(StreamTypeService streamTypeService) {
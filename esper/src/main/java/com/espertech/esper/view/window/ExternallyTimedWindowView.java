@@ -10,7 +10,7 @@ package com.espertech.esper.view.window;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.collection.TimeWindow;
+import com.espertech.esper.collection.TimeWindowRing;
 import com.espertech.esper.collection.ViewUpdatedCollection;
 import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
@@ -20,7 +20,6 @@ import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.util.CollectionUtil;
 import com.espertech.esper.view.*;
 
-import java.util.ArrayDeque;
 import java.util.Iterator;
 
 /**
@@ -49,7 +48,7 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
     private final ExprTimePeriodEvalDeltaConst timeDeltaComputation;
 
     private final EventBean[] eventsPerStream = new EventBean[1];
-    protected final TimeWindow timeWindow;
+    protected final TimeWindowRing timeWindow;
     private ViewUpdatedCollection viewUpdatedCollection;
     protected AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext;
 
@@ -77,7 +76,7 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
         this.timestampExpressionEval = timestampExpressionEval;
         this.timeDeltaComputation = timeDeltaComputation;
         this.viewUpdatedCollection = viewUpdatedCollection;
-        this.timeWindow = new TimeWindow(agentInstanceViewFactoryContext.isRemoveStream());
+        this.timeWindow = new TimeWindowRing(agentInstanceViewFactoryContext.isRemoveStream());
         this.agentInstanceViewFactoryContext = agentInstanceViewFactoryContext;
     }
 
@@ -122,16 +121,10 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
         }
 
         // Remove from the window any events that have an older timestamp then the last event's timestamp
-        ArrayDeque<EventBean> expired = null;
-        if (timestamp != -1)
-        {
-            expired = timeWindow.expireEvents(timestamp - timeDeltaComputation.deltaMillisecondsSubtract(timestamp) + 1);
-        }
-
         EventBean[] oldDataUpdate = null;
-        if ((expired != null) && (!expired.isEmpty()))
+        if (timestamp != -1)
         {
-            oldDataUpdate = expired.toArray(new EventBean[expired.size()]);
+            oldDataUpdate = timeWindow.expireEvents(timestamp - timeDeltaComputation.deltaMillisecondsSubtract(timestamp) + 1);
         }
 
         if ((oldData != null) && (agentInstanceViewFactoryContext.isRemoveStream()))
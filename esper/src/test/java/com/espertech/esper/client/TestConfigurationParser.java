@@ -56,6 +56,11 @@ public class TestConfigurationParser extends TestCase
         assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolInboundCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.InboundPartitioning.NONE, config.getEngineDefaults().getThreading().getThreadPoolInboundPartitioning());
+        assertEquals(ConfigurationEngineDefaults.Threading.QueueFullPolicy.BLOCK, config.getEngineDefaults().getThreading().getThreadPoolInboundFullPolicy());
+        assertFalse(config.getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer());
+        assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerNumThreads());
+        assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
@@ -86,6 +91,7 @@ public class TestConfigurationParser extends TestCase
         assertEquals(15000, config.getEngineDefaults().getVariables().getMsecVersionRelease());
         assertEquals(null, config.getEngineDefaults().getPatterns().getMaxSubexpressions());
         assertEquals(true, config.getEngineDefaults().getPatterns().isMaxSubexpressionPreventStart());
+        assertFalse(config.getEngineDefaults().getPatterns().isCorrelatedFilterIndex());
         assertEquals(null, config.getEngineDefaults().getMatchRecognize().getMaxStates());
         assertEquals(true, config.getEngineDefaults().getMatchRecognize().isMaxStatesPreventStart());
         assertEquals(ConfigurationEngineDefaults.TimeSourceType.MILLI, config.getEngineDefaults().getTimeSource().getTimeSourceType());
@@ -95,6 +101,9 @@ public class TestConfigurationParser extends TestCase
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.NORMAL, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY, config.getEngineDefaults().getExecution().getFilterServiceProfile());
         assertEquals(16, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
+        assertEquals(0, config.getEngineDefaults().getExecution().getFilterIndexReorderInterval());
+        assertFalse(config.getEngineDefaults().getExecution().isParallelStatementExecution());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.SORTEDMAP, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(1, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
 
         assertEquals(StreamSelector.ISTREAM_ONLY, config.getEngineDefaults().getStreamSelection().getDefaultStreamSelector());
@@ -107,6 +116,7 @@ public class TestConfigurationParser extends TestCase
         assertFalse(config.getEngineDefaults().getExpression().isDuckTyping());
         assertNull(config.getEngineDefaults().getExpression().getMathContext());
         assertEquals(TimeZone.getDefault(), config.getEngineDefaults().getExpression().getTimeZone());
+        assertFalse(config.getEngineDefaults().getExpression().isCodeGeneration());
         assertNull(config.getEngineDefaults().getExceptionHandling().getHandlerFactories());
         assertEquals(ConfigurationEngineDefaults.ExceptionHandling.UndeployRethrowPolicy.WARN, config.getEngineDefaults().getExceptionHandling().getUndeployRethrowPolicy());
         assertNull(config.getEngineDefaults().getConditionHandling().getHandlerFactories());
@@ -407,6 +417,11 @@ public class TestConfigurationParser extends TestCase
         assertEquals(3, config.getEngineDefaults().getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(4, config.getEngineDefaults().getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(1000, (int) config.getEngineDefaults().getThreading().getThreadPoolInboundCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.InboundPartitioning.EVENTTYPE, config.getEngineDefaults().getThreading().getThreadPoolInboundPartitioning());
+        assertEquals(ConfigurationEngineDefaults.Threading.QueueFullPolicy.REJECT, config.getEngineDefaults().getThreading().getThreadPoolInboundFullPolicy());
+        assertTrue(config.getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer());
+        assertEquals(5, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerNumThreads());
+        assertEquals(3000, (int) config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerCapacity());
         assertEquals(1500, (int) config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
@@ -433,6 +448,7 @@ public class TestConfigurationParser extends TestCase
         assertEquals(30000, config.getEngineDefaults().getVariables().getMsecVersionRelease());
         assertEquals(3L, (long) config.getEngineDefaults().getPatterns().getMaxSubexpressions());
         assertEquals(false, config.getEngineDefaults().getPatterns().isMaxSubexpressionPreventStart());
+        assertTrue(config.getEngineDefaults().getPatterns().isCorrelatedFilterIndex());
         assertEquals(3L, (long) config.getEngineDefaults().getMatchRecognize().getMaxStates());
         assertEquals(false, config.getEngineDefaults().getMatchRecognize().isMaxStatesPreventStart());
         assertEquals(StreamSelector.RSTREAM_ISTREAM_BOTH, config.getEngineDefaults().getStreamSelection().getDefaultStreamSelector());
@@ -445,6 +461,9 @@ public class TestConfigurationParser extends TestCase
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.LARGE, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE, config.getEngineDefaults().getExecution().getFilterServiceProfile());
         assertEquals(100, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
+        assertEquals(5000, config.getEngineDefaults().getExecution().getFilterIndexReorderInterval());
+        assertTrue(config.getEngineDefaults().getExecution().isParallelStatementExecution());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(101, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
 
         ConfigurationMetricsReporting metrics = config.getEngineDefaults().getMetricsReporting();
@@ -481,6 +500,7 @@ public class TestConfigurationParser extends TestCase
         assertEquals(2, config.getEngineDefaults().getExpression().getMathContext().getPrecision());
         assertEquals(RoundingMode.CEILING, config.getEngineDefaults().getExpression().getMathContext().getRoundingMode());
         assertEquals(TimeZone.getTimeZone("GMT-4:00"), config.getEngineDefaults().getExpression().getTimeZone());
+        assertTrue(config.getEngineDefaults().getExpression().isCodeGeneration());
         assertEquals(2, config.getEngineDefaults().getExceptionHandling().getHandlerFactories().size());
         assertEquals("my.company.cep.LoggingExceptionHandlerFactory", config.getEngineDefaults().getExceptionHandling().getHandlerFactories().get(0));
         assertEquals("my.company.cep.AlertExceptionHandlerFactory", config.getEngineDefaults().getExceptionHandling().getHandlerFactories().get(1));
@@ -53,6 +53,14 @@ public class TestArrayBackedCollection extends TestCase
                 null, null, null, null, null, null, null, null, null});
         assertEquals(11, coll.size());
 
+        coll.truncate(12);
+        assertEquals(11, coll.size());
+        coll.truncate(6);
+        assertEquals(6, coll.size());
+        coll.add(16);
+        assertEquals(16, coll.getArray()[6]);
+        assertEquals(7, coll.size());
+
         coll.clear();
         assertEquals(0, coll.size());
     }
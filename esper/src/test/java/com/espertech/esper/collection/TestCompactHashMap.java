@@ -0,0 +1,151 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.collection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestCompactHashMap extends TestCase
+{
+    private CompactHashMap<Object, String> map;
+
+    public void setUp()
+    {
+        map = new CompactHashMap<Object, String>();
+    }
+
+    public void testPutGetRemove()
+    {
+        assertTrue(map.isEmpty());
+        assertNull(map.put("a", "1"));
+        assertNull(map.put(null, "2"));
+        assertNull(map.put(new MultiKeyUntyped("x", 1), "3"));
+        assertEquals("1", map.put("a", "A"));
+        assertEquals(3, map.size());
+
+        assertEquals("A", map.get("a"));
+        assertEquals("2", map.get(null));
+        assertEquals("3", map.get(new MultiKeyUntyped("x", 1)));
+        assertNull(map.get("b"));
+        assertTrue(map.containsKey(null));
+        assertFalse(map.containsKey("b"));
+
+        assertEquals("2", map.remove(null));
+        assertNull(map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+        assertFalse(map.keySet().iterator().hasNext());
+    }
+
+    public void testInsertionOrder()
+    {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        for (int i = 0; i < 100; i += 3) {
+            map.remove(i);
+        }
+        map.put(0, "0");
+
+        List<Object> expected = new ArrayList<Object>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 != 0) {
+                expected.add(i);
+            }
+        }
+        expected.add(0);
+        assertEquals(expected, new ArrayList<Object>(map.keySet()));
+
+        List<String> values = new ArrayList<String>(map.values());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), values.get(i));
+        }
+    }
+
+    public void testIteratorRemoveAndSetValue()
+    {
+        for (int i = 0; i < 20; i++) {
+            map.put(i, Integer.toString(i));
+        }
+        Iterator<Map.Entry<Object, String>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Object, String> entry = it.next();
+            if ((Integer) entry.getKey() % 2 == 0) {
+                it.remove();
+            }
+            else {
+                entry.setValue("v" + entry.getKey());
+            }
+        }
+        assertEquals(10, map.size());
+        assertEquals("v1", map.get(1));
+        assertNull(map.get(2));
+
+        try {
+            for (Object key : map.keySet()) {
+                map.put("new" + key, "x");
+            }
+            fail();
+        }
+        catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+
+    public void testRandomAgainstHashMap()
+    {
+        Random random = new Random(1);
+        Map<Object, String> reference = new LinkedHashMap<Object, String>();
+        for (int i = 0; i < 100000; i++) {
+            // keys with the same hash code cause long probe sequences and frequent shifts
+            Object key = new CollidingKey(random.nextInt(500));
+            if (random.nextInt(3) != 0) {
+                String value = Integer.toString(i);
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+            else {
+                assertEquals(reference.remove(key), map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        assertEquals(new ArrayList<Object>(reference.keySet()), new ArrayList<Object>(map.keySet()));
+        for (Map.Entry<Object, String> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(reference, map);
+    }
+
+    private static class CollidingKey
+    {
+        private final int value;
+
+        private CollidingKey(int value)
+        {
+            this.value = value;
+        }
+
+        public boolean equals(Object o)
+        {
+            return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+        }
+
+        public int hashCode()
+        {
+            return value % 7;
+        }
+    }
+}
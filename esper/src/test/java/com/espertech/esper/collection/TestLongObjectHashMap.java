@@ -0,0 +1,114 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.collection;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestLongObjectHashMap extends TestCase
+{
+    private LongObjectHashMap<String> map;
+
+    public void setUp()
+    {
+        map = new LongObjectHashMap<String>();
+    }
+
+    public void testPutGetRemove()
+    {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(1L, "a"));
+        assertNull(map.put(-1L, "b"));
+        assertNull(map.put(Long.MIN_VALUE, "c"));
+        assertEquals("a", map.put(1L, "A"));
+        assertEquals(3, map.size());
+
+        assertEquals("A", map.get(1L));
+        assertEquals("b", map.get(-1L));
+        assertEquals("c", map.get(Long.MIN_VALUE));
+        assertNull(map.get(0L));
+        assertTrue(map.containsKey(-1L));
+        assertFalse(map.containsKey(2L));
+
+        assertEquals("b", map.remove(-1L));
+        assertNull(map.remove(-1L));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1L));
+
+        try
+        {
+            map.put(1L, null);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // expected
+        }
+    }
+
+    public void testCopy()
+    {
+        map.put(10L, "x");
+        LongObjectHashMap<String> copy = new LongObjectHashMap<String>(map);
+        copy.put(11L, "y");
+        copy.remove(10L);
+
+        assertEquals("x", map.get(10L));
+        assertNull(map.get(11L));
+        assertEquals(1, map.size());
+        assertEquals("y", copy.get(11L));
+        assertNull(copy.get(10L));
+    }
+
+    public void testSlots()
+    {
+        for (long i = 0; i < 100; i++) {
+            map.put(i * 7, Long.toString(i));
+        }
+        int count = 0;
+        for (int i = 0; i < map.getCapacity(); i++) {
+            String value = map.getValueAt(i);
+            if (value != null) {
+                assertEquals(Long.parseLong(value) * 7, map.getKeyAt(i));
+                count++;
+            }
+        }
+        assertEquals(100, count);
+    }
+
+    public void testRandomAgainstHashMap()
+    {
+        Random random = new Random(1);
+        Map<Long, String> reference = new HashMap<Long, String>();
+        for (int i = 0; i < 100000; i++) {
+            // small key range with colliding high bits causes long probe sequences and frequent shifts
+            long key = (random.nextInt(500)) << 20;
+            if (random.nextBoolean()) {
+                String value = Integer.toString(i);
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+            else {
+                assertEquals(reference.remove(key), map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (Map.Entry<Long, String> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class TestTimeWindowRing extends TestCase
+{
+    private final TimeWindowRing window = new TimeWindowRing(false);
+    private final TimeWindowRing windowRemovable = new TimeWindowRing(true);
+    private final EventBean[] beans = new EventBean[6];
+
+    public void setUp()
+    {
+        for (int i = 0; i < beans.length; i++)
+        {
+            beans[i] = createBean();
+        }
+    }
+
+    public void testAdd()
+    {
+        assertTrue(window.getOldestTimestamp() == null);
+        assertTrue(window.isEmpty());
+
+        window.add(19,beans[0]);
+        assertTrue(window.getOldestTimestamp() == 19L);
+        assertFalse(window.isEmpty());
+        window.add(19,beans[1]);
+        assertTrue(window.getOldestTimestamp() == 19L);
+        window.add(20,beans[2]);
+        assertTrue(window.getOldestTimestamp() == 19L);
+        window.add(20,beans[3]);
+        window.add(21, beans[4]);
+        window.add(22, beans[5]);
+        assertTrue(window.getOldestTimestamp() == 19L);
+        assertTrue(window.getNewestTimestamp() == 22L);
+        assertSame(beans[5], window.getNewestEvent());
+        EPAssertionUtil.assertEqualsExactOrder(beans, window.iterator());
+
+        EventBean[] expired = window.expireEvents(19);
+        assertNull(expired);
+
+        expired = window.expireEvents(20);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[0], beans[1]}, expired);
+
+        expired = window.expireEvents(21);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[2], beans[3]}, expired);
+        assertFalse(window.isEmpty());
+        assertTrue(window.getOldestTimestamp() == 21);
+
+        expired = window.expireEvents(22);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[4]}, expired);
+        assertFalse(window.isEmpty());
+        assertTrue(window.getOldestTimestamp() == 22);
+
+        expired = window.expireEvents(23);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[5]}, expired);
+        assertTrue(window.isEmpty());
+        assertTrue(window.getOldestTimestamp() == null);
+
+        expired = window.expireEvents(23);
+        assertNull(expired);
+        assertTrue(window.isEmpty());
+        assertTrue(window.getOldestTimestamp() == null);
+        assertFalse(window.iterator().hasNext());
+
+        try {
+            window.remove(beans[0]);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void testAddRemove()
+    {
+        assertTrue(windowRemovable.getOldestTimestamp() == null);
+        assertTrue(windowRemovable.isEmpty());
+
+        windowRemovable.add(19,beans[0]);
+        assertTrue(windowRemovable.getOldestTimestamp() == 19L);
+        assertFalse(windowRemovable.isEmpty());
+        windowRemovable.add(19,beans[1]);
+        assertTrue(windowRemovable.getOldestTimestamp() == 19L);
+        windowRemovable.add(20,beans[2]);
+        assertTrue(windowRemovable.getOldestTimestamp() == 19L);
+        windowRemovable.add(20,beans[3]);
+        windowRemovable.add(21,beans[4]);
+        windowRemovable.add(22,beans[5]);
+        assertTrue(windowRemovable.getOldestTimestamp() == 19L);
+
+        assertTrue(windowRemovable.remove(beans[4]));
+        assertTrue(windowRemovable.remove(beans[0]));
+        assertTrue(windowRemovable.remove(beans[3]));
+        assertFalse(windowRemovable.remove(beans[3]));
+        assertEquals(3, windowRemovable.size());
+        assertTrue(windowRemovable.getOldestTimestamp() == 19L);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[1], beans[2], beans[5]}, windowRemovable.iterator());
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[1], beans[2], beans[5]}, windowRemovable.toArray());
+
+        EventBean[] expired = windowRemovable.expireEvents(19);
+        assertNull(expired);
+
+        expired = windowRemovable.expireEvents(20);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[1]}, expired);
+
+        expired = windowRemovable.expireEvents(21);
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[] {beans[2]}, expired);
+        assertFalse(windowRemovable.isEmpty());
+        assertTrue(windowRemovable.getOldestTimestamp() == 22);
+
+        expired = windowRemovable.expireEvents(22);
+        assertNull(expired);
+
+        assertTrue(windowRemovable.remove(beans[5]));
+        assertTrue(windowRemovable.isEmpty());
+        assertTrue(windowRemovable.getOldestTimestamp() == null);
+        assertNull(windowRemovable.getNewestEvent());
+        assertEquals(0, windowRemovable.getNumSlots());
+
+        expired = windowRemovable.expireEvents(23);
+        assertNull(expired);
+    }
+
+    public void testGrowWrapAround()
+    {
+        List<EventBean> expected = new ArrayList<EventBean>();
+        long timestamp = 0;
+        for (int i = 0; i < 1000; i++) {
+            EventBean bean = createBean();
+            windowRemovable.add(timestamp++, bean);
+            expected.add(bean);
+
+            // remove every third event from the middle of the window, and expire the oldest event every other time
+            if (i % 3 == 0 && expected.size() > 2) {
+                EventBean removed = expected.remove(expected.size() / 2);
+                assertTrue(windowRemovable.remove(removed));
+            }
+            if (i % 2 == 0) {
+                long oldest = windowRemovable.getOldestTimestamp();
+                EventBean[] expired = windowRemovable.expireEvents(oldest + 1);
+                assertEquals(1, expired.length);
+                assertSame(expected.remove(0), expired[0]);
+            }
+
+            assertEquals(expected.size(), windowRemovable.size());
+            assertTrue(windowRemovable.getNumSlots() <= 2 * expected.size() + 1);
+        }
+
+        Iterator<EventBean> it = windowRemovable.iterator();
+        for (EventBean bean : expected) {
+            assertSame(bean, it.next());
+        }
+        assertFalse(it.hasNext());
+        assertEquals(expected.size(), windowRemovable.asCollection().size());
+
+        windowRemovable.adjust(-1000);
+        assertEquals(timestamp - 1 - 1000, (long) windowRemovable.getNewestTimestamp());
+
+        windowRemovable.clear();
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.toArray());
+    }
+
+    private EventBean createBean()
+    {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
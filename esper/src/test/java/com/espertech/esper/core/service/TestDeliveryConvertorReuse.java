@@ -0,0 +1,69 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.core.service;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestDeliveryConvertorReuse extends TestCase
+{
+    public void testMapReuse()
+    {
+        DeliveryConvertorMapReuse convertor = new DeliveryConvertorMapReuse(new String[] {"a", "b"}, null);
+
+        Object[] first = convertor.convertRow(new Object[] {"x", 1});
+        Map row = (Map) first[0];
+        assertEquals(2, row.size());
+        assertEquals("x", row.get("a"));
+        assertEquals(1, row.get("b"));
+        assertNull(row.get("c"));
+        assertTrue(row.containsKey("b"));
+        Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("a", "x");
+        expected.put("b", 1);
+        assertEquals(expected, row);
+
+        // nested conversion while the row is in use
+        Object[] nested = convertor.convertRow(new Object[] {"y", 2});
+        assertNotSame(first, nested);
+        assertEquals("y", ((Map) nested[0]).get("a"));
+        convertor.release(nested);
+        assertEquals("x", row.get("a"));
+
+        convertor.release(first);
+        assertTrue(row.isEmpty());
+        Object[] second = convertor.convertRow(new Object[] {"z", 3});
+        assertSame(first, second);
+        assertEquals("z", row.get("a"));
+        try {
+            row.put("a", "w");
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void testStatementReuse()
+    {
+        DeliveryConvertorWStatementReuse convertor = new DeliveryConvertorWStatementReuse(null, null, 2);
+        Object[] first = convertor.convertRow(new Object[] {"x", 1});
+        assertEquals(3, first.length);
+        assertEquals("x", first[1]);
+        assertEquals(1, first[2]);
+        convertor.release(first);
+        assertNull(first[1]);
+        assertSame(first, convertor.convertRow(new Object[] {"y", 2}));
+    }
+}
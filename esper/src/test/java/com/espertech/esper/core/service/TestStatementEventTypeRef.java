@@ -11,10 +11,16 @@
 
 package com.espertech.esper.core.service;
 
+import com.espertech.esper.client.ConfigurationEventTypeMap;
+import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.event.EventAdapterService;
 import com.espertech.esper.util.CollectionUtil;
 import junit.framework.TestCase;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 
 public class TestStatementEventTypeRef extends TestCase
@@ -124,6 +130,39 @@ public class TestStatementEventTypeRef extends TestCase
         assertEquals(0, service.getTypeToStmt().size());
     }
 
+    public void testRetained()
+    {
+        EventAdapterService eventAdapterService = SupportEventAdapterService.getService();
+        EventType superType = eventAdapterService.addNestableMapType("RetainSuper", new HashMap<String, Object>(), null, false, false, false, false, false);
+        ConfigurationEventTypeMap config = new ConfigurationEventTypeMap();
+        config.setSuperTypes(Collections.singleton("RetainSuper"));
+        EventType subType = eventAdapterService.addNestableMapType("RetainSub", new HashMap<String, Object>(), config, false, false, false, false, false);
+
+        assertFalse(service.isRetained(subType));
+
+        addReference("s0", "RetainSub");
+        service.addNonRetaining("s0");
+        assertFalse(service.isRetained(subType));
+
+        addReference("s1", "RetainSuper");
+        assertTrue(service.isRetained(subType));
+        assertTrue(service.isRetained(superType));
+
+        service.addNonRetaining("s1");
+        assertFalse(service.isRetained(subType));
+
+        addReference("s2", "RetainSub");
+        assertTrue(service.isRetained(subType));
+        assertFalse(service.isRetained(superType));
+
+        service.removeReferencesStatement("s2");
+        assertFalse(service.isRetained(subType));
+
+        service.removeReferencesStatement("s1");
+        addReference("s1", "RetainSuper");
+        assertTrue(service.isRetained(subType));
+    }
+
     private void addReference(String stmtName, String typeName)
     {
         HashSet<String> set = new HashSet<String>();
@@ -0,0 +1,126 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.agg;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.epl.agg.aggregator.*;
+import com.espertech.esper.epl.agg.service.AggregatorUtil;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprIdentNodeEvaluatorPrimitive;
+import com.espertech.esper.event.bean.ReflectionPropFieldGetter;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.type.MinMaxTypeEnum;
+import junit.framework.TestCase;
+
+public class TestAggregatorPrimitive extends TestCase
+{
+    public void testPrimitiveSameAsBoxed()
+    {
+        double[] doubles = new double[] {1.5, 2.25, -3, 10, 0.5};
+        assertSameDouble(new AggregatorSumDouble(), new AggregatorSumDouble(), doubles);
+        assertSameDouble(new AggregatorAvg(), new AggregatorAvg(), doubles);
+        assertSameDouble(new AggregatorStddev(), new AggregatorStddev(), doubles);
+        assertSameDouble(new AggregatorCount(), new AggregatorCount(), doubles);
+        assertSameDouble(new AggregatorCountNonNull(), new AggregatorCountNonNull(), doubles);
+
+        long[] longs = new long[] {1, 20, -3, 7, 100};
+        assertSameLong(new AggregatorSumLong(), new AggregatorSumLong(), longs, false);
+        assertSameLong(new AggregatorSumInteger(), new AggregatorSumInteger(), longs, true);
+        assertSameLong(new AggregatorSumNumInteger(), new AggregatorSumNumInteger(), longs, true);
+        assertSameLong(new AggregatorAvg(), new AggregatorAvg(), longs, false);
+        assertSameLong(new AggregatorStddev(), new AggregatorStddev(), longs, false);
+
+        AggregatorSumFloat sumFloat = new AggregatorSumFloat();
+        sumFloat.enterDouble(1.5f);
+        sumFloat.enterDouble(2.5f);
+        assertEquals(4f, sumFloat.getValue());
+        sumFloat.leaveDouble(1.5f);
+        sumFloat.leaveDouble(2.5f);
+        assertNull(sumFloat.getValue());
+    }
+
+    public void testAggregatorUtil() throws Exception
+    {
+        SupportFieldBean bean = new SupportFieldBean();
+        EventBean theEvent = SupportEventBeanFactory.createObject(bean);
+        EventBean[] eventsPerStream = new EventBean[] {theEvent};
+        ExprEvaluator doubleEval = makeEvaluator("doubleValue", double.class);
+        ExprEvaluator longEval = makeEvaluator("longValue", long.class);
+
+        AggregatorSumDouble sumDouble = new AggregatorSumDouble();
+        AggregatorSumLong sumLong = new AggregatorSumLong();
+        AggregatorMinMax max = new AggregatorMinMax(MinMaxTypeEnum.MAX);
+        for (int i = 1; i <= 3; i++) {
+            bean.doubleValue = i * 1.5;
+            bean.longValue = i * 10;
+            AggregatorUtil.enter(sumDouble, doubleEval, eventsPerStream, null);
+            AggregatorUtil.enter(sumLong, longEval, eventsPerStream, null);
+            AggregatorUtil.enter(max, doubleEval, eventsPerStream, null);
+        }
+        assertEquals(9d, sumDouble.getValue());
+        assertEquals(60L, sumLong.getValue());
+        assertEquals(4.5d, max.getValue());
+
+        bean.doubleValue = 1.5;
+        bean.longValue = 10;
+        AggregatorUtil.leave(sumDouble, doubleEval, eventsPerStream, null);
+        AggregatorUtil.leave(sumLong, longEval, eventsPerStream, null);
+        assertEquals(7.5d, sumDouble.getValue());
+        assertEquals(50L, sumLong.getValue());
+
+        // no event for the stream, the value is null
+        AggregatorUtil.enter(sumDouble, doubleEval, new EventBean[1], null);
+        assertEquals(7.5d, sumDouble.getValue());
+    }
+
+    private void assertSameDouble(AggregationMethodPrimitive primitive, AggregationMethod boxed, double[] values)
+    {
+        for (double value : values) {
+            primitive.enterDouble(value);
+            boxed.enter(value);
+            assertEquals(boxed.getValue(), primitive.getValue());
+        }
+        for (double value : values) {
+            primitive.leaveDouble(value);
+            boxed.leave(value);
+            assertEquals(boxed.getValue(), primitive.getValue());
+        }
+    }
+
+    private void assertSameLong(AggregationMethodPrimitive primitive, AggregationMethod boxed, long[] values, boolean isInteger)
+    {
+        for (long value : values) {
+            primitive.enterLong(value);
+            boxed.enter(isInteger ? (Object) (int) value : (Object) value);
+            assertEquals(boxed.getValue(), primitive.getValue());
+        }
+        for (long value : values) {
+            primitive.leaveLong(value);
+            boxed.leave(isInteger ? (Object) (int) value : (Object) value);
+            assertEquals(boxed.getValue(), primitive.getValue());
+        }
+    }
+
+    private ExprEvaluator makeEvaluator(String fieldName, Class type) throws Exception
+    {
+        ReflectionPropFieldGetter getter = new ReflectionPropFieldGetter(SupportFieldBean.class.getField(fieldName), SupportEventAdapterService.getService());
+        assertTrue(ExprIdentNodeEvaluatorPrimitive.isApplicable(getter, type));
+        return new ExprIdentNodeEvaluatorPrimitive(0, getter, type, null);
+    }
+
+    public static class SupportFieldBean
+    {
+        public double doubleValue;
+        public long longValue;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.core;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class TestResultSetProcessorGroupedOutputAllSlots extends TestCase
+{
+    private ResultSetProcessorGroupedOutputAllSlots slots;
+
+    public void setUp()
+    {
+        slots = new ResultSetProcessorGroupedOutputAllSlots();
+    }
+
+    public void testPutDirtyOutput()
+    {
+        EventBean[] repA = makeRep("A");
+        int slotA = slots.put("A", repA);
+        int slotB = slots.put("B", makeRep("B"));
+        assertTrue(slots.isDirty(slotA));
+        assertTrue(slots.isDirty(slotB));
+        assertSame(repA, slots.get("A"));
+        assertEquals("A", slots.getKey(slotA));
+
+        EventBean output = repA[0];
+        slots.setOutput(slotA, output);
+        slots.setOutput(slotB, null);
+        assertFalse(slots.isDirty(slotA));
+        assertFalse(slots.isDirty(slotB));
+        assertSame(output, slots.getOutput(slotA));
+
+        // replacing the representative keeps the slot and marks dirty
+        EventBean[] repANew = makeRep("A");
+        assertEquals(slotA, slots.put("A", repANew));
+        assertTrue(slots.isDirty(slotA));
+        assertSame(repANew, slots.getRep(slotA));
+
+        slots.markDirty("B");
+        assertTrue(slots.isDirty(slotB));
+        slots.markDirty("C");
+        assertNull(slots.get("C"));
+
+        slots.setOutput(slotA, output);
+        slots.setOutput(slotB, output);
+        slots.markAllDirty();
+        assertTrue(slots.isDirty(slotA));
+        assertTrue(slots.isDirty(slotB));
+    }
+
+    public void testRemoveReuse()
+    {
+        for (int i = 0; i < 100; i++) {
+            slots.put(i, makeRep("E" + i));
+        }
+        assertEquals(100, slots.size());
+        assertIterated(0, 100);
+
+        int slotFive = slots.put(5, makeRep("E5"));
+        slots.setOutput(slotFive, slots.getRep(slotFive)[0]);
+        slots.remove(5);
+        slots.remove(5);
+        assertEquals(99, slots.size());
+        assertNull(slots.get(5));
+        assertNull(slots.getOutput(slotFive));
+
+        // the slot of a removed group is reused, and the new group iterates last
+        assertEquals(slotFive, slots.put(100, makeRep("E100")));
+        assertTrue(slots.isDirty(slotFive));
+        assertNull(slots.getOutput(slotFive));
+
+        List<Object> keys = new ArrayList<Object>();
+        for (Iterator<Integer> it = slots.slotIterator(); it.hasNext();) {
+            keys.add(slots.getKey(it.next()));
+        }
+        assertEquals(100, keys.size());
+        assertEquals(4, keys.get(4));
+        assertEquals(6, keys.get(5));
+        assertEquals(100, keys.get(99));
+    }
+
+    private void assertIterated(int start, int end)
+    {
+        Iterator<Integer> it = slots.slotIterator();
+        for (int i = start; i < end; i++) {
+            assertEquals(i, slots.getKey(it.next()));
+        }
+        assertFalse(it.hasNext());
+    }
+
+    private static EventBean[] makeRep(String theString)
+    {
+        return new EventBean[] {SupportEventBeanFactory.createObject(new SupportBean(theString, 0))};
+    }
+}
@@ -0,0 +1,224 @@
+
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.expression;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.support.SupportEngineImportServiceFactory;
+import com.espertech.esper.epl.core.StreamTypeService;
+import com.espertech.esper.epl.core.StreamTypeServiceImpl;
+import com.espertech.esper.epl.expression.codegen.ExprNodeCompiler;
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.ops.*;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.epl.SupportExprNode;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
+import com.espertech.esper.type.MathArithTypeEnum;
+import com.espertech.esper.type.RelationalOpEnum;
+import com.espertech.esper.util.support.SupportExprEvaluatorContext;
+import junit.framework.TestCase;
+
+public class TestExprNodeCompiler extends TestCase
+{
+    private EventBean[][] eventsPerStream;
+
+    public void setUp()
+    {
+        SupportBean[] beans = new SupportBean[] {
+            makeBean(0, null, 0L, null, 0d, null, false, null),
+            makeBean(10, 10, 5L, 5L, 1.5d, 1.5d, true, true),
+            makeBean(-3, 7, 100L, null, 0d, -0d, false, false),
+            makeBean(7, 0, 7L, 0L, Double.NaN, 0d, true, null),
+            makeBean(Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, -1L, -2.5d, Double.NaN, false, true),
+        };
+        eventsPerStream = new EventBean[beans.length + 1][];
+        for (int i = 0; i < beans.length; i++) {
+            eventsPerStream[i] = new EventBean[] {SupportEventBeanFactory.createObject(beans[i])};
+        }
+        eventsPerStream[beans.length] = new EventBean[1];
+    }
+
+    public void testRelationalOp() throws Exception
+    {
+        for (RelationalOpEnum op : RelationalOpEnum.values()) {
+            assertCompiled(rel(op, ident("intPrimitive"), ident("intBoxed")));
+            assertCompiled(rel(op, ident("longPrimitive"), ident("intPrimitive")));
+            assertCompiled(rel(op, ident("doublePrimitive"), ident("doubleBoxed")));
+            assertCompiled(rel(op, ident("floatPrimitive"), constant(1)));
+            assertCompiled(rel(op, ident("longBoxed"), constant(5L)));
+        }
+    }
+
+    public void testMath() throws Exception
+    {
+        for (MathArithTypeEnum op : MathArithTypeEnum.values()) {
+            if (op != MathArithTypeEnum.MODULO) {
+                assertCompiled(math(op, ident("intPrimitive"), ident("intBoxed")));
+                assertCompiled(math(op, ident("longPrimitive"), ident("longBoxed")));
+            }
+            assertCompiled(math(op, ident("doublePrimitive"), ident("intPrimitive")));
+            assertCompiled(math(op, ident("doubleBoxed"), constant(2.5d)));
+        }
+        assertCompiled(math(MathArithTypeEnum.ADD, ident("shortPrimitive"), ident("bytePrimitive")));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, ident("intPrimitive"), ident("intBoxed"), true, false));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, ident("longPrimitive"), ident("longBoxed"), true, false));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, ident("doublePrimitive"), ident("doubleBoxed"), false, true));
+        assertCompiled(math(MathArithTypeEnum.MULTIPLY, math(MathArithTypeEnum.ADD, ident("intPrimitive"), constant(1)), ident("doublePrimitive")));
+    }
+
+    public void testEquals() throws Exception
+    {
+        for (boolean isNot : new boolean[] {false, true}) {
+            assertCompiled(equals(ident("intPrimitive"), ident("intBoxed"), isNot));
+            assertCompiled(equals(ident("longPrimitive"), ident("intPrimitive"), isNot));
+            assertCompiled(equals(ident("doublePrimitive"), ident("doubleBoxed"), isNot));
+            assertCompiled(equals(ident("boolPrimitive"), ident("boolBoxed"), isNot));
+            assertCompiled(equals(ident("longBoxed"), constant(5L), isNot));
+        }
+    }
+
+    public void testLogical() throws Exception
+    {
+        ExprNode relOne = rel(RelationalOpEnum.GT, ident("intPrimitive"), constant(5));
+        ExprNode relTwo = rel(RelationalOpEnum.LT, ident("doubleBoxed"), constant(1d));
+        ExprNode eqBool = equals(ident("boolBoxed"), constant(true), false);
+        assertCompiled(and(relOne, relTwo));
+        assertCompiled(or(relTwo, eqBool, relOne));
+        assertCompiled(not(and(relTwo, eqBool)));
+        assertCompiled(and(or(relOne, eqBool), not(relTwo), equals(ident("longBoxed"), ident("longPrimitive"), true)));
+    }
+
+    public void testInterpretedChildren() throws Exception
+    {
+        // the support node is not compiled and is evaluated by its interpreted evaluator
+        assertCompiled(and(rel(RelationalOpEnum.GT, ident("intPrimitive"), constant(5)), new SupportExprNode(true)));
+        assertCompiled(and(rel(RelationalOpEnum.GT, ident("intPrimitive"), constant(5)), new SupportExprNode(null, Boolean.class)));
+        assertCompiled(math(MathArithTypeEnum.ADD, ident("intBoxed"), new SupportExprNode(2)));
+        assertCompiled(equals(new SupportExprNode(null, Integer.class), ident("intPrimitive"), false));
+    }
+
+    public void testNotCompiled() throws Exception
+    {
+        // constants and properties are not compiled by themselves
+        ExprNode node = validated(ident("intPrimitive"));
+        assertSame(node.getExprEvaluator(), ExprNodeCompiler.compile(node, true));
+
+        // compare types not supported
+        node = validated(rel(RelationalOpEnum.GT, ident("theString"), constant("a")));
+        assertSame(node.getExprEvaluator(), ExprNodeCompiler.compile(node, true));
+        node = validated(math(MathArithTypeEnum.ADD, ident("floatPrimitive"), ident("floatBoxed")));
+        assertSame(node.getExprEvaluator(), ExprNodeCompiler.compile(node, true));
+
+        // disabled
+        node = validated(rel(RelationalOpEnum.GT, ident("intPrimitive"), constant(1)));
+        assertSame(node.getExprEvaluator(), ExprNodeCompiler.compile(node, false));
+    }
+
+    private void assertCompiled(ExprNode node) throws Exception
+    {
+        validated(node);
+        ExprEvaluator interpreted = node.getExprEvaluator();
+        ExprEvaluator compiled = ExprNodeCompiler.compile(node, true);
+        String text = ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node);
+        assertNotSame(text, interpreted, compiled);
+        assertEquals(text, interpreted.getType(), compiled.getType());
+        for (EventBean[] events : eventsPerStream) {
+            Object expected = interpreted.evaluate(events, true, null);
+            Object result = compiled.evaluate(events, true, null);
+            assertEquals(text, expected, result);
+            if (expected != null) {
+                assertEquals(text, expected.getClass(), result.getClass());
+            }
+        }
+    }
+
+    private static ExprNode validated(ExprNode node) throws Exception
+    {
+        StreamTypeService streamTypeService = new StreamTypeServiceImpl(SupportEventTypeFactory.createBeanType(SupportBean.class), "s0", false, "uri");
+        ExprValidationContext validationContext = new ExprValidationContext(streamTypeService, SupportEngineImportServiceFactory.make(), null, null, null, null, null, new SupportExprEvaluatorContext(null), null, null, 1, null, null, false, false, false, false, null, false);
+        ExprNodeUtility.getValidatedSubtree(ExprNodeOrigin.SELECT, node, validationContext);
+        return node;
+    }
+
+    private static SupportBean makeBean(int intPrimitive, Integer intBoxed, long longPrimitive, Long longBoxed, double doublePrimitive, Double doubleBoxed, boolean boolPrimitive, Boolean boolBoxed)
+    {
+        SupportBean bean = new SupportBean();
+        bean.setTheString("E" + intPrimitive);
+        bean.setIntPrimitive(intPrimitive);
+        bean.setIntBoxed(intBoxed);
+        bean.setLongPrimitive(longPrimitive);
+        bean.setLongBoxed(longBoxed);
+        bean.setDoublePrimitive(doublePrimitive);
+        bean.setDoubleBoxed(doubleBoxed);
+        bean.setBoolPrimitive(boolPrimitive);
+        bean.setBoolBoxed(boolBoxed);
+        bean.setFloatPrimitive((float) doublePrimitive);
+        bean.setFloatBoxed(doubleBoxed == null ? null : doubleBoxed.floatValue());
+        bean.setShortPrimitive((short) intPrimitive);
+        bean.setBytePrimitive((byte) intPrimitive);
+        return bean;
+    }
+
+    private static ExprNode ident(String property)
+    {
+        return new ExprIdentNodeImpl(property);
+    }
+
+    private static ExprNode constant(Object value)
+    {
+        return new ExprConstantNodeImpl(value);
+    }
+
+    private static ExprNode rel(RelationalOpEnum op, ExprNode left, ExprNode right)
+    {
+        return add(new ExprRelationalOpNodeImpl(op), left, right);
+    }
+
+    private static ExprNode math(MathArithTypeEnum op, ExprNode left, ExprNode right)
+    {
+        return math(op, left, right, false, false);
+    }
+
+    private static ExprNode math(MathArithTypeEnum op, ExprNode left, ExprNode right, boolean isIntegerDivision, boolean isDivisionByZeroReturnsNull)
+    {
+        return add(new ExprMathNode(op, isIntegerDivision, isDivisionByZeroReturnsNull), left, right);
+    }
+
+    private static ExprNode equals(ExprNode left, ExprNode right, boolean isNot)
+    {
+        return add(new ExprEqualsNodeImpl(isNot, false), left, right);
+    }
+
+    private static ExprNode and(ExprNode... children)
+    {
+        return add(new ExprAndNodeImpl(), children);
+    }
+
+    private static ExprNode or(ExprNode... children)
+    {
+        return add(new ExprOrNode(), children);
+    }
+
+    private static ExprNode not(ExprNode child)
+    {
+        return add(new ExprNotNode(), child);
+    }
+
+    private static ExprNode add(ExprNode parent, ExprNode... children)
+    {
+        for (ExprNode child : children) {
+            parent.addChildNode(child);
+        }
+        return parent;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.join.exec;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.join.exec.base.FullTableScanHashJoinLookupStrategy;
+import com.espertech.esper.epl.join.table.UnindexedEventTableImpl;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.util.SimpleNumberCoercer;
+import com.espertech.esper.util.SimpleNumberCoercerFactory;
+import junit.framework.TestCase;
+
+import java.util.Set;
+
+public class TestFullTableScanHashJoinLookupStrategy extends TestCase
+{
+    private UnindexedEventTableImpl table;
+    private FullTableScanHashJoinLookupStrategy lookupStrategy;
+
+    public void setUp()
+    {
+        table = new UnindexedEventTableImpl(1);
+
+        // lookup stream 0 with "intPrimitive % 10" (as long) against stream 1 with "intPrimitive % 10" (as int)
+        ExprEvaluator lookupKey = new ModuloEvaluator(0, Long.class);
+        ExprEvaluator indexedKey = new ModuloEvaluator(1, Integer.class);
+        lookupStrategy = new FullTableScanHashJoinLookupStrategy(table, 0, 1, 2,
+                new ExprEvaluator[] {lookupKey}, new ExprEvaluator[] {indexedKey},
+                new SimpleNumberCoercer[] {null}, new SimpleNumberCoercer[] {SimpleNumberCoercerFactory.getCoercer(Integer.class, Long.class)},
+                new String[] {"intPrimitive%10"});
+    }
+
+    public void testLookup()
+    {
+        assertNull(lookupStrategy.lookup(makeEvent(3), null, null));
+
+        for (int i = 0; i < 40; i++) {
+            table.add(makeEvent(i));
+        }
+
+        // first lookup after a change scans, the next lookups use the hash table
+        assertEquals(40, lookupStrategy.lookup(makeEvent(3), null, null).size());
+        assertValues(lookupStrategy.lookup(makeEvent(3), null, null), 3, 13, 23, 33);
+        assertValues(lookupStrategy.lookup(makeEvent(17), null, null), 7, 17, 27, 37);
+        assertNull(lookupStrategy.lookup(makeEvent(null), null, null));
+
+        table.remove(table.getEventSet().iterator().next());
+        table.add(makeEvent(null));
+        table.add(makeEvent(43));
+        assertEquals(41, lookupStrategy.lookup(makeEvent(3), null, null).size());
+        assertValues(lookupStrategy.lookup(makeEvent(3), null, null), 3, 13, 23, 33, 43);
+        assertValues(lookupStrategy.lookup(makeEvent(0), null, null), 10, 20, 30);
+    }
+
+    public void testSmallTableScanned()
+    {
+        for (int i = 0; i < 10; i++) {
+            table.add(makeEvent(i));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(10, lookupStrategy.lookup(makeEvent(3), null, null).size());
+        }
+    }
+
+    private void assertValues(Set<EventBean> events, int... expected)
+    {
+        assertEquals(expected.length, events.size());
+        int index = 0;
+        for (EventBean event : events) {
+            assertEquals(expected[index++], ((SupportBean) event.getUnderlying()).getIntBoxed().intValue());
+        }
+    }
+
+    private EventBean makeEvent(Integer intBoxed)
+    {
+        SupportBean bean = new SupportBean();
+        bean.setIntBoxed(intBoxed);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+
+    private static class ModuloEvaluator implements ExprEvaluator
+    {
+        private final int streamNum;
+        private final Class type;
+
+        private ModuloEvaluator(int streamNum, Class type)
+        {
+            this.streamNum = streamNum;
+            this.type = type;
+        }
+
+        public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context)
+        {
+            Integer value = ((SupportBean) eventsPerStream[streamNum].getUnderlying()).getIntBoxed();
+            if (value == null) {
+                return null;
+            }
+            return type == Long.class ? (Object) (long) (value % 10) : (Object) (value % 10);
+        }
+
+        public Class getType()
+        {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.join.table;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertySortedEventTableBTree extends TestCase
+{
+    private EventType eventType;
+
+    public void setUp()
+    {
+        eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+    }
+
+    public void testFactory()
+    {
+        assertTrue(new PropertySortedEventTableFactory(0, eventType, "intPrimitive").makeEventTables(null)[0] instanceof PropertySortedEventTableBTree);
+        assertTrue(new PropertySortedEventTableFactory(0, eventType, "doubleBoxed").makeEventTables(null)[0] instanceof PropertySortedEventTableBTree);
+        assertTrue(new PropertySortedEventTableFactory(0, eventType, "theString").makeEventTables(null)[0] instanceof PropertySortedEventTableImpl);
+        assertTrue(new PropertySortedEventTableCoercedFactory(0, eventType, "intPrimitive", double.class).makeEventTables(null)[0] instanceof PropertySortedEventTableBTree);
+
+        EventTable coerced = new PropertySortedEventTableCoercedFactory(0, eventType, "intPrimitive", Double.class).makeEventTables(null)[0];
+        assertEquals(PropertySortedEventTableCoerced.class, coerced.getProviderClass());
+    }
+
+    public void testLookup()
+    {
+        PropertySortedEventTableBTree index = (PropertySortedEventTableBTree) new PropertySortedEventTableFactory(0, eventType, "intBoxed").makeEventTables(null)[0];
+        EventBean[] events = new EventBean[] {makeEvent(5, 0), makeEvent(3, 0), makeEvent(5, 0), makeEvent(null, 0), makeEvent(8, 0)};
+        index.add(events);
+        assertEquals(3, index.getNumKeys());
+
+        assertEvents(new EventBean[] {events[0], events[2]}, index.lookupRange(4, true, 6, true, false));
+        assertEvents(new EventBean[] {events[1], events[0], events[2]}, index.lookupLessEqual(5));
+        assertEvents(new EventBean[] {events[4]}, index.lookupGreater(5));
+        assertNull(index.lookupGreater(8));
+        assertTrue(index.lookupRange(6, true, 4, true, false).isEmpty());
+        assertEvents(new EventBean[] {events[0], events[2]}, index.lookupRange(6, true, 4, true, true));
+        assertTrue(index.lookupLess(null).isEmpty());
+        assertEvents(new EventBean[] {events[1], events[0], events[2], events[4], events[3]}, toList(index.iterator()));
+
+        index.remove(events[0]);
+        index.remove(events[2]);
+        index.remove(events[2]);
+        assertEquals(2, index.getNumKeys());
+        assertEvents(new EventBean[] {events[1], events[4]}, index.lookupRangeInverted(4, true, 6, true));
+        index.remove(events[3]);
+        assertEvents(new EventBean[] {events[1], events[4]}, toList(index.iterator()));
+    }
+
+    public void testRandomAgainstTreeMap()
+    {
+        for (String property : new String[] {"intBoxed", "doubleBoxed"}) {
+            PropertySortedEventTableFactory factory = new PropertySortedEventTableFactory(0, eventType, property);
+            PropertySortedEventTable btree = (PropertySortedEventTable) factory.makeEventTables(null)[0];
+            PropertySortedEventTable treeMap = new PropertySortedEventTableImpl(factory.getPropertyGetter(), factory.getOrganization());
+            assertTrue(btree instanceof PropertySortedEventTableBTree);
+
+            Random random = new Random(1);
+            List<EventBean> live = new ArrayList<EventBean>();
+            for (int i = 0; i < 20000; i++) {
+                if (live.isEmpty() || random.nextInt(5) < 3) {
+                    int value = random.nextInt(2000) - 1000;
+                    EventBean theEvent = property.equals("intBoxed") ? makeEvent(value, 0) : makeEvent(null, value / 7d);
+                    live.add(theEvent);
+                    btree.add(theEvent);
+                    treeMap.add(theEvent);
+                }
+                else {
+                    EventBean theEvent = live.remove(random.nextInt(live.size()));
+                    btree.remove(theEvent);
+                    treeMap.remove(theEvent);
+                }
+
+                if (i % 10 == 0) {
+                    Object start = makeKey(property, random.nextInt(2200) - 1100);
+                    Object end = makeKey(property, random.nextInt(2200) - 1100);
+                    boolean includeStart = random.nextBoolean();
+                    boolean includeEnd = random.nextBoolean();
+                    assertSame(treeMap.lookupRange(start, includeStart, end, includeEnd, true), btree.lookupRange(start, includeStart, end, includeEnd, true));
+                    assertSame(treeMap.lookupRangeColl(start, includeStart, end, includeEnd, false), btree.lookupRangeColl(start, includeStart, end, includeEnd, false));
+                    assertSame(treeMap.lookupRangeInverted(start, includeStart, end, includeEnd), btree.lookupRangeInverted(start, includeStart, end, includeEnd));
+                    assertSame(treeMap.lookupRangeInvertedColl(start, includeStart, end, includeEnd), btree.lookupRangeInvertedColl(start, includeStart, end, includeEnd));
+                    assertSame(treeMap.lookupLess(start), btree.lookupLess(start));
+                    assertSame(treeMap.lookupLessEqualColl(start), btree.lookupLessEqualColl(start));
+                    assertSame(treeMap.lookupGreaterEqual(start), btree.lookupGreaterEqual(start));
+                    assertSame(treeMap.lookupGreaterColl(start), btree.lookupGreaterColl(start));
+                }
+            }
+
+            assertEquals(treeMap.getNumKeys(), btree.getNumKeys());
+            assertEquals(toList(treeMap.iterator()), toList(btree.iterator()));
+            for (EventBean theEvent : live) {
+                btree.remove(theEvent);
+            }
+            assertTrue(btree.isEmpty());
+            assertFalse(btree.iterator().hasNext());
+        }
+    }
+
+    public void testFloatingPointOrder()
+    {
+        PropertySortedEventTable index = (PropertySortedEventTable) new PropertySortedEventTableFactory(0, eventType, "doubleBoxed").makeEventTables(null)[0];
+        double[] values = new double[] {Double.NaN, 1.5, -0.0, 0.0, Double.NEGATIVE_INFINITY, -1.5, Double.POSITIVE_INFINITY, -Double.MIN_VALUE};
+        for (double value : values) {
+            index.add(makeEvent(null, value));
+        }
+        List<Double> sorted = new ArrayList<Double>();
+        for (EventBean theEvent : index) {
+            sorted.add((Double) theEvent.get("doubleBoxed"));
+        }
+        assertEquals(Arrays.asList(Double.NEGATIVE_INFINITY, -1.5, -Double.MIN_VALUE, -0.0, 0.0, 1.5, Double.POSITIVE_INFINITY, Double.NaN), sorted);
+        assertEquals(3, index.lookupLess(-0.0).size());
+    }
+
+    private void assertSame(Collection<EventBean> expected, Collection<EventBean> received)
+    {
+        if (expected == null) {
+            assertNull(received);
+            return;
+        }
+        assertEquals(new ArrayList<EventBean>(expected), new ArrayList<EventBean>(received));
+    }
+
+    private void assertEvents(EventBean[] expected, Collection<EventBean> received)
+    {
+        assertEquals(Arrays.asList(expected), new ArrayList<EventBean>(received));
+    }
+
+    private static Object makeKey(String property, int value)
+    {
+        return property.equals("intBoxed") ? (Object) value : (Object) (value / 7d);
+    }
+
+    private static List<EventBean> toList(Iterator<EventBean> it)
+    {
+        List<EventBean> list = new ArrayList<EventBean>();
+        while (it.hasNext()) {
+            list.add(it.next());
+        }
+        return list;
+    }
+
+    private static EventBean makeEvent(Integer intBoxed, double doubleBoxed)
+    {
+        SupportBean bean = new SupportBean();
+        bean.setIntBoxed(intBoxed);
+        bean.setDoubleBoxed(doubleBoxed);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
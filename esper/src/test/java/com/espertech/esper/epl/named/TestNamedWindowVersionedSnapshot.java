@@ -0,0 +1,122 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.named;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestNamedWindowVersionedSnapshot extends TestCase
+{
+    private NamedWindowVersionedSnapshot snapshot;
+
+    public void setUp()
+    {
+        snapshot = new NamedWindowVersionedSnapshot();
+    }
+
+    public void testUpdate()
+    {
+        EventBean[] events = makeEvents(4);
+        assertTrue(snapshot.snapshot().isEmpty());
+
+        snapshot.update(new EventBean[] {events[0], events[1]}, null);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[] {events[0], events[1]}, snapshot.snapshot().toArray());
+
+        snapshot.update(new EventBean[] {events[2], events[3]}, new EventBean[] {events[0], events[3]});
+        EPAssertionUtil.assertEqualsExactOrder(new Object[] {events[1], events[2]}, snapshot.snapshot().toArray());
+
+        // same event entering twice leaves once per removal
+        snapshot.update(new EventBean[] {events[1]}, null);
+        snapshot.update(null, new EventBean[] {events[1], events[3]});
+        EPAssertionUtil.assertEqualsExactOrder(new Object[] {events[1], events[2]}, snapshot.snapshot().toArray());
+        snapshot.update(null, new EventBean[] {events[1]});
+        EPAssertionUtil.assertEqualsExactOrder(new Object[] {events[2]}, snapshot.snapshot().toArray());
+    }
+
+    public void testPurge()
+    {
+        EventBean[] events = makeEvents(1000);
+        for (int i = 0; i < events.length; i++) {
+            snapshot.update(new EventBean[] {events[i]}, i >= 10 ? new EventBean[] {events[i - 10]} : null);
+        }
+        assertTrue(snapshot.getNumEntries() < 10 + 2 * 64);
+        EPAssertionUtil.assertEqualsExactOrder(subArray(events, 990, 1000), snapshot.snapshot().toArray());
+    }
+
+    public void testConcurrentReaders() throws Exception
+    {
+        final int windowSize = 50;
+        final EventBean[] events = makeEvents(20000);
+        snapshot.update(subArray(events, 0, windowSize), null);
+
+        // each change replaces the oldest event by a new event, readers must always see a contiguous range of events
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        Thread[] readers = new Thread[3];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(new Runnable() {
+                public void run() {
+                    while (!done.get() && failure.get() == null) {
+                        Collection<EventBean> result = snapshot.snapshot();
+                        List<Integer> values = new ArrayList<Integer>();
+                        for (EventBean theEvent : result) {
+                            values.add(((SupportBean) theEvent.getUnderlying()).getIntPrimitive());
+                        }
+                        boolean contiguous = values.size() == windowSize;
+                        for (int j = 1; contiguous && j < values.size(); j++) {
+                            contiguous = values.get(j) == values.get(j - 1) + 1;
+                        }
+                        if (!contiguous) {
+                            failure.set(values.toString());
+                        }
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        for (int i = windowSize; i < events.length; i++) {
+            snapshot.update(new EventBean[] {events[i]}, new EventBean[] {events[i - windowSize]});
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get(), failure.get());
+        EPAssertionUtil.assertEqualsExactOrder(subArray(events, events.length - windowSize, events.length), snapshot.snapshot().toArray());
+    }
+
+    private static EventBean[] makeEvents(int count)
+    {
+        EventBean[] events = new EventBean[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, i));
+        }
+        return events;
+    }
+
+    private static EventBean[] subArray(EventBean[] events, int start, int end)
+    {
+        EventBean[] result = new EventBean[end - start];
+        System.arraycopy(events, start, result, 0, result.length);
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.epl.table.mgmt;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+public class TestTableStripedReadWriteLock extends TestCase
+{
+    private TableStripedReadWriteLock lock;
+
+    public void setUp()
+    {
+        lock = new TableStripedReadWriteLock(8);
+    }
+
+    public void testRowLock()
+    {
+        assertEquals(8, lock.getNumStripes());
+        assertEquals(0, lock.getStripe(null));
+        for (int i = 0; i < 1000; i++) {
+            int stripe = lock.getStripe("E" + i);
+            assertTrue(stripe >= 0 && stripe < 8);
+            assertEquals(stripe, lock.getStripe("E" + i));
+            assertSame(lock.getRowLock("E" + i, true), lock.getRowLock("E" + i, true));
+        }
+        assertNotSame(lock.getRowLock("E0", true), lock.getRowLock("E0", false));
+    }
+
+    public void testTableLockExcludesRowLock() throws Exception
+    {
+        lock.writeLock().lock();
+        assertFalse(tryLockOtherThread(lock.getRowLock("E0", false)));
+        lock.writeLock().unlock();
+        assertTrue(tryLockOtherThread(lock.getRowLock("E0", true)));
+
+        lock.getRowLock("E0", false).lock();
+        assertTrue(tryLockOtherThread(lock.getRowLock("E0", false)));
+        assertFalse(tryLockOtherThread(lock.writeLock()));
+        assertTrue(tryLockOtherThread(lock.readLock()));
+        lock.getRowLock("E0", false).unlock();
+        assertTrue(tryLockOtherThread(lock.writeLock()));
+    }
+
+    public void testOutOfOrderKeepsHeldStripes() throws Exception
+    {
+        String[] keys = findKeysOfDifferentStripes();
+        String lowKey = keys[0];
+        String highKey = keys[1];
+
+        // an uncontended out-of-order stripe is acquired
+        lock.getRowLock(highKey, true).lock();
+        lock.getRowLock(lowKey, true).lock();
+        lock.getRowLock(lowKey, true).unlock();
+
+        // a contended out-of-order stripe fails and the thread keeps the stripes it holds
+        Thread holder = holdInOtherThread(lock.getRowLock(lowKey, true));
+        try {
+            lock.getRowLock(lowKey, true).lock();
+            fail();
+        }
+        catch (IllegalStateException ex) {
+            // expected
+        }
+        assertFalse(tryLockOtherThread(lock.getRowLock(highKey, false)));
+        try {
+            lock.writeLock().lock();
+            fail();
+        }
+        catch (IllegalStateException ex) {
+            // expected
+        }
+        assertFalse(tryLockOtherThread(lock.getRowLock(highKey, false)));
+        holder.interrupt();
+        holder.join();
+        lock.getRowLock(highKey, true).unlock();
+        assertTrue(tryLockOtherThread(lock.writeLock()));
+
+        // a write lock is not obtained while the thread holds the read lock of the same stripe
+        lock.getRowLock(lowKey, false).lock();
+        try {
+            lock.getRowLock(lowKey, true).lock();
+            fail();
+        }
+        catch (IllegalStateException ex) {
+            // expected
+        }
+        lock.getRowLock(lowKey, false).unlock();
+        assertTrue(tryLockOtherThread(lock.writeLock()));
+    }
+
+    public void testInOrderNoDeadlock() throws Exception
+    {
+        String[] keys = findKeysOfDifferentStripes();
+        Lock lowLock = lock.getRowLock(keys[0], true);
+        Lock highLock = lock.getRowLock(keys[1], true);
+
+        AcquireRunnable first = new AcquireRunnable(lowLock, highLock);
+        AcquireRunnable second = new AcquireRunnable(lowLock, highLock);
+        AcquireRunnable third = new AcquireRunnable(lock.writeLock(), highLock);
+        AcquireRunnable fourth = new AcquireRunnable(highLock, highLock);
+        Thread[] threads = new Thread[] {new Thread(first), new Thread(second), new Thread(third), new Thread(fourth)};
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(10000);
+            assertFalse(thread.isAlive());
+        }
+        assertNull(first.getException());
+        assertNull(second.getException());
+        assertNull(third.getException());
+        assertNull(fourth.getException());
+    }
+
+    private String[] findKeysOfDifferentStripes()
+    {
+        String keyOne = "E0";
+        String keyTwo = null;
+        for (int i = 1; keyTwo == null; i++) {
+            if (lock.getStripe("E" + i) != lock.getStripe(keyOne)) {
+                keyTwo = "E" + i;
+            }
+        }
+        if (lock.getStripe(keyOne) < lock.getStripe(keyTwo)) {
+            return new String[] {keyOne, keyTwo};
+        }
+        return new String[] {keyTwo, keyOne};
+    }
+
+    private static Thread holdInOtherThread(final Lock lock) throws Exception
+    {
+        final CountDownLatch locked = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                lock.lock();
+                locked.countDown();
+                try {
+                    Thread.sleep(60000);
+                }
+                catch (InterruptedException ex) {
+                    // released by the test
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        });
+        thread.start();
+        locked.await();
+        return thread;
+    }
+
+    private static boolean tryLockOtherThread(final Lock lock) throws Exception
+    {
+        final AtomicReference<Boolean> result = new AtomicReference<Boolean>();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                boolean locked = lock.tryLock();
+                if (locked) {
+                    lock.unlock();
+                }
+                result.set(locked);
+            }
+        });
+        thread.start();
+        thread.join();
+        return result.get();
+    }
+
+    private static class AcquireRunnable implements Runnable
+    {
+        private final Lock first;
+        private final Lock second;
+        private RuntimeException exception;
+
+        private AcquireRunnable(Lock first, Lock second)
+        {
+            this.first = first;
+            this.second = second;
+        }
+
+        public void run()
+        {
+            try {
+                for (int i = 0; i < 10000; i++) {
+                    first.lock();
+                    second.lock();
+                    second.unlock();
+                    first.unlock();
+                }
+            }
+            catch (RuntimeException ex) {
+                exception = ex;
+            }
+        }
+
+        public RuntimeException getException()
+        {
+            return exception;
+        }
+    }
+}
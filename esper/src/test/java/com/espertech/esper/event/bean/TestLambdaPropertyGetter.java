@@ -0,0 +1,157 @@
+
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.event.bean;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.PropertyAccessException;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+import net.sf.cglib.reflect.FastClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+
+public class TestLambdaPropertyGetter extends TestCase
+{
+    EventBean unitTestBean;
+
+    public void setUp()
+    {
+        SupportBean testEvent = new SupportBean();
+        testEvent.setIntPrimitive(10);
+        testEvent.setTheString("a");
+        testEvent.setDoubleBoxed(null);
+        testEvent.setFloatPrimitive(1.5f);
+        testEvent.setCharPrimitive('x');
+        testEvent.setBytePrimitive((byte) -3);
+        testEvent.setLongPrimitive(Long.MAX_VALUE);
+
+        unitTestBean = SupportEventBeanFactory.createObject(testEvent);
+    }
+
+    public void testGetter() throws Throwable
+    {
+        LambdaPropertyGetter getter = makeGetter(SupportBean.class, "getIntPrimitive");
+        assertEquals(10, getter.get(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getTheString");
+        assertEquals("a", getter.get(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getDoubleBoxed");
+        assertEquals(null, getter.get(unitTestBean));
+
+        try
+        {
+            EventBean eventBean = SupportEventBeanFactory.createObject(new Object());
+            getter.get(eventBean);
+            fail();
+        }
+        catch (PropertyAccessException ex)
+        {
+            // Expected
+            log.debug(".testGetter Expected exception, msg=" + ex.getMessage());
+        }
+    }
+
+    public void testPrimitive() throws Throwable
+    {
+        LambdaPropertyGetter getter = makeGetter(SupportBean.class, "getIntPrimitive");
+        assertEquals(10L, getter.getLong(unitTestBean));
+        assertEquals(10d, getter.getDouble(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getLongPrimitive");
+        assertEquals(Long.MAX_VALUE, getter.getLong(unitTestBean));
+        assertEquals(Long.MAX_VALUE, getter.get(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getBytePrimitive");
+        assertEquals(-3L, getter.getLong(unitTestBean));
+        assertEquals((byte) -3, getter.get(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getCharPrimitive");
+        assertEquals((long) 'x', getter.getLong(unitTestBean));
+        assertEquals('x', getter.get(unitTestBean));
+
+        getter = makeGetter(SupportBean.class, "getFloatPrimitive");
+        assertEquals(1.5d, getter.getDouble(unitTestBean));
+        assertEquals(1L, getter.getLong(unitTestBean));
+        assertEquals(1.5f, getter.get(unitTestBean));
+    }
+
+    public void testInvocationException() throws Throwable
+    {
+        LambdaPropertyGetter getter = makeGetter(SupportBeanThrowing.class, "getValue");
+        EventBean eventBean = SupportEventBeanFactory.createObject(new SupportBeanThrowing());
+        try
+        {
+            getter.get(eventBean);
+            fail();
+        }
+        catch (PropertyAccessException ex)
+        {
+            assertTrue(ex.getMessage().startsWith("Failed to invoke method getValue"));
+        }
+        try
+        {
+            getter.getLong(eventBean);
+            fail();
+        }
+        catch (PropertyAccessException ex)
+        {
+            assertTrue(ex.getMessage().startsWith("Failed to invoke method getValue"));
+        }
+    }
+
+    public void testFallback() throws Throwable
+    {
+        Method method = SupportBeanNonPublic.class.getMethod("getValue");
+        assertNull(LambdaPropertyGetter.make(method, SupportEventAdapterService.getService()));
+
+        FastClass fastClass = FastClass.create(Thread.currentThread().getContextClassLoader(), SupportBeanNonPublic.class);
+        EventPropertyGetter getter = PropertyHelper.getGetterLambda(method, fastClass, SupportEventAdapterService.getService());
+        assertTrue(getter instanceof CGLibPropertyGetter);
+        assertEquals(5, getter.get(SupportEventBeanFactory.createObject(new SupportBeanNonPublic())));
+
+        getter = PropertyHelper.getGetterLambda(SupportBean.class.getMethod("getTheString"), null, SupportEventAdapterService.getService());
+        assertTrue(getter instanceof LambdaPropertyGetter);
+    }
+
+    private LambdaPropertyGetter makeGetter(Class clazz, String methodName) throws Throwable
+    {
+        Method method = clazz.getMethod(methodName, new Class[] {});
+        LambdaPropertyGetter getter = LambdaPropertyGetter.make(method, SupportEventAdapterService.getService());
+        assertNotNull(getter);
+        return getter;
+    }
+
+    public static class SupportBeanThrowing
+    {
+        public int getValue()
+        {
+            throw new IllegalStateException("getter failed");
+        }
+    }
+
+    static class SupportBeanNonPublic
+    {
+        public int getValue()
+        {
+            return 5;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestLambdaPropertyGetter.class);
+}
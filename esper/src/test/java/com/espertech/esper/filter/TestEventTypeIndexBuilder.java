@@ -11,14 +11,19 @@
 
 package com.espertech.esper.filter;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.supportunit.bean.SupportBean;
 import com.espertech.esper.supportunit.bean.SupportBeanSimple;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
 import com.espertech.esper.supportunit.filter.SupportFilterHandle;
 import com.espertech.esper.supportunit.filter.SupportFilterSpecBuilder;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class TestEventTypeIndexBuilder extends TestCase
 {
     private EventTypeIndex eventTypeIndex;
@@ -65,4 +70,77 @@ public class TestEventTypeIndexBuilder extends TestCase
         entryOne = indexBuilder.add(valueSetOne, callbackOne, lockFactory);
         indexBuilder.remove(callbackOne, entryOne);
     }
+
+    public void testReorder()
+    {
+        EventTypeIndexBuilder reorderBuilder = new EventTypeIndexBuilder(eventTypeIndex, false, true);
+        FilterServiceGranularLockFactory statisticsLockFactory = new FilterServiceGranularLockFactoryStatistics(lockFactory);
+        FilterHandle[] callbacks = new FilterHandle[10];
+        FilterServiceEntry[] entries = new FilterServiceEntry[10];
+        for (int i = 0; i < callbacks.length; i++) {
+            FilterValueSet valueSet = SupportFilterSpecBuilder.build(typeOne, new Object[] {
+                    "boolPrimitive", FilterOperator.EQUAL, true,
+                    "intPrimitive", FilterOperator.EQUAL, i}).getValueSet(null, null, null);
+            callbacks[i] = new SupportFilterHandle();
+            entries[i] = reorderBuilder.add(valueSet, callbacks[i], statisticsLockFactory);
+        }
+        assertEquals("boolPrimitive", getRootLookupable());
+
+        // no statistics collected
+        assertEquals(0, reorderBuilder.reorder(statisticsLockFactory));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 20 < 10 ? 1 : 0, match(i % 20).size());
+        }
+        assertTrue(reorderBuilder.getIndexStatistics().contains(typeOne.getName() + " boolPrimitive EQUAL evaluated=100 hits=100 misses=0"));
+        assertTrue(reorderBuilder.getIndexStatistics().contains(typeOne.getName() + " intPrimitive EQUAL evaluated=100 hits=50 misses=50"));
+
+        // the more selective index comes first
+        assertEquals(1, reorderBuilder.reorder(statisticsLockFactory));
+        assertEquals(1, reorderBuilder.getNumReorders());
+        assertEquals("intPrimitive", getRootLookupable());
+        assertEquals(0, reorderBuilder.reorder(statisticsLockFactory));
+        for (int i = 0; i < 20; i++) {
+            List<FilterHandle> matches = match(i);
+            if (i < 10) {
+                assertEquals(1, matches.size());
+                assertSame(callbacks[i], matches.get(0));
+            }
+            else {
+                assertTrue(matches.isEmpty());
+            }
+        }
+
+        // filters added later follow the ranking, entries obtained before reordering remain valid
+        FilterHandle callbackAdded = new SupportFilterHandle();
+        FilterValueSet valueSetAdded = SupportFilterSpecBuilder.build(typeOne, new Object[] {
+                "boolPrimitive", FilterOperator.EQUAL, true,
+                "intPrimitive", FilterOperator.EQUAL, 15}).getValueSet(null, null, null);
+        FilterServiceEntry entryAdded = reorderBuilder.add(valueSetAdded, callbackAdded, statisticsLockFactory);
+        assertEquals(1, eventTypeIndex.get(typeOne).getIndizes().size());
+        assertSame(callbackAdded, match(15).get(0));
+
+        for (int i = 0; i < callbacks.length; i++) {
+            reorderBuilder.remove(callbacks[i], entries[i]);
+        }
+        reorderBuilder.remove(callbackAdded, entryAdded);
+        assertTrue(eventTypeIndex.get(typeOne).isEmpty());
+        assertTrue(reorderBuilder.getIndexStatistics().isEmpty());
+    }
+
+    private String getRootLookupable()
+    {
+        FilterParamIndexLookupableBase index = (FilterParamIndexLookupableBase) eventTypeIndex.get(typeOne).getIndizes().get(0);
+        return index.getLookupable().getExpression();
+    }
+
+    private List<FilterHandle> match(int intPrimitive)
+    {
+        SupportBean bean = new SupportBean("E", intPrimitive);
+        bean.setBoolPrimitive(true);
+        EventBean theEvent = SupportEventBeanFactory.createObject(bean);
+        List<FilterHandle> matches = new ArrayList<FilterHandle>();
+        eventTypeIndex.matchEvent(theEvent, matches);
+        return matches;
+    }
 }
@@ -103,6 +103,31 @@ public class TestFilterCallbackSetNode extends TestCase
         assertEquals(expr, matches.get(0));
     }
 
+    public void testNodeCopyOnWrite()
+    {
+        FilterHandleSetNode node = new FilterHandleSetNode(new ReentrantReadWriteLock(), true);
+        FilterHandle exprOne = new SupportFilterHandle();
+        FilterHandle exprTwo = new SupportFilterHandle();
+        node.add(exprOne);
+
+        // a snapshot obtained before a change is not modified by the change
+        List<FilterParamIndexBase> indizesBefore = node.getIndizes();
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        FilterParamIndexBase index = new FilterParamIndexEquals(makeLookupable("intPrimitive", eventType), new ReentrantReadWriteLock(), true);
+        node.add(index);
+        node.add(exprTwo);
+        assertEquals(0, indizesBefore.size());
+        assertEquals(1, node.getIndizes().size());
+        assertEquals(2, node.getFilterCallbackCount());
+
+        assertTrue(node.remove(exprOne));
+        assertFalse(node.remove(exprOne));
+        assertTrue(node.remove(index));
+        assertFalse(node.remove(index));
+        assertTrue(node.remove(exprTwo));
+        assertTrue(node.isEmpty());
+    }
+
     private FilterSpecLookupable makeLookupable(String fieldName, EventType eventType) {
         return new FilterSpecLookupable(fieldName, eventType.getGetter(fieldName), eventType.getPropertyType(fieldName), false);
     }
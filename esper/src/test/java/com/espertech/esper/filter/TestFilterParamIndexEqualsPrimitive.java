@@ -0,0 +1,188 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.event.bean.ReflectionPropFieldGetter;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.supportunit.filter.SupportEventEvaluator;
+import junit.framework.TestCase;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TestFilterParamIndexEqualsPrimitive extends TestCase
+{
+    private SupportEventEvaluator testEvaluator;
+    private SupportBean testBean;
+    private EventBean testEventBean;
+    private EventType testEventType;
+    private List<FilterHandle> matchesList;
+
+    public void setUp()
+    {
+        testEvaluator = new SupportEventEvaluator();
+        testBean = new SupportBean();
+        testEventBean = SupportEventBeanFactory.createObject(testBean);
+        testEventType = testEventBean.getEventType();
+        matchesList = new LinkedList<FilterHandle>();
+    }
+
+    public void testEqualsInt()
+    {
+        for (boolean copyOnWrite : new boolean[] {false, true}) {
+            FilterParamIndexEqualsPrimitive index = new FilterParamIndexEqualsPrimitive(makeLookupable("intPrimitive"), new ReentrantReadWriteLock(), copyOnWrite);
+            index.put(1, testEvaluator);
+            index.put(-20, testEvaluator);
+
+            verifyIntPrimitive(index, 10, 0);
+            verifyIntPrimitive(index, 1, 1);
+            verifyIntPrimitive(index, -20, 1);
+
+            assertEquals(2, index.size());
+            assertEquals(testEvaluator, index.get(1));
+            assertTrue(index.remove(1));
+            assertFalse(index.remove(1));
+            assertEquals(null, index.get(1));
+            verifyIntPrimitive(index, 1, 0);
+        }
+    }
+
+    public void testEqualsDoubleBoxed()
+    {
+        FilterParamIndexEqualsPrimitive index = new FilterParamIndexEqualsPrimitive(makeLookupable("doubleBoxed"), new ReentrantReadWriteLock());
+        index.put(1.5d, testEvaluator);
+        index.put(Double.NaN, testEvaluator);
+        index.put(0d, testEvaluator);
+        index.put(null, testEvaluator);
+
+        verifyDoubleBoxed(index, 1.5d, 1);
+        verifyDoubleBoxed(index, 1d, 0);
+        verifyDoubleBoxed(index, Double.NaN, 1);   // same as Double.equals
+        verifyDoubleBoxed(index, -0d, 0);   // same as Double.equals
+        verifyDoubleBoxed(index, null, 0);
+
+        assertEquals(4, index.size());
+        assertEquals(testEvaluator, index.get(null));
+        assertTrue(index.remove(null));
+        assertEquals(3, index.size());
+    }
+
+    public void testNotEqualsLong()
+    {
+        for (boolean copyOnWrite : new boolean[] {false, true}) {
+            FilterParamIndexNotEqualsPrimitive index = new FilterParamIndexNotEqualsPrimitive(makeLookupable("longBoxed"), new ReentrantReadWriteLock(), copyOnWrite);
+            assertEquals(FilterOperator.NOT_EQUAL, index.getFilterOperator());
+            index.put(5L, testEvaluator);
+            index.put(6L, testEvaluator);
+            index.put(null, testEvaluator);
+
+            verifyLongBoxed(index, 5L, 1);
+            verifyLongBoxed(index, 7L, 2);
+            verifyLongBoxed(index, null, 0);
+
+            assertTrue(index.remove(6L));
+            verifyLongBoxed(index, 5L, 0);
+            verifyLongBoxed(index, 7L, 1);
+        }
+    }
+
+    public void testIn()
+    {
+        for (boolean copyOnWrite : new boolean[] {false, true}) {
+            FilterParamIndexInPrimitive index = new FilterParamIndexInPrimitive(makeLookupable("longBoxed"), new ReentrantReadWriteLock(), copyOnWrite);
+            assertEquals(FilterOperator.IN_LIST_OF_VALUES, index.getFilterOperator());
+
+            MultiKeyUntyped inListOne = new MultiKeyUntyped(new Object[] {2L, 5L});
+            index.put(inListOne, testEvaluator);
+            MultiKeyUntyped inListTwo = new MultiKeyUntyped(new Object[] {10L, 5L, null});
+            index.put(inListTwo, testEvaluator);
+
+            verifyLongBoxed(index, 1L, 0);
+            verifyLongBoxed(index, 2L, 1);
+            verifyLongBoxed(index, 5L, 2);
+            verifyLongBoxed(index, 10L, 1);
+            verifyLongBoxed(index, null, 0);
+
+            assertEquals(testEvaluator, index.get(inListTwo));
+            assertTrue(index.remove(inListTwo));
+            assertFalse(index.remove(inListTwo));
+            assertEquals(null, index.get(inListTwo));
+            verifyLongBoxed(index, 5L, 1);
+            verifyLongBoxed(index, 10L, 0);
+            assertEquals(2, index.size());
+        }
+    }
+
+    public void testPrimitiveFieldGetter() throws Exception
+    {
+        SupportFieldBean bean = new SupportFieldBean();
+        EventBean theEvent = SupportEventBeanFactory.createObject(bean);
+        FilterSpecLookupable lookupable = new FilterSpecLookupable("doubleValue",
+                new ReflectionPropFieldGetter(SupportFieldBean.class.getField("doubleValue"), SupportEventAdapterService.getService()), double.class, false);
+        FilterParamIndexInPrimitive index = new FilterParamIndexInPrimitive(lookupable, new ReentrantReadWriteLock());
+        index.put(new MultiKeyUntyped(new Object[] {1.5d, 2d}), testEvaluator);
+
+        bean.doubleValue = 2d;
+        index.matchEvent(theEvent, matchesList);
+        assertEquals(1, testEvaluator.getAndResetCountInvoked());
+
+        bean.doubleValue = 2.5d;
+        index.matchEvent(theEvent, matchesList);
+        assertEquals(0, testEvaluator.getAndResetCountInvoked());
+
+        lookupable = new FilterSpecLookupable("intValue",
+                new ReflectionPropFieldGetter(SupportFieldBean.class.getField("intValue"), SupportEventAdapterService.getService()), int.class, false);
+        FilterParamIndexEqualsPrimitive equals = new FilterParamIndexEqualsPrimitive(lookupable, new ReentrantReadWriteLock());
+        equals.put(-3, testEvaluator);
+
+        bean.intValue = -3;
+        equals.matchEvent(theEvent, matchesList);
+        assertEquals(1, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyIntPrimitive(FilterParamIndexBase index, int testValue, int numExpected)
+    {
+        testBean.setIntPrimitive(testValue);
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyLongBoxed(FilterParamIndexBase index, Long testValue, int numExpected)
+    {
+        testBean.setLongBoxed(testValue);
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private void verifyDoubleBoxed(FilterParamIndexBase index, Double testValue, int numExpected)
+    {
+        testBean.setDoubleBoxed(testValue);
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
+    }
+
+    private FilterSpecLookupable makeLookupable(String fieldName) {
+        return new FilterSpecLookupable(fieldName, testEventType.getGetter(fieldName), testEventType.getPropertyType(fieldName), false);
+    }
+
+    public static class SupportFieldBean
+    {
+        public int intValue;
+        public double doubleValue;
+    }
+}
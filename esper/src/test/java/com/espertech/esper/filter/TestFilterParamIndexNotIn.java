@@ -90,6 +90,28 @@ public class TestFilterParamIndexNotIn extends TestCase
         }
     }
 
+    public void testIndexCopyOnWrite()
+    {
+        FilterParamIndexNotIn index = new FilterParamIndexNotIn(makeLookupable("longBoxed"), new ReentrantReadWriteLock(), true);
+
+        index.put(new MultiKeyUntyped(new Object[] {2L, 5L}), testEvaluators[0]);
+        index.put(new MultiKeyUntyped(new Object[] {3L}), testEvaluators[1]);
+        verify(index, 2L, new boolean[] {false, true, false, false});
+        verify(index, 3L, new boolean[] {true, false, false, false});
+
+        // replacing the evaluator for the same constants leaves no trace of the prior evaluator
+        index.put(new MultiKeyUntyped(new Object[] {2L, 5L}), testEvaluators[2]);
+        verify(index, 2L, new boolean[] {false, true, false, false});
+        verify(index, 3L, new boolean[] {false, false, true, false});
+        verify(index, 5L, new boolean[] {false, true, false, false});
+        assertEquals(3, index.size());
+
+        assertTrue(index.remove(new MultiKeyUntyped(new Object[] {3L})));
+        verify(index, 3L, new boolean[] {false, false, true, false});
+        verify(index, 5L, new boolean[] {false, false, false, false});
+        assertEquals(2, index.size());
+    }
+
     private void verify(FilterParamIndexBase index, Long testValue, boolean[] expected)
     {
         testBean.setLongBoxed(testValue);
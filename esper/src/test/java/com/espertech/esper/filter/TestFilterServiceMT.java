@@ -11,14 +11,19 @@
 
 package com.espertech.esper.filter;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.collection.ArrayBackedCollection;
 import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
 import com.espertech.esper.supportunit.filter.SupportFilterHandle;
 import com.espertech.esper.supportunit.filter.SupportFilterSpecBuilder;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -29,6 +34,115 @@ public class TestFilterServiceMT extends TestCase
     public void testFilterService() throws Exception {
         runAssertionAddRemoveFilter(new FilterServiceLockCoarse(false));
         runAssertionAddRemoveFilter(new FilterServiceLockFine(false));
+        runAssertionAddRemoveFilter(new FilterServiceLockFree(false));
+    }
+
+    public void testFilterServiceLockFreeEvaluate() throws Exception {
+        final FilterService service = new FilterServiceLockFree(false);
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final FilterValueSet filterValues = SupportFilterSpecBuilder.build(eventType, new Object[] {"theString", FilterOperator.EQUAL, "HELLO"}).getValueSet(null, null, null);
+        final FilterValueSet filterValuesOther = SupportFilterSpecBuilder.build(eventType, new Object[] {"theString", FilterOperator.EQUAL, "HELLO", "intPrimitive", FilterOperator.GREATER, 10}).getValueSet(null, null, null);
+        final SupportFilterHandle handleStatic = new SupportFilterHandle();
+        service.add(filterValues, handleStatic);
+        final EventBean theEvent = SupportEventBeanFactory.createObject(new SupportBean("HELLO", 1));
+
+        Callable callables[] = new Callable[4];
+        for (int i = 0; i < callables.length; i++)
+        {
+            final boolean isWriter = i % 2 == 0;
+            callables[i] = new Callable()
+            {
+                public Object call() throws Exception
+                {
+                    SupportFilterHandle handle = new SupportFilterHandle();
+                    List<FilterHandle> matches = new ArrayList<FilterHandle>();
+                    for (int i = 0; i < 10000; i++)
+                    {
+                        if (isWriter) {
+                            FilterServiceEntry entry = service.add(i % 2 == 0 ? filterValues : filterValuesOther, handle);
+                            service.remove(handle, entry);
+                        }
+                        else {
+                            matches.clear();
+                            service.evaluate(theEvent, matches);
+                            if (!matches.contains(handleStatic) || matches.size() > 3) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Object[] result = tryMT(callables);
+        EPAssertionUtil.assertAllBooleanTrue(result);
+    }
+
+    public void testFilterServiceLockFreeExclusiveDuringEvaluate() throws Exception {
+        final FilterServiceLockFree service = new FilterServiceLockFree(false);
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final FilterValueSet filterValues = SupportFilterSpecBuilder.build(eventType, new Object[] {"theString", FilterOperator.EQUAL, "HELLO"}).getValueSet(null, null, null);
+        SupportFilterHandle handleOne = new SupportFilterHandle();
+        SupportFilterHandle handleTwo = new SupportFilterHandle();
+        FilterServiceEntry[] entries = new FilterServiceEntry[] {service.add(filterValues, handleOne), null, null};
+        EventBean theEvent = SupportEventBeanFactory.createObject(new SupportBean("HELLO", 1));
+
+        // when the first match is collected, another thread replaces the filter in an exclusive section
+        final Thread swapOneToTwo = makeSwapThread(service, filterValues, handleOne, handleTwo, entries, 0);
+        List<FilterHandle> matches = new ArrayList<FilterHandle>() {
+            public boolean add(FilterHandle filterHandle) {
+                runOnce(swapOneToTwo);
+                return super.add(filterHandle);
+            }
+        };
+        service.evaluate(theEvent, matches);
+        assertEquals(1, matches.size());
+        assertSame(handleTwo, matches.get(0));
+
+        // same for the array-backed collection of the runtime, keeping matches collected before the evaluation
+        final Thread swapTwoToOne = makeSwapThread(service, filterValues, handleTwo, handleOne, entries, 1);
+        ArrayBackedCollection<FilterHandle> matchesArray = new ArrayBackedCollection<FilterHandle>(2) {
+            public boolean add(FilterHandle filterHandle) {
+                if (size() > 0) {
+                    runOnce(swapTwoToOne);
+                }
+                return super.add(filterHandle);
+            }
+        };
+        matchesArray.add(handleTwo);
+        service.evaluate(theEvent, matchesArray);
+        assertEquals(2, matchesArray.size());
+        assertSame(handleTwo, matchesArray.getArray()[0]);
+        assertSame(handleOne, matchesArray.getArray()[1]);
+    }
+
+    private static Thread makeSwapThread(final FilterServiceLockFree service, final FilterValueSet filterValues, final FilterHandle handleRemove, final FilterHandle handleAdd, final FilterServiceEntry[] entries, final int entryNum) {
+        return new Thread(new Runnable() {
+            public void run() {
+                service.acquireWriteLock();
+                try {
+                    service.remove(handleRemove, entries[entryNum]);
+                    entries[entryNum + 1] = service.add(filterValues, handleAdd);
+                }
+                finally {
+                    service.releaseWriteLock();
+                }
+            }
+        });
+    }
+
+    private static void runOnce(Thread thread) {
+        if (thread.getState() != Thread.State.NEW) {
+            return;
+        }
+        thread.start();
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     private void runAssertionAddRemoveFilter(final FilterService service) throws Exception
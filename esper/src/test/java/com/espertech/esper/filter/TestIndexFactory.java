@@ -52,6 +52,12 @@ public class TestIndexFactory extends TestCase
         assertTrue(getPropName(index).equals("string"));
         assertTrue(index.getFilterOperator() == FilterOperator.NOT_EQUAL);
 
+        // Create primitive-keyed "equals" and "not equals" indexes
+        index = IndexFactory.createIndex(makeLookupable("intPrimitive"), lockFactory, FilterOperator.EQUAL);
+        assertTrue(index instanceof FilterParamIndexEqualsPrimitive);
+        index = IndexFactory.createIndex(makeLookupable("longBoxed"), lockFactory, FilterOperator.NOT_EQUAL);
+        assertTrue(index instanceof FilterParamIndexNotEqualsPrimitive);
+
         // Create a range index
         index = IndexFactory.createIndex(makeLookupable("doubleBoxed"), lockFactory, FilterOperator.RANGE_CLOSED);
         assertTrue(index instanceof FilterParamIndexDoubleRange);
@@ -59,8 +65,10 @@ public class TestIndexFactory extends TestCase
         assertTrue(index instanceof FilterParamIndexDoubleRangeInverted);
 
         // Create a in-index
-        index = IndexFactory.createIndex(makeLookupable("doubleBoxed"), lockFactory, FilterOperator.IN_LIST_OF_VALUES);
+        index = IndexFactory.createIndex(makeLookupable("string"), lockFactory, FilterOperator.IN_LIST_OF_VALUES);
         assertTrue(index instanceof FilterParamIndexIn);
+        index = IndexFactory.createIndex(makeLookupable("doubleBoxed"), lockFactory, FilterOperator.IN_LIST_OF_VALUES);
+        assertTrue(index instanceof FilterParamIndexInPrimitive);
         index = IndexFactory.createIndex(makeLookupable("doubleBoxed"), lockFactory, FilterOperator.NOT_IN_LIST_OF_VALUES);
         assertTrue(index instanceof FilterParamIndexNotIn);
 
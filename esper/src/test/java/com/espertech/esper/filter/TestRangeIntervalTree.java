@@ -0,0 +1,118 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestRangeIntervalTree extends TestCase
+{
+    private static final FilterOperator[] OPERATORS = new FilterOperator[] {
+            FilterOperator.RANGE_OPEN, FilterOperator.RANGE_CLOSED, FilterOperator.RANGE_HALF_OPEN, FilterOperator.RANGE_HALF_CLOSED,
+            FilterOperator.NOT_RANGE_OPEN, FilterOperator.NOT_RANGE_CLOSED, FilterOperator.NOT_RANGE_HALF_OPEN, FilterOperator.NOT_RANGE_HALF_CLOSED};
+
+    public void testPutGetRemove()
+    {
+        RangeIntervalTree tree = RangeIntervalTree.makeStringRangeTree();
+        RangeEvaluator one = new RangeEvaluator(new StringRange("b", "d"));
+        RangeEvaluator two = new RangeEvaluator(new StringRange("a", "z"));
+
+        tree.put(one.range, one);
+        tree.put(two.range, two);
+        tree.put(new StringRange("b", "d"), two);
+        assertEquals(2, tree.size());
+        assertSame(two, tree.get(new StringRange("d", "b")));
+        assertNull(tree.get(new StringRange("b", "e")));
+
+        List<FilterHandle> matches = new ArrayList<FilterHandle>();
+        tree.matchContaining("c", true, true, null, matches);
+        assertEquals(2, matches.size());
+
+        assertTrue(tree.remove(new StringRange("b", "d")));
+        assertFalse(tree.remove(new StringRange("b", "d")));
+        assertEquals(1, tree.size());
+        assertNull(tree.get(new StringRange("b", "d")));
+    }
+
+    public void testRandomAgainstScan()
+    {
+        Random random = new Random(1);
+        RangeIntervalTree tree = RangeIntervalTree.makeDoubleRangeTree();
+        Map<DoubleRange, RangeEvaluator> reference = new TreeMap<DoubleRange, RangeEvaluator>(new DoubleRangeComparator());
+
+        for (int i = 0; i < 3000; i++) {
+            DoubleRange range = new DoubleRange((double) random.nextInt(100), (double) random.nextInt(100));
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(range) != null, tree.remove(range));
+            }
+            else {
+                RangeEvaluator evaluator = new RangeEvaluator(range);
+                reference.put(range, evaluator);
+                tree.put(range, evaluator);
+            }
+            assertEquals(reference.size(), tree.size());
+
+            if (i % 100 == 0) {
+                for (int value = -1; value <= 100; value++) {
+                    for (FilterOperator op : OPERATORS) {
+                        assertMatches(tree, reference, (double) value, op);
+                    }
+                }
+            }
+        }
+    }
+
+    private void assertMatches(RangeIntervalTree tree, Map<DoubleRange, RangeEvaluator> reference, double value, FilterOperator op)
+    {
+        List<FilterHandle> expected = new ArrayList<FilterHandle>();
+        for (RangeEvaluator evaluator : reference.values()) {
+            double min = (Double) evaluator.range.getLowEndpoint();
+            double max = (Double) evaluator.range.getHighEndpoint();
+            boolean contains = (op.isRangeLowInclusive() ? value >= min : value > min) &&
+                               (op.isRangeHighInclusive() ? value <= max : value < max);
+            if (contains == op.isRangeOperator()) {
+                expected.add(evaluator);
+            }
+        }
+
+        List<FilterHandle> actual = new ArrayList<FilterHandle>();
+        if (op.isRangeOperator()) {
+            tree.matchContaining(value, op.isRangeLowInclusive(), op.isRangeHighInclusive(), null, actual);
+        }
+        else {
+            tree.matchNotContaining(value, op.isRangeLowInclusive(), op.isRangeHighInclusive(), null, actual);
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static class RangeEvaluator implements EventEvaluator, FilterHandle
+    {
+        private final Range range;
+
+        private RangeEvaluator(Range range)
+        {
+            this.range = range;
+        }
+
+        public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+        {
+            matches.add(this);
+        }
+
+        public int getStatementId()
+        {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.pattern.guard;
+
+import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.core.support.SupportSchedulingServiceImpl;
+import com.espertech.esper.core.support.SupportStatementContextFactory;
+import com.espertech.esper.pattern.MatchedEventMap;
+import com.espertech.esper.pattern.PatternAgentInstanceContext;
+import com.espertech.esper.schedule.SchedulingServiceImpl;
+import com.espertech.esper.supportunit.guard.SupportQuitable;
+import com.espertech.esper.supportunit.pattern.SupportPatternContextFactory;
+import com.espertech.esper.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+public class TestTimerWithinSharedGuard extends TestCase
+{
+    private SchedulingServiceImpl scheduleService;
+    private TimerWithinSharedSchedule schedule;
+    private SupportQuitable[] quitables;
+    private TimerWithinSharedGuard[] guards;
+
+    public void setUp()
+    {
+        StatementContext stmtContext = SupportStatementContextFactory.makeContext(new SchedulingServiceImpl(new TimeSourceServiceImpl()));
+        scheduleService = (SchedulingServiceImpl) stmtContext.getSchedulingService();
+        PatternAgentInstanceContext agentInstanceContext = SupportPatternContextFactory.makePatternAgentInstanceContext(scheduleService);
+
+        TimerWithinGuardFactory factory = new TimerWithinGuardFactory() {
+            public long computeMilliseconds(MatchedEventMap beginState, PatternAgentInstanceContext context) {
+                return 1000;
+            }
+        };
+        schedule = new TimerWithinSharedSchedule(agentInstanceContext, factory);
+
+        quitables = new SupportQuitable[3];
+        guards = new TimerWithinSharedGuard[3];
+        for (int i = 0; i < quitables.length; i++) {
+            quitables[i] = new SupportQuitable(agentInstanceContext);
+            guards[i] = schedule.makeGuard(null, quitables[i]);
+        }
+    }
+
+    public void testInspect()
+    {
+        assertTrue(guards[0].inspect(null));
+    }
+
+    public void testStartAndTrigger()
+    {
+        scheduleService.setTime(0);
+        guards[0].startGuard();
+        scheduleService.setTime(500);
+        guards[1].startGuard();
+        guards[2].startGuard();
+        assertEquals(3, schedule.getNumActive());
+        assertEquals(1, scheduleService.getScheduleHandleCount());
+
+        scheduleService.setTime(999);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(0, 0, 0);
+
+        scheduleService.setTime(1000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(1, 0, 0);
+        assertEquals(2, schedule.getNumActive());
+
+        scheduleService.setTime(1500);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(1, 1, 1);
+        assertEquals(0, schedule.getNumActive());
+        assertEquals(0, scheduleService.getScheduleHandleCount());
+    }
+
+    public void testStartAndStop()
+    {
+        scheduleService.setTime(0);
+        guards[0].startGuard();
+        guards[1].startGuard();
+        guards[0].stopGuard();
+
+        scheduleService.setTime(1000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(0, 1, 0);
+
+        guards[2].startGuard();
+        guards[2].stopGuard();
+        assertEquals(0, schedule.getNumActive());
+        assertEquals(0, scheduleService.getScheduleHandleCount());
+
+        scheduleService.setTime(3000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(0, 1, 0);
+    }
+
+    public void testTimeMovedBackwards()
+    {
+        scheduleService.setTime(1000);
+        guards[0].startGuard();
+        scheduleService.setTime(500);
+        guards[1].startGuard();
+
+        scheduleService.setTime(1500);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(0, 1, 0);
+
+        scheduleService.setTime(2000);
+        SupportSchedulingServiceImpl.evaluateSchedule(scheduleService);
+        assertQuitCounts(1, 1, 0);
+    }
+
+    public void testInvalid()
+    {
+        try
+        {
+            guards[0].startGuard();
+            guards[0].startGuard();
+            fail();
+        }
+        catch (IllegalStateException ex)
+        {
+            // Expected exception
+        }
+    }
+
+    private void assertQuitCounts(int... expected)
+    {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("guard " + i, expected[i], quitables[i].getAndResetQuitCounter());
+        }
+    }
+}
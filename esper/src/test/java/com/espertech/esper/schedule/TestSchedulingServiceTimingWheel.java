@@ -0,0 +1,343 @@
+/*
+ * *************************************************************************************
+ *  Copyright (C) 2006-2015 EsperTech, Inc. All rights reserved.                       *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ * *************************************************************************************
+ */
+
+package com.espertech.esper.schedule;
+
+import com.espertech.esper.supportunit.schedule.SupportScheduleCallback;
+import com.espertech.esper.timer.TimeSourceServiceImpl;
+import com.espertech.esper.type.ScheduleUnit;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestSchedulingServiceTimingWheel extends TestCase
+{
+    private SchedulingServiceTimingWheel service;
+    private SchedulingMgmtServiceImpl mgmtService;
+
+    private long slots[][];
+    private SupportScheduleCallback callbacks[];
+
+    public void setUp()
+    {
+        service = new SchedulingServiceTimingWheel(new TimeSourceServiceImpl());
+        mgmtService = new SchedulingMgmtServiceImpl();
+
+        // 2-by-2 table of buckets and slots
+        ScheduleBucket[] buckets = new ScheduleBucket[3];
+        slots = new long[buckets.length][2];
+        for (int i = 0; i < buckets.length; i++)
+        {
+            buckets[i] = mgmtService.allocateBucket();
+            slots[i] = new long[2];
+            for (int j = 0; j < slots[i].length; j++)
+            {
+                slots[i][j] = buckets[i].allocateSlot();
+            }
+        }
+
+        callbacks = new SupportScheduleCallback[5];
+        for (int i= 0; i < callbacks.length; i++)
+        {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+    }
+
+    public void tearDown()
+    {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+    }
+
+    public void testAddTwice()
+    {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.add(100, callbacks[0], slots[0][0]);
+        assertTrue(service.isScheduled(callbacks[0]));
+        service.add(100, callbacks[0], slots[0][0]);
+        assertEquals(1, service.getScheduleHandleCount());
+
+        service.setTime(service.getTime() + 100);
+        evaluateSchedule();
+        assertEquals(1, callbacks[0].clearAndGetOrderTriggered());
+        assertFalse(service.isScheduled(callbacks[0]));
+    }
+
+    public void testTrigger()
+    {
+        long startTime = 0;
+
+        service.setTime(0);
+
+        // Add callbacks
+        service.add(20, callbacks[3], slots[1][1]);
+        service.add(20, callbacks[2], slots[1][0]);
+        service.add(20, callbacks[1], slots[0][1]);
+        service.add(21, callbacks[0], slots[0][0]);
+        assertTrue(service.isScheduled(callbacks[3]));
+        assertTrue(service.isScheduled(callbacks[0]));
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+        assertEquals(2, service.getTimeHandleCount());
+
+        // Evaluate before the within time, expect not results
+        startTime += 19;
+        service.setTime(startTime);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+        assertTrue(service.isScheduled(callbacks[3]));
+
+        // Evaluate exactly on the within time, expect a result
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 1, 2, 3, 0});
+        assertFalse(service.isScheduled(callbacks[3]));
+
+        // Evaluate after already evaluated once, no result
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {4, 0, 0, 0, 0});
+        assertFalse(service.isScheduled(callbacks[3]));
+        assertNull(service.getNearestTimeHandle());
+
+        service.add(20, callbacks[0], slots[0][0]);
+        service.add(28, callbacks[0], slots[0][0]);
+        service.remove(callbacks[0], slots[0][0]);
+
+        service.add(20, callbacks[2], slots[1][0]);
+        service.add(25, callbacks[1], slots[0][1]);
+        service.remove(callbacks[1], slots[0][1]);
+        service.add(21, callbacks[0], slots[0][0]);
+        service.add(21, callbacks[3], slots[1][1]);
+        service.add(20, callbacks[1], slots[0][1]);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+
+        startTime += 20;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 1, 2, 0, 0});
+
+        startTime += 1;
+        service.setTime(startTime);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {3, 0, 0, 4, 0});
+
+        service.setTime(startTime + Integer.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+    }
+
+    public void testSameTimeSameSlot()
+    {
+        service.setTime(0);
+
+        // the last-added handle for the same time and slot triggers, as with the sorted-map implementation
+        service.add(10, callbacks[0], slots[0][0]);
+        service.add(10, callbacks[1], slots[0][0]);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(10);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 1, 0, 0, 0});
+        assertEquals(0, service.getScheduleHandleCount());
+    }
+
+    public void testWaitAndSpecTogether()
+    {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2004, 11, 9, 15, 27, 10);
+        calendar.set(Calendar.MILLISECOND, 500);
+        long startTime = calendar.getTimeInMillis();
+
+        service.setTime(startTime);
+
+        // Add a specification
+        ScheduleSpec spec = new ScheduleSpec();
+        spec.addValue(ScheduleUnit.MONTHS, 12);
+        spec.addValue(ScheduleUnit.DAYS_OF_MONTH, 9);
+        spec.addValue(ScheduleUnit.HOURS, 15);
+        spec.addValue(ScheduleUnit.MINUTES, 27);
+        spec.addValue(ScheduleUnit.SECONDS, 20);
+
+        service.add(ScheduleComputeHelper.computeDeltaNextOccurance(spec, service.getTime(), TimeZone.getDefault()), callbacks[3], slots[1][1]);
+
+        spec.addValue(ScheduleUnit.SECONDS, 15);
+        service.add(ScheduleComputeHelper.computeDeltaNextOccurance(spec, service.getTime(), TimeZone.getDefault()), callbacks[4], slots[2][0]);
+
+        // Add some more callbacks
+        service.add(5000, callbacks[0], slots[0][0]);
+        service.add(10000, callbacks[1], slots[0][1]);
+        service.add(15000, callbacks[2], slots[1][0]);
+
+        // Now send a times reflecting various seconds later and check who got a callback
+        service.setTime(startTime + 1000);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.setTime(startTime + 2000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.setTime(startTime + 4000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.setTime(startTime + 5000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {1, 0, 0, 0, 2});
+
+        service.setTime(startTime + 9000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.setTime(startTime + 10000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 3, 0, 4, 0});
+
+        service.setTime(startTime + 11000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.setTime(startTime + 15000);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 5, 0, 0});
+
+        service.setTime(startTime + Integer.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+    }
+
+    public void testTakeApply()
+    {
+        service.setTime(1000);
+        service.add(100, callbacks[0], slots[0][0]);
+        service.add(50, callbacks[1], slots[0][1]);
+
+        ScheduleSet set = service.take(Collections.singleton(1));
+        assertEquals(2, set.getList().size());
+        assertEquals(50L, (long) set.getList().get(0).getTime());
+        assertEquals(100L, (long) set.getList().get(1).getTime());
+        assertEquals(0, service.getScheduleHandleCount());
+
+        service.setTime(1100);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 0, 0, 0, 0});
+
+        service.apply(set);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(1150);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {0, 1, 0, 0, 0});
+        service.setTime(1200);
+        evaluateSchedule();
+        checkCallbacks(callbacks, new Integer[] {2, 0, 0, 0, 0});
+    }
+
+    public void testCompareSortedMap()
+    {
+        Random random = new Random(1);
+        for (int run = 0; run < 20; run++) {
+            long time = random.nextBoolean() ? random.nextInt(1000) : System.currentTimeMillis();
+            SchedulingServiceImpl expected = new SchedulingServiceImpl(new TimeSourceServiceImpl());
+            SchedulingServiceTimingWheel actual = new SchedulingServiceTimingWheel(new TimeSourceServiceImpl());
+            expected.setTime(time);
+            actual.setTime(time);
+
+            ScheduleBucket bucket = mgmtService.allocateBucket();
+            List<SupportScheduleCallback> handles = new ArrayList<SupportScheduleCallback>();
+            List<Long> handleSlots = new ArrayList<Long>();
+            for (int i = 0; i < 200; i++) {
+                handles.add(new SupportScheduleCallback());
+                handleSlots.add(bucket.allocateSlot());
+            }
+            // assign slots in random order so that slot order differs from add order
+            Collections.shuffle(handleSlots, random);
+
+            for (int step = 0; step < 500; step++) {
+                int action = random.nextInt(10);
+                if (action < 5) {
+                    int index = random.nextInt(handles.size());
+                    long after = randomAfter(random);
+                    expected.add(after, handles.get(index), handleSlots.get(index));
+                    actual.add(after, handles.get(index), handleSlots.get(index));
+                }
+                else if (action < 7) {
+                    int index = random.nextInt(handles.size());
+                    expected.remove(handles.get(index), handleSlots.get(index));
+                    actual.remove(handles.get(index), handleSlots.get(index));
+                }
+                else {
+                    if (action == 7 && random.nextInt(5) == 0) {
+                        time -= random.nextInt(500);
+                    }
+                    else {
+                        time += randomAfter(random);
+                    }
+                    expected.setTime(time);
+                    actual.setTime(time);
+
+                    List<ScheduleHandle> expectedHandles = new ArrayList<ScheduleHandle>();
+                    List<ScheduleHandle> actualHandles = new ArrayList<ScheduleHandle>();
+                    expected.evaluate(expectedHandles);
+                    actual.evaluate(actualHandles);
+                    assertEquals(expectedHandles, actualHandles);
+                    assertEquals(expected.getNearestTimeHandle(), actual.getNearestTimeHandle());
+                    assertEquals(expected.getScheduleHandleCount(), actual.getScheduleHandleCount());
+                }
+            }
+        }
+    }
+
+    public void testIncorrectRemove()
+    {
+        SchedulingServiceTimingWheel evaluator = new SchedulingServiceTimingWheel(new TimeSourceServiceImpl());
+        SupportScheduleCallback callback = new SupportScheduleCallback();
+        evaluator.remove(callback, 0);
+    }
+
+    private long randomAfter(Random random)
+    {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(10);
+            case 1:
+                return random.nextInt(1000);
+            case 2:
+                return random.nextInt(100000);
+            default:
+                return random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    private void checkCallbacks(SupportScheduleCallback callbacks[], Integer[] results)
+    {
+        assertTrue(callbacks.length == results.length);
+
+        for (int i = 0; i < callbacks.length; i++)
+        {
+            assertEquals((int) results[i], (int) callbacks[i].clearAndGetOrderTriggered());
+        }
+    }
+
+    private void evaluateSchedule()
+    {
+        Collection<ScheduleHandle> handles = new LinkedList<ScheduleHandle>();
+        service.evaluate(handles);
+
+        for (ScheduleHandle handle : handles)
+        {
+            ScheduleHandleCallback cb = (ScheduleHandleCallback) handle;
+            cb.scheduledTrigger(null);
+        }
+    }
+}
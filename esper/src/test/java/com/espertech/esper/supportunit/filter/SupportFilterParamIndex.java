@@ -48,7 +48,7 @@ public class SupportFilterParamIndex extends FilterParamIndexLookupableBase
         return null;
     }
 
-    public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches)
+    protected void matchEventInternal(EventBean theEvent, Collection<FilterHandle> matches)
     {
     }
 }